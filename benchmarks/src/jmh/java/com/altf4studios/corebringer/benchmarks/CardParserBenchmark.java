@@ -0,0 +1,28 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.headless.HeadlessHarness;
+import com.altf4studios.corebringer.utils.CardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CardParser.loadAllCards re-reads and parses assets/cards.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardParserBenchmark {
+    private CardParser parser;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        parser = CardParser.getInstance();
+    }
+
+    @Benchmark
+    public Object loadAllCards() {
+        return parser.loadAllCards();
+    }
+}
@@ -0,0 +1,65 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.headless.HeadlessHarness;
+import com.altf4studios.corebringer.quiz.CodeEvaluationService;
+import com.altf4studios.corebringer.quiz.QuestionnaireManager;
+import com.badlogic.gdx.Gdx;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CodeEvaluationService.evaluate grades a submission against the loaded questionnaire.
+ * The plain benchmarks resubmit the same code, so after the first call they measure verdict-cache hits;
+ * the *Cold ones clear the cache before every call and measure the grading itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodeEvaluationBenchmark {
+    private final CodeEvaluationService service = new CodeEvaluationService();
+    private QuestionnaireManager.Question question;
+    private String source;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        QuestionnaireManager manager = QuestionnaireManager.get();
+        manager.initFromJsonWithLevel(Gdx.files.internal("assets/questionnaire.json"), 1);
+        question = manager.getAll().first();
+        source = "public class Main {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        int age = 18;\n"
+            + "        System.out.println(age);\n"
+            + "    }\n"
+            + "}\n";
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCache {
+        @Setup(Level.Invocation)
+        public void clear() {
+            CodeEvaluationService.clearVerdictCache();
+        }
+    }
+
+    @Benchmark
+    public Object evaluatePassing() {
+        return service.evaluate(question, source, "18\n", "18");
+    }
+
+    @Benchmark
+    public Object evaluateFailing() {
+        return service.evaluate(question, "System.out.println(\"hi\");", "hi", "18");
+    }
+
+    @Benchmark
+    public Object evaluatePassingCold(ColdCache cold) {
+        return service.evaluate(question, source, "18\n", "18");
+    }
+
+    @Benchmark
+    public Object evaluateFailingCold(ColdCache cold) {
+        return service.evaluate(question, "System.out.println(\"hi\");", "hi", "18");
+    }
+}
@@ -0,0 +1,51 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.compiler.CodePolicyValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CodePolicyValidator.validate runs on every compile/run from the code editor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodePolicyValidatorBenchmark {
+    private String smallSource;
+    private String largeSource;
+    private String forbiddenSource;
+
+    @Setup
+    public void setup() {
+        smallSource = "public class Main {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        int age = 18;\n"
+            + "        System.out.println(age);\n"
+            + "    }\n"
+            + "}\n";
+        // Close to the validator's line limit, the worst case a player can submit
+        StringBuilder sb = new StringBuilder("public class Main {\n    public static void main(String[] args) {\n");
+        for (int i = 0; i < 380; i++) {
+            sb.append("        int v").append(i).append(" = ").append(i).append(" * 2 + 1;\n");
+        }
+        sb.append("        System.out.println(v0);\n    }\n}\n");
+        largeSource = sb.toString();
+        forbiddenSource = smallSource.replace("System.out.println(age);", "while (true) { System.exit(0); }");
+    }
+
+    @Benchmark
+    public Object validateSmall() {
+        return CodePolicyValidator.validate(smallSource);
+    }
+
+    @Benchmark
+    public Object validateLarge() {
+        return CodePolicyValidator.validate(largeSource);
+    }
+
+    @Benchmark
+    public Object validateForbidden() {
+        return CodePolicyValidator.validate(forbiddenSource);
+    }
+}
@@ -0,0 +1,40 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.utils.CombatLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CombatLog.addEntry with a full buffer (the steady state during a battle).
+ * System.out is swallowed so console I/O doesn't dominate the number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CombatLogBenchmark {
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        CombatLog.clear();
+        for (int i = 0; i < 200; i++) {
+            CombatLog.addEntry("warmup " + i, CombatLog.LogType.INFO);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        CombatLog.clear();
+    }
+
+    @Benchmark
+    public void addEntry() {
+        CombatLog.addEntry("Player attacks Enemy for 6 damage", CombatLog.LogType.ATTACK);
+    }
+}
@@ -0,0 +1,86 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.compiler.IncrementalDiagnostics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IncrementalDiagnostics passes on a 400-line source.
+ * - analyzeLarge / analyzeLargeWithErrors: the keystroke pass. Each measurement iteration fails when
+ *   its p99 is over LATENCY_BUDGET_MICROS
+ * - attributeLarge: the type pass the editor runs once typing pauses; reported only, no budget
+ * Every invocation edits the source, so none is served from the unchanged-source shortcut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IncrementalDiagnosticsBenchmark {
+    private IncrementalDiagnostics diagnostics;
+    private String largeSource;
+    private String brokenSource;
+    private String typeErrorSource;
+    private int edit = 0;
+    // Keystroke pass durations of the current iteration, in nanos
+    private long[] samples = new long[1024];
+    private int sampleCount = 0;
+
+    @Setup
+    public void setup() {
+        diagnostics = new IncrementalDiagnostics();
+        diagnostics.warmUp();
+        // At the validator's 400-line limit, the worst case the editor analyzes
+        StringBuilder sb = new StringBuilder("public class Main {\n    public static void main(String[] args) {\n");
+        for (int i = 0; i < 190; i++) {
+            sb.append("        int v").append(i).append(" = ").append(i).append(" * 2 + 1;\n");
+            sb.append("        if (v").append(i).append(" % 3 == 0) System.out.println(\"v").append(i).append(" \" + v").append(i).append(");\n");
+        }
+        sb.append("    }\n");
+        sb.append("    static int helper(int x) {\n        return Math.max(x, 0);\n    }\n}\n");
+        largeSource = sb.toString();
+        // Same size, mid-edit: a missing semicolon and an unclosed call for the parser to report
+        brokenSource = largeSource.replace("int v10 = 10 * 2 + 1;", "int v10 = 10 * 2 + 1").replace("Math.max(x, 0);", "Math.max(x, 0;");
+        // Same size, with a type error and an undefined symbol for attribution to report
+        typeErrorSource = largeSource.replace("int v10 = ", "String v10 = ").replace("Math.max(x, 0)", "Math.maxx(x, 0)");
+    }
+
+    @Benchmark
+    public Object analyzeLarge() {
+        return keystroke(largeSource);
+    }
+
+    @Benchmark
+    public Object analyzeLargeWithErrors() {
+        return keystroke(brokenSource);
+    }
+
+    @Benchmark
+    public Object attributeLarge() {
+        return diagnostics.attribute(typeErrorSource + "// " + edit++ + "\n", diagnostics.nextVersion());
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkBudget(IterationParams params) {
+        int count = sampleCount;
+        sampleCount = 0;
+        if (params.getType() != IterationType.MEASUREMENT || count == 0) return;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long p99Micros = sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)] / 1000L;
+        if (p99Micros > IncrementalDiagnostics.LATENCY_BUDGET_MICROS) {
+            throw new IllegalStateException("Keystroke pass p99 " + (p99Micros / 1000.0) + " ms over the "
+                + (IncrementalDiagnostics.LATENCY_BUDGET_MICROS / 1000L) + " ms budget (" + count + " samples)");
+        }
+    }
+
+    private Object keystroke(String source) {
+        long start = System.nanoTime();
+        Object result = diagnostics.analyze(source + "// " + edit++ + "\n", diagnostics.nextVersion());
+        if (sampleCount == samples.length) samples = Arrays.copyOf(samples, samples.length * 2);
+        samples[sampleCount++] = System.nanoTime() - start;
+        return result;
+    }
+}
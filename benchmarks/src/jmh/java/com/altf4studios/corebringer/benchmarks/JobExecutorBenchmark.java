@@ -0,0 +1,75 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.headless.HeadlessHarness;
+import com.altf4studios.corebringer.quiz.CodeEvaluationService;
+import com.altf4studios.corebringer.quiz.QuestionnaireManager;
+import com.altf4studios.corebringer.utils.JobExecutor;
+import com.badlogic.gdx.Gdx;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Many grading jobs in flight at once, each blocking like a compile/run wait and then grading
+ * the output. Compares JobExecutor's virtual threads with the fallback pool; "virtual" only
+ * differs from "pool" when the benchmark JVM is 21+ (see the "active" line printed in setup).
+ * Every job grades a different source, so each one does the full grading work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JobExecutorBenchmark {
+    @Param({"virtual", "pool"})
+    public String mode;
+
+    @Param({"256"})
+    public int jobs;
+
+    // Simulated process wait per job
+    @Param({"10"})
+    public int blockMillis;
+
+    private final CodeEvaluationService service = new CodeEvaluationService();
+    private QuestionnaireManager.Question question;
+    private JobExecutor executor;
+    private Future<?>[] futures;
+    // Makes every graded source distinct, so no job is answered from the verdict cache
+    private long submission = 0;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        QuestionnaireManager manager = QuestionnaireManager.get();
+        manager.initFromJsonWithLevel(Gdx.files.internal("assets/questionnaire.json"), 1);
+        question = manager.getAll().first();
+        executor = JobExecutor.create("virtual".equals(mode), JobExecutor.FALLBACK_POOL_SIZE);
+        futures = new Future<?>[jobs];
+        System.out.println("JobExecutorBenchmark active: " + (executor.isVirtual() ? "virtual threads" : "pool")
+            + " (requested " + mode + ", Java " + Runtime.version().feature() + ")");
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    // Time to drain one burst of jobs
+    @Benchmark
+    public int gradeBurst() throws Exception {
+        final long parkNanos = TimeUnit.MILLISECONDS.toNanos(blockMillis);
+        for (int i = 0; i < jobs; i++) {
+            final String source = "System.out.println(18);\n// submission " + submission++;
+            futures[i] = executor.submit(() -> {
+                LockSupport.parkNanos(parkNanos);
+                return service.evaluate(question, source, "18\n", "18");
+            });
+        }
+        int done = 0;
+        for (int i = 0; i < jobs; i++) {
+            if (futures[i].get() != null) done++;
+        }
+        return done;
+    }
+}
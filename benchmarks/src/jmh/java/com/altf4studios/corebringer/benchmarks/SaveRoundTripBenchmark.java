@@ -0,0 +1,56 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.headless.HeadlessHarness;
+import com.altf4studios.corebringer.utils.SaveData;
+import com.altf4studios.corebringer.utils.SimpleSaveManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimpleSaveManager load/save round trips. The Gradle jmh task points user.home at
+ * benchmarks/build/jmh-home, so this never touches a real save file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveRoundTripBenchmark {
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        SaveData data = new SaveData();
+        data.currentHp = 20;
+        data.maxHp = 20;
+        data.energy = 3;
+        data.maxEnergy = 3;
+        data.gold = 120;
+        data.stageLevel = 2;
+        data.cards = new String[]{
+            "basic_variable_slash_1", "basic_variable_slash_1", "basic_variable_slash_1",
+            "shield_final_shield_1", "shield_final_shield_1", "heal_ultimate_heal_1"
+        };
+        SimpleSaveManager.saveData(data);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SimpleSaveManager.deleteSave();
+    }
+
+    @Benchmark
+    public Object load() {
+        return SimpleSaveManager.loadData();
+    }
+
+    @Benchmark
+    public void loadAndSave() {
+        SimpleSaveManager.saveData(SimpleSaveManager.loadData());
+    }
+
+    // The path every in-game stat change takes
+    @Benchmark
+    public void updateData() {
+        SimpleSaveManager.updateData(data -> data.gold++);
+    }
+}
@@ -0,0 +1,68 @@
+package com.altf4studios.corebringer.benchmarks;
+
+import com.altf4studios.corebringer.entities.Enemy;
+import com.altf4studios.corebringer.entities.Player;
+import com.altf4studios.corebringer.headless.HeadlessHarness;
+import com.altf4studios.corebringer.status.Bleed;
+import com.altf4studios.corebringer.status.Poison;
+import com.altf4studios.corebringer.status.ShieldStatus;
+import com.altf4studios.corebringer.status.StatusManager;
+import com.altf4studios.corebringer.status.Stun;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatusManager turn processing and the damage-modifier chain used by every attack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatusBenchmark {
+    private static final int HP = 1_000_000;
+
+    private final StatusManager statusManager = StatusManager.getInstance();
+    private Player player;
+    private Enemy enemy;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        player = new Player("Player", HP, 5, 0, 3);
+        enemy = new Enemy("bench_enemy", "Enemy", HP, 5, 0, Enemy.enemyType.NORMAL, 2, new String[0]);
+        // Persistent statuses for the modifier chain (default no-op modifiers still walk the map)
+        player.addStatus("Weakened", 1);
+        enemy.addStatus("Vulnerable", 1);
+        statusManager.applyStatus(enemy, new Stun(1_000_000));
+        statusManager.applyStatus(enemy, new Bleed(1, 1_000_000));
+    }
+
+    @TearDown
+    public void tearDown() {
+        statusManager.clearAllStatuses(player);
+        statusManager.clearAllStatuses(enemy);
+    }
+
+    /**
+     * A full status cycle on the player: apply a typical set, start the turn
+     * (damage over time, ticks, expiry), then clear whatever is left.
+     */
+    @Benchmark
+    public int processTurnStart() {
+        statusManager.applyStatus(player, new Poison("Poison", 2, 2));
+        statusManager.applyStatus(player, new ShieldStatus(3, 2));
+        statusManager.applyStatus(player, new Stun(1));
+        statusManager.processTurnStart(player);
+        statusManager.clearAllStatuses(player);
+        int hp = player.getHp();
+        player.setHp(HP);
+        return hp;
+    }
+
+    @Benchmark
+    public int damageModifierChain() {
+        int damage = player.applyDamageModifiers(enemy, 12);
+        damage = statusManager.modifyOutgoingDamage(player, damage);
+        return statusManager.modifyIncomingDamage(enemy, damage);
+    }
+}
@@ -1,9 +1,18 @@
 package com.altf4studios.corebringer;
 
+import com.altf4studios.corebringer.compiler.JShellService;
+import com.altf4studios.corebringer.metrics.AttemptLog;
+import com.altf4studios.corebringer.metrics.CodingMetricsManager;
+import com.altf4studios.corebringer.quiz.QuestionMastery;
 import com.altf4studios.corebringer.screens.*;
 import com.altf4studios.corebringer.screens.gamescreen.SampleCardHandler;
+import com.altf4studios.corebringer.utils.AudioService;
+import com.altf4studios.corebringer.utils.FrameProfiler;
+import com.altf4studios.corebringer.utils.GameScheduler;
+import com.altf4studios.corebringer.utils.RenderOnDemand;
 import com.altf4studios.corebringer.utils.SettingsData;
 import com.altf4studios.corebringer.utils.SettingsManager;
+import com.altf4studios.corebringer.utils.SimpleSaveManager;
 import com.badlogic.gdx.*;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
@@ -14,13 +23,7 @@ import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
-import jdk.jshell.JShell;
-import jdk.jshell.Snippet;
-import jdk.jshell.SnippetEvent;
-import java.util.List;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
-import com.badlogic.gdx.utils.Timer;
+import java.util.function.Consumer;
 
 /** {@link com.badlogic.gdx.ApplicationListener} implementation shared by all platforms. */
 public class Main extends Game {
@@ -55,13 +58,14 @@ public class Main extends Game {
     public TutorialScreen tutorialScreen;
     public SampleCardHandler selecteddebugcard;
     private AssetManager assetManager;
-    // OPTIMIZED: JShell lazy-loaded (was 20-50MB at startup)
-    private JShell jshell;
-    private ByteArrayOutputStream jshellOutputStream;
+    // JShell is built in the background this many seconds after the main menu shows
+    private static final float JSHELL_WARMUP_DELAY = 1f;
     private InputMultiplexer globalMultiplexer = new InputMultiplexer();
-    // Track fade tasks to prevent overlapping transitions
-    private com.badlogic.gdx.utils.Timer.Task fadeOutTask;
-    private com.badlogic.gdx.utils.Timer.Task fadeInTask;
+    // Warm screens kept between visits (map, merchant, rest, ...); see ScreenManager
+    public static final int WARM_SCREEN_CAPACITY = 6;
+    private ScreenManager screenManager;
+    // Tracks, crossfades and sound effects; fades advance once per frame in render()
+    private final AudioService audio = AudioService.getInstance();
 
     @Override
     public void create() {
@@ -96,7 +100,15 @@ public class Main extends Game {
         ///This is just temporary reference for the Card Handler to be used in the debug screen
         selecteddebugcard = null;
 
-        // OPTIMIZED: JShell now lazy-loaded via getJShell() instead of at startup
+        // JShell is warmed up in the background once the main menu is showing (see create())
+
+        screenManager = new ScreenManager(this, WARM_SCREEN_CAPACITY);
+        screenManager.pin(MainMenuScreen.class);
+        screenManager.pin(OptionsScreen.class);
+        // The map is the hub every node returns to (via gameMapScreen), so it is never evicted mid-run
+        screenManager.pin(GameMapScreen.class);
+        // Keep the public screen fields in sync when the cache drops a screen
+        screenManager.setEvictionListener(this::clearScreenReference);
 
         mainMenuScreen = null;
         optionsScreen = null;
@@ -113,6 +125,10 @@ public class Main extends Game {
         puzzleScreen = null;
         treasurePuzzleScreen = null;
         showMainMenu();
+        // Build JShell once the menu has had a second to render, so the debug console answers right away
+        GameScheduler.getInstance().schedule(this, JSHELL_WARMUP_DELAY, this::initJShell);
+        // Load (and if needed rebuild) the coding metrics off the render thread before the metrics window opens
+        GameScheduler.getInstance().runAsync(this, "metricsWarmUp", CodingMetricsManager::getInstance);
         // Ensure the input multiplexer is always set as the input processor
         Gdx.input.setInputProcessor(globalMultiplexer);
 
@@ -127,66 +143,16 @@ public class Main extends Game {
         playMusicWithFade(musicType, 1.2f); // Default 1.2s fade
     }
 
-    // Enhanced music system with fade transitions
+    // Crossfades from the current track; the next tracks on the screen route are primed in the background
     public void playMusicWithFade(String musicType, float fadeDuration) {
         if (isMusicMuted) return;
-
-        // If same music is already playing, don't reload
-        // If same music is already playing, don't reload but sync volume
-        if (currentMusicType != null && currentMusicType.equals(musicType)) {
-            if (currentlyPlayingMusic != null && currentlyPlayingMusic.isPlaying()) {
-                // Sync volume with saved settings before returning
-                SettingsData s = SettingsManager.loadSettings();
-                if (s != null) {
-                    float vol = Math.max(0f, Math.min(1f, s.volume));
-                    currentlyPlayingMusic.setVolume(vol);
-                }
-                updateBackwardCompatibilityRefs();
-                return;
-            }
-        }
-
-        // Cancel any in-flight fade tasks to avoid overlap
-        cancelMusicTransitions();
-
-        // Stop and dispose any currently playing music immediately to prevent overlap
-        if (currentlyPlayingMusic != null) {
-            try { currentlyPlayingMusic.stop(); } catch (Exception ignored) {}
-            try { currentlyPlayingMusic.dispose(); } catch (Exception ignored) {}
-            currentlyPlayingMusic = null;
-            currentMusicType = null;
-            updateBackwardCompatibilityRefs();
-        }
-
-        // Get the new music path
-        String musicPath = getMusicPath(musicType);
-        if (musicPath == null) return;
-
-        // Load and fade in new music (no parallel old music)
-        loadAndFadeInMusic(musicPath, musicType, fadeDuration);
+        // The same music already playing just gets the saved volume
+        audio.setVolume(settingsVolume(1f));
+        currentlyPlayingMusic = audio.crossfadeTo(musicType, fadeDuration);
+        currentMusicType = audio.getCurrentType();
+        updateBackwardCompatibilityRefs();
     }
 
-    // Helper method to load and fade in new music
-    private void loadAndFadeInMusic(String musicPath, String musicType, float fadeDuration) {
-        try {
-            currentlyPlayingMusic = Gdx.audio.newMusic(Utils.getInternalPath(musicPath));
-            currentlyPlayingMusic.setLooping(true);
-            currentMusicType = musicType;
-
-            // Update backward compatibility references
-            updateBackwardCompatibilityRefs();
-
-            Gdx.app.log("Main", "Loading and fading in music: " + musicType + " over " + fadeDuration + "s");
-
-            // Fade in the new music
-            fadeInMusic(currentlyPlayingMusic, fadeDuration);
-
-        } catch (Exception e) {
-            Gdx.app.error("Main", "Error loading music " + musicPath + ": " + e.getMessage());
-        }
-    }
-
-
     // Update backward compatibility field references
     private void updateBackwardCompatibilityRefs() {
         corebringerbgm = currentlyPlayingMusic;
@@ -195,19 +161,10 @@ public class Main extends Game {
         corebringergamescreenbgm = currentlyPlayingMusic;
     }
 
-    // Helper method to get music file path by type
-    private String getMusicPath(String musicType) {
-        switch (musicType) {
-            case "menu":
-            case "intro":
-                return "audio/Mortal-Gaming-144000-(GameIntro1).ogg";
-            case "map":
-                return "audio/To-The-Teath-159171-(NormalBattleMusic1).ogg";
-            case "battle":
-                return "audio/0-Top-Battle-Game-BGM-264625-(NormalBattleMusic2).ogg";
-            default:
-                return "audio/Mortal-Gaming-144000-(GameIntro1).ogg";
-        }
+    // Saved music volume, clamped to 0..1
+    private float settingsVolume(float fallback) {
+        SettingsData s = SettingsManager.loadSettings();
+        return (s != null) ? Math.max(0f, Math.min(1f, s.volume)) : fallback;
     }
 
     // Backward compatibility methods for existing code
@@ -232,59 +189,32 @@ public class Main extends Game {
         return currentlyPlayingMusic;
     }
 
-    // OPTIMIZED: JShell lazy initialization
-    public JShell getJShell() {
-        if (jshell == null) {
-            Gdx.app.log("Main", "Lazy-loading JShell...");
-            jshellOutputStream = new ByteArrayOutputStream();
-            jshell = JShell.builder()
-                .out(new PrintStream(jshellOutputStream))
-                .err(new PrintStream(jshellOutputStream))
-                .build();
-            jshell.eval("import com.badlogic.gdx.*;");
-            jshell.eval("import com.altf4studios.corebringer.*;");
-        }
-        return jshell;
-    }
-
-    ///The method that initializes JShell as well as things it will import
+    ///The method that warms up JShell in the background (see JShellService)
     public void initJShell() {
-        getJShell();
+        JShellService.getInstance().warmUp();
     }
 
-    ///This is for JShell input evaluation
+    ///This is for JShell input evaluation (blocking; the debug console uses evaluateJShellInputAsync)
     public String evaluateJShellInput(String input) {
-        // Ensure JShell is initialized
-        JShell shell = getJShell();
-        jshellOutputStream.reset(); ///This clears JShell's previous output snippers
-
-        StringBuilder result = new StringBuilder();
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintStream pS = new PrintStream(outputStream);
-
-        List<SnippetEvent> events = shell.eval(input);
-        for (SnippetEvent e : events) {
-            if (e.exception() != null) {
-                result.append("Exception: ").append(e.exception().getMessage()).append("\n");
-            } else if (e.status() == Snippet.Status.REJECTED) {
-                result.append("Rejected: ").append(e.snippet().source()).append("\n");
-            } else if (e.value() != null) {
-                result.append(e.value()).append("\n");
-            }
-        }
-        ///This will get everything JShell printed
-        String jshellOutput = jshellOutputStream.toString();
-        if (!jshellOutput.isEmpty()) {
-            result.append(jshellOutput);
-        }
+        return JShellService.getInstance().evaluate(input);
+    }
 
-        return result.toString().isEmpty() ? "No output." : result.toString();
+    ///Evaluates off the render thread; the callback gets the output on the render thread
+    public void evaluateJShellInputAsync(String input, Consumer<String> callback) {
+        JShellService.getInstance().evaluateAsync(input, callback);
     }
 
     @Override
     public void render() {
+        // Frame-synced UI timers fire before the screen renders this frame
+        GameScheduler.getInstance().update(Gdx.graphics.getDeltaTime());
+        audio.update(Gdx.graphics.getDeltaTime());
         super.render();
+        screenManager.update(Gdx.graphics.getDeltaTime());
+        // Idle screens draw on demand: keep frames coming while music fades, wake for the next timer
+        RenderOnDemand renderOnDemand = RenderOnDemand.getInstance();
+        renderOnDemand.update(audio.isFading());
+        renderOnDemand.wakeIn(GameScheduler.getInstance().getNextTimerDelay());
         // Removed continuous fullscreen switching each frame. Use toggleFullscreen() on demand instead.
 
         // Memory monitoring with F12 key (OPTIMIZATION FEATURE)
@@ -298,8 +228,19 @@ public class Main extends Game {
             Gdx.app.log("MEMORY", "Total: " + totalMemory + " MB");
             Gdx.app.log("MEMORY", "Max: " + maxMemory + " MB");
             Gdx.app.log("MEMORY", "Current Music: " + (currentMusicType != null ? currentMusicType : "none"));
-            Gdx.app.log("MEMORY", "JShell loaded: " + (jshell != null));
+            Gdx.app.log("MEMORY", "Audio: " + audio.getStats());
+            Gdx.app.log("MEMORY", "JShell: " + JShellService.getInstance().getStats());
+            Gdx.app.log("MEMORY", "Screens: " + screenManager.getStats());
+            Gdx.app.log("MEMORY", "Scheduler: " + GameScheduler.getInstance().getStats());
+            Gdx.app.log("MEMORY", "Rendering: " + RenderOnDemand.getInstance().getStats());
             Gdx.app.log("MEMORY", "========================================");
+            // Shift+F12 exports the frame-time history; plain F12 toggles the frame profiler HUD
+            FrameProfiler profiler = FrameProfiler.getInstance();
+            if (Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT) || Gdx.input.isKeyPressed(Input.Keys.SHIFT_RIGHT)) {
+                profiler.exportCsv();
+            } else {
+                profiler.toggle();
+            }
         }
 
         ///This is to give function to the F11 key
@@ -312,44 +253,17 @@ public class Main extends Game {
     // Fade out the given music over duration (seconds)
     public void fadeOutMusic(final Music music, final float duration, final Runnable afterFade) {
         // UPDATED: Handle both old music references and new system
-        Music targetMusic = music != null ? music : currentlyPlayingMusic;
+        final Music targetMusic = music != null ? music : currentlyPlayingMusic;
 
         if (targetMusic == null || !targetMusic.isPlaying()) {
             if (afterFade != null) afterFade.run();
             return;
         }
-        final float initialVolume = targetMusic.getVolume();
-        final int steps = 20;
-        final float stepTime = duration / steps;
-        // Cancel any existing fade-out task and create a new one we can cancel later
-        if (fadeOutTask != null) { try { fadeOutTask.cancel(); } catch (Exception ignored) {} }
-        fadeOutTask = new Timer.Task() {
-            int currentStep = 0;
-            @Override
-            public void run() {
-                currentStep++;
-                float newVolume = initialVolume * (1f - (float)currentStep / steps);
-                if (targetMusic != null) {
-                    targetMusic.setVolume(Math.max(newVolume, 0f));
-                }
-                if (currentStep >= steps) {
-                    if (targetMusic != null) {
-                        targetMusic.stop();
-                    }
-                    // Reset to settings volume (not the pre-fade initial), so future play uses global volume
-                    SettingsData s = SettingsManager.loadSettings();
-                    float target = (s != null) ? Math.max(0f, Math.min(1f, s.volume)) : 1.0f;
-                    if (targetMusic != null) {
-                        targetMusic.setVolume(target);
-                    }
-                    // Clear task reference
-                    fadeOutTask = null;
-                    if (afterFade != null) afterFade.run();
-                    this.cancel();
-                }
-            }
-        };
-        Timer.schedule(fadeOutTask, 0, stepTime, steps);
+        audio.fadeTo(targetMusic, 0f, duration, true, () -> {
+            // Reset to settings volume (not the pre-fade initial), so future play uses global volume
+            targetMusic.setVolume(settingsVolume(1.0f));
+            if (afterFade != null) afterFade.run();
+        });
     }
 
     // Fade in the given music over duration (seconds)
@@ -359,40 +273,10 @@ public class Main extends Game {
 
         if (targetMusic == null) return;
         if (isMusicMuted) return; // honor global mute
-        SettingsData s = SettingsManager.loadSettings();
-        final float targetVolume = (s != null) ? Math.max(0f, Math.min(1f, s.volume)) : targetMusic.getVolume();
+        final float targetVolume = settingsVolume(targetMusic.getVolume());
         targetMusic.setVolume(0f);
         targetMusic.play();
-        final int steps = 20;
-        final float stepTime = duration / steps;
-        // Cancel any existing fade-in task and create a new one we can cancel later
-        if (fadeInTask != null) { try { fadeInTask.cancel(); } catch (Exception ignored) {} }
-        fadeInTask = new Timer.Task() {
-            int currentStep = 0;
-            @Override
-            public void run() {
-                currentStep++;
-                float newVolume = targetVolume * ((float)currentStep / steps);
-                if (targetMusic != null) {
-                    targetMusic.setVolume(Math.min(newVolume, targetVolume));
-                }
-                if (currentStep >= steps) {
-                    if (targetMusic != null) {
-                        targetMusic.setVolume(targetVolume);
-                    }
-                    // Clear task reference
-                    fadeInTask = null;
-                    this.cancel();
-                }
-            }
-        };
-        Timer.schedule(fadeInTask, 0, stepTime, steps);
-    }
-
-    // Helper to cancel any running fade transitions to prevent overlap
-    private void cancelMusicTransitions() {
-        try { if (fadeOutTask != null) { fadeOutTask.cancel(); fadeOutTask = null; } } catch (Exception ignored) {}
-        try { if (fadeInTask != null) { fadeInTask.cancel(); fadeInTask = null; } } catch (Exception ignored) {}
+        audio.fadeTo(targetMusic, targetVolume, duration, false, null);
     }
 
     @Override public void pause() {
@@ -420,11 +304,19 @@ public class Main extends Game {
 
     @Override
     public void dispose() {
-        // UPDATED: Dispose new music system
-        try { if (currentlyPlayingMusic != null) currentlyPlayingMusic.dispose(); } catch (Exception ignored) {}
+        // Disposes the current, fading and primed tracks and any cached sounds
+        try { audio.dispose(); } catch (Exception ignored) {}
+        currentlyPlayingMusic = null;
+        try { if (screenManager != null) screenManager.disposeAll(); } catch (Exception ignored) {}
+        // Write any pending save before the job executor goes away
+        try { SimpleSaveManager.flush(); } catch (Exception ignored) {}
+        try { CodingMetricsManager.flushIfLoaded(); } catch (Exception ignored) {}
+        try { AttemptLog.getInstance().flush(); } catch (Exception ignored) {}
+        try { QuestionMastery.getInstance().flush(); } catch (Exception ignored) {}
+        try { GameScheduler.getInstance().shutdown(); } catch (Exception ignored) {}
         try { if (assetManager != null) assetManager.dispose(); } catch (Exception ignored) {}
         // UPDATED: Dispose JShell if loaded
-        try { if (jshell != null) jshell.close(); } catch (Exception ignored) {}
+        try { JShellService.getInstance().close(); } catch (Exception ignored) {}
     }
 
     ///This method makes the F11 key to work properly for the game to achieve true fullscreen
@@ -467,21 +359,22 @@ public class Main extends Game {
         return assetManager;
     }
 
+    public ScreenManager getScreenManager() {
+        return screenManager;
+    }
+
     // --- Lazy screen helpers ---
+    // Screens come from the warm cache; Reusable ones reset their per-visit state instead of rebuilding
     public void showMainMenu() {
         // Dispose other screens to free memory
         disposeNonEssentialScreens(mainMenuScreen);
 
-        if (mainMenuScreen == null) {
-            mainMenuScreen = new MainMenuScreen(this);
-        }
+        mainMenuScreen = screenManager.obtain(MainMenuScreen.class, () -> new MainMenuScreen(this));
         setScreen(mainMenuScreen);
     }
 
     public void showOptions() {
-        if (optionsScreen == null) {
-            optionsScreen = new OptionsScreen(this);
-        }
+        optionsScreen = screenManager.obtain(OptionsScreen.class, () -> new OptionsScreen(this));
         setScreen(optionsScreen);
     }
 
@@ -489,14 +382,12 @@ public class Main extends Game {
         // Dispose other screens to free memory
         disposeNonEssentialScreens(startGameMapScreen);
 
-        if (startGameMapScreen == null) {
-            startGameMapScreen = new StartGameMapScreen(this);
-        }
+        startGameMapScreen = screenManager.obtain(StartGameMapScreen.class, () -> new StartGameMapScreen(this));
         setScreen(startGameMapScreen);
     }
 
     public void showCodeEditor() {
-        // CodeEditor is tied to GameScreen, don't dispose game screens
+        // CodeEditor is tied to GameScreen (session points), so it is not cached with the others
         if (codeEditorScreen == null) {
             codeEditorScreen = new CodeEditorScreen(this);
         }
@@ -504,80 +395,88 @@ public class Main extends Game {
     }
 
     public void showDebug() {
-        if (debugScreen == null) {
-            debugScreen = new DebugScreen(this);
-        }
+        debugScreen = screenManager.obtain(DebugScreen.class, () -> new DebugScreen(this));
         setScreen(debugScreen);
     }
 
     public void showCardTest() {
-        if (cardTestScren == null) {
-            cardTestScren = new CardTestScren(this);
-        }
+        cardTestScren = screenManager.obtain(CardTestScren.class, () -> new CardTestScren(this));
         setScreen(cardTestScren);
     }
 
     public void showMerchant() {
-        // Keep merchant screen for this session
-        if (merchantScreen == null) {
-            merchantScreen = new MerchantScreen(this);
-        }
+        // Warm after the first visit; the shop is restocked by resetForReuse()
+        merchantScreen = screenManager.obtain(MerchantScreen.class, () -> new MerchantScreen(this));
         setScreen(merchantScreen);
     }
 
     public void showRest() {
-        // Keep rest screen for this session
-        if (restScreen == null) {
-            restScreen = new RestScreen(this);
-        }
+        // Warm after the first visit; healing/upgrade choices are rerolled by resetForReuse()
+        restScreen = screenManager.obtain(RestScreen.class, () -> new RestScreen(this));
         setScreen(restScreen);
     }
 
     public void showGameMap() {
         // Keep game map for this session
-        if (gameMapScreen == null) {
-            gameMapScreen = new GameMapScreen(this);
-        }
+        gameMapScreen = screenManager.obtain(GameMapScreen.class, () -> new GameMapScreen(this));
+        setScreen(gameMapScreen);
+    }
+
+    // Drop the current map (e.g. after the boss) so the next showGameMap() builds the new stage
+    public void showFreshGameMap() {
+        gameMapScreen = screenManager.create(GameMapScreen.class, () -> new GameMapScreen(this));
         setScreen(gameMapScreen);
     }
 
     public void showPuzzle() {
-        // Dispose puzzle screens when done
-        if (puzzleScreen == null) {
-            puzzleScreen = new PuzzleScreen(this);
-        }
+        // A new puzzle every visit
+        puzzleScreen = screenManager.create(PuzzleScreen.class, () -> new PuzzleScreen(this));
         setScreen(puzzleScreen);
     }
 
     public void showTreasurePuzzle() {
-        // Dispose puzzle screens when done
-        if (treasurePuzzleScreen == null) {
-            treasurePuzzleScreen = new TreasurePuzzleScreen(this);
-        }
+        // A new puzzle every visit
+        treasurePuzzleScreen = screenManager.create(TreasurePuzzleScreen.class, () -> new TreasurePuzzleScreen(this));
         setScreen(treasurePuzzleScreen);
     }
 
     public void showTutorial() {
-        if (tutorialScreen == null) {
-            tutorialScreen = new TutorialScreen(this);
-        }
+        tutorialScreen = screenManager.obtain(TutorialScreen.class, () -> new TutorialScreen(this));
         setScreen(tutorialScreen);
     }
 
+    /**
+     * Remove a screen from the warm cache and dispose it (deferred a frame if it is still showing).
+     * The matching public field is cleared.
+     */
+    public void discardScreen(Screen screen) {
+        if (screen == null) return;
+        screenManager.discard(screen);
+    }
+
+    // Eviction callback: null whichever public field still points at the dropped screen
+    private void clearScreenReference(Screen screen) {
+        if (screen == mainMenuScreen) mainMenuScreen = null;
+        if (screen == optionsScreen) optionsScreen = null;
+        if (screen == gameMapScreen) gameMapScreen = null;
+        if (screen == startGameMapScreen) startGameMapScreen = null;
+        if (screen == debugScreen) debugScreen = null;
+        if (screen == cardTestScren) cardTestScren = null;
+        if (screen == merchantScreen) merchantScreen = null;
+        if (screen == restScreen) restScreen = null;
+        if (screen == puzzleScreen) puzzleScreen = null;
+        if (screen == treasurePuzzleScreen) treasurePuzzleScreen = null;
+        if (screen == tutorialScreen) tutorialScreen = null;
+    }
+
     // Helper method to dispose screens not currently in use
     private void disposeNonEssentialScreens(Screen keepScreen) {
         // Dispose debug/test screens
         if (debugScreen != null && debugScreen != keepScreen) {
-            try { debugScreen.dispose(); } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing debugScreen: " + e.getMessage());
-            }
-            debugScreen = null;
+            screenManager.discard(debugScreen);
         }
         if (cardTestScren != null && cardTestScren != keepScreen) {
-            try { cardTestScren.dispose(); } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing cardTestScren: " + e.getMessage());
-            }
-            cardTestScren = null;
+            screenManager.discard(cardTestScren);
         }
         // Don't dispose active game screens (gameScreen, gameMapScreen, etc.) during gameplay
         // Only dispose them via disposeAllScreensExceptMainMenu when returning to main menu
@@ -599,17 +498,6 @@ public class Main extends Game {
             gameScreen = null;
         }
 
-        // Dispose GameMapScreen
-        if (gameMapScreen != null) {
-            try {
-                gameMapScreen.dispose();
-                Gdx.app.log("Main", "Disposed GameMapScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing GameMapScreen: " + e.getMessage());
-            }
-            gameMapScreen = null;
-        }
-
         // Dispose CodeEditorScreen
         if (codeEditorScreen != null) {
             try {
@@ -621,61 +509,6 @@ public class Main extends Game {
             codeEditorScreen = null;
         }
 
-        // Dispose MerchantScreen
-        if (merchantScreen != null) {
-            try {
-                merchantScreen.dispose();
-                Gdx.app.log("Main", "Disposed MerchantScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing MerchantScreen: " + e.getMessage());
-            }
-            merchantScreen = null;
-        }
-
-        // Dispose RestScreen
-        if (restScreen != null) {
-            try {
-                restScreen.dispose();
-                Gdx.app.log("Main", "Disposed RestScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing RestScreen: " + e.getMessage());
-            }
-            restScreen = null;
-        }
-
-        // Dispose PuzzleScreen
-        if (puzzleScreen != null) {
-            try {
-                puzzleScreen.dispose();
-                Gdx.app.log("Main", "Disposed PuzzleScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing PuzzleScreen: " + e.getMessage());
-            }
-            puzzleScreen = null;
-        }
-
-        // Dispose TreasurePuzzleScreen
-        if (treasurePuzzleScreen != null) {
-            try {
-                treasurePuzzleScreen.dispose();
-                Gdx.app.log("Main", "Disposed TreasurePuzzleScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing TreasurePuzzleScreen: " + e.getMessage());
-            }
-            treasurePuzzleScreen = null;
-        }
-
-        // Dispose TutorialScreen
-        if (tutorialScreen != null) {
-            try {
-                tutorialScreen.dispose();
-                Gdx.app.log("Main", "Disposed TutorialScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing TutorialScreen: " + e.getMessage());
-            }
-            tutorialScreen = null;
-        }
-
         // Dispose AcidFloorEventScreen
         if (acidFloorEventScreen != null) {
             try {
@@ -687,41 +520,9 @@ public class Main extends Game {
             acidFloorEventScreen = null;
         }
 
-        // Dispose StartGameMapScreen
-        if (startGameMapScreen != null) {
-            try {
-                startGameMapScreen.dispose();
-                Gdx.app.log("Main", "Disposed StartGameMapScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing StartGameMapScreen: " + e.getMessage());
-            }
-            startGameMapScreen = null;
-        }
-
-        // Dispose DebugScreen
-        if (debugScreen != null) {
-            try {
-                debugScreen.dispose();
-                Gdx.app.log("Main", "Disposed DebugScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing DebugScreen: " + e.getMessage());
-            }
-            debugScreen = null;
-        }
-
-        // Dispose CardTestScreen
-        if (cardTestScren != null) {
-            try {
-                cardTestScren.dispose();
-                Gdx.app.log("Main", "Disposed CardTestScreen");
-            } catch (Exception e) {
-                Gdx.app.error("Main", "Error disposing CardTestScreen: " + e.getMessage());
-            }
-            cardTestScren = null;
-        }
-
-        // Keep MainMenuScreen and OptionsScreen alive
-        // They will be reused
+        // Dispose the warm screens (map, merchant, rest, puzzles, tutorial, ...)
+        // Keep MainMenuScreen and OptionsScreen alive, they will be reused
+        screenManager.evictAllExcept(mainMenuScreen, optionsScreen);
 
         Gdx.app.log("Main", "All game screens disposed successfully");
     }
@@ -5,9 +5,13 @@ import com.altf4studios.corebringer.entities.Player;
 import com.altf4studios.corebringer.screens.gamescreen.BattleStageUI;
 import com.altf4studios.corebringer.turns.TurnManager;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
 
 /**
  * Coordinates battle flow and encapsulates the TurnManager so that GameScreen stays lean.
+ * Battle logic (turn timers, runAfter() delays, the rolling HP readout) advances in fixed ticks
+ * of a {@link FixedStepClock}, not by the render delta; the enemy turn runs faster by
+ * the enemy-turn speed. The HP readout is interpolated between ticks for drawing.
  */
 public class BattleManager {
     private final Player player;
@@ -15,56 +19,100 @@ public class BattleManager {
     private final BattleStageUI battleStageUI;
     private final TurnManager turnManager;
 
+    // Observable HP/block/status/energy/phase; subscribers are refreshed once per frame on flush
+    private final BattleState battleState;
+
+    // How long the HP readout takes to roll to a new value, in logic seconds
+    private static final float HP_ROLL_SECONDS = 0.35f;
+    public static final float DEFAULT_ENEMY_TURN_SPEED = 2f;
+
+    private final FixedStepClock clock = new FixedStepClock(FixedStepClock.configuredTickRate());
+    private float enemyTurnSpeed = DEFAULT_ENEMY_TURN_SPEED;
+    private final Array<LogicTimer> timers = new Array<>();
+    private final Array<LogicTimer> dueTimers = new Array<>();
+    // HP readout at the previous and the latest tick
+    private float playerHpPrev, playerHpShown, enemyHpPrev, enemyHpShown;
+
+    private static final class LogicTimer {
+        float remaining;
+        final Runnable action;
+
+        LogicTimer(float remaining, Runnable action) {
+            this.remaining = remaining;
+            this.action = action;
+        }
+    }
+
     public BattleManager(Player player, Enemy enemy, BattleStageUI battleStageUI) {
         this.player = player;
         this.enemy = enemy;
         this.battleStageUI = battleStageUI;
         this.turnManager = new TurnManager(player, enemy);
+        this.battleState = new BattleState(player, enemy, turnManager);
+        if (battleStageUI != null) battleState.addListener(battleStageUI);
+        playerHpPrev = playerHpShown = player.getHp();
+        enemyHpPrev = enemyHpShown = enemy.getHp();
+    }
+
+    public BattleState getBattleState() {
+        return battleState;
+    }
+
+    // Push every battle value to the subscribers again on the next flush (e.g. after the UI was rebuilt)
+    public void invalidateUi() {
+        battleState.invalidate();
     }
 
     /**
-     * Advances battle state for this frame and updates turn indicator UI.
+     * Detach the battle state from the entities, turn manager and combat log.
      */
-    public void update(float deltaTime) {
+    public void dispose() {
+        timers.clear();
+        battleState.dispose();
+    }
+
+    /**
+     * Advances battle logic by this frame's time in fixed ticks. Changes reach the UI through {@link BattleState}.
+     * Returns the logic time simulated (the frame time scaled on enemy turns, in whole ticks).
+     */
+    public float update(float deltaTime) {
+        clock.setTimeScale(turnManager.isEnemyTurn() ? enemyTurnSpeed : 1f);
+        int steps = clock.advance(deltaTime);
+        float step = clock.getStep();
+        for (int i = 0; i < steps; i++) {
+            tick(step);
+        }
+        return steps * step;
+    }
+
+    private void tick(float step) {
         // Progress turn timings and staged effects
-        turnManager.update(deltaTime);
-
-        // Reflect current turn state on the UI
-        if (battleStageUI != null) {
-            if (turnManager.isPlayerTurn()) {
-                battleStageUI.updateTurnIndicator("Player's Turn");
-            } else {
-                battleStageUI.updateTurnIndicator("Enemy Turn");
-            }
+        turnManager.update(step);
 
-            // Update status badges visibility
-            boolean pShield = player.getBlock() > 0;
-            boolean pPoison = player.hasPoison();
-            boolean pBleed = player.hasStatus("Bleed");
-            boolean pStun = player.hasStatus("Stun");
-            battleStageUI.updatePlayerStatusBadges(pShield, pPoison, pBleed, pStun);
-
-            boolean eShield = enemy.getBlock() > 0;
-            boolean ePoison = enemy.hasPoison();
-            boolean eBleed = enemy.hasStatus("Bleed");
-            boolean eStun = enemy.hasStatus("Stun");
-            battleStageUI.updateEnemyStatusBadges(eShield, ePoison, eBleed, eStun);
-
-            // Update numeric values using StatusManager where available
-            com.altf4studios.corebringer.status.StatusManager sm = com.altf4studios.corebringer.status.StatusManager.getInstance();
-            int pPoisonStacks = sm.getPower(player, "Poison");
-            int ePoisonStacks = sm.getPower(enemy, "Poison");
-            int pBleedStacks = sm.getPower(player, "Bleed");
-            int eBleedStacks = sm.getPower(enemy, "Bleed");
-            int pPoisonDur = sm.getDuration(player, "Poison");
-            int ePoisonDur = sm.getDuration(enemy, "Poison");
-            int pBleedDur = sm.getDuration(player, "Bleed");
-            int eBleedDur = sm.getDuration(enemy, "Bleed");
-            int pStunTurns = player.getStatusValue("Stun");
-            int eStunTurns = enemy.getStatusValue("Stun");
-            battleStageUI.updatePlayerStatusValuesWithDuration(player.getBlock(), pPoisonStacks, pPoisonDur, pBleedStacks, pBleedDur, pStunTurns);
-            battleStageUI.updateEnemyStatusValuesWithDuration(enemy.getBlock(), ePoisonStacks, ePoisonDur, eBleedStacks, eBleedDur, eStunTurns);
+        // Collect due timers first so actions may freely add new ones
+        for (int i = timers.size - 1; i >= 0; i--) {
+            LogicTimer timer = timers.get(i);
+            timer.remaining -= step;
+            if (timer.remaining <= 0f) {
+                timers.removeIndex(i);
+                dueTimers.add(timer);
+            }
+        }
+        for (int i = dueTimers.size - 1; i >= 0; i--) {
+            try {
+                dueTimers.get(i).action.run();
+            } catch (Exception e) {
+                Gdx.app.error("BattleManager", "Battle timer failed: " + e.getMessage());
+            }
         }
+        dueTimers.clear();
+
+        playerHpPrev = playerHpShown;
+        enemyHpPrev = enemyHpShown;
+        playerHpShown = roll(playerHpShown, player.getHp(), player.getMaxHealth(), step);
+        enemyHpShown = roll(enemyHpShown, enemy.getHp(), enemy.getMaxHealth(), step);
+
+        // UI is refreshed through BattleState events (flushed by the screen once per frame)
 
         if (turnManager.shouldLogGameOver()) {
             String winner = turnManager.getWinner();
@@ -72,6 +120,60 @@ public class BattleManager {
         }
     }
 
+    // Move the readout toward the real HP; a full bar takes HP_ROLL_SECONDS, small changes land quickly
+    private static float roll(float shown, int target, int max, float step) {
+        float speed = Math.max(1, max) / HP_ROLL_SECONDS * step;
+        if (Math.abs(target - shown) <= speed) return target;
+        return shown + Math.signum(target - shown) * speed;
+    }
+
+    /**
+     * Run the action after this many seconds of battle logic time (paused with the battle,
+     * fast-forwarded on enemy turns). Actions run on the render thread during update().
+     */
+    public void runAfter(float seconds, Runnable action) {
+        timers.add(new LogicTimer(seconds, action));
+    }
+
+    public int getPendingTimers() {
+        return timers.size;
+    }
+
+    /**
+     * Player HP readout for this frame, interpolated between the last two logic ticks.
+     */
+    public int getDisplayedPlayerHp() {
+        return Math.round(playerHpPrev + (playerHpShown - playerHpPrev) * clock.getAlpha());
+    }
+
+    public int getDisplayedEnemyHp() {
+        return Math.round(enemyHpPrev + (enemyHpShown - enemyHpPrev) * clock.getAlpha());
+    }
+
+    // Jump the readout to the real HP (new enemy, restored save) instead of rolling to it
+    public void snapHpReadout() {
+        playerHpPrev = playerHpShown = player.getHp();
+        enemyHpPrev = enemyHpShown = enemy.getHp();
+    }
+
+    // Logic ticks per second (default 60, or -Dcorebringer.battleTickRate)
+    public void setTickRate(int ticksPerSecond) {
+        clock.setTickRate(ticksPerSecond);
+    }
+
+    public int getTickRate() {
+        return clock.getTickRate();
+    }
+
+    // How much faster logic runs while the enemy acts (1 = normal speed)
+    public void setEnemyTurnSpeed(float speed) {
+        this.enemyTurnSpeed = Math.max(1f, speed);
+    }
+
+    public float getEnemyTurnSpeed() {
+        return enemyTurnSpeed;
+    }
+
     /**
      * Manually execute enemy turn - called when player ends their turn
      */
@@ -115,6 +217,7 @@ public class BattleManager {
                 if (battleStageUI != null && healed > 0) {
                     battleStageUI.showHealOnEnemy(healed);
                 }
+                turnManager.endEnemyTurn();
             }
         }
     }
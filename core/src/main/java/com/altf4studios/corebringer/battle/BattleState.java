@@ -0,0 +1,144 @@
+package com.altf4studios.corebringer.battle;
+
+import com.altf4studios.corebringer.entities.Enemy;
+import com.altf4studios.corebringer.entities.Entity;
+import com.altf4studios.corebringer.entities.Player;
+import com.altf4studios.corebringer.turns.TurnManager;
+import com.altf4studios.corebringer.utils.CombatLog;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * Observable view of one battle: player/enemy HP, block and statuses, energy, turn phase
+ * and combat log. Changes are collected as bit flags while the frame runs and delivered
+ * to listeners once per frame by {@link #flush()}, so a frame where nothing changed costs
+ * a single int comparison and several changes in one frame cause a single UI refresh.
+ */
+public class BattleState implements Entity.ChangeObserver, TurnManager.PhaseListener {
+    public static final int PLAYER_HP = 1;
+    public static final int PLAYER_BLOCK = 1 << 1;
+    public static final int PLAYER_STATUS = 1 << 2;
+    public static final int ENEMY_HP = 1 << 3;
+    public static final int ENEMY_BLOCK = 1 << 4;
+    public static final int ENEMY_STATUS = 1 << 5;
+    public static final int ENERGY = 1 << 6;
+    public static final int PHASE = 1 << 7;
+    public static final int LOG = 1 << 8;
+    public static final int ALL = (1 << 9) - 1;
+
+    public interface Listener {
+        /**
+         * @param changes bit mask of the constants above that changed since the last flush
+         */
+        void onBattleStateChanged(BattleState state, int changes);
+    }
+
+    private final Player player;
+    private final Enemy enemy;
+    private final TurnManager turnManager;
+    private final SnapshotArray<Listener> listeners = new SnapshotArray<>(false, 4, Listener.class);
+    private final Runnable logListener = () -> markChanged(LOG);
+    private int energy;
+    private int maxEnergy;
+    // Everything is pending at first so the initial flush fills every subscriber
+    private int pending = ALL;
+
+    public BattleState(Player player, Enemy enemy, TurnManager turnManager) {
+        this.player = player;
+        this.enemy = enemy;
+        this.turnManager = turnManager;
+        if (player != null) player.setChangeObserver(this);
+        if (enemy != null) enemy.setChangeObserver(this);
+        if (turnManager != null) turnManager.setPhaseListener(this);
+        CombatLog.setChangeListener(logListener);
+    }
+
+    @Override
+    public void onEntityChanged(Entity entity, int changes) {
+        if (entity == player) {
+            if ((changes & Entity.CHANGED_HP) != 0) pending |= PLAYER_HP;
+            if ((changes & Entity.CHANGED_BLOCK) != 0) pending |= PLAYER_BLOCK;
+            if ((changes & Entity.CHANGED_STATUS) != 0) pending |= PLAYER_STATUS;
+        } else if (entity == enemy) {
+            if ((changes & Entity.CHANGED_HP) != 0) pending |= ENEMY_HP;
+            if ((changes & Entity.CHANGED_BLOCK) != 0) pending |= ENEMY_BLOCK;
+            if ((changes & Entity.CHANGED_STATUS) != 0) pending |= ENEMY_STATUS;
+        }
+    }
+
+    @Override
+    public void onPhaseChanged(TurnManager.TurnPhase phase) {
+        pending |= PHASE;
+    }
+
+    public void addListener(Listener listener) {
+        if (listener == null || listeners.contains(listener, true)) return;
+        listeners.add(listener);
+        // A late subscriber needs the full picture on the next flush
+        pending = ALL;
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /**
+     * Deliver the changes collected since the last call. Call once per frame.
+     */
+    public void flush() {
+        if (pending == 0) return;
+        int changes = pending;
+        pending = 0;
+        Listener[] items = listeners.begin();
+        for (int i = 0, n = listeners.size; i < n; i++) {
+            items[i].onBattleStateChanged(this, changes);
+        }
+        listeners.end();
+    }
+
+    // Re-send everything on the next flush (e.g. after a screen was hidden and shown again)
+    public void invalidate() {
+        pending = ALL;
+    }
+
+    public void markChanged(int changes) {
+        pending |= changes;
+    }
+
+    public void setEnergy(int energy, int maxEnergy) {
+        if (this.energy == energy && this.maxEnergy == maxEnergy) return;
+        this.energy = energy;
+        this.maxEnergy = maxEnergy;
+        pending |= ENERGY;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Enemy getEnemy() {
+        return enemy;
+    }
+
+    public int getEnergy() {
+        return energy;
+    }
+
+    public int getMaxEnergy() {
+        return maxEnergy;
+    }
+
+    public boolean isPlayerTurn() {
+        return turnManager == null || turnManager.isPlayerTurn();
+    }
+
+    /**
+     * Detach from the entities, turn manager and combat log. Listeners are dropped.
+     */
+    public void dispose() {
+        if (player != null) player.setChangeObserver(null);
+        if (enemy != null) enemy.setChangeObserver(null);
+        if (turnManager != null) turnManager.setPhaseListener(null);
+        if (CombatLog.getChangeListener() == logListener) CombatLog.setChangeListener(null);
+        listeners.clear();
+    }
+}
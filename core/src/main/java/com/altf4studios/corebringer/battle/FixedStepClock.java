@@ -0,0 +1,95 @@
+package com.altf4studios.corebringer.battle;
+
+/**
+ * Fixed-timestep accumulator for battle logic.
+ * - advance(frameDelta) returns how many logic ticks of getStep() seconds to run this frame,
+ *   so logic runs at the same rate whatever the monitor refresh rate
+ * - getAlpha() is how far the render frame is between the last tick and the next one,
+ *   for interpolating values the logic moves from tick to tick
+ * - setTimeScale() speeds logic up (enemy-turn fast-forward) without changing the step size
+ * At most MAX_STEPS_PER_FRAME ticks run per frame; after a long stall the rest is dropped
+ * rather than spent catching up.
+ */
+public final class FixedStepClock {
+    public static final int DEFAULT_TICK_RATE = 60;
+    public static final int MIN_TICK_RATE = 10;
+    public static final int MAX_TICK_RATE = 240;
+    public static final int MAX_STEPS_PER_FRAME = 8;
+    // -Dcorebringer.battleTickRate=30 to change the rate without a rebuild
+    public static final String TICK_RATE_PROPERTY = "corebringer.battleTickRate";
+
+    private float step;
+    private float accumulator = 0f;
+    private float timeScale = 1f;
+    private long ticks = 0;
+    private long droppedTicks = 0;
+
+    public FixedStepClock(int tickRate) {
+        setTickRate(tickRate);
+    }
+
+    /**
+     * Tick rate from the system property, else DEFAULT_TICK_RATE.
+     */
+    public static int configuredTickRate() {
+        try {
+            return Integer.parseInt(System.getProperty(TICK_RATE_PROPERTY, String.valueOf(DEFAULT_TICK_RATE)).trim());
+        } catch (Exception e) {
+            return DEFAULT_TICK_RATE;
+        }
+    }
+
+    public void setTickRate(int tickRate) {
+        int rate = Math.max(MIN_TICK_RATE, Math.min(MAX_TICK_RATE, tickRate));
+        step = 1f / rate;
+        accumulator = Math.min(accumulator, step);
+    }
+
+    public int getTickRate() {
+        return Math.round(1f / step);
+    }
+
+    public float getStep() {
+        return step;
+    }
+
+    public void setTimeScale(float timeScale) {
+        this.timeScale = Math.max(0f, timeScale);
+    }
+
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Add a render frame's time; returns the number of ticks to run now.
+     */
+    public int advance(float frameDelta) {
+        accumulator += Math.max(0f, frameDelta) * timeScale;
+        int n = (int) (accumulator / step);
+        if (n > MAX_STEPS_PER_FRAME) {
+            droppedTicks += n - MAX_STEPS_PER_FRAME;
+            n = MAX_STEPS_PER_FRAME;
+            accumulator = n * step;
+        }
+        accumulator -= n * step;
+        ticks += n;
+        return n;
+    }
+
+    public float getAlpha() {
+        return Math.min(1f, accumulator / step);
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public void reset() {
+        accumulator = 0f;
+    }
+}
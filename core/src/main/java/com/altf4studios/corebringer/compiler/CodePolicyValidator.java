@@ -2,6 +2,7 @@ package com.altf4studios.corebringer.compiler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -94,7 +95,38 @@ public final class  CodePolicyValidator {
         if (violations.isEmpty()) {
             return ValidationResult.ok();
         }
-        return ValidationResult.fail(String.join("\n", violations));
+        return ValidationResult.fail(violations);
+    }
+
+    /**
+     * Same checks as validate(), but each violation carries the source range it was found at,
+     * for inline markers in the editor. Size limits are reported at the first offending character/line.
+     */
+    public static List<Violation> findViolations(String source) {
+        List<Violation> violations = new ArrayList<>();
+        if (source == null || source.isEmpty()) return violations;
+
+        if (source.length() > MAX_SOURCE_CHARS) {
+            violations.add(new Violation(MAX_SOURCE_CHARS, source.length(),
+                "Source too large: " + source.length() + " chars (max " + MAX_SOURCE_CHARS + ")"));
+        }
+
+        int lines = 1;
+        for (int i = 0; i < source.length(); i++) {
+            if (source.charAt(i) == '\n' && ++lines == MAX_SOURCE_LINES + 1) {
+                violations.add(new Violation(i + 1, source.length(),
+                    "Too many lines (max " + MAX_SOURCE_LINES + ")"));
+                break;
+            }
+        }
+
+        for (Pattern p : FORBIDDEN_PATTERNS) {
+            Matcher m = p.matcher(source);
+            if (m.find()) {
+                violations.add(new Violation(m.start(), m.end(), "Disallowed pattern matched: '" + p.pattern() + "'"));
+            }
+        }
+        return violations;
     }
 
     public static String policyTemplate() {
@@ -128,14 +160,28 @@ public final class  CodePolicyValidator {
             "- Keep solutions small: max " + MAX_SOURCE_LINES + " lines / " + MAX_SOURCE_CHARS + " chars.");
     }
 
+    public static final class Violation {
+        public final int start;
+        public final int end;
+        public final String message;
+        private Violation(int start, int end, String message) {
+            this.start = start; this.end = end; this.message = message;
+        }
+    }
+
     public static final class ValidationResult {
         public final boolean valid;
         public final String message;
-        private ValidationResult(boolean valid, String message) {
-            this.valid = valid; this.message = message;
+        // Number of separate rules broken (0 when valid)
+        public final int violationCount;
+        private ValidationResult(boolean valid, String message, int violationCount) {
+            this.valid = valid; this.message = message; this.violationCount = violationCount;
+        }
+        public static ValidationResult ok() { return new ValidationResult(true, "OK", 0); }
+        public static ValidationResult fail(String msg) { return new ValidationResult(false, msg, 1); }
+        public static ValidationResult fail(List<String> violations) {
+            return new ValidationResult(false, String.join("\n", violations), violations.size());
         }
-        public static ValidationResult ok() { return new ValidationResult(true, "OK"); }
-        public static ValidationResult fail(String msg) { return new ValidationResult(false, msg); }
     }
 }
 
@@ -0,0 +1,308 @@
+package com.altf4studios.corebringer.compiler;
+
+import com.badlogic.gdx.Gdx;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Background syntax/type checking for the code editor, in two passes:
+ * - analyze(): the keystroke pass. javac parses only (syntax errors), plus CodePolicyValidator
+ *   violations so forbidden APIs are marked before Run Code. LATENCY_BUDGET_MICROS applies to this pass
+ * - attribute(): javac up to attribution (type errors, unknown symbols; no class files). Takes over
+ *   100 ms on a long source, so the editor runs it only once typing has paused for longer
+ * - Each pass reuses its own file manager, so the JDK's own classes are looked up once, and has its
+ *   own lock, so a keystroke never waits behind a running attribution
+ * - Every request gets a version; cancel() (or a newer request) aborts a running pass at the
+ *   next javac phase boundary, and it returns null
+ * - Unchanged source returns the previous markers without compiling (the type markers too, once
+ *   attribute() has seen that source)
+ * Without a JDK compiler (e.g. a trimmed runtime) only the policy markers are produced.
+ */
+public final class IncrementalDiagnostics {
+    private static final String TAG = "IncrementalDiagnostics";
+    // Keystroke passes slower than this are counted and logged; IncrementalDiagnosticsBenchmark fails when
+    // its p99 on a 400-line source is over it
+    public static final long LATENCY_BUDGET_MICROS = 100_000L;
+    public static final int MAX_MARKERS = 50;
+    private static final List<String> OPTIONS = Arrays.asList(
+        "-proc:none", "-implicit:none", "-Xlint:none", "-g:none", "-Xmaxerrs", String.valueOf(MAX_MARKERS));
+    private static final Pattern PUBLIC_CLASS = Pattern.compile("public\\s+(?:final\\s+|abstract\\s+)*class\\s+(\\w+)");
+
+    /**
+     * One inline marker: a source range and its message.
+     */
+    public static final class Marker {
+        public final int start;
+        public final int end;
+        // 1-based
+        public final int line;
+        public final boolean policy;
+        public final String message;
+
+        Marker(int start, int end, int line, boolean policy, String message) {
+            this.start = start;
+            this.end = end;
+            this.line = line;
+            this.policy = policy;
+            this.message = message;
+        }
+    }
+
+    public static final class Result {
+        public final int version;
+        public final List<Marker> markers;
+        public final long micros;
+        public final boolean cached;
+        // Includes type errors (attribute() ran on this source)
+        public final boolean attributed;
+
+        Result(int version, List<Marker> markers, long micros, boolean cached, boolean attributed) {
+            this.version = version;
+            this.markers = markers;
+            this.micros = micros;
+            this.cached = cached;
+            this.attributed = attributed;
+        }
+    }
+
+    private static final class Cancelled extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Cancelled() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final JavaCompiler compiler;
+    // javac's file managers are not thread-safe; one per pass
+    private final StandardJavaFileManager parseFiles;
+    private final StandardJavaFileManager attributeFiles;
+    private final Object parseLock = new Object();
+    private final Object attributeLock = new Object();
+    private volatile int latestVersion = 0;
+    // Newest result of either pass (guarded by this)
+    private String lastSource;
+    private List<Marker> lastMarkers = Collections.emptyList();
+    private boolean lastAttributed = false;
+
+    // Metrics (guarded by this)
+    private long analyses = 0;
+    private long attributions = 0;
+    private long cancelled = 0;
+    private long overBudget = 0;
+    private long maxMicros = 0;
+    private long maxAttributeMicros = 0;
+
+    public IncrementalDiagnostics() {
+        JavaCompiler c = null;
+        StandardJavaFileManager parse = null;
+        StandardJavaFileManager attribute = null;
+        try {
+            c = ToolProvider.getSystemJavaCompiler();
+            if (c != null) {
+                parse = c.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+                attribute = c.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+            }
+        } catch (Exception e) {
+            log("In-process compiler unavailable: " + e.getMessage());
+        }
+        compiler = attribute != null ? c : null;
+        parseFiles = parse;
+        attributeFiles = attribute;
+    }
+
+    public boolean isCompilerAvailable() {
+        return compiler != null;
+    }
+
+    /**
+     * Version for a new request; any analysis with an older version is abandoned.
+     */
+    public int nextVersion() {
+        return ++latestVersion;
+    }
+
+    public boolean isLatest(int version) {
+        return version == latestVersion;
+    }
+
+    // Abandon whatever is running or queued
+    public void cancel() {
+        latestVersion++;
+    }
+
+    /**
+     * Keystroke pass (syntax and policy) on the calling (worker) thread. Returns null when a newer
+     * request superseded this one.
+     */
+    public Result analyze(String source, int version) {
+        synchronized (parseLock) {
+            return run(source, version, false);
+        }
+    }
+
+    /**
+     * Full pass (adds type errors) on the calling (worker) thread, for when typing has paused.
+     * Returns null when a newer request superseded this one.
+     */
+    public Result attribute(String source, int version) {
+        synchronized (attributeLock) {
+            return run(source, version, true);
+        }
+    }
+
+    private Result run(String source, int version, boolean attribute) {
+        if (!isLatest(version)) return null;
+        long start = System.nanoTime();
+        synchronized (this) {
+            if (source.equals(lastSource) && (lastAttributed || !attribute)) {
+                return new Result(version, lastMarkers, (System.nanoTime() - start) / 1000L, true, lastAttributed);
+            }
+        }
+        List<Marker> markers = new ArrayList<>();
+        try {
+            if (compiler != null) compile(source, version, attribute, markers);
+        } catch (Cancelled e) {
+            synchronized (this) {
+                cancelled++;
+            }
+            return null;
+        } catch (RuntimeException e) {
+            // Listener exceptions come back wrapped by javac
+            if (!isLatest(version)) {
+                synchronized (this) {
+                    cancelled++;
+                }
+                return null;
+            }
+            log("Analysis failed: " + e);
+        }
+        for (CodePolicyValidator.Violation v : CodePolicyValidator.findViolations(source)) {
+            if (markers.size() >= MAX_MARKERS) break;
+            markers.add(new Marker(v.start, Math.max(v.start, v.end), lineOf(source, v.start), true, v.message));
+        }
+        markers.sort((a, b) -> Integer.compare(a.start, b.start));
+        List<Marker> result = Collections.unmodifiableList(markers);
+        long micros = (System.nanoTime() - start) / 1000L;
+        synchronized (this) {
+            if (attribute) {
+                attributions++;
+                if (micros > maxAttributeMicros) maxAttributeMicros = micros;
+            } else {
+                analyses++;
+                if (micros > maxMicros) maxMicros = micros;
+                if (micros > LATENCY_BUDGET_MICROS) overBudget++;
+            }
+            // A syntax-only result must not replace the type markers of the same source
+            if (attribute || !lastAttributed || !source.equals(lastSource)) {
+                lastSource = source;
+                lastMarkers = result;
+                lastAttributed = attribute;
+            }
+        }
+        return new Result(version, result, micros, false, attribute);
+    }
+
+    /**
+     * Run one throwaway pass of each kind so javac's classes and the JDK symbol tables are loaded
+     * before the first keystroke. Call from a worker thread.
+     */
+    public void warmUp() {
+        String source = "public class Main {\n    public static void main(String[] args) {\n        System.out.println(\"\");\n    }\n}\n";
+        attribute(source, latestVersion);
+        // Different text, so the parse pass really runs
+        analyze(source + "\n", latestVersion);
+    }
+
+    public synchronized String getStats() {
+        return (compiler != null ? "javac" : "policy only") + ", keystroke passes " + analyses + " (over "
+            + (LATENCY_BUDGET_MICROS / 1000L) + " ms " + overBudget + ", max " + (maxMicros / 1000L) + " ms), type passes "
+            + attributions + " (max " + (maxAttributeMicros / 1000L) + " ms), cancelled " + cancelled;
+    }
+
+    private void compile(String source, int version, boolean attribute, List<Marker> markers) {
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        JavacTask task = (JavacTask) compiler.getTask(null, attribute ? attributeFiles : parseFiles, collector, OPTIONS, null,
+            Collections.singletonList(new SourceObject(className(source), source)));
+        task.addTaskListener(new TaskListener() {
+            @Override
+            public void started(TaskEvent e) {
+                if (!isLatest(version)) throw new Cancelled();
+            }
+
+            @Override
+            public void finished(TaskEvent e) {
+                if (!isLatest(version)) throw new Cancelled();
+            }
+        });
+        try {
+            if (attribute) {
+                task.analyze();
+            } else {
+                task.parse();
+            }
+        } catch (java.io.IOException e) {
+            log("Analysis failed: " + e.getMessage());
+        }
+        for (Diagnostic<? extends JavaFileObject> d : collector.getDiagnostics()) {
+            if (d.getKind() != Diagnostic.Kind.ERROR || markers.size() >= MAX_MARKERS) continue;
+            long pos = d.getStartPosition() >= 0 ? d.getStartPosition() : d.getPosition();
+            if (pos < 0) pos = 0;
+            long end = Math.max(pos, d.getEndPosition());
+            int line = d.getLineNumber() > 0 ? (int) d.getLineNumber() : lineOf(source, (int) pos);
+            markers.add(new Marker((int) pos, (int) Math.min(end, source.length()), line, false,
+                d.getMessage(Locale.ROOT)));
+        }
+    }
+
+    // javac insists a public class lives in a file of the same name
+    private static String className(String source) {
+        Matcher m = PUBLIC_CLASS.matcher(source);
+        return m.find() ? m.group(1) : "Main";
+    }
+
+    private static int lineOf(String source, int offset) {
+        int line = 1;
+        int limit = Math.min(offset, source.length());
+        for (int i = 0; i < limit; i++) {
+            if (source.charAt(i) == '\n') line++;
+        }
+        return line;
+    }
+
+    private static void log(String message) {
+        if (Gdx.app != null) Gdx.app.log(TAG, message);
+    }
+
+    private static final class SourceObject extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceObject(String className, String source) {
+            super(URI.create("string:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
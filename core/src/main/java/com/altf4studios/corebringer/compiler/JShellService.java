@@ -0,0 +1,283 @@
+package com.altf4studios.corebringer.compiler;
+
+import com.altf4studios.corebringer.utils.JobExecutor;
+import com.badlogic.gdx.Gdx;
+import jdk.jshell.JShell;
+import jdk.jshell.Snippet;
+import jdk.jshell.SnippetEvent;
+import jdk.jshell.SourceCodeAnalysis;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Shared JShell engine for the debug console.
+ * - warmUp() builds the engine on a background job (and runs a first snippet so the compiler
+ *   and the remote agent are loaded), so the first real evaluation doesn't take seconds
+ * - Input is split into snippets; each gets its own timeout, enforced with JShell.stop()
+ * - Captured stdout/stderr is capped at MAX_OUTPUT_BYTES per evaluation
+ * - The engine is closed and rebuilt after RECYCLE_AFTER_SNIPPETS snippets (or after a snippet
+ *   had to be stopped), so definitions left behind by earlier snippets can't pile up
+ * Evaluations are serialized; evaluateAsync() runs on the {@link JobExecutor}.
+ */
+public final class JShellService {
+    private static final String TAG = "JShellService";
+    public static final long SNIPPET_TIMEOUT_MS = 5000L;
+    public static final int MAX_OUTPUT_BYTES = 16 * 1024;
+    public static final int RECYCLE_AFTER_SNIPPETS = 200;
+
+    private static JShellService instance;
+
+    private final Object engineLock = new Object();
+    private final CappedOutputStream output = new CappedOutputStream(MAX_OUTPUT_BYTES);
+    // Fires JShell.stop() when a snippet overruns; one daemon thread is plenty
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "corebringer-jshell-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+    private JShell engine;
+    private int snippetsSinceBuild = 0;
+    private volatile boolean warming = false;
+    private volatile boolean closed = false;
+
+    // Metrics
+    private long evaluations = 0;
+    private long timeouts = 0;
+    private int recycles = 0;
+    private long lastBuildMillis = 0;
+
+    private JShellService() {
+    }
+
+    public static synchronized JShellService getInstance() {
+        if (instance == null) {
+            instance = new JShellService();
+        }
+        return instance;
+    }
+
+    /**
+     * Build the engine in the background if it isn't built yet. Safe to call repeatedly.
+     */
+    public void warmUp() {
+        if (closed || warming || isReady()) return;
+        warming = true;
+        JobExecutor.getInstance().execute(() -> {
+            try {
+                synchronized (engineLock) {
+                    ensureEngine();
+                }
+            } catch (Exception e) {
+                log("Warm-up failed: " + e.getMessage());
+            } finally {
+                warming = false;
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return engine != null;
+    }
+
+    /**
+     * Evaluate the input on the calling thread (blocks for up to SNIPPET_TIMEOUT_MS per snippet).
+     */
+    public String evaluate(String input) {
+        if (input == null || input.trim().isEmpty()) return "No output.";
+        synchronized (engineLock) {
+            if (closed) return "JShell is closed.";
+            JShell shell;
+            try {
+                shell = ensureEngine();
+            } catch (Exception e) {
+                return "JShell unavailable: " + e.getMessage();
+            }
+            evaluations++;
+            output.reset();
+            StringBuilder result = new StringBuilder();
+            boolean stopped = false;
+            SourceCodeAnalysis analysis = shell.sourceCodeAnalysis();
+            String remaining = input;
+            while (!remaining.trim().isEmpty()) {
+                SourceCodeAnalysis.CompletionInfo info = analysis.analyzeCompletion(remaining);
+                // Incomplete input is evaluated as-is so JShell reports the error
+                String source = info.completeness().isComplete() ? info.source() : remaining;
+                remaining = info.completeness().isComplete() ? info.remaining() : "";
+                if (evalSnippet(shell, source, result)) {
+                    stopped = true;
+                    break;
+                }
+            }
+            String printed = output.asString();
+            if (!printed.isEmpty()) result.append(printed);
+            if (output.isTruncated()) {
+                result.append("\n[output truncated at ").append(MAX_OUTPUT_BYTES / 1024).append(" KB]\n");
+            }
+            // A stopped snippet may have left threads or half-built state behind
+            if (stopped || snippetsSinceBuild >= RECYCLE_AFTER_SNIPPETS) recycle(stopped ? "snippet stopped" : "snippet limit");
+            return result.length() == 0 ? "No output." : result.toString();
+        }
+    }
+
+    /**
+     * Evaluate on the job executor; the callback runs on the render thread.
+     */
+    public Future<String> evaluateAsync(String input, Consumer<String> callback) {
+        return JobExecutor.getInstance().submit(() -> {
+            String result = evaluate(input);
+            if (callback != null) Gdx.app.postRunnable(() -> callback.accept(result));
+            return result;
+        });
+    }
+
+    /**
+     * Drop every definition by rebuilding the engine (in the background).
+     */
+    public void reset() {
+        synchronized (engineLock) {
+            recycle("reset");
+        }
+    }
+
+    public String getStats() {
+        return (isReady() ? "ready" : warming ? "warming" : "cold")
+            + ", evaluations " + evaluations + ", timeouts " + timeouts
+            + ", snippets since build " + snippetsSinceBuild + "/" + RECYCLE_AFTER_SNIPPETS
+            + ", recycles " + recycles + ", last build " + lastBuildMillis + " ms";
+    }
+
+    public void close() {
+        synchronized (engineLock) {
+            closed = true;
+            closeEngine();
+        }
+        watchdog.shutdownNow();
+    }
+
+    // Returns true when the snippet had to be stopped
+    private boolean evalSnippet(JShell shell, String source, StringBuilder result) {
+        snippetsSinceBuild++;
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> timer = watchdog.schedule(() -> {
+            timedOut.set(true);
+            shell.stop();
+        }, SNIPPET_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        List<SnippetEvent> events;
+        try {
+            events = shell.eval(source);
+        } catch (Exception e) {
+            result.append("Exception: ").append(e.getMessage()).append("\n");
+            return false;
+        } finally {
+            timer.cancel(false);
+        }
+        if (timedOut.get()) {
+            timeouts++;
+            result.append("Stopped: snippet ran longer than ").append(SNIPPET_TIMEOUT_MS / 1000).append(" s\n");
+            return true;
+        }
+        for (SnippetEvent e : events) {
+            if (e.exception() != null) {
+                result.append("Exception: ").append(e.exception().getMessage()).append("\n");
+            } else if (e.status() == Snippet.Status.REJECTED) {
+                result.append("Rejected: ").append(e.snippet().source()).append("\n");
+            } else if (e.value() != null) {
+                result.append(e.value()).append("\n");
+            }
+        }
+        return false;
+    }
+
+    // Called with engineLock held
+    private JShell ensureEngine() {
+        if (engine == null) {
+            long start = System.currentTimeMillis();
+            PrintStream ps = new PrintStream(output, true, StandardCharsets.UTF_8);
+            JShell shell = JShell.builder().out(ps).err(ps).build();
+            shell.eval("import com.badlogic.gdx.*;");
+            shell.eval("import com.altf4studios.corebringer.*;");
+            // First real snippet loads the compiler and the remote agent
+            shell.eval("int warmUp = 1;");
+            output.reset();
+            engine = shell;
+            snippetsSinceBuild = 0;
+            lastBuildMillis = System.currentTimeMillis() - start;
+            log("JShell ready in " + lastBuildMillis + " ms");
+        }
+        return engine;
+    }
+
+    // Called with engineLock held
+    private void recycle(String reason) {
+        if (engine == null) return;
+        closeEngine();
+        recycles++;
+        log("Recycling JShell (" + reason + ")");
+        warmUp();
+    }
+
+    private void closeEngine() {
+        if (engine == null) return;
+        try { engine.close(); } catch (Exception ignored) {}
+        engine = null;
+    }
+
+    private static void log(String message) {
+        if (Gdx.app != null) Gdx.app.log(TAG, message);
+    }
+
+    /**
+     * Keeps the first limit bytes written and counts the rest as truncated.
+     */
+    private static final class CappedOutputStream extends OutputStream {
+        private final byte[] buffer;
+        private int size = 0;
+        private boolean truncated = false;
+
+        CappedOutputStream(int limit) {
+            buffer = new byte[limit];
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (size < buffer.length) {
+                buffer[size++] = (byte) b;
+            } else {
+                truncated = true;
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            int n = Math.min(len, buffer.length - size);
+            if (n > 0) {
+                System.arraycopy(b, off, buffer, size, n);
+                size += n;
+            }
+            if (n < len) truncated = true;
+        }
+
+        synchronized void reset() {
+            size = 0;
+            truncated = false;
+        }
+
+        synchronized boolean isTruncated() {
+            return truncated;
+        }
+
+        synchronized String asString() {
+            return new String(buffer, 0, size, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -4,22 +4,65 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import com.altf4studios.corebringer.utils.ContentHash;
+import com.altf4studios.corebringer.utils.JobExecutor;
+
 /**
  * Compiles and runs user-provided Java code using external javac/java.
  * Returns IDE-like, formatted output including error categories and line numbers.
+ * Compile results are cached by source hash (shared by all instances): the class files, or javac's
+ * errors. Re-running unchanged code skips javac, but the program itself always runs again.
  */
 public class JavaExternalRunner {
     private static final String TEMP_DIR = System.getProperty("java.io.tmpdir") + "/corebringer_compiler/";
     private static final int COMPILE_TIMEOUT_SEC = 30;
     private static final int EXEC_TIMEOUT_SEC = 60;
+    public static final int COMPILE_CACHE_CAPACITY = 64;
+    private static final String LAUNCH_ERROR_PREFIX = "❌ COMPILATION ERROR:\n   ";
+
+    // What javac produced for one source: its class files by name, or the formatted errors
+    private static final class Compiled {
+        final Map<String, byte[]> classes;
+        final String errors;
+
+        Compiled(Map<String, byte[]> classes, String errors) {
+            this.classes = classes;
+            this.errors = errors;
+        }
+    }
+
+    private static final Map<String, Compiled> COMPILED = new LinkedHashMap<String, Compiled>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Compiled> eldest) {
+            return size() > COMPILE_CACHE_CAPACITY;
+        }
+    };
+
+    // Wall time of the last compileAndRun's javac and java processes on this thread (0 when skipped or cached)
+    private static final ThreadLocal<long[]> LAST_TIMINGS = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static long lastCompileMillis() {
+      return LAST_TIMINGS.get()[0];
+    }
+
+    public static long lastRunMillis() {
+      return LAST_TIMINGS.get()[1];
+    }
 
     public String compileAndRun(String code) {
+      long[] timings = LAST_TIMINGS.get();
+      timings[0] = 0;
+      timings[1] = 0;
       String session = UUID.randomUUID().toString().substring(0, 8);
       String baseDir = TEMP_DIR + session + "/";
       try {
@@ -31,35 +74,75 @@ public class JavaExternalRunner {
           return "❌ SYNTAX ERROR:\n   Could not find a public class declaration with a name matching the file.\n   Tip: Wrap your code as: public class Main { public static void main(String[] args){ ... } }";
         }
 
-        Path javaFile = Paths.get(baseDir + mainClass + ".java");
-        Files.write(javaFile, code.getBytes());
+        String key = ContentHash.of(code);
+        Compiled compiled;
+        synchronized (COMPILED) {
+          compiled = COMPILED.get(key);
+        }
+        if (compiled == null) {
+          Path javaFile = Paths.get(baseDir + mainClass + ".java");
+          Files.write(javaFile, code.getBytes());
 
-        String compileOut = compile(javaFile.toString(), baseDir);
-        if (!compileOut.startsWith("✅")) {
+          long start = System.nanoTime();
+          String compileOut = compile(javaFile.toString(), baseDir);
+          timings[0] = (System.nanoTime() - start) / 1_000_000L;
+          boolean ok = compileOut.startsWith("✅");
+          if (!ok && isTransient(compileOut)) {
+            cleanup(baseDir);
+            return compileOut;
+          }
+          compiled = ok ? new Compiled(readClasses(baseDir), null) : new Compiled(null, compileOut);
+          synchronized (COMPILED) {
+            COMPILED.put(key, compiled);
+          }
+        } else if (compiled.classes != null) {
+          for (Map.Entry<String, byte[]> c : compiled.classes.entrySet()) {
+            Files.write(Paths.get(baseDir + c.getKey()), c.getValue());
+          }
+        }
+        if (compiled.errors != null) {
           cleanup(baseDir);
-          return compileOut;
+          return compiled.errors;
         }
 
+        long start = System.nanoTime();
         String runOut = run(mainClass, baseDir);
+        timings[1] = (System.nanoTime() - start) / 1_000_000L;
         cleanup(baseDir);
         return runOut;
       } catch (Exception e) {
         cleanup(baseDir);
-        return "❌ COMPILATION ERROR:\n   " + e.getMessage();
+        return LAUNCH_ERROR_PREFIX + e.getMessage();
       }
     }
 
+    // Class files javac wrote next to the source (the main class and any nested or extra classes)
+    private static Map<String, byte[]> readClasses(String baseDir) throws IOException {
+      Map<String, byte[]> classes = new LinkedHashMap<>();
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(baseDir), "*.class")) {
+        for (Path f : files) classes.put(f.getFileName().toString(), Files.readAllBytes(f));
+      }
+      return classes;
+    }
+
+    // Timeouts may be a slow machine, not the code: compile again next time
+    private static boolean isTransient(String result) {
+      return result.contains("TIMEOUT:") || result.startsWith(LAUNCH_ERROR_PREFIX);
+    }
+
     private String compile(String javaFilePath, String baseDir) throws IOException, InterruptedException {
       ProcessBuilder pb = new ProcessBuilder("javac", javaFilePath);
       pb.directory(new File(baseDir));
       pb.redirectErrorStream(true);
       Process p = pb.start();
-      String out = readAll(p);
+      Future<String> pending = drainOutput(p);
       boolean finished = p.waitFor(COMPILE_TIMEOUT_SEC, TimeUnit.SECONDS);
       if (!finished) {
         p.destroyForcibly();
+        pending.cancel(true);
         return "❌ COMPILATION TIMEOUT:\n   Took longer than " + COMPILE_TIMEOUT_SEC + " seconds.";
       }
+      String out = awaitOutput(pending);
       if (p.exitValue() != 0) {
         return formatJavacErrors(out);
       }
@@ -71,12 +154,14 @@ public class JavaExternalRunner {
       pb.directory(new File(baseDir));
       pb.redirectErrorStream(true);
       Process p = pb.start();
-      String out = readAll(p);
+      Future<String> pending = drainOutput(p);
       boolean finished = p.waitFor(EXEC_TIMEOUT_SEC, TimeUnit.SECONDS);
       if (!finished) {
         p.destroyForcibly();
+        pending.cancel(true);
         return "❌ RUNTIME TIMEOUT:\n   Took longer than " + EXEC_TIMEOUT_SEC + " seconds.";
       }
+      String out = awaitOutput(pending);
       if (p.exitValue() != 0) {
         return formatRuntimeErrors(out);
       }
@@ -86,6 +171,22 @@ public class JavaExternalRunner {
       return "Program output:\n" + out.trim();
     }
 
+    // Read stdout on a job thread while the caller waits with a timeout; reading inline would block
+    // until the process exits, so a program stuck in a loop would never hit the timeout
+    private Future<String> drainOutput(Process p) {
+      return JobExecutor.getInstance().submitDedicated("process-output", () -> readAll(p));
+    }
+
+    private String awaitOutput(Future<String> pending) {
+      try {
+        // The process has exited, so its stream is at EOF or about to be
+        return pending.get(5, TimeUnit.SECONDS);
+      } catch (Exception e) {
+        pending.cancel(true);
+        return "";
+      }
+    }
+
     private String readAll(Process p) throws IOException {
       StringBuilder sb = new StringBuilder();
       try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
@@ -17,6 +17,20 @@ public abstract class Entity implements BattleEntity {
     protected Map<String, Integer> statusEffects = new HashMap<>(); // Status effects (e.g., "Vulnerable", "Weakened")
     protected List<Poison> poisonEffects = new ArrayList<>(); // Poison status effects
 
+    // Change flags passed to the observer (see BattleState)
+    public static final int CHANGED_HP = 1;
+    public static final int CHANGED_BLOCK = 1 << 1;
+    public static final int CHANGED_STATUS = 1 << 2;
+
+    /**
+     * Notified whenever HP, block or statuses change, so UIs don't have to poll every frame.
+     */
+    public interface ChangeObserver {
+        void onEntityChanged(Entity entity, int changes);
+    }
+
+    private ChangeObserver changeObserver;
+
     public Entity(String name, int maxHealth, int attack, int defense) {
         this.name = name;
         this.maxHealth = maxHealth;
@@ -25,6 +39,15 @@ public abstract class Entity implements BattleEntity {
         this.defense = defense;
     }
 
+    public void setChangeObserver(ChangeObserver observer) {
+        this.changeObserver = observer;
+    }
+
+    // Called by mutators (and StatusManager) after a change; cheap no-op without an observer
+    public void notifyChanged(int changes) {
+        if (changeObserver != null) changeObserver.onEntityChanged(this, changes);
+    }
+
     public String getName() {
         return name;
     }
@@ -48,6 +71,7 @@ public abstract class Entity implements BattleEntity {
             alive = false;
             onDeath();
         }
+        notifyChanged(CHANGED_HP);
     }
 
     public int getMaxHealth() {
@@ -61,6 +85,7 @@ public abstract class Entity implements BattleEntity {
     public void setMaxHealth(int maxHealth) {
         this.maxHealth = Math.max(1, maxHealth);
         if (this.health > this.maxHealth) this.health = this.maxHealth;
+        notifyChanged(CHANGED_HP);
     }
 
     public int getAttack() {
@@ -98,6 +123,7 @@ public abstract class Entity implements BattleEntity {
      */
     public void setBlock(int value) {
         this.block = Math.max(0, value);
+        notifyChanged(CHANGED_BLOCK);
     }
 
     /**
@@ -105,16 +131,19 @@ public abstract class Entity implements BattleEntity {
      */
     public void clearBlock() {
         this.block = 0;
+        notifyChanged(CHANGED_BLOCK);
     }
 
     // Status management
     public void addStatus(String status, int value) {
         int current = statusEffects.getOrDefault(status, 0);
         statusEffects.put(status, Math.max(0, current + Math.max(1, value)));
+        notifyChanged(CHANGED_STATUS);
     }
 
     public void removeStatus(String status) {
         statusEffects.remove(status);
+        notifyChanged(CHANGED_STATUS);
     }
 
     public boolean hasStatus(String status) {
@@ -133,12 +162,14 @@ public abstract class Entity implements BattleEntity {
                 existing.increasePower(poison.getPower());
                 existing.onApply();
             }
+            notifyChanged(CHANGED_STATUS);
         }
     }
 
     public void removePoison(Poison poison) {
         if (poison != null) {
             poisonEffects.remove(poison);
+            notifyChanged(CHANGED_STATUS);
         }
     }
 
@@ -176,11 +207,13 @@ public abstract class Entity implements BattleEntity {
         for (Poison expiredPoison : expiredPoisons) {
             poisonEffects.remove(expiredPoison);
         }
+        notifyChanged(CHANGED_STATUS);
     }
 
     // Block gain and modifiers
     public void gainBlock(int amount) {
         block += applyBlockModifiers(amount);
+        notifyChanged(CHANGED_BLOCK);
     }
 
     public int applyBlockModifiers(int baseBlock) {
@@ -223,6 +256,7 @@ public abstract class Entity implements BattleEntity {
             alive = false;
             onDeath();
         }
+        notifyChanged(CHANGED_HP | CHANGED_BLOCK);
     }
 
     protected void onDeath() {
@@ -248,6 +282,7 @@ public abstract class Entity implements BattleEntity {
         } else {
             statusEffects.put(status, next);
         }
+        notifyChanged(CHANGED_STATUS);
     }
 
     // Targeting methods to be implemented in subclasses
@@ -56,6 +56,7 @@ public class Player extends Entity {
     public void heal(int amount) {
         if (alive) {
             health = Math.min(maxHealth, health + amount);
+            notifyChanged(CHANGED_HP);
         }
     }
 
@@ -0,0 +1,88 @@
+package com.altf4studios.corebringer.map;
+
+/**
+ * Immutable per-node route statistics for one {@link MapGraph}, produced by {@link MapAnalyzer}.
+ * Every "expected" value is the average over all downstream paths from the node to the boss,
+ * counting the node itself.
+ */
+public final class MapAnalysis {
+    private final MapGraph graph;
+    private final double[] pathCount;
+    private final float[] expectedDifficulty;
+    private final float[] expectedReward;
+    private final float[] risk;
+    private final float[] routeScore;
+    private final int[] bestNext;
+    private final int[] minSafeNodes;
+    private final long analysisNanos;
+
+    MapAnalysis(MapGraph graph, double[] pathCount, float[] expectedDifficulty, float[] expectedReward,
+                float[] risk, float[] routeScore, int[] bestNext, int[] minSafeNodes, long analysisNanos) {
+        this.graph = graph;
+        this.pathCount = pathCount;
+        this.expectedDifficulty = expectedDifficulty;
+        this.expectedReward = expectedReward;
+        this.risk = risk;
+        this.routeScore = routeScore;
+        this.bestNext = bestNext;
+        this.minSafeNodes = minSafeNodes;
+        this.analysisNanos = analysisNanos;
+    }
+
+    public MapGraph getGraph() {
+        return graph;
+    }
+
+    // Number of distinct paths from node to the last rank
+    public double getPathCount(int node) {
+        return pathCount[node];
+    }
+
+    public float getExpectedDifficulty(int node) {
+        return expectedDifficulty[node];
+    }
+
+    public float getExpectedReward(int node) {
+        return expectedReward[node];
+    }
+
+    // Chance (0..1) of losing a battle somewhere on an average path from this node
+    public float getRisk(int node) {
+        return risk[node];
+    }
+
+    // Score of the best single route from this node (reward minus difficulty, weighted by survival)
+    public float getRouteScore(int node) {
+        return routeScore[node];
+    }
+
+    // Successor on the best-scoring route, or -1 for the last rank
+    public int getBestNext(int node) {
+        return bestNext[node];
+    }
+
+    // Fewest rest/merchant/search nodes on any path from this node to the boss
+    public int getMinSafeNodes(int node) {
+        return minSafeNodes[node];
+    }
+
+    public long getAnalysisNanos() {
+        return analysisNanos;
+    }
+
+    // Best node to pick among the selectable nodes of a rank (all of it if fromNode < 0)
+    public int getBestChoice(int rank, int fromNode) {
+        int best = -1;
+        if (fromNode >= 0) {
+            for (int i = 0; i < graph.getSuccessorCount(fromNode); i++) {
+                int n = graph.getSuccessor(fromNode, i);
+                if (best < 0 || routeScore[n] > routeScore[best]) best = n;
+            }
+        } else {
+            for (int n = graph.getRankStart(rank); n < graph.getRankEnd(rank); n++) {
+                if (best < 0 || routeScore[n] > routeScore[best]) best = n;
+            }
+        }
+        return best;
+    }
+}
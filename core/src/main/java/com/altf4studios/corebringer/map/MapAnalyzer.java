@@ -0,0 +1,184 @@
+package com.altf4studios.corebringer.map;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputes route statistics for a {@link MapGraph} with one backward pass over the ranks.
+ * Because edges only go from rank r to r + 1, walking ranks from the boss back to rank 1
+ * visits every successor before its parents, so each node is computed exactly once
+ * from its children's memoized values: O(nodes + edges) per analysis.
+ */
+public class MapAnalyzer {
+    // Balance limits used by checkBalance (and the mapBalanceCheck Gradle task)
+    public static final float MAX_START_RISK = 0.6f;
+    public static final float MAX_START_DIFFICULTY_SPREAD = 1.5f;
+
+    /**
+     * Per-node-type estimates the analysis is built on. Difficulty and reward are in
+     * "average battle" units; win rate is the chance of clearing the node.
+     */
+    public interface NodeEstimates {
+        float difficulty(MapNode.Type type, int stageLevel);
+        float reward(MapNode.Type type, int stageLevel);
+        float winRate(MapNode.Type type, int stageLevel);
+    }
+
+    /**
+     * Default estimates tuned to the stage scaling in enemies.json (common HP grows ~10% per
+     * level, bosses are ~3x a common enemy). A search node resolves to a random battle 1 time in 6.
+     */
+    public static final NodeEstimates DEFAULT_ESTIMATES = new NodeEstimates() {
+        @Override
+        public float difficulty(MapNode.Type type, int stageLevel) {
+            int s = Math.max(1, stageLevel) - 1;
+            switch (type) {
+                case BATTLE: return 1f + 0.15f * s;
+                case BOSS: return 3f + 0.5f * s;
+                case REST: return -0.5f;
+                case SEARCH: return 0.3f + difficulty(MapNode.Type.BATTLE, stageLevel) / 6f;
+                case MERCHANT:
+                default: return 0f;
+            }
+        }
+
+        @Override
+        public float reward(MapNode.Type type, int stageLevel) {
+            switch (type) {
+                case BOSS: return 3f;
+                case SEARCH: return 1.5f;
+                case MERCHANT: return 1.2f;
+                case BATTLE:
+                case REST:
+                default: return 1f;
+            }
+        }
+
+        @Override
+        public float winRate(MapNode.Type type, int stageLevel) {
+            int s = Math.max(1, stageLevel) - 1;
+            switch (type) {
+                case BATTLE: return 0.98f - 0.01f * s;
+                case BOSS: return 0.85f - 0.04f * s;
+                case SEARCH: return 1f - (1f - winRate(MapNode.Type.BATTLE, stageLevel)) / 6f;
+                case MERCHANT:
+                case REST:
+                default: return 1f;
+            }
+        }
+    };
+
+    private final NodeEstimates estimates;
+
+    public MapAnalyzer() {
+        this(DEFAULT_ESTIMATES);
+    }
+
+    public MapAnalyzer(NodeEstimates estimates) {
+        this.estimates = estimates;
+    }
+
+    public MapAnalysis analyze(MapGraph graph) {
+        long start = System.nanoTime();
+        int stage = graph.getStageLevel();
+        int nodeCount = graph.getNodeCount();
+
+        // Per-type estimates are looked up once instead of per node
+        MapNode.Type[] allTypes = MapNode.Type.values();
+        float[] typeDifficulty = new float[allTypes.length];
+        float[] typeReward = new float[allTypes.length];
+        float[] typeWin = new float[allTypes.length];
+        for (MapNode.Type t : allTypes) {
+            typeDifficulty[t.ordinal()] = estimates.difficulty(t, stage);
+            typeReward[t.ordinal()] = estimates.reward(t, stage);
+            typeWin[t.ordinal()] = estimates.winRate(t, stage);
+        }
+
+        double[] pathCount = new double[nodeCount];
+        float[] difficulty = new float[nodeCount];
+        float[] reward = new float[nodeCount];
+        float[] survival = new float[nodeCount];
+        float[] routeScore = new float[nodeCount];
+        int[] bestNext = new int[nodeCount];
+        int[] minSafe = new int[nodeCount];
+
+        for (int r = graph.getRankCount() - 1; r >= 0; r--) {
+            for (int n = graph.getRankStart(r); n < graph.getRankEnd(r); n++) {
+                MapNode.Type type = graph.getType(n);
+                int t = type.ordinal();
+                int successors = graph.getSuccessorCount(n);
+                int safe = (type == MapNode.Type.BATTLE || type == MapNode.Type.BOSS) ? 0 : 1;
+
+                if (successors == 0) {
+                    pathCount[n] = 1d;
+                    difficulty[n] = typeDifficulty[t];
+                    reward[n] = typeReward[t];
+                    survival[n] = typeWin[t];
+                    routeScore[n] = typeWin[t] * (typeReward[t] - typeDifficulty[t]);
+                    bestNext[n] = -1;
+                    minSafe[n] = safe;
+                    continue;
+                }
+
+                // Path-count weighted means give the average over every downstream path
+                double paths = 0d;
+                double diffSum = 0d;
+                double rewardSum = 0d;
+                double survivalSum = 0d;
+                int best = -1;
+                int fewestSafe = Integer.MAX_VALUE;
+                for (int i = 0; i < successors; i++) {
+                    int s = graph.getSuccessor(n, i);
+                    double w = pathCount[s];
+                    paths += w;
+                    diffSum += w * difficulty[s];
+                    rewardSum += w * reward[s];
+                    survivalSum += w * survival[s];
+                    if (best < 0 || routeScore[s] > routeScore[best]) best = s;
+                    fewestSafe = Math.min(fewestSafe, minSafe[s]);
+                }
+                pathCount[n] = paths;
+                difficulty[n] = typeDifficulty[t] + (float) (diffSum / paths);
+                reward[n] = typeReward[t] + (float) (rewardSum / paths);
+                survival[n] = typeWin[t] * (float) (survivalSum / paths);
+                routeScore[n] = typeWin[t] * (typeReward[t] - typeDifficulty[t] + routeScore[best]);
+                bestNext[n] = best;
+                minSafe[n] = safe + fewestSafe;
+            }
+        }
+
+        float[] risk = new float[nodeCount];
+        for (int n = 0; n < nodeCount; n++) risk[n] = 1f - survival[n];
+        return new MapAnalysis(graph, pathCount, difficulty, reward, risk, routeScore, bestNext, minSafe,
+            System.nanoTime() - start);
+    }
+
+    /**
+     * Returns human-readable balance problems for this map (empty when the map is fine).
+     * - A rank 1 node whose average route is too likely to end the run
+     * - Rank 1 choices whose expected difficulty differs too much
+     * - A rank 1 node with a route to the boss that offers no rest/merchant/search stop
+     */
+    public static List<String> checkBalance(MapAnalysis analysis) {
+        List<String> issues = new ArrayList<>();
+        MapGraph graph = analysis.getGraph();
+        float minDifficulty = Float.MAX_VALUE;
+        float maxDifficulty = -Float.MAX_VALUE;
+        for (int n = graph.getRankStart(0); n < graph.getRankEnd(0); n++) {
+            float risk = analysis.getRisk(n);
+            if (risk > MAX_START_RISK) {
+                issues.add("Start node " + n + " risk " + Math.round(risk * 100) + "% exceeds " + Math.round(MAX_START_RISK * 100) + "%");
+            }
+            if (analysis.getMinSafeNodes(n) == 0) {
+                issues.add("Start node " + n + " has a battle-only route to the boss");
+            }
+            minDifficulty = Math.min(minDifficulty, analysis.getExpectedDifficulty(n));
+            maxDifficulty = Math.max(maxDifficulty, analysis.getExpectedDifficulty(n));
+        }
+        if (minDifficulty > 0f && maxDifficulty / minDifficulty > MAX_START_DIFFICULTY_SPREAD) {
+            issues.add("Start difficulty spread " + String.format("%.2f", maxDifficulty / minDifficulty)
+                + "x exceeds " + MAX_START_DIFFICULTY_SPREAD + "x");
+        }
+        return issues;
+    }
+}
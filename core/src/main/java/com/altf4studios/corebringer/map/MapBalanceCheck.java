@@ -0,0 +1,61 @@
+package com.altf4studios.corebringer.map;
+
+import java.util.List;
+
+/**
+ * Command-line balance check for the map generator, run by the core module's
+ * mapBalanceCheck Gradle task. Generates many seeded maps per stage, analyzes them and
+ * exits with a non-zero status when too many maps break the MapAnalyzer limits or the
+ * analysis gets too slow to run at generation time. Needs no libGDX backend.
+ *
+ * Usage: MapBalanceCheck [mapsPerStage] [maxIssueRatePercent]
+ */
+public class MapBalanceCheck {
+    private static final int STAGES = 5;
+    // Analysis must stay cheap enough to run whenever a map is generated
+    private static final long MAX_ANALYSIS_MILLIS_LARGE_MAP = 5;
+    private static final int LARGE_MAP_RANKS = 120;
+
+    public static void main(String[] args) {
+        int mapsPerStage = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int maxIssueRate = args.length > 1 ? Integer.parseInt(args[1]) : 25;
+        MapAnalyzer analyzer = new MapAnalyzer();
+        boolean failed = false;
+
+        System.out.println("=== Map Balance Check (" + mapsPerStage + " maps per stage) ===");
+        for (int stage = 1; stage <= STAGES; stage++) {
+            int mapsWithIssues = 0;
+            String example = null;
+            for (int i = 0; i < mapsPerStage; i++) {
+                MapGraph graph = new MapGenerator(i).generate(stage);
+                List<String> issues = MapAnalyzer.checkBalance(analyzer.analyze(graph));
+                if (!issues.isEmpty()) {
+                    mapsWithIssues++;
+                    if (example == null) example = "seed " + i + ": " + issues.get(0);
+                }
+            }
+            int rate = mapsWithIssues * 100 / Math.max(1, mapsPerStage);
+            System.out.println("Stage " + stage + ": " + mapsWithIssues + " maps with issues (" + rate + "%)"
+                + (example != null ? " e.g. " + example : ""));
+            if (rate > maxIssueRate) {
+                System.out.println("FAIL: stage " + stage + " issue rate " + rate + "% exceeds " + maxIssueRate + "%");
+                failed = true;
+            }
+        }
+
+        // Timing on a map with hundreds of nodes; warm up first so the JIT doesn't skew it
+        MapGraph large = new MapGenerator(1L, LARGE_MAP_RANKS).generate(1);
+        for (int i = 0; i < 200; i++) analyzer.analyze(large);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 20; i++) best = Math.min(best, analyzer.analyze(large).getAnalysisNanos());
+        System.out.println("Large map: " + large.getNodeCount() + " nodes, " + large.getEdgeCount()
+            + " edges analyzed in " + (best / 1000) + " us");
+        if (best > MAX_ANALYSIS_MILLIS_LARGE_MAP * 1_000_000L) {
+            System.out.println("FAIL: analysis slower than " + MAX_ANALYSIS_MILLIS_LARGE_MAP + " ms");
+            failed = true;
+        }
+
+        System.out.println(failed ? "=== Balance Check FAILED ===" : "=== Balance Check Passed ===");
+        if (failed) System.exit(1);
+    }
+}
@@ -1,4 +1,129 @@
 package com.altf4studios.corebringer.map;
 
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Seeded generator for layered stage maps.
+ * - Rank 1 is always a column of battle nodes, the last rank is a single boss node
+ * - Middle ranks hold MIN..MAX nodes with types rolled from {@link MapNode.Type} weights
+ * - Edges never cross, every node has at least one parent and one child,
+ *   so every node is reachable from rank 1 and can reach the boss
+ * - A non-battle node never directly follows a parent of the same type (no rest -> rest, shop -> shop)
+ * The same seed and stage level always produce the same graph.
+ */
 public class MapGenerator {
+    public static final int DEFAULT_RANKS = 10;
+    public static final int FIRST_RANK_NODES = 4;
+    public static final int MIN_NODES_PER_RANK = 1;
+    public static final int MAX_NODES_PER_RANK = 4;
+    // Chance (0..100) that a node gets an extra branch to the next column when it doesn't cross
+    private static final int EXTRA_BRANCH_CHANCE = 35;
+
+    private final long seed;
+    private final int rankCount;
+    private final RandomXS128 random;
+
+    public MapGenerator(long seed) {
+        this(seed, DEFAULT_RANKS);
+    }
+
+    public MapGenerator(long seed, int rankCount) {
+        if (rankCount < 2) throw new IllegalArgumentException("A map needs at least 2 ranks, got " + rankCount);
+        this.seed = seed;
+        this.rankCount = rankCount;
+        this.random = new RandomXS128(seed);
+    }
+
+    // Convenience for callers that don't care about reproducibility
+    public static long randomSeed() {
+        return new RandomXS128().nextLong();
+    }
+
+    public MapGraph generate(int stageLevel) {
+        // Mix the stage into the seed so a run's stages differ while staying reproducible
+        random.setSeed(seed ^ (0x9E3779B97F4A7C15L * Math.max(1, stageLevel)));
+
+        // 1) Node counts per rank and rank offsets
+        int[] rankStart = new int[rankCount + 1];
+        for (int r = 0; r < rankCount; r++) {
+            int size;
+            if (r == 0) size = FIRST_RANK_NODES;
+            else if (r == rankCount - 1) size = 1;
+            else size = MIN_NODES_PER_RANK + random.nextInt(MAX_NODES_PER_RANK - MIN_NODES_PER_RANK + 1);
+            rankStart[r + 1] = rankStart[r] + size;
+        }
+        int nodeCount = rankStart[rankCount];
+
+        // 2) Non-crossing edges between consecutive ranks
+        int[] edgeStart = new int[nodeCount + 1];
+        // Upper bound: each node links to at most MAX_NODES_PER_RANK + 1 children
+        int[] edgeBuffer = new int[nodeCount * (MAX_NODES_PER_RANK + 1)];
+        int edgeCount = 0;
+        for (int r = 0; r < rankCount - 1; r++) {
+            int a = rankStart[r + 1] - rankStart[r];
+            int b = rankStart[r + 2] - rankStart[r + 1];
+            int prevHi = -1;
+            for (int i = 0; i < a; i++) {
+                int node = rankStart[r] + i;
+                // Proportional span keeps edges monotone and covers every child at least once
+                int lo = Math.max((i * b) / a, prevHi);
+                int hi = Math.max(lo, ((i + 1) * b + a - 1) / a - 1);
+                int nextLo = (i + 1 < a) ? ((i + 1) * b) / a : b;
+                if (hi + 1 < b && hi + 1 <= nextLo && random.nextInt(100) < EXTRA_BRANCH_CHANCE) {
+                    hi++;
+                }
+                edgeStart[node] = edgeCount;
+                for (int j = lo; j <= hi; j++) {
+                    edgeBuffer[edgeCount++] = rankStart[r + 1] + j;
+                }
+                prevHi = hi;
+            }
+        }
+        // Boss (and any other last-rank nodes) have no children
+        for (int n = rankStart[rankCount - 1]; n <= nodeCount; n++) edgeStart[n] = edgeCount;
+        int[] edges = new int[edgeCount];
+        System.arraycopy(edgeBuffer, 0, edges, 0, edgeCount);
+
+        // 3) Node types, rolled in rank order so parents are known
+        byte[] types = new byte[nodeCount];
+        // Bitmask of parent types per node, filled while walking the previous rank's edges
+        int[] parentTypes = new int[nodeCount];
+        for (int r = 0; r < rankCount; r++) {
+            for (int n = rankStart[r]; n < rankStart[r + 1]; n++) {
+                MapNode.Type type;
+                if (r == 0) type = MapNode.Type.BATTLE;
+                else if (r == rankCount - 1) type = MapNode.Type.BOSS;
+                else type = rollType(parentTypes[n]);
+                types[n] = (byte) type.ordinal();
+                for (int e = edgeStart[n]; e < edgeStart[n + 1]; e++) {
+                    parentTypes[edges[e]] |= 1 << type.ordinal();
+                }
+            }
+        }
+
+        return new MapGraph(seed, stageLevel, rankStart, types, edgeStart, edges);
+    }
+
+    // Weighted roll that skips non-battle types already present on a parent
+    private MapNode.Type rollType(int parentMask) {
+        MapNode.Type[] all = MapNode.Type.values();
+        int total = 0;
+        for (MapNode.Type t : all) {
+            if (isAllowed(t, parentMask)) total += t.getWeight();
+        }
+        if (total <= 0) return MapNode.Type.BATTLE;
+        int roll = random.nextInt(total);
+        for (MapNode.Type t : all) {
+            if (!isAllowed(t, parentMask)) continue;
+            roll -= t.getWeight();
+            if (roll < 0) return t;
+        }
+        return MapNode.Type.BATTLE;
+    }
+
+    private static boolean isAllowed(MapNode.Type type, int parentMask) {
+        if (type == MapNode.Type.BOSS) return false;
+        if (type == MapNode.Type.BATTLE) return true;
+        return (parentMask & (1 << type.ordinal())) == 0;
+    }
 }
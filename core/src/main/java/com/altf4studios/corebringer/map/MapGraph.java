@@ -1,4 +1,144 @@
 package com.altf4studios.corebringer.map;
 
-public class MapGraph {
+import com.altf4studios.corebringer.utils.SaveData;
+
+/**
+ * Immutable layered DAG describing one stage map.
+ * - Nodes are numbered rank by rank, so rank r owns ids [rankStart[r], rankStart[r + 1])
+ * - Node types are stored as ordinals of {@link MapNode.Type}
+ * - Edges only go from rank r to rank r + 1 and are stored as compressed adjacency arrays:
+ *   the successors of node n are edges[edgeStart[n]] .. edges[edgeStart[n + 1] - 1]
+ */
+public final class MapGraph {
+    private final long seed;
+    private final int stageLevel;
+    private final int[] rankStart;
+    private final byte[] types;
+    private final int[] edgeStart;
+    private final int[] edges;
+
+    // Arrays are owned by the graph after construction; only MapGenerator and fromSaveData create graphs
+    MapGraph(long seed, int stageLevel, int[] rankStart, byte[] types, int[] edgeStart, int[] edges) {
+        this.seed = seed;
+        this.stageLevel = stageLevel;
+        this.rankStart = rankStart;
+        this.types = types;
+        this.edgeStart = edgeStart;
+        this.edges = edges;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getStageLevel() {
+        return stageLevel;
+    }
+
+    public int getRankCount() {
+        return rankStart.length - 1;
+    }
+
+    public int getNodeCount() {
+        return types.length;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    // First node id of the given rank
+    public int getRankStart(int rank) {
+        return rankStart[rank];
+    }
+
+    // One past the last node id of the given rank
+    public int getRankEnd(int rank) {
+        return rankStart[rank + 1];
+    }
+
+    public int getRankSize(int rank) {
+        return rankStart[rank + 1] - rankStart[rank];
+    }
+
+    public int getRankOf(int node) {
+        // Binary search over rank offsets (ranks are few, but keep it cheap anyway)
+        int lo = 0;
+        int hi = rankStart.length - 2;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (rankStart[mid] <= node) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    public MapNode.Type getType(int node) {
+        return MapNode.Type.fromOrdinal(types[node]);
+    }
+
+    public int getSuccessorCount(int node) {
+        return edgeStart[node + 1] - edgeStart[node];
+    }
+
+    // i-th successor of node, 0 <= i < getSuccessorCount(node)
+    public int getSuccessor(int node, int i) {
+        return edges[edgeStart[node] + i];
+    }
+
+    public boolean hasEdge(int from, int to) {
+        for (int e = edgeStart[from]; e < edgeStart[from + 1]; e++) {
+            if (edges[e] == to) return true;
+        }
+        return false;
+    }
+
+    public MapNode getNode(int node) {
+        return new MapNode(node, getRankOf(node), getType(node));
+    }
+
+    /**
+     * Copy this graph into a save-friendly structure (plain public arrays for libGDX Json)
+     */
+    public SaveData.MapData toSaveData() {
+        SaveData.MapData data = new SaveData.MapData();
+        data.seed = seed;
+        data.stageLevel = stageLevel;
+        data.rankStart = rankStart.clone();
+        data.types = new int[types.length];
+        for (int i = 0; i < types.length; i++) data.types[i] = types[i];
+        data.edgeStart = edgeStart.clone();
+        data.edges = edges.clone();
+        return data;
+    }
+
+    /**
+     * Rebuild a graph from saved arrays. Returns null if the data is missing or inconsistent,
+     * in which case callers should generate a fresh map instead.
+     */
+    public static MapGraph fromSaveData(SaveData.MapData data) {
+        if (data == null || data.rankStart == null || data.types == null
+            || data.edgeStart == null || data.edges == null) {
+            return null;
+        }
+        int nodeCount = data.types.length;
+        if (data.rankStart.length < 2 || data.rankStart[0] != 0
+            || data.rankStart[data.rankStart.length - 1] != nodeCount
+            || data.edgeStart.length != nodeCount + 1
+            || data.edgeStart[0] != 0 || data.edgeStart[nodeCount] != data.edges.length) {
+            return null;
+        }
+        for (int r = 1; r < data.rankStart.length; r++) {
+            if (data.rankStart[r] <= data.rankStart[r - 1]) return null;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            if (data.edgeStart[n + 1] < data.edgeStart[n]) return null;
+        }
+        for (int target : data.edges) {
+            if (target < 0 || target >= nodeCount) return null;
+        }
+        byte[] types = new byte[nodeCount];
+        for (int i = 0; i < nodeCount; i++) types[i] = (byte) MapNode.Type.fromOrdinal(data.types[i]).ordinal();
+        return new MapGraph(data.seed, data.stageLevel, data.rankStart.clone(), types,
+            data.edgeStart.clone(), data.edges.clone());
+    }
 }
@@ -1,4 +1,60 @@
 package com.altf4studios.corebringer.map;
 
-public class MapNode {
+/**
+ * Lightweight, immutable view of a single node in a {@link MapGraph}.
+ * The graph itself stores nodes as parallel arrays; this is only handed out
+ * to callers that prefer an object (logging, dialogs, debugging).
+ */
+public final class MapNode {
+
+    /**
+     * Node kinds that can appear on the map. The weight is the relative chance
+     * the generator rolls this type for a middle rank (boss is placed explicitly).
+     */
+    public enum Type {
+        BATTLE("combat_node", 55),
+        MERCHANT("shop_node", 15),
+        REST("rest_node", 15),
+        SEARCH("search_node", 15),
+        BOSS("boss_node", 0);
+
+        private static final Type[] VALUES = values();
+
+        private final String regionName;
+        private final int weight;
+
+        Type(String regionName, int weight) {
+            this.regionName = regionName;
+            this.weight = weight;
+        }
+
+        // Atlas region used by GameMapScreen for this node type
+        public String getRegionName() {
+            return regionName;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public static Type fromOrdinal(int ordinal) {
+            if (ordinal < 0 || ordinal >= VALUES.length) return BATTLE;
+            return VALUES[ordinal];
+        }
+    }
+
+    public final int id;
+    public final int rank;
+    public final Type type;
+
+    public MapNode(int id, int rank, Type type) {
+        this.id = id;
+        this.rank = rank;
+        this.type = type;
+    }
+
+    @Override
+    public String toString() {
+        return type + "#" + id + " (rank " + (rank + 1) + ")";
+    }
 }
@@ -0,0 +1,323 @@
+package com.altf4studios.corebringer.metrics;
+
+import com.altf4studios.corebringer.utils.JobExecutor;
+import com.altf4studios.corebringer.utils.WriteBehind;
+import com.badlogic.gdx.Gdx;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of every code submission (coding question attempt).
+ * - Fixed 32-byte little-endian records in segment files attempt_log/attempts-NNNNNN.bin, each starting with
+ *   a 16-byte header; a segment is closed after RECORDS_PER_SEGMENT records and the next one started
+ * - Each record ends with a CRC32 of its first 28 bytes, so a record torn by a crash is skipped
+ *   (and cut off before the next append) instead of misread
+ * - append() is cheap and thread-safe: records are encoded on the caller's thread and written
+ *   behind on the {@link JobExecutor} through {@link WriteBehind}, several appends in a row in one write
+ * - scan() reads segments through read-only memory maps, oldest first; {@link AttemptStats}
+ *   builds its histograms and streaks in that single pass
+ * Record: int questionId, long timestamp (epoch ms), int timeToSubmit, int compile, int run (ms),
+ * byte level, byte verdict, short policy violations, int crc.
+ */
+public final class AttemptLog {
+    private static final String TAG = "AttemptLog";
+    public static final String DIR = "attempt_log";
+    public static final int MAGIC = 0x4C414243; // "CBAL" little-endian
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 32;
+    // 1 MiB segments
+    public static final int RECORDS_PER_SEGMENT = 32768;
+
+    public static final byte VERDICT_WRONG = 0;
+    public static final byte VERDICT_CORRECT = 1;
+    public static final byte VERDICT_COMPILE_ERROR = 2;
+    public static final byte VERDICT_RUNTIME_ERROR = 3;
+    // Rejected by the code policy before compiling; not a graded attempt
+    public static final byte VERDICT_POLICY_REJECTED = 4;
+
+    /**
+     * One attempt as stored in the log.
+     */
+    public static final class Event {
+        public final int questionId;
+        public final long timestamp;
+        public final int timeToSubmitMillis;
+        public final int compileMillis;
+        public final int runMillis;
+        public final int level;
+        public final byte verdict;
+        public final int policyViolations;
+
+        public Event(int questionId, long timestamp, int timeToSubmitMillis, int compileMillis, int runMillis,
+                     int level, byte verdict, int policyViolations) {
+            this.questionId = questionId;
+            this.timestamp = timestamp;
+            this.timeToSubmitMillis = timeToSubmitMillis;
+            this.compileMillis = compileMillis;
+            this.runMillis = runMillis;
+            this.level = level;
+            this.verdict = verdict;
+            this.policyViolations = policyViolations;
+        }
+
+        // Counts toward correct/wrong (policy rejections never reached the grader)
+        public boolean isGraded() {
+            return verdict != VERDICT_POLICY_REJECTED;
+        }
+
+        public boolean isCorrect() {
+            return verdict == VERDICT_CORRECT;
+        }
+    }
+
+    /**
+     * Receives events in log order. Return false to stop the scan.
+     */
+    public interface Visitor {
+        boolean visit(Event event);
+    }
+
+    private static AttemptLog instance;
+
+    private final File dir;
+    // Encoded records not yet on disk; appends made while a write is pending join it
+    private final WriteBehind<byte[]> writer = WriteBehind.merging(this::writeChunk, AttemptLog::concat);
+
+    // Writer state, only touched by the writing thread
+    private File segment;
+    private int segmentRecords = -1;
+
+    // Metrics
+    private final AtomicLong appended = new AtomicLong();
+    private long writes = 0;
+
+    AttemptLog(File dir) {
+        this.dir = dir;
+    }
+
+    public static synchronized AttemptLog getInstance() {
+        if (instance == null) {
+            instance = new AttemptLog(Gdx.files.local(DIR).file());
+        }
+        return instance;
+    }
+
+    public File getDirectory() {
+        return dir;
+    }
+
+    /**
+     * Queue the event for writing. Any thread.
+     */
+    public void append(Event event) {
+        appended.incrementAndGet();
+        writer.submit(encode(event));
+    }
+
+    /**
+     * Block until every appended event is on disk. Called on exit.
+     */
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Visit every intact event in this log, oldest first.
+     * Events still waiting to be written are not included; flush() first when they matter.
+     */
+    public void scan(Visitor visitor) {
+        writer.runExclusive(() -> scan(dir, visitor));
+    }
+
+    /**
+     * Visit every intact event of the log in a directory (e.g. one copied from another machine).
+     * @return the number of events visited
+     */
+    public static long scan(File dir, Visitor visitor) {
+        long visited = 0;
+        final boolean[] stopped = {false};
+        Visitor tracking = event -> {
+            if (visitor.visit(event)) return true;
+            stopped[0] = true;
+            return false;
+        };
+        for (File file : segments(dir)) {
+            int n = readSegment(file, tracking, true);
+            if (n < 0) {
+                Gdx.app.error(TAG, "Skipping " + file.getName() + ": not an attempt log segment");
+                continue;
+            }
+            visited += n;
+            if (stopped[0]) break;
+        }
+        return visited;
+    }
+
+    public String getStats() {
+        File[] files = segments(dir);
+        long bytes = 0;
+        for (File f : files) bytes += f.length();
+        return files.length + " segments, " + (bytes / 1024) + " KB, " + appended.get() + " appended this session in " + writes + " writes";
+    }
+
+    private void writeChunk(byte[] chunk) {
+        try {
+            write(chunk);
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Failed to append attempts: " + e.getMessage());
+        }
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+
+    private void write(byte[] chunk) throws IOException {
+        int offset = 0;
+        while (offset < chunk.length) {
+            if (segment == null || segmentRecords >= RECORDS_PER_SEGMENT) openSegment();
+            int records = Math.min((chunk.length - offset) / RECORD_SIZE, RECORDS_PER_SEGMENT - segmentRecords);
+            try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, offset, records * RECORD_SIZE);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            segmentRecords += records;
+            offset += records * RECORD_SIZE;
+            writes++;
+        }
+    }
+
+    // Continue the newest segment (cut back to whole intact records) or start the next one
+    private void openSegment() throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+        File[] files = segments(dir);
+        if (segment == null && files.length > 0) {
+            File last = files[files.length - 1];
+            // Read, not mapped: a file with a live mapping can't be truncated on Windows
+            int intact = readSegment(last, null, false);
+            if (intact >= 0 && intact < RECORDS_PER_SEGMENT && cutTornTail(last, intact)) {
+                segment = last;
+                segmentRecords = intact;
+                return;
+            }
+        }
+        int next = files.length > 0 ? segmentNumber(files[files.length - 1]) + 1 : 1;
+        segment = new File(dir, String.format("attempts-%06d.bin", next));
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) channel.write(header);
+        }
+        segmentRecords = 0;
+    }
+
+    // Drop a torn record left by a crash so appends continue right after the intact ones
+    private static boolean cutTornTail(File file, int intact) {
+        long end = HEADER_SIZE + (long) intact * RECORD_SIZE;
+        if (file.length() == end) return true;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(end);
+            return true;
+        } catch (IOException e) {
+            // Still mapped by a reader; leave it and continue in a new segment
+            return false;
+        }
+    }
+
+    /**
+     * Hand the segment's intact records to the visitor (null to just count them), through a
+     * memory map or a plain read. Returns the records read, or -1 when the file isn't a segment.
+     */
+    private static int readSegment(File file, Visitor visitor, boolean mapped) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) return -1;
+            ByteBuffer map;
+            if (mapped) {
+                map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                map = ByteBuffer.allocate((int) size);
+                while (map.hasRemaining() && channel.read(map) >= 0) { }
+                map.flip();
+                size = map.limit();
+            }
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT_VERSION || map.getInt(8) != RECORD_SIZE) return -1;
+            CRC32 crc = new CRC32();
+            byte[] body = new byte[RECORD_SIZE - 4];
+            int records = 0;
+            for (int pos = HEADER_SIZE; pos + RECORD_SIZE <= size; pos += RECORD_SIZE) {
+                map.position(pos);
+                map.get(body);
+                crc.reset();
+                crc.update(body, 0, body.length);
+                // A torn record ends the segment: nothing valid was written after it
+                if ((int) crc.getValue() != map.getInt(pos + RECORD_SIZE - 4)) break;
+                records++;
+                if (visitor != null && !visitor.visit(decode(map, pos))) break;
+            }
+            return records;
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Failed to read " + file.getName() + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    static byte[] encode(Event e) {
+        ByteBuffer b = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(e.questionId);
+        b.putLong(e.timestamp);
+        b.putInt(e.timeToSubmitMillis);
+        b.putInt(e.compileMillis);
+        b.putInt(e.runMillis);
+        b.put((byte) Math.max(0, Math.min(127, e.level)));
+        b.put(e.verdict);
+        b.putShort((short) Math.max(0, Math.min(Short.MAX_VALUE, e.policyViolations)));
+        CRC32 crc = new CRC32();
+        crc.update(b.array(), 0, RECORD_SIZE - 4);
+        b.putInt((int) crc.getValue());
+        return b.array();
+    }
+
+    private static Event decode(ByteBuffer map, int pos) {
+        return new Event(
+            map.getInt(pos),
+            map.getLong(pos + 4),
+            map.getInt(pos + 12),
+            map.getInt(pos + 16),
+            map.getInt(pos + 20),
+            map.get(pos + 24),
+            map.get(pos + 25),
+            map.getShort(pos + 26));
+    }
+
+    private static File[] segments(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.startsWith("attempts-") && name.endsWith(".bin"));
+        if (files == null) return new File[0];
+        List<File> sorted = new ArrayList<>(Arrays.asList(files));
+        sorted.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+        return sorted.toArray(new File[0]);
+    }
+
+    private static int segmentNumber(File file) {
+        String name = file.getName();
+        try {
+            return Integer.parseInt(name.substring("attempts-".length(), name.length() - ".bin".length()));
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
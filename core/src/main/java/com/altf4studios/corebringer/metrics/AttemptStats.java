@@ -0,0 +1,139 @@
+package com.altf4studios.corebringer.metrics;
+
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.io.File;
+
+/**
+ * Per-level and per-question statistics built from the {@link AttemptLog} in one streaming pass.
+ * - Per level: graded attempts, correct/wrong, policy rejections, time-to-submit/compile/run
+ *   histograms, current and best/worst streaks, incorrectly answered question ids
+ * - Per question: attempts, correct, time-to-submit histogram
+ * Memory is bounded by the number of levels and questions, not by the length of the log.
+ * Building it reads the log files, so keep it off the render thread.
+ */
+public final class AttemptStats implements AttemptLog.Visitor {
+
+    public static final class LevelStats {
+        public final int level;
+        public int attempts;
+        public int correct;
+        public int wrong;
+        public int compileErrors;
+        public int runtimeErrors;
+        public int policyRejections;
+        public int consecutiveCorrect;
+        public int bestConsecutiveCorrect;
+        public int consecutiveIncorrect;
+        public int worstConsecutiveIncorrect;
+        public long firstTimestamp;
+        public long lastTimestamp;
+        public final LatencyHistogram timeToSubmit = new LatencyHistogram();
+        public final LatencyHistogram compileTime = new LatencyHistogram();
+        public final LatencyHistogram runTime = new LatencyHistogram();
+        public final IntSet incorrectQuestionIds = new IntSet();
+
+        LevelStats(int level) {
+            this.level = level;
+        }
+
+        public float getAccuracy() {
+            return attempts > 0 ? correct * 100f / attempts : 0f;
+        }
+    }
+
+    public static final class QuestionStats {
+        public final int questionId;
+        public int attempts;
+        public int correct;
+        public final LatencyHistogram timeToSubmit = new LatencyHistogram();
+
+        QuestionStats(int questionId) {
+            this.questionId = questionId;
+        }
+    }
+
+    private final IntMap<LevelStats> levels = new IntMap<>();
+    private final IntMap<QuestionStats> questions = new IntMap<>();
+    private long events = 0;
+
+    /**
+     * Stats of this game's attempt log (pending appends are written first).
+     */
+    public static AttemptStats of(AttemptLog log) {
+        log.flush();
+        AttemptStats stats = new AttemptStats();
+        log.scan(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the attempt log in a directory.
+     */
+    public static AttemptStats of(File logDir) {
+        AttemptStats stats = new AttemptStats();
+        AttemptLog.scan(logDir, stats);
+        return stats;
+    }
+
+    @Override
+    public boolean visit(AttemptLog.Event e) {
+        events++;
+        LevelStats l = levels.get(e.level);
+        if (l == null) {
+            l = new LevelStats(e.level);
+            l.firstTimestamp = e.timestamp;
+            levels.put(e.level, l);
+        }
+        l.lastTimestamp = e.timestamp;
+        if (!e.isGraded()) {
+            l.policyRejections++;
+            return true;
+        }
+        l.attempts++;
+        if (e.timeToSubmitMillis > 0) l.timeToSubmit.record(e.timeToSubmitMillis);
+        if (e.compileMillis > 0) l.compileTime.record(e.compileMillis);
+        if (e.runMillis > 0) l.runTime.record(e.runMillis);
+        if (e.verdict == AttemptLog.VERDICT_COMPILE_ERROR) l.compileErrors++;
+        if (e.verdict == AttemptLog.VERDICT_RUNTIME_ERROR) l.runtimeErrors++;
+        if (e.isCorrect()) {
+            l.correct++;
+            l.consecutiveCorrect++;
+            l.consecutiveIncorrect = 0;
+            l.bestConsecutiveCorrect = Math.max(l.bestConsecutiveCorrect, l.consecutiveCorrect);
+        } else {
+            l.wrong++;
+            l.consecutiveIncorrect++;
+            l.consecutiveCorrect = 0;
+            l.worstConsecutiveIncorrect = Math.max(l.worstConsecutiveIncorrect, l.consecutiveIncorrect);
+            l.incorrectQuestionIds.add(e.questionId);
+        }
+
+        QuestionStats q = questions.get(e.questionId);
+        if (q == null) {
+            q = new QuestionStats(e.questionId);
+            questions.put(e.questionId, q);
+        }
+        q.attempts++;
+        if (e.isCorrect()) q.correct++;
+        if (e.timeToSubmitMillis > 0) q.timeToSubmit.record(e.timeToSubmitMillis);
+        return true;
+    }
+
+    public long getEventCount() {
+        return events;
+    }
+
+    public IntMap<LevelStats> getLevels() {
+        return levels;
+    }
+
+    public LevelStats getLevel(int level) {
+        return levels.get(level);
+    }
+
+    public IntMap<QuestionStats> getQuestions() {
+        return questions;
+    }
+}
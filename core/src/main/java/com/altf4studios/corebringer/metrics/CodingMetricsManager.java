@@ -1,11 +1,13 @@
 package com.altf4studios.corebringer.metrics;
 
+import com.altf4studios.corebringer.utils.JobExecutor;
 import com.altf4studios.corebringer.utils.SimpleSaveManager;
 import com.altf4studios.corebringer.utils.SaveData;
+import com.altf4studios.corebringer.utils.WriteBehind;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.JsonWriter;
@@ -14,42 +16,85 @@ import com.badlogic.gdx.utils.ObjectMap;
 /**
  * CodingMetricsManager tracks user performance across all coding levels
  * Provides detailed statistics, accuracy percentages, and improvement recommendations
+ *
+ * The per-level counts live in memory and are updated as each result is recorded, so the
+ * getters never re-read the save:
+ * - recordResult() updates the aggregate (any thread) and publishes a new immutable {@link Snapshot}
+ * - The aggregate is persisted on its own in coding_metrics.json, written behind on the
+ *   {@link JobExecutor} through {@link WriteBehind}; the main save only keeps its own correct/wrong counters
+ * - On load the file is checked against the save's totals once, and rebuilt from the save if they differ
+ * - generateImprovementReport() is computed once per snapshot
+ * - When rebuilt (on load or by rebuildFromSave()), timings and streaks are then filled in from the
+ *   {@link AttemptLog} on the JobExecutor, so the log is never scanned on the render thread
  */
 public class CodingMetricsManager {
     private static CodingMetricsManager instance;
     private static final String METRICS_FILE = "coding_metrics.json";
+    private static final int FORMAT_VERSION = 2;
     
-    // Level statistics
+    // Level statistics (the mutable aggregate; guarded by this)
     private ObjectMap<Integer, LevelMetrics> levelStats;
     private ObjectMap<Integer, String> levelNames;
+    private int totalCorrect;
+    private int totalWrong;
     
-    // Overall statistics (calculated from save data)
+    // Published to readers; replaced, never modified
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private ImprovementReport report;
+    private long reportVersion = -1;
+    
+    // Write-behind of the metrics file: only the newest content is written
+    private final WriteBehind<String> writer = WriteBehind.latest(CodingMetricsManager::writeFile);
+    
+    // Overall statistics (from the in-memory aggregate)
     public int getTotalQuestionsAttempted() {
-        try {
-            SaveData saveData = SimpleSaveManager.loadData();
-            if (saveData != null && saveData.totals != null) {
-                return saveData.totals.correct + saveData.totals.wrong;
-            }
-        } catch (Exception e) {
-            Gdx.app.error("CodingMetrics", "Failed to load totals: " + e.getMessage());
-        }
-        return 0;
+        return snapshot.totalAttempted;
     }
     
     public int getTotalQuestionsCorrect() {
-        try {
-            SaveData saveData = SimpleSaveManager.loadData();
-            if (saveData != null && saveData.totals != null) {
-                return saveData.totals.correct;
-            }
-        } catch (Exception e) {
-            Gdx.app.error("CodingMetrics", "Failed to load totals: " + e.getMessage());
-        }
-        return 0;
+        return snapshot.totalCorrect;
     }
     
     public long getTotalTimeSpent() {
-        return 0; // Not tracked in save data for now
+        return snapshot.totalTimeSpent;
+    }
+    
+    /**
+     * The current metrics; safe to keep and read from any thread.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Immutable view of the aggregate at one point in time. Level copies are handed out, never the originals.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, new LevelMetrics[0]);
+        
+        public final long version;
+        public final int totalAttempted;
+        public final int totalCorrect;
+        public final long totalTimeSpent;
+        private final LevelMetrics[] levels; // sorted by level
+        
+        Snapshot(long version, int totalAttempted, int totalCorrect, long totalTimeSpent, LevelMetrics[] levels) {
+            this.version = version;
+            this.totalAttempted = totalAttempted;
+            this.totalCorrect = totalCorrect;
+            this.totalTimeSpent = totalTimeSpent;
+            this.levels = levels;
+        }
+        
+        public int getLevelCount() {
+            return levels.length;
+        }
+        
+        public Array<LevelMetrics> getLevels() {
+            Array<LevelMetrics> copies = new Array<>(levels.length);
+            for (LevelMetrics level : levels) copies.add(level.copy());
+            return copies;
+        }
     }
     
     /**
@@ -99,6 +144,25 @@ public class CodingMetricsManager {
                 averageTimePerQuestion = 0;
             }
         }
+        
+        public LevelMetrics copy() {
+            LevelMetrics c = new LevelMetrics(level, levelName);
+            c.questionsAttempted = questionsAttempted;
+            c.questionsCorrect = questionsCorrect;
+            c.questionsIncorrect = questionsIncorrect;
+            c.accuracyPercentage = accuracyPercentage;
+            c.totalTimeSpent = totalTimeSpent;
+            c.averageTimePerQuestion = averageTimePerQuestion;
+            c.fastestQuestionTime = fastestQuestionTime;
+            c.slowestQuestionTime = slowestQuestionTime;
+            c.incorrectQuestionIds.addAll(incorrectQuestionIds);
+            c.commonMistakes.addAll(commonMistakes);
+            c.consecutiveCorrect = consecutiveCorrect;
+            c.bestConsecutiveCorrect = bestConsecutiveCorrect;
+            c.consecutiveIncorrect = consecutiveIncorrect;
+            c.worstConsecutiveIncorrect = worstConsecutiveIncorrect;
+            return c;
+        }
     }
     
     /**
@@ -141,7 +205,7 @@ public class CodingMetricsManager {
         loadMetrics();
     }
     
-    public static CodingMetricsManager getInstance() {
+    public static synchronized CodingMetricsManager getInstance() {
         if (instance == null) {
             instance = new CodingMetricsManager();
         }
@@ -157,21 +221,62 @@ public class CodingMetricsManager {
     }
     
     
+    /**
+     * Record one answered question. Called with the save update that counts the same result,
+     * so the aggregate and the save stay in step.
+     * @param timeMillis time spent on the question, or 0 when unknown
+     */
+    public synchronized void recordResult(int level, String levelTitle, boolean isCorrect, int questionId, long timeMillis) {
+        LevelMetrics metrics = levelFor(level);
+        if (levelTitle != null) metrics.levelName = levelTitle;
+        metrics.questionsAttempted++;
+        if (isCorrect) {
+            metrics.questionsCorrect++;
+            totalCorrect++;
+            metrics.consecutiveCorrect++;
+            metrics.consecutiveIncorrect = 0;
+            metrics.bestConsecutiveCorrect = Math.max(metrics.bestConsecutiveCorrect, metrics.consecutiveCorrect);
+        } else {
+            metrics.questionsIncorrect++;
+            totalWrong++;
+            metrics.consecutiveIncorrect++;
+            metrics.consecutiveCorrect = 0;
+            metrics.worstConsecutiveIncorrect = Math.max(metrics.worstConsecutiveIncorrect, metrics.consecutiveIncorrect);
+            if (!metrics.incorrectQuestionIds.contains(questionId, false)) {
+                metrics.incorrectQuestionIds.add(questionId);
+            }
+        }
+        if (timeMillis > 0) {
+            metrics.totalTimeSpent += timeMillis;
+            metrics.fastestQuestionTime = metrics.fastestQuestionTime > 0 ? Math.min(metrics.fastestQuestionTime, timeMillis) : timeMillis;
+            metrics.slowestQuestionTime = Math.max(metrics.slowestQuestionTime, timeMillis);
+        }
+        metrics.updateAccuracy();
+        metrics.updateAverageTime();
+        publish();
+        saveMetrics();
+    }
+    
     /**
      * Record a common mistake for analysis
      */
-    public void recordCommonMistake(int level, String mistake) {
-        LevelMetrics metrics = getLevelMetrics(level);
+    public synchronized void recordCommonMistake(int level, String mistake) {
+        LevelMetrics metrics = levelFor(level);
         if (!metrics.commonMistakes.contains(mistake, false)) {
             metrics.commonMistakes.add(mistake);
         }
+        publish();
         saveMetrics();
     }
     
     /**
-     * Get metrics for a specific level
+     * Get metrics for a specific level (a copy; results are recorded through recordResult)
      */
-    public LevelMetrics getLevelMetrics(int level) {
+    public synchronized LevelMetrics getLevelMetrics(int level) {
+        return levelFor(level).copy();
+    }
+    
+    private LevelMetrics levelFor(int level) {
         if (!levelStats.containsKey(level)) {
             String levelName = levelNames.get(level, "Unknown Level");
             levelStats.put(level, new LevelMetrics(level, levelName));
@@ -180,56 +285,35 @@ public class CodingMetricsManager {
     }
     
     /**
-     * Get all level metrics from save data
+     * Get all level metrics (copies from the current snapshot, sorted by level)
      */
     public Array<LevelMetrics> getAllLevelMetrics() {
-        Array<LevelMetrics> allMetrics = new Array<>();
-        
-        try {
-            SaveData saveData = SimpleSaveManager.loadData();
-            if (saveData != null && saveData.questionData != null) {
-                // Process levels 1-5
-                for (int level = 1; level <= 5; level++) {
-                    String levelKey = "level" + level;
-                    if (saveData.questionData.containsKey(levelKey)) {
-                        SaveData.QuestionLevelData levelData = saveData.questionData.get(levelKey);
-                        
-                        LevelMetrics metrics = new LevelMetrics(level, levelData.title);
-                        
-                        // Calculate totals from level data
-                        metrics.questionsAttempted = levelData.correct + levelData.wrong;
-                        metrics.questionsCorrect = levelData.correct;
-                        metrics.questionsIncorrect = levelData.wrong;
-                        
-                        metrics.updateAccuracy();
-                        allMetrics.add(metrics);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            Gdx.app.error("CodingMetrics", "Failed to load metrics from save data: " + e.getMessage());
-        }
-        
-        // Sort by level
-        allMetrics.sort((a, b) -> Integer.compare(a.level, b.level));
-        return allMetrics;
+        return snapshot.getLevels();
     }
     
     /**
-     * Generate comprehensive improvement report
+     * Generate comprehensive improvement report (computed once per snapshot; treat it as read-only)
      */
-    public ImprovementReport generateImprovementReport() {
+    public synchronized ImprovementReport generateImprovementReport() {
+        Snapshot current = snapshot;
+        if (report != null && reportVersion == current.version) return report;
+        report = buildImprovementReport(current);
+        reportVersion = current.version;
+        return report;
+    }
+    
+    private ImprovementReport buildImprovementReport(Snapshot current) {
         ImprovementReport report = new ImprovementReport();
         
         // Calculate overall accuracy
-        int totalAttempted = getTotalQuestionsAttempted();
-        int totalCorrect = getTotalQuestionsCorrect();
+        int totalAttempted = current.totalAttempted;
+        int totalCorrect = current.totalCorrect;
         if (totalAttempted > 0) {
             report.overallAccuracy = ((float) totalCorrect / totalAttempted) * 100f;
         }
         
         // Analyze each level
-        Array<LevelMetrics> allMetrics = getAllLevelMetrics();
+        Array<LevelMetrics> allMetrics = current.getLevels();
         for (LevelMetrics metrics : allMetrics) {
             if (metrics.questionsAttempted > 0) {
                 LevelRecommendation rec = new LevelRecommendation();
@@ -307,8 +391,7 @@ public class CodingMetricsManager {
         LevelMetrics worstLevel = null;
         float worstAccuracy = 100f;
         
-        for (ObjectMap.Entry<Integer, LevelMetrics> entry : levelStats.entries()) {
-            LevelMetrics metrics = entry.value;
+        for (LevelMetrics metrics : getAllLevelMetrics()) {
             if (metrics.questionsAttempted >= 2 && metrics.accuracyPercentage < worstAccuracy) {
                 worstAccuracy = metrics.accuracyPercentage;
                 worstLevel = metrics;
@@ -325,7 +408,7 @@ public class CodingMetricsManager {
         StringBuilder sb = new StringBuilder();
         sb.append("=== CODING PERFORMANCE METRICS ===\n\n");
         
-        // Calculate overall stats from save data
+        // Calculate overall stats from the aggregate
         int totalAttempted = 0;
         int totalCorrect = 0;
         Array<LevelMetrics> allMetrics = getAllLevelMetrics();
@@ -340,7 +423,7 @@ public class CodingMetricsManager {
         
         sb.append(String.format("Overall Performance: %.1f%% (%d/%d correct)\n", 
             overallAccuracy, totalCorrect, totalAttempted));
-        sb.append("Data loaded from save file\n\n");
+        sb.append("Data from coding metrics\n\n");
         
         // Level-by-level breakdown
         sb.append("LEVEL BREAKDOWN:\n");
@@ -375,22 +458,135 @@ public class CodingMetricsManager {
             data.questionData.clear();
             Gdx.app.log("CodingMetrics", "All metrics reset");
         });
+        synchronized (this) {
+            levelStats.clear();
+            totalCorrect = 0;
+            totalWrong = 0;
+            publish();
+            saveMetrics();
+        }
+    }
+    
+    /**
+     * Reload the counts from the save (after a new game reset its question data). Keeps the
+     * timings and streaks, which only the metrics file has.
+     */
+    public void rebuildFromSave() {
+        SaveData saveData;
+        try {
+            saveData = SimpleSaveManager.loadData();
+        } catch (Exception e) {
+            Gdx.app.error("CodingMetrics", "Failed to load save data: " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            applySaveCounts(saveData);
+            publish();
+            saveMetrics();
+        }
+        applyAttemptLogLater();
+        Gdx.app.log("CodingMetrics", "Rebuilt metrics from save: " + snapshot.totalAttempted + " total attempts");
+    }
+    
+    public String getStats() {
+        Snapshot current = snapshot;
+        return "snapshot v" + current.version + ", " + current.getLevelCount() + " levels, " + current.totalAttempted + " attempts";
+    }
+    
+    private void applySaveCounts(SaveData saveData) {
+        ObjectMap<Integer, LevelMetrics> previous = new ObjectMap<>(levelStats);
+        levelStats.clear();
+        totalCorrect = saveData != null && saveData.totals != null ? saveData.totals.correct : 0;
+        totalWrong = saveData != null && saveData.totals != null ? saveData.totals.wrong : 0;
+        if (saveData == null || saveData.questionData == null) return;
+        // Process levels 1-5
+        for (int level = 1; level <= 5; level++) {
+            SaveData.QuestionLevelData levelData = saveData.questionData.get("level" + level);
+            if (levelData == null) continue;
+            LevelMetrics metrics = previous.get(level);
+            if (metrics == null) metrics = new LevelMetrics(level, levelNames.get(level, "Unknown Level"));
+            if (levelData.title != null) metrics.levelName = levelData.title;
+            metrics.questionsAttempted = levelData.correct + levelData.wrong;
+            metrics.questionsCorrect = levelData.correct;
+            metrics.questionsIncorrect = levelData.wrong;
+            metrics.updateAccuracy();
+            metrics.updateAverageTime();
+            levelStats.put(level, metrics);
+        }
+    }
+    
+    // Timings, streaks and missed questions from the attempt log, for levels whose logged answers
+    // match the save's counts (the log also keeps attempts from earlier runs)
+    private void applyAttemptLog(AttemptStats stats) {
+        for (LevelMetrics metrics : levelStats.values()) {
+            AttemptStats.LevelStats logged = stats.getLevel(metrics.level);
+            if (logged == null || logged.correct != metrics.questionsCorrect || logged.wrong != metrics.questionsIncorrect) continue;
+            LatencyHistogram times = logged.timeToSubmit;
+            metrics.totalTimeSpent = times.getSum();
+            metrics.fastestQuestionTime = times.getMin();
+            metrics.slowestQuestionTime = times.getMax();
+            metrics.updateAverageTime();
+            metrics.consecutiveCorrect = logged.consecutiveCorrect;
+            metrics.bestConsecutiveCorrect = logged.bestConsecutiveCorrect;
+            metrics.consecutiveIncorrect = logged.consecutiveIncorrect;
+            metrics.worstConsecutiveIncorrect = logged.worstConsecutiveIncorrect;
+            metrics.incorrectQuestionIds.clear();
+            for (IntSet.IntSetIterator it = logged.incorrectQuestionIds.iterator(); it.hasNext; ) {
+                metrics.incorrectQuestionIds.add(it.next());
+            }
+        }
+    }
+    
+    // Reading the attempt log means a flush and a scan of the whole log, so it runs on the JobExecutor
+    // and republishes when done; getInstance() and rebuildFromSave() stay cheap on the render thread
+    private void applyAttemptLogLater() {
+        Runnable job = () -> {
+            AttemptStats stats;
+            try {
+                stats = AttemptStats.of(AttemptLog.getInstance());
+            } catch (Exception e) {
+                Gdx.app.error("CodingMetrics", "Failed to read attempt log: " + e.getMessage());
+                return;
+            }
+            synchronized (this) {
+                applyAttemptLog(stats);
+                publish();
+                saveMetrics();
+            }
+        };
+        try {
+            JobExecutor.getInstance().execute(job);
+        } catch (Exception e) {
+            // Executor already shut down (application exit)
+            job.run();
+        }
+    }
+    
+    // Publish the aggregate as a new snapshot. Caller holds the lock.
+    private void publish() {
+        LevelMetrics[] levels = new LevelMetrics[levelStats.size];
+        int i = 0;
+        long time = 0;
+        for (LevelMetrics metrics : levelStats.values()) {
+            levels[i++] = metrics.copy();
+            time += metrics.totalTimeSpent;
+        }
+        java.util.Arrays.sort(levels, (a, b) -> Integer.compare(a.level, b.level));
+        snapshot = new Snapshot(snapshot.version + 1, totalCorrect + totalWrong, totalCorrect, time, levels);
     }
     
     /**
-     * Save metrics to file
+     * Save metrics to file. Serialized here (caller holds the lock); written on the JobExecutor,
+     * with saves in quick succession collapsing into one write.
      */
     private void saveMetrics() {
+        String content;
         try {
-            Json json = new Json();
-            json.setOutputType(JsonWriter.OutputType.json);
-            
             JsonValue root = new JsonValue(JsonValue.ValueType.object);
-            
-            // Overall stats (calculated from save data)
-            root.addChild("totalQuestionsAttempted", new JsonValue(getTotalQuestionsAttempted()));
-            root.addChild("totalQuestionsCorrect", new JsonValue(getTotalQuestionsCorrect()));
-            root.addChild("totalTimeSpent", new JsonValue(getTotalTimeSpent()));
+            root.addChild("version", new JsonValue(FORMAT_VERSION));
+            // Save totals this file matches; checked against the save on load
+            root.addChild("totalCorrect", new JsonValue(totalCorrect));
+            root.addChild("totalWrong", new JsonValue(totalWrong));
             
             // Level stats
             JsonValue levelsArray = new JsonValue(JsonValue.ValueType.array);
@@ -430,75 +626,107 @@ public class CodingMetricsManager {
                 levelsArray.addChild(levelObj);
             }
             root.addChild("levels", levelsArray);
-            
-            FileHandle file = Gdx.files.local(METRICS_FILE);
-            file.writeString(json.prettyPrint(root), false);
-            
+            content = root.prettyPrint(JsonWriter.OutputType.json, 0);
         } catch (Exception e) {
             Gdx.app.error("CodingMetrics", "Failed to save metrics: " + e.getMessage());
+            return;
         }
+        writer.submit(content);
     }
     
     /**
-     * Load metrics from file
+     * Block until the newest metrics are on disk, if they were ever loaded. Called on exit.
+     */
+    public static synchronized void flushIfLoaded() {
+        if (instance != null) instance.writer.flush();
+    }
+    
+    private static void writeFile(String content) {
+        try {
+            Gdx.files.local(METRICS_FILE).writeString(content, false, "UTF-8");
+        } catch (Exception e) {
+            Gdx.app.error("CodingMetrics", "Failed to save metrics: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Load metrics from file, then check them against the save once
      */
     private void loadMetrics() {
+        boolean current = false;
         try {
             FileHandle file = Gdx.files.local(METRICS_FILE);
             if (!file.exists()) {
-                Gdx.app.log("CodingMetrics", "No existing metrics file found, starting fresh");
-                return;
-            }
-            
-            JsonReader reader = new JsonReader();
-            JsonValue root = reader.parse(file);
-            
-            // Overall stats are now calculated from save data, not loaded from metrics file
-            
-            // Load level stats
-            JsonValue levelsArray = root.get("levels");
-            if (levelsArray != null) {
-                for (JsonValue levelObj = levelsArray.child; levelObj != null; levelObj = levelObj.next) {
-                    LevelMetrics metrics = new LevelMetrics();
-                    metrics.level = levelObj.getInt("level");
-                    metrics.levelName = levelObj.getString("levelName");
-                    metrics.questionsAttempted = levelObj.getInt("questionsAttempted");
-                    metrics.questionsCorrect = levelObj.getInt("questionsCorrect");
-                    metrics.questionsIncorrect = levelObj.getInt("questionsIncorrect");
-                    metrics.accuracyPercentage = levelObj.getFloat("accuracyPercentage");
-                    metrics.totalTimeSpent = levelObj.getLong("totalTimeSpent");
-                    metrics.averageTimePerQuestion = levelObj.getLong("averageTimePerQuestion");
-                    metrics.fastestQuestionTime = levelObj.getLong("fastestQuestionTime", 0);
-                    metrics.slowestQuestionTime = levelObj.getLong("slowestQuestionTime", 0);
-                    metrics.consecutiveCorrect = levelObj.getInt("consecutiveCorrect", 0);
-                    metrics.bestConsecutiveCorrect = levelObj.getInt("bestConsecutiveCorrect", 0);
-                    metrics.consecutiveIncorrect = levelObj.getInt("consecutiveIncorrect", 0);
-                    metrics.worstConsecutiveIncorrect = levelObj.getInt("worstConsecutiveIncorrect", 0);
-                    
-                    // Load incorrect question IDs
-                    JsonValue incorrectIds = levelObj.get("incorrectQuestionIds");
-                    if (incorrectIds != null) {
-                        for (JsonValue id = incorrectIds.child; id != null; id = id.next) {
-                            metrics.incorrectQuestionIds.add(id.asInt());
+                Gdx.app.log("CodingMetrics", "No existing metrics file found, building from save");
+            } else {
+                JsonReader reader = new JsonReader();
+                JsonValue root = reader.parse(file);
+                current = root.getInt("version", 1) == FORMAT_VERSION;
+                totalCorrect = root.getInt("totalCorrect", 0);
+                totalWrong = root.getInt("totalWrong", 0);
+                
+                // Load level stats
+                JsonValue levelsArray = root.get("levels");
+                if (levelsArray != null) {
+                    for (JsonValue levelObj = levelsArray.child; levelObj != null; levelObj = levelObj.next) {
+                        LevelMetrics metrics = new LevelMetrics();
+                        metrics.level = levelObj.getInt("level");
+                        metrics.levelName = levelObj.getString("levelName");
+                        metrics.questionsAttempted = levelObj.getInt("questionsAttempted");
+                        metrics.questionsCorrect = levelObj.getInt("questionsCorrect");
+                        metrics.questionsIncorrect = levelObj.getInt("questionsIncorrect");
+                        metrics.accuracyPercentage = levelObj.getFloat("accuracyPercentage");
+                        metrics.totalTimeSpent = levelObj.getLong("totalTimeSpent");
+                        metrics.averageTimePerQuestion = levelObj.getLong("averageTimePerQuestion");
+                        metrics.fastestQuestionTime = levelObj.getLong("fastestQuestionTime", 0);
+                        metrics.slowestQuestionTime = levelObj.getLong("slowestQuestionTime", 0);
+                        metrics.consecutiveCorrect = levelObj.getInt("consecutiveCorrect", 0);
+                        metrics.bestConsecutiveCorrect = levelObj.getInt("bestConsecutiveCorrect", 0);
+                        metrics.consecutiveIncorrect = levelObj.getInt("consecutiveIncorrect", 0);
+                        metrics.worstConsecutiveIncorrect = levelObj.getInt("worstConsecutiveIncorrect", 0);
+                        
+                        // Load incorrect question IDs
+                        JsonValue incorrectIds = levelObj.get("incorrectQuestionIds");
+                        if (incorrectIds != null) {
+                            for (JsonValue id = incorrectIds.child; id != null; id = id.next) {
+                                metrics.incorrectQuestionIds.add(id.asInt());
+                            }
                         }
-                    }
-                    
-                    // Load common mistakes
-                    JsonValue mistakes = levelObj.get("commonMistakes");
-                    if (mistakes != null) {
-                        for (JsonValue mistake = mistakes.child; mistake != null; mistake = mistake.next) {
-                            metrics.commonMistakes.add(mistake.asString());
+                        
+                        // Load common mistakes
+                        JsonValue mistakes = levelObj.get("commonMistakes");
+                        if (mistakes != null) {
+                            for (JsonValue mistake = mistakes.child; mistake != null; mistake = mistake.next) {
+                                metrics.commonMistakes.add(mistake.asString());
+                            }
                         }
+                        
+                        levelStats.put(metrics.level, metrics);
                     }
-                    
-                    levelStats.put(metrics.level, metrics);
                 }
             }
-            
-            Gdx.app.log("CodingMetrics", "Loaded metrics: " + getTotalQuestionsAttempted() + " total attempts");
-            
         } catch (Exception e) {
             Gdx.app.error("CodingMetrics", "Failed to load metrics: " + e.getMessage());
+            current = false;
+        }
+        
+        // The save is the source of truth for the counts; rebuild them if the file is older or missing
+        try {
+            SaveData saveData = SimpleSaveManager.loadData();
+            int saveCorrect = saveData != null && saveData.totals != null ? saveData.totals.correct : 0;
+            int saveWrong = saveData != null && saveData.totals != null ? saveData.totals.wrong : 0;
+            if (!current || saveCorrect != totalCorrect || saveWrong != totalWrong) {
+                applySaveCounts(saveData);
+                publish();
+                saveMetrics();
+                applyAttemptLogLater();
+                Gdx.app.log("CodingMetrics", "Metrics rebuilt from save: " + snapshot.totalAttempted + " total attempts");
+                return;
+            }
+        } catch (Exception e) {
+            Gdx.app.error("CodingMetrics", "Failed to check metrics against save data: " + e.getMessage());
         }
+        publish();
+        Gdx.app.log("CodingMetrics", "Loaded metrics: " + snapshot.totalAttempted + " total attempts");
     }
 }
@@ -0,0 +1,106 @@
+package com.altf4studios.corebringer.metrics;
+
+/**
+ * Log-scale histogram of millisecond durations with fixed memory.
+ * - Each power of two is split into SUB_BUCKETS linear buckets, so any recorded value is known to
+ *   within about 25% (exact below 4 ms)
+ * - record() is O(1) and allocation-free; percentile() walks the buckets
+ * - Histograms from different logs/threads combine with add()
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    // Up to 2^31 ms
+    private static final int OCTAVES = 32;
+
+    private final long[] counts = new long[OCTAVES * SUB_BUCKETS];
+    private long count = 0;
+    private long sum = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    public void record(long millis) {
+        long v = Math.max(0, millis);
+        counts[bucket(v)]++;
+        count++;
+        sum += v;
+        if (v < min) min = v;
+        if (v > max) max = v;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return count > 0 ? sum / count : 0;
+    }
+
+    /**
+     * Upper bound of the bucket holding the p-th percentile (0-100), clamped to the largest value seen.
+     */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, p)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, upperBound(i));
+        }
+        return max;
+    }
+
+    /**
+     * Number of buckets (for exporting the raw distribution).
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public long getBucketValue(int bucket) {
+        return counts[bucket];
+    }
+
+    // Smallest value that falls into the bucket
+    public static long lowerBound(int bucket) {
+        int octave = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (octave == 0) return sub;
+        long base = 1L << (octave + 1);
+        return base + sub * (base / SUB_BUCKETS);
+    }
+
+    public static long upperBound(int bucket) {
+        return bucket + 1 < OCTAVES * SUB_BUCKETS ? lowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    private static int bucket(long v) {
+        // 0..3 ms land in octave 0 one by one; after that [2^k, 2^(k+1)) is split in SUB_BUCKETS
+        if (v < SUB_BUCKETS) return (int) v;
+        int k = 63 - Long.numberOfLeadingZeros(v);
+        int octave = k - 1;
+        if (octave >= OCTAVES) return OCTAVES * SUB_BUCKETS - 1;
+        long base = 1L << k;
+        int sub = (int) ((v - base) / (base / SUB_BUCKETS));
+        return octave * SUB_BUCKETS + sub;
+    }
+}
@@ -1,5 +1,6 @@
 package com.altf4studios.corebringer.metrics;
 
+import com.altf4studios.corebringer.utils.RenderOnDemand;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -439,10 +440,13 @@ public class MetricsDisplayWindow {
         // NEW: ensure the stage focuses this window and its scrollable content
         stage.setKeyboardFocus(metricsWindow);
         stage.setScrollFocus(scrollPane);
+        // Static report: draw on demand while it is open
+        RenderOnDemand.getInstance().enter(this, stage);
     }
 
     public void hide() {
         metricsWindow.setVisible(false);
+        RenderOnDemand.getInstance().exit(this);
     }
 
     public boolean isVisible() {
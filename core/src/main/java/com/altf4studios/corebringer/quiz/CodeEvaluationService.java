@@ -1,8 +1,12 @@
 package com.altf4studios.corebringer.quiz;
 
+import com.altf4studios.corebringer.utils.ContentHash;
+
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -12,8 +16,25 @@ import java.util.regex.Pattern;
  * - Secondary: source pattern matches for core concepts (increment, print, concat, cast, etc.)
  *
  * This service does NOT use the 'chance' field.
+ *
+ * Verdicts are memoized (shared by all instances) by loaded level and question id (ids restart at 1 in
+ * every level) plus a hash of the normalized source, output and expected output, so re-submitting
+ * unchanged code is graded instantly, also after switching levels and back.
+ * The cache is bounded (LRU) and cleared whenever QuestionnaireManager actually reloads question content.
  */
 public final class CodeEvaluationService {
+    public static final int VERDICT_CACHE_CAPACITY = 256;
+
+    // Access-ordered so the least recently graded submission is dropped first
+    private static final Map<String, EvaluationResult> VERDICTS = new LinkedHashMap<String, EvaluationResult>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EvaluationResult> eldest) {
+            return size() > VERDICT_CACHE_CAPACITY;
+        }
+    };
+    private static int cachedGeneration = -1;
+    private static long cacheHits = 0;
+    private static long cacheMisses = 0;
 
     public static final class EvaluationResult {
         public boolean passed;
@@ -22,6 +43,16 @@ public final class CodeEvaluationService {
         public List<String> feedback = new ArrayList<>();
 
         @Override public String toString() { return String.format(Locale.US, "passed=%s score=%d/%d", passed, score, total); }
+
+        // Callers may edit feedback, so cached verdicts are handed out as copies
+        EvaluationResult copy() {
+            EvaluationResult c = new EvaluationResult();
+            c.passed = passed;
+            c.score = score;
+            c.total = total;
+            c.feedback = new ArrayList<>(feedback);
+            return c;
+        }
     }
 
     /** Normalize source for lenient regex checks. */
@@ -44,7 +75,7 @@ public final class CodeEvaluationService {
     private static List<Pattern> derivePatterns(QuestionnaireManager.Question q) {
         List<Pattern> pats = new ArrayList<>();
         String prompt = (q.questions == null ? "" : q.questions.toLowerCase(Locale.ROOT));
-        String blob = (q.keyPoints == null ? "" : String.join("\n", q.keyPoints)).toLowerCase(Locale.ROOT);
+        String blob = (q.keyPoints == null ? "" : q.keyPoints.toString("\n")).toLowerCase(Locale.ROOT);
         String all = prompt + "\n" + blob;
 
         // Generic patterns
@@ -95,7 +126,9 @@ public final class CodeEvaluationService {
 
         // JSON keyPoints-driven patterns (primary)
         if (q.keyPoints != null) {
-            for (String kp : q.keyPoints) {
+            // Indexed: Array's shared iterator breaks when the same question is graded on two threads
+            for (int kpi = 0; kpi < q.keyPoints.size; kpi++) {
+                String kp = q.keyPoints.get(kpi);
                 String k = kp.toLowerCase(Locale.ROOT).trim();
                 if (!k.startsWith("needs:") && !k.startsWith("op:")) continue;
                 if (k.startsWith("needs:")) {
@@ -132,12 +165,52 @@ public final class CodeEvaluationService {
 
     /** Evaluate using heuristics; 'expectedOutput' can be null if not applicable. */
     public EvaluationResult evaluate(QuestionnaireManager.Question q, String userSource, String userOutput, String expectedOutput) {
+        final String src = normSource(userSource);
+        final String out = normOutput(userOutput);
+        if (q == null) return evaluateNormalized(q, src, out, expectedOutput);
+
+        // null and "" expected outputs grade differently, so the hash keeps them apart
+        QuestionnaireManager manager = QuestionnaireManager.get();
+        String key = manager.getLevel() + ":" + q.id + ":" + ContentHash.of(src, out, expectedOutput);
+        int generation = manager.getGeneration();
+        synchronized (VERDICTS) {
+            if (generation != cachedGeneration) {
+                VERDICTS.clear();
+                cachedGeneration = generation;
+            }
+            EvaluationResult cached = VERDICTS.get(key);
+            if (cached != null) {
+                cacheHits++;
+                return cached.copy();
+            }
+            cacheMisses++;
+        }
+        EvaluationResult res = evaluateNormalized(q, src, out, expectedOutput);
+        synchronized (VERDICTS) {
+            // Skip if the bank was reloaded while grading
+            if (generation == cachedGeneration) VERDICTS.put(key, res.copy());
+        }
+        return res;
+    }
+
+    /** Drop every memoized verdict (e.g. after changing how questions are graded). */
+    public static void clearVerdictCache() {
+        synchronized (VERDICTS) {
+            VERDICTS.clear();
+        }
+    }
+
+    public static String getVerdictCacheStats() {
+        synchronized (VERDICTS) {
+            return "verdicts " + VERDICTS.size() + "/" + VERDICT_CACHE_CAPACITY + ", hits " + cacheHits + ", misses " + cacheMisses;
+        }
+    }
+
+    private EvaluationResult evaluateNormalized(QuestionnaireManager.Question q, String src, String out, String expectedOutput) {
         EvaluationResult res = new EvaluationResult();
         res.total = 0;
         res.score = 0;
 
-        final String src = normSource(userSource);
-        final String out = normOutput(userOutput);
         final String exp = normOutput(expectedOutput);
 
         // 1) Output-based check, if expected is provided
@@ -163,7 +236,8 @@ public final class CodeEvaluationService {
 
         // 3) KeyPoints-based quantified checks (counts and OR)
         if (q.keyPoints != null) {
-            for (String kp : q.keyPoints) {
+            for (int kpi = 0; kpi < q.keyPoints.size; kpi++) {
+                String kp = q.keyPoints.get(kpi);
                 String k = kp.toLowerCase(Locale.ROOT).trim();
                 if (!k.startsWith("needs:")) continue;
                 String need = k.substring(6);
@@ -224,7 +298,8 @@ public final class CodeEvaluationService {
 
         // 4) Additional keyPoints: var:, literal:, format:, constraint:
         if (q.keyPoints != null) {
-            for (String raw : q.keyPoints) {
+            for (int kpi = 0; kpi < q.keyPoints.size; kpi++) {
+                String raw = q.keyPoints.get(kpi);
                 if (raw == null) continue;
                 String tag = raw.trim();
                 String lower = tag.toLowerCase(Locale.ROOT);
@@ -0,0 +1,238 @@
+package com.altf4studios.corebringer.quiz;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Precompiled question bank (assets/questions.bank), written at build time by {@link QuestionBankCompiler}
+ * from questionnaire.json, variables_quiz.json and questions.txt.
+ * - Little-endian; a 24-byte header (MAGIC, FORMAT_VERSION, section, question, tag and string counts),
+ *   then the section table, the question records, the tag table, the string offsets and the UTF-8 strings
+ * - One section per level ("level1".."levelN"), plus "txt" and "variables"; each holds the byte offset and
+ *   count of its question records, so picking a level is a lookup, not a parse
+ * - "txt" and "variables" carry the reserved levels QuestionnaireManager.LEVEL_TXT / LEVEL_VARIABLES, since
+ *   their ids restart at 1 and the level is half of the mastery key
+ * - Question record (20 bytes): id, chance, prompt string, first tag, tag count (short), isSolve (short).
+ *   Tags are keyPoints; strings are stored once however many questions share them
+ * The file is read once (it may sit inside the jar, so it is not mapped) and strings are decoded on first use.
+ */
+public final class QuestionBank {
+    private static final String TAG = "QuestionBank";
+    public static final String FILE = "assets/questions.bank";
+    public static final int MAGIC = 0x42514243; // "CBQB" little-endian
+    // 2: "txt" and "variables" moved off level 1
+    public static final int FORMAT_VERSION = 2;
+    public static final int HEADER_SIZE = 24;
+    public static final int SECTION_SIZE = 16;
+    public static final int QUESTION_SIZE = 20;
+    public static final String SECTION_TXT = "txt";
+    public static final String SECTION_VARIABLES = "variables";
+
+    private static QuestionBank defaultBank;
+    private static boolean defaultLoaded = false;
+
+    public static final class Section {
+        public final String name;
+        public final int level;
+        final int offset;
+        public final int count;
+
+        Section(String name, int level, int offset, int count) {
+            this.name = name;
+            this.level = level;
+            this.offset = offset;
+            this.count = count;
+        }
+    }
+
+    private final ByteBuffer data;
+    private final ObjectMap<String, Section> sections = new ObjectMap<>();
+    private final int tagsStart;
+    private final int stringOffsetsStart;
+    private final int stringsStart;
+    private final String[] strings;
+    private final int questionCount;
+
+    private QuestionBank(byte[] bytes) throws IOException {
+        data = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < HEADER_SIZE || data.getInt(0) != MAGIC) throw new IOException("not a question bank");
+        if (data.getInt(4) != FORMAT_VERSION) throw new IOException("unsupported version " + data.getInt(4));
+        int sectionCount = data.getInt(8);
+        questionCount = data.getInt(12);
+        int tagCount = data.getInt(16);
+        int stringCount = data.getInt(20);
+        int questionsStart = HEADER_SIZE + sectionCount * SECTION_SIZE;
+        tagsStart = questionsStart + questionCount * QUESTION_SIZE;
+        stringOffsetsStart = tagsStart + tagCount * 4;
+        stringsStart = stringOffsetsStart + (stringCount + 1) * 4;
+        strings = new String[stringCount];
+        if (stringsStart > bytes.length || stringsStart + data.getInt(stringOffsetsStart + stringCount * 4) != bytes.length) {
+            throw new IOException("truncated question bank");
+        }
+        for (int i = 0; i < sectionCount; i++) {
+            int at = HEADER_SIZE + i * SECTION_SIZE;
+            Section s = new Section(string(data.getInt(at)), data.getInt(at + 4), data.getInt(at + 8), data.getInt(at + 12));
+            if (s.offset < questionsStart || s.count < 0 || s.offset + (long) s.count * QUESTION_SIZE > tagsStart) {
+                throw new IOException("section " + s.name + " out of range");
+            }
+            sections.put(s.name, s);
+        }
+    }
+
+    /**
+     * Read a bank; throws IOException when the file is not a complete bank of this version.
+     */
+    public static QuestionBank load(FileHandle file) throws IOException {
+        try {
+            return new QuestionBank(file.readBytes());
+        } catch (IOException e) {
+            throw new IOException(file.path() + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new IOException(file.path() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The bank shipped with the game, read once; null when it was not built (e.g. running from sources
+     * without the compileQuestionBank step), in which case callers parse the JSON as before.
+     */
+    public static synchronized QuestionBank getDefault() {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            FileHandle file = Gdx.files.internal(FILE);
+            if (file.exists()) {
+                try {
+                    defaultBank = load(file);
+                    Gdx.app.log(TAG, "Loaded question bank: " + defaultBank.sections.size + " sections, "
+                        + defaultBank.questionCount + " questions, " + file.length() + " bytes");
+                } catch (IOException e) {
+                    Gdx.app.error(TAG, "Ignoring question bank: " + e.getMessage());
+                }
+            }
+        }
+        return defaultBank;
+    }
+
+    public Section getSection(String name) {
+        return sections.get(name);
+    }
+
+    public Section getLevel(int level) {
+        return sections.get("level" + level);
+    }
+
+    public Array<Section> getSections() {
+        return sections.values().toArray();
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * Fresh Question objects for a section, with chance as stored (0 when the source left it out).
+     */
+    public Array<QuestionnaireManager.Question> decode(Section section) {
+        Array<QuestionnaireManager.Question> out = new Array<>(section.count);
+        for (int i = 0; i < section.count; i++) {
+            int at = section.offset + i * QUESTION_SIZE;
+            QuestionnaireManager.Question q = new QuestionnaireManager.Question();
+            q.id = data.getInt(at);
+            q.chance = data.getFloat(at + 4);
+            q.questions = string(data.getInt(at + 8));
+            int firstTag = data.getInt(at + 12);
+            int tagCount = data.getShort(at + 16) & 0xFFFF;
+            q.isSolve = data.getShort(at + 18);
+            for (int t = 0; t < tagCount; t++) {
+                q.keyPoints.add(string(data.getInt(tagsStart + (firstTag + t) * 4)));
+            }
+            out.add(q);
+        }
+        return out;
+    }
+
+    private synchronized String string(int index) {
+        String s = strings[index];
+        if (s == null) {
+            int from = data.getInt(stringOffsetsStart + index * 4);
+            int to = data.getInt(stringOffsetsStart + (index + 1) * 4);
+            s = new String(data.array(), stringsStart + from, to - from, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    /**
+     * Serialize sections (name, level, questions) into the bank format. Used by the build step.
+     */
+    static byte[] encode(Array<String> names, Array<Integer> levels, Array<Array<QuestionnaireManager.Question>> questionLists) {
+        // Intern every string once, in first-use order
+        Array<String> pool = new Array<>();
+        ObjectIntMap<String> index = new ObjectIntMap<>();
+        int questionCount = 0;
+        int tagCount = 0;
+        for (int s = 0; s < names.size; s++) {
+            intern(names.get(s), pool, index);
+            for (QuestionnaireManager.Question q : questionLists.get(s)) {
+                intern(q.questions, pool, index);
+                for (String tag : q.keyPoints) intern(tag, pool, index);
+                questionCount++;
+                tagCount += q.keyPoints.size;
+            }
+        }
+        byte[][] utf8 = new byte[pool.size][];
+        int stringBytes = 0;
+        for (int i = 0; i < pool.size; i++) {
+            utf8[i] = pool.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += utf8[i].length;
+        }
+
+        int questionsStart = HEADER_SIZE + names.size * SECTION_SIZE;
+        int tagsStart = questionsStart + questionCount * QUESTION_SIZE;
+        int size = tagsStart + tagCount * 4 + (pool.size + 1) * 4 + stringBytes;
+        ByteBuffer b = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(names.size).putInt(questionCount).putInt(tagCount).putInt(pool.size);
+
+        int offset = questionsStart;
+        for (int s = 0; s < names.size; s++) {
+            int count = questionLists.get(s).size;
+            b.putInt(index.get(names.get(s), -1)).putInt(levels.get(s)).putInt(offset).putInt(count);
+            offset += count * QUESTION_SIZE;
+        }
+        int tag = 0;
+        for (int s = 0; s < names.size; s++) {
+            for (QuestionnaireManager.Question q : questionLists.get(s)) {
+                b.putInt(q.id).putFloat(q.chance).putInt(index.get(q.questions, -1)).putInt(tag)
+                    .putShort((short) q.keyPoints.size).putShort((short) q.isSolve);
+                tag += q.keyPoints.size;
+            }
+        }
+        for (int s = 0; s < names.size; s++) {
+            for (QuestionnaireManager.Question q : questionLists.get(s)) {
+                for (String t : q.keyPoints) b.putInt(index.get(t, -1));
+            }
+        }
+        int at = 0;
+        for (byte[] s : utf8) {
+            b.putInt(at);
+            at += s.length;
+        }
+        b.putInt(at);
+        for (byte[] s : utf8) b.put(s);
+        return b.array();
+    }
+
+    private static void intern(String s, Array<String> pool, ObjectIntMap<String> index) {
+        if (index.containsKey(s)) return;
+        index.put(s, pool.size);
+        pool.add(s);
+    }
+}
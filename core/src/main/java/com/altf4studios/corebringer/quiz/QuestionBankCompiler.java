@@ -0,0 +1,227 @@
+package com.altf4studios.corebringer.quiz;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Build step behind the core module's compileQuestionBank Gradle task: validates questionnaire.json,
+ * variables_quiz.json and questions.txt and writes them as one {@link QuestionBank}.
+ * - questionnaire.json: one section per "levelN" (or the old single-level "questions" layout),
+ *   sanitized the same way QuestionnaireManager sanitizes it at runtime
+ * - variables_quiz.json: section "variables" (level LEVEL_VARIABLES); possible answers, code patterns and the expected output
+ *   become literal:/pattern:/output: keyPoints and the points table points:<name>=<n>
+ * - questions.txt: section "txt" (level LEVEL_TXT), one question per non-empty line like initFromTxt
+ * Every problem found (duplicate ids, empty prompts, chance outside 0..1, empty keyPoints, regexes that
+ * don't compile) is listed, and the bank is not written if there is any. Needs no libGDX backend.
+ *
+ * Usage: QuestionBankCompiler <questionnaire.json> <variables_quiz.json> <questions.txt> <out.bank>
+ */
+public class QuestionBankCompiler {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Usage: QuestionBankCompiler <questionnaire.json> <variables_quiz.json> <questions.txt> <out.bank>");
+            System.exit(2);
+        }
+        List<String> errors = new ArrayList<>();
+        Array<String> names = new Array<>();
+        Array<Integer> levels = new Array<>();
+        Array<Array<QuestionnaireManager.Question>> lists = new Array<>();
+
+        File questionnaire = new File(args[0]);
+        JsonValue root = parseJson(questionnaire, errors);
+        if (root != null) {
+            boolean any = false;
+            for (JsonValue levelNode = root.child; levelNode != null; levelNode = levelNode.next) {
+                int level = levelOf(levelNode.name);
+                if (level <= 0) continue;
+                any = true;
+                JsonValue qArr = levelNode.get("questionArray");
+                addSection("level" + level, level, readQuestionnaire(qArr, questionnaire.getName() + " " + levelNode.name, errors),
+                    names, levels, lists);
+            }
+            if (!any) {
+                // Old format: a single level at the root
+                JsonValue qArr = root.get("questions");
+                if (qArr == null) qArr = root.get("questionArray");
+                int level = root.getInt("level", 1);
+                addSection("level" + level, level, readQuestionnaire(qArr, questionnaire.getName(), errors), names, levels, lists);
+            }
+        }
+
+        File variables = new File(args[1]);
+        JsonValue quiz = parseJson(variables, errors);
+        if (quiz != null) {
+            addSection(QuestionBank.SECTION_VARIABLES, QuestionnaireManager.LEVEL_VARIABLES, readVariablesQuiz(quiz, variables.getName(), errors), names, levels, lists);
+        }
+
+        File txt = new File(args[2]);
+        try {
+            addSection(QuestionBank.SECTION_TXT, QuestionnaireManager.LEVEL_TXT, readTxt(new String(Files.readAllBytes(txt.toPath()), StandardCharsets.UTF_8)),
+                names, levels, lists);
+        } catch (Exception e) {
+            errors.add(txt.getName() + ": " + e.getMessage());
+        }
+
+        if (!errors.isEmpty()) {
+            System.err.println("Question bank not written, " + errors.size() + " problem(s):");
+            for (String e : errors) System.err.println("  " + e);
+            System.exit(1);
+        }
+
+        byte[] bank = QuestionBank.encode(names, levels, lists);
+        File out = new File(args[3]);
+        if (out.getParentFile() != null) out.getParentFile().mkdirs();
+        Files.write(out.toPath(), bank);
+        int total = 0;
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < names.size; i++) {
+            total += lists.get(i).size;
+            summary.append(i > 0 ? ", " : "").append(names.get(i)).append(' ').append(lists.get(i).size);
+        }
+        System.out.println("Question bank: " + total + " questions (" + summary + "), " + bank.length + " bytes -> " + out.getPath());
+    }
+
+    private static void addSection(String name, int level, Array<QuestionnaireManager.Question> questions,
+                                   Array<String> names, Array<Integer> levels, Array<Array<QuestionnaireManager.Question>> lists) {
+        names.add(name);
+        levels.add(level);
+        lists.add(questions);
+    }
+
+    private static JsonValue parseJson(File file, List<String> errors) {
+        try {
+            String raw = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            return new JsonReader().parse(QuestionnaireManager.sanitizeJson(raw));
+        } catch (Exception e) {
+            errors.add(file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static int levelOf(String key) {
+        if (key == null || !key.startsWith("level")) return -1;
+        try {
+            return Integer.parseInt(key.substring(5));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Array<QuestionnaireManager.Question> readQuestionnaire(JsonValue qArr, String where, List<String> errors) {
+        Array<QuestionnaireManager.Question> out = new Array<>();
+        if (qArr == null || !qArr.isArray()) {
+            errors.add(where + ": no question array");
+            return out;
+        }
+        IntSet ids = new IntSet();
+        for (JsonValue it = qArr.child; it != null; it = it.next) {
+            QuestionnaireManager.Question q = new QuestionnaireManager.Question();
+            q.id = it.getInt("id", 0);
+            q.isSolve = it.getInt("isSolve", 0);
+            q.questions = it.getString("questions", "");
+            q.chance = it.getFloat("chance", 0.0f);
+            JsonValue kp = it.get("keyPoints");
+            if (kp != null && kp.isArray()) {
+                for (JsonValue s = kp.child; s != null; s = s.next) {
+                    q.keyPoints.add(s.asString());
+                }
+            }
+            checkQuestion(q, ids, where, errors);
+            out.add(q);
+        }
+        return out;
+    }
+
+    private static Array<QuestionnaireManager.Question> readVariablesQuiz(JsonValue root, String where, List<String> errors) {
+        Array<QuestionnaireManager.Question> out = new Array<>();
+        if (!root.isArray()) {
+            errors.add(where + ": expected an array of questions");
+            return out;
+        }
+        IntSet ids = new IntSet();
+        for (JsonValue it = root.child; it != null; it = it.next) {
+            QuestionnaireManager.Question q = new QuestionnaireManager.Question();
+            q.id = it.getInt("id", 0);
+            q.questions = it.getString("question", "");
+            JsonValue answers = it.get("possibleAnswers");
+            if (answers != null) {
+                for (JsonValue a = answers.child; a != null; a = a.next) q.keyPoints.add("literal:" + a.asString());
+            }
+            JsonValue validations = it.get("validations");
+            if (validations != null) {
+                JsonValue patterns = validations.get("codePatterns");
+                if (patterns != null) {
+                    for (JsonValue p = patterns.child; p != null; p = p.next) {
+                        checkRegex(p.asString(), where + " id " + q.id, errors);
+                        q.keyPoints.add("pattern:" + p.asString());
+                    }
+                }
+                String output = validations.getString("expectedOutputRegex", null);
+                if (output != null) {
+                    checkRegex(output, where + " id " + q.id, errors);
+                    q.keyPoints.add("output:" + output);
+                }
+            }
+            JsonValue points = it.get("points");
+            if (points != null) {
+                for (JsonValue p = points.child; p != null; p = p.next) q.keyPoints.add("points:" + p.name + "=" + p.asInt());
+            }
+            checkQuestion(q, ids, where, errors);
+            out.add(q);
+        }
+        return out;
+    }
+
+    // Same rules as QuestionnaireManager.initFromTxt
+    private static Array<QuestionnaireManager.Question> readTxt(String content) {
+        Array<QuestionnaireManager.Question> out = new Array<>();
+        int id = 1;
+        for (String raw : content.replace("\r", "").split("\n")) {
+            String line = raw.trim();
+            if (line.isEmpty()) continue;
+            if ((line.startsWith("(=") && line.endsWith("=)"))) continue;
+            QuestionnaireManager.Question q = new QuestionnaireManager.Question();
+            q.id = id++;
+            q.questions = line;
+            q.chance = 0.5f;
+            out.add(q);
+        }
+        return out;
+    }
+
+    private static void checkQuestion(QuestionnaireManager.Question q, IntSet ids, String where, List<String> errors) {
+        String at = where + " id " + q.id;
+        if (q.id <= 0) errors.add(where + ": question without a positive id (\"" + abbreviate(q.questions) + "\")");
+        else if (!ids.add(q.id)) errors.add(at + ": duplicate id");
+        if (q.questions == null || q.questions.trim().isEmpty()) errors.add(at + ": empty prompt");
+        if (q.chance < 0f || q.chance > 1f) errors.add(at + ": chance " + q.chance + " outside 0..1");
+        if (q.keyPoints.size > 0xFFFF) errors.add(at + ": too many keyPoints");
+        for (String k : q.keyPoints) {
+            if (k == null || k.trim().isEmpty()) errors.add(at + ": empty keyPoint");
+        }
+    }
+
+    private static void checkRegex(String regex, String at, List<String> errors) {
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            errors.add(at + ": bad regex " + regex + " (" + e.getDescription() + ")");
+        }
+    }
+
+    private static String abbreviate(String s) {
+        if (s == null) return "";
+        return s.length() > 40 ? s.substring(0, 40) + "..." : s;
+    }
+}
@@ -0,0 +1,180 @@
+package com.altf4studios.corebringer.quiz;
+
+import com.altf4studios.corebringer.utils.JobExecutor;
+import com.altf4studios.corebringer.utils.WriteBehind;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Per-question mastery state (spaced repetition), kept across runs in question_mastery.bin.
+ * - One Mastery per (level, question id) that was ever answered; unseen questions have none.
+ *   questions.txt prompts are kept under the reserved level {@link QuestionnaireManager#LEVEL_TXT}
+ * - File: 12-byte header (MAGIC, FORMAT_VERSION, count) then one fixed 24-byte little-endian record
+ *   per question: id int, level short, errors short, lastAttempt long (epoch ms),
+ *   interval int (seconds), ease short (x100), streak short
+ * - save() only marks the store changed; it is serialized and written behind on the {@link JobExecutor}
+ *   through {@link WriteBehind} (to a temp file that replaces the old one), so answers in quick succession
+ *   cost one write and the answering thread never serializes the whole store
+ * Mastery objects are owned by the {@link QuestionScheduler} that changes them; the store itself is
+ * thread-safe.
+ */
+public final class QuestionMastery {
+    private static final String TAG = "QuestionMastery";
+    public static final String FILE = "question_mastery.bin";
+    public static final int MAGIC = 0x4D514243; // "CBQM" little-endian
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+    public static final int RECORD_SIZE = 24;
+
+    private static QuestionMastery instance;
+
+    public static final class Mastery {
+        public final int level;
+        public final int questionId;
+        public long lastAttempt;
+        public int intervalSeconds;
+        public float ease = QuestionScheduler.DEFAULT_EASE;
+        public int errors;
+        // Correct answers in a row since the last mistake
+        public int streak;
+
+        Mastery(int level, int questionId) {
+            this.level = level;
+            this.questionId = questionId;
+        }
+
+        /**
+         * When the question should be asked again (epoch ms).
+         */
+        public long getDue() {
+            return lastAttempt + intervalSeconds * 1000L;
+        }
+    }
+
+    private final FileHandle file;
+    private final LongMap<Mastery> byQuestion = new LongMap<>();
+    private boolean loaded = false;
+
+    // Write-behind of a change mark; the store is serialized when the write runs, so it is the newest state
+    private final WriteBehind<Boolean> writer;
+
+    QuestionMastery(FileHandle file) {
+        this.file = file;
+        this.writer = WriteBehind.latest(changed -> writeFile());
+    }
+
+    public static synchronized QuestionMastery getInstance() {
+        if (instance == null) {
+            instance = new QuestionMastery(Gdx.files.local(FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * The state of a question, or null if it was never answered.
+     */
+    public synchronized Mastery get(int level, int questionId) {
+        ensureLoaded();
+        return byQuestion.get(key(level, questionId));
+    }
+
+    /**
+     * The state of a question, created (as never answered) if missing.
+     */
+    public synchronized Mastery getOrCreate(int level, int questionId) {
+        ensureLoaded();
+        long key = key(level, questionId);
+        Mastery m = byQuestion.get(key);
+        if (m == null) {
+            m = new Mastery(level, questionId);
+            byQuestion.put(key, m);
+        }
+        return m;
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return byQuestion.size;
+    }
+
+    /**
+     * Persist every question's state.
+     */
+    public void save() {
+        writer.submit(Boolean.TRUE);
+    }
+
+    /**
+     * Block until the newest state is on disk. Called on exit.
+     */
+    public void flush() {
+        writer.flush();
+    }
+
+    private void writeFile() {
+        byte[] content;
+        synchronized (this) {
+            ensureLoaded();
+            content = encode();
+        }
+        try {
+            FileHandle tmp = file.sibling(file.name() + ".tmp");
+            tmp.writeBytes(content, false);
+            tmp.moveTo(file);
+        } catch (Exception e) {
+            Gdx.app.error(TAG, "Failed to save mastery: " + e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        if (!file.exists()) return;
+        try {
+            ByteBuffer b = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+            if (b.remaining() < HEADER_SIZE || b.getInt() != MAGIC || b.getInt() != FORMAT_VERSION) {
+                Gdx.app.error(TAG, "Ignoring " + file.name() + ": not a mastery file");
+                return;
+            }
+            // A short file (crash mid-write of an older version) loses only the missing records
+            int count = Math.min(b.getInt(), b.remaining() / RECORD_SIZE);
+            for (int i = 0; i < count; i++) {
+                int id = b.getInt();
+                int level = b.getShort();
+                Mastery m = new Mastery(level, id);
+                m.errors = b.getShort() & 0xFFFF;
+                m.lastAttempt = b.getLong();
+                m.intervalSeconds = b.getInt();
+                m.ease = b.getShort() / 100f;
+                m.streak = b.getShort() & 0xFFFF;
+                byQuestion.put(key(level, id), m);
+            }
+            Gdx.app.log(TAG, "Loaded mastery for " + count + " questions");
+        } catch (Exception e) {
+            Gdx.app.error(TAG, "Failed to load mastery: " + e.getMessage());
+        }
+    }
+
+    private byte[] encode() {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE + byQuestion.size * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(byQuestion.size);
+        for (Mastery m : byQuestion.values()) {
+            b.putInt(m.questionId);
+            b.putShort((short) m.level);
+            b.putShort((short) Math.min(0xFFFF, m.errors));
+            b.putLong(m.lastAttempt);
+            b.putInt(m.intervalSeconds);
+            b.putShort((short) Math.round(m.ease * 100f));
+            b.putShort((short) Math.min(0xFFFF, m.streak));
+        }
+        return b.array();
+    }
+
+    private static long key(int level, int questionId) {
+        return ((long) level << 32) | (questionId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,363 @@
+package com.altf4studios.corebringer.quiz;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Spaced-repetition order for one loaded questionnaire level, backed by {@link QuestionMastery}.
+ * - Answering right pushes a question further out (10 min, 1 day, then the interval times its ease);
+ *   answering wrong lowers its ease, counts an error and brings it back after LAPSE_SECONDS
+ * - Answered questions sit in an indexed min-heap on their due time (O(log n) per answer); questions
+ *   due in the same TIER_SECONDS window form a tier
+ * - next(): the most overdue tier if one is due, else the never-answered questions, else the tier due
+ *   soonest (practice ahead). Inside a tier the pick is weighted by chance, errors and ease, sampled
+ *   from an alias table in O(1)
+ * - Tiers drop members lazily (a moved question is skipped when drawn), and rebuild their alias table
+ *   only after members joined or when more than half of it is stale, so picks stay O(1) amortized
+ *   even for banks with tens of thousands of questions
+ * Thread-safe; record() may be called from the grading worker.
+ */
+public final class QuestionScheduler {
+    public static final float DEFAULT_EASE = 2.5f;
+    public static final float MIN_EASE = 1.3f;
+    public static final float MAX_EASE = 3.0f;
+    static final int FIRST_INTERVAL_SECONDS = 10 * 60;
+    static final int SECOND_INTERVAL_SECONDS = 24 * 60 * 60;
+    static final int LAPSE_SECONDS = 2 * 60;
+    static final long TIER_SECONDS = 5 * 60;
+    // Upper bound for a review interval (the record keeps seconds in an int)
+    static final int MAX_INTERVAL_SECONDS = 365 * 24 * 60 * 60;
+    private static final long NEW_TIER = Long.MIN_VALUE;
+    private static final int MAX_DRAWS = 16;
+
+    private final int level;
+    private final QuestionMastery store;
+    private final Array<QuestionnaireManager.Question> questions;
+    private final IntIntMap slotById = new IntIntMap();
+    private final QuestionMastery.Mastery[] mastery;
+    private final float[] chance;
+
+    // Tier membership: the tier a slot is in, and a stamp bumped on every move so old entries read as stale
+    private final long[] tierOf;
+    private final int[] stamp;
+    private final Tier newTier = new Tier(NEW_TIER);
+    private final LongMap<Tier> tiers = new LongMap<>();
+    private final DueHeap heap;
+
+    private final RandomXS128 random;
+    private int lastSlot = -1;
+
+    // Metrics
+    private long picks = 0;
+    private long draws = 0;
+    private long rebuilds = 0;
+
+    public QuestionScheduler(int level, Array<QuestionnaireManager.Question> questions, QuestionMastery store) {
+        this(level, questions, store, MathUtils.random.nextLong());
+    }
+
+    QuestionScheduler(int level, Array<QuestionnaireManager.Question> questions, QuestionMastery store, long seed) {
+        this.level = level;
+        this.store = store;
+        this.questions = new Array<>(questions);
+        this.random = new RandomXS128(seed);
+        int n = this.questions.size;
+        mastery = new QuestionMastery.Mastery[n];
+        chance = new float[n];
+        tierOf = new long[n];
+        stamp = new int[n];
+        heap = new DueHeap(n);
+        for (int slot = 0; slot < n; slot++) {
+            QuestionnaireManager.Question q = this.questions.get(slot);
+            slotById.put(q.id, slot);
+            chance[slot] = Math.max(0.0001f, q.chance);
+            mastery[slot] = store.get(level, q.id);
+            place(slot);
+        }
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * The question to ask now, never the one asked last unless it is the only choice; null when empty.
+     */
+    public synchronized QuestionnaireManager.Question next(long nowMillis) {
+        Tier tier = pickTier(nowMillis);
+        if (tier == null) return null;
+        int slot = tier.sample();
+        if (slot == lastSlot) {
+            // Asked last time: draw again, or take the other kind of tier when this is the only question in it
+            if (tier.live > 1) {
+                for (int i = 0; i < MAX_DRAWS && slot == lastSlot; i++) slot = tier.sample();
+            } else {
+                Tier other = tier == newTier ? minTier() : (newTier.live > 0 ? newTier : null);
+                if (other != null) slot = other.sample();
+            }
+        }
+        picks++;
+        lastSlot = slot;
+        return questions.get(slot);
+    }
+
+    /**
+     * Update the question's mastery after an answer and reschedule it. Unknown ids are ignored.
+     */
+    public void record(int questionId, boolean correct, long nowMillis) {
+        synchronized (this) {
+            int slot = slotById.get(questionId, -1);
+            if (slot < 0) return;
+            QuestionMastery.Mastery m = mastery[slot];
+            if (m == null) m = mastery[slot] = store.getOrCreate(level, questionId);
+            // Mastery is read by the store's save(); change it under the store's lock
+            synchronized (store) {
+                m.lastAttempt = nowMillis;
+                if (correct) {
+                    m.streak++;
+                    m.ease = Math.min(MAX_EASE, m.ease + 0.05f);
+                    if (m.streak == 1) {
+                        m.intervalSeconds = FIRST_INTERVAL_SECONDS;
+                    } else if (m.streak == 2) {
+                        m.intervalSeconds = SECOND_INTERVAL_SECONDS;
+                    } else {
+                        m.intervalSeconds = (int) Math.min(MAX_INTERVAL_SECONDS, (long) m.intervalSeconds * m.ease);
+                    }
+                } else {
+                    m.streak = 0;
+                    m.errors++;
+                    m.ease = Math.max(MIN_EASE, m.ease - 0.2f);
+                    m.intervalSeconds = LAPSE_SECONDS;
+                }
+            }
+            place(slot);
+        }
+        store.save();
+    }
+
+    public synchronized QuestionMastery.Mastery getMastery(int questionId) {
+        int slot = slotById.get(questionId, -1);
+        return slot >= 0 ? mastery[slot] : null;
+    }
+
+    /**
+     * Questions never answered, questions scheduled, and how many of those are due now.
+     */
+    public synchronized String getStats(long nowMillis) {
+        int due = 0;
+        for (int slot = 0; slot < mastery.length; slot++) {
+            if (mastery[slot] != null && mastery[slot].getDue() <= nowMillis) due++;
+        }
+        return "level " + level + ": " + newTier.live + " new, " + heap.size + " scheduled (" + due + " due), "
+            + tiers.size + " tiers, " + picks + " picks in " + draws + " draws, " + rebuilds + " alias rebuilds";
+    }
+
+    private Tier pickTier(long nowMillis) {
+        if (heap.size > 0 && mastery[heap.peek()].getDue() <= nowMillis) return minTier();
+        if (newTier.live > 0) return newTier;
+        return heap.size > 0 ? minTier() : null;
+    }
+
+    private Tier minTier() {
+        return heap.size > 0 ? tiers.get(tierOf[heap.peek()]) : null;
+    }
+
+    // Put the slot into the heap and tier its mastery calls for
+    private void place(int slot) {
+        QuestionMastery.Mastery m = mastery[slot];
+        boolean answered = m != null && (m.lastAttempt > 0 || m.intervalSeconds > 0);
+        long key = answered ? Math.floorDiv(m.getDue(), TIER_SECONDS * 1000L) : NEW_TIER;
+        Tier from = stamp[slot] > 0 ? tierFor(tierOf[slot], false) : null;
+        if (from != null) {
+            from.live--;
+            if (from.live == 0 && from != newTier) tiers.remove(from.key);
+        }
+        stamp[slot]++;
+        tierOf[slot] = key;
+        tierFor(key, true).add(slot);
+        if (answered) heap.update(slot); else heap.remove(slot);
+    }
+
+    private Tier tierFor(long key, boolean create) {
+        if (key == NEW_TIER) return newTier;
+        Tier t = tiers.get(key);
+        if (t == null && create) {
+            t = new Tier(key);
+            tiers.put(key, t);
+        }
+        return t;
+    }
+
+    // Weight inside a tier: the question's chance, more for questions often missed or with a low ease
+    private float weight(int slot) {
+        QuestionMastery.Mastery m = mastery[slot];
+        if (m == null) return chance[slot];
+        return chance[slot] * (1 + m.errors) * (DEFAULT_EASE / m.ease);
+    }
+
+    /**
+     * Questions of one priority tier with an alias table over their weights (Vose's method).
+     */
+    private final class Tier {
+        final long key;
+        // Entries (slot + the stamp it was added with); stale once the slot moved
+        final IntArray slots = new IntArray();
+        final IntArray stamps = new IntArray();
+        int live = 0;
+        float[] prob = new float[0];
+        int[] alias = new int[0];
+        // Entries covered by the alias table; entries added later force a rebuild
+        int tableSize = 0;
+
+        Tier(long key) {
+            this.key = key;
+        }
+
+        void add(int slot) {
+            slots.add(slot);
+            stamps.add(stamp[slot]);
+            live++;
+        }
+
+        boolean isLive(int entry) {
+            int slot = slots.get(entry);
+            return stamp[slot] == stamps.get(entry) && tierOf[slot] == key;
+        }
+
+        int sample() {
+            if (live == 0) return -1;
+            if (tableSize != slots.size || slots.size > 2 * live) rebuild();
+            for (int i = 0; i < MAX_DRAWS; i++) {
+                draws++;
+                int entry = random.nextInt(tableSize);
+                if (random.nextFloat() >= prob[entry]) entry = alias[entry];
+                if (isLive(entry)) return slots.get(entry);
+            }
+            // Mostly stale: compact and draw from a fresh table
+            rebuild();
+            draws++;
+            int entry = random.nextInt(tableSize);
+            return slots.get(random.nextFloat() < prob[entry] ? entry : alias[entry]);
+        }
+
+        void rebuild() {
+            rebuilds++;
+            // Compact to the live entries
+            int n = 0;
+            for (int i = 0; i < slots.size; i++) {
+                if (!isLive(i)) continue;
+                slots.set(n, slots.get(i));
+                stamps.set(n, stamps.get(i));
+                n++;
+            }
+            slots.size = n;
+            stamps.size = n;
+            live = n;
+            if (prob.length < n) {
+                prob = new float[slots.items.length];
+                alias = new int[slots.items.length];
+            }
+            tableSize = n;
+            if (n == 0) return;
+
+            float total = 0f;
+            for (int i = 0; i < n; i++) total += weight(slots.get(i));
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                prob[i] = weight(slots.get(i)) * n / total;
+                alias[i] = i;
+                if (prob[i] < 1f) small[smallCount++] = i; else large[largeCount++] = i;
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int s = small[--smallCount];
+                int l = large[--largeCount];
+                alias[s] = l;
+                prob[l] -= 1f - prob[s];
+                if (prob[l] < 1f) small[smallCount++] = l; else large[largeCount++] = l;
+            }
+            // Leftovers are 1 up to float rounding
+            while (largeCount > 0) prob[large[--largeCount]] = 1f;
+            while (smallCount > 0) prob[small[--smallCount]] = 1f;
+        }
+    }
+
+    /**
+     * Binary min-heap of slots on their due time, with each slot's heap position for O(log n) updates.
+     */
+    private final class DueHeap {
+        final int[] heap;
+        final int[] position;
+        int size = 0;
+
+        DueHeap(int capacity) {
+            heap = new int[capacity];
+            position = new int[capacity];
+            java.util.Arrays.fill(position, -1);
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void update(int slot) {
+            int i = position[slot];
+            if (i < 0) {
+                i = size++;
+                heap[i] = slot;
+                position[slot] = i;
+            }
+            siftDown(siftUp(i));
+        }
+
+        void remove(int slot) {
+            int i = position[slot];
+            if (i < 0) return;
+            position[slot] = -1;
+            int last = heap[--size];
+            if (i == size) return;
+            heap[i] = last;
+            position[last] = i;
+            siftDown(siftUp(i));
+        }
+
+        private long due(int i) {
+            return mastery[heap[i]].getDue();
+        }
+
+        private int siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (due(parent) <= due(i)) break;
+                swap(i, parent);
+                i = parent;
+            }
+            return i;
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) return;
+                if (child + 1 < size && due(child + 1) < due(child)) child++;
+                if (due(i) <= due(child)) return;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+            position[heap[a]] = a;
+            position[heap[b]] = b;
+        }
+    }
+}
@@ -4,24 +4,38 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Loads and serves questions from assets/questionnaire.json.
  * Uses a weighted 'chance' field for random selection. If 'chance' is missing/zero,
  * it will be randomized into [0.2, 0.75] based on difficulty level.
+ * Questions are served in spaced-repetition order by a {@link QuestionScheduler} built per load,
+ * with mastery kept across runs in {@link QuestionMastery}.
+ * When the build produced the precompiled {@link QuestionBank}, initFromBank() serves every level from it
+ * without parsing JSON; each level is decoded once and switching back to it is a lookup.
  */
 public final class QuestionnaireManager {
     private static final String DEFAULT_JSON = "assets/questionnaire.json";
     private static final String DEFAULT_TXT = "assets/questions.txt";
 
+    /**
+     * Level that questions.txt prompts are loaded under. Their ids restart at 1 like every questionnaire
+     * level's, so they need a level of their own to keep separate mastery (stored as a short).
+     */
+    public static final int LEVEL_TXT = 1000;
+    /** Level of the variables_quiz.json questions in the question bank, for the same reason. */
+    public static final int LEVEL_VARIABLES = 1001;
+
     private static QuestionnaireManager INSTANCE;
 
     public static class Question {
         public int id;
-        public int isSolve; // 0 or 1
+        public int isSolve; // 0 or 1, as stored in the sources; selection goes by mastery (QuestionScheduler)
         public String questions; // prompt
         public Array<String> keyPoints = new Array<>();
         public float chance; // loaded but not used yet
@@ -30,12 +44,23 @@ public final class QuestionnaireManager {
     public static class Questionnaire {
         public int level;
         public Array<Question> questions = new Array<>();
+        // Built on first use; kept with bank levels so switching back reuses it
+        QuestionScheduler scheduler;
     }
 
     private Questionnaire loaded;
+    private volatile int generation = 0;
+    // Levels decoded from the question bank, by requested level
+    private final IntMap<Questionnaire> bankLevels = new IntMap<>();
 
     private QuestionnaireManager() {}
 
+    /**
+     * Bumped whenever question content is parsed or decoded, so caches of graded results can tell it may have
+     * changed. Switching back to a bank level that was already decoded is a lookup and keeps the generation.
+     */
+    public int getGeneration() { return generation; }
+
     public static QuestionnaireManager get() {
         if (INSTANCE == null) INSTANCE = new QuestionnaireManager();
         return INSTANCE;
@@ -81,6 +106,7 @@ public final class QuestionnaireManager {
         }
 
         this.loaded = qn;
+        generation++;
         Gdx.app.log("QuestionnaireManager", "Loaded questions: " + qn.questions.size + " (level=" + qn.level + ") from " + file.path());
     }
 
@@ -138,9 +164,37 @@ public final class QuestionnaireManager {
             }
         }
         this.loaded = qn;
+        generation++;
         Gdx.app.log("QuestionnaireManager", "Loaded questions: " + qn.questions.size + " (level=" + qn.level + ") from " + file.path());
     }
 
+    /**
+     * Switch to a level of the precompiled question bank, or its "txt" section when the bank has no such
+     * level (what the JSON-then-TXT fallback would end up with, under LEVEL_TXT as well). Returns false when
+     * there is no bank.
+     */
+    public boolean initFromBank(int level) {
+        Questionnaire qn = bankLevels.get(level);
+        if (qn == null) {
+            QuestionBank bank = QuestionBank.getDefault();
+            if (bank == null) return false;
+            QuestionBank.Section section = bank.getLevel(level);
+            if (section == null || section.count == 0) section = bank.getSection(QuestionBank.SECTION_TXT);
+            if (section == null || section.count == 0) return false;
+            qn = new Questionnaire();
+            qn.level = section.level;
+            for (Question q : bank.decode(section)) {
+                q.chance = normalizeOrRandomizeChance(q.chance, qn.level);
+                qn.questions.add(q);
+            }
+            bankLevels.put(level, qn);
+            generation++;
+        }
+        this.loaded = qn;
+        Gdx.app.log("QuestionnaireManager", "Loaded questions: " + qn.questions.size + " (level=" + qn.level + ") from " + QuestionBank.FILE);
+        return true;
+    }
+
     /** Load simple prompts from a plain text file. Each non-empty line is one question. */
     public void initFromTxt(FileHandle file) {
         if (file == null || !file.exists()) {
@@ -149,7 +203,7 @@ public final class QuestionnaireManager {
         String content = file.readString("UTF-8");
         String[] lines = content.replace("\r", "").split("\n");
         Questionnaire qn = new Questionnaire();
-        qn.level = 1;
+        qn.level = LEVEL_TXT;
         int id = 1;
         for (String raw : lines) {
             String line = raw.trim();
@@ -164,6 +218,7 @@ public final class QuestionnaireManager {
             qn.questions.add(q);
         }
         this.loaded = qn;
+        generation++;
     }
 
     public boolean isReady() {
@@ -182,23 +237,33 @@ public final class QuestionnaireManager {
         return null;
     }
 
-    /** Weighted random among unsolved questions using 'chance'. Falls back to all if all are solved. */
+    /**
+     * Next question to ask: due reviews first, then never-answered questions, each weighted by 'chance'
+     * (see {@link QuestionScheduler}). Never the same question twice in a row unless it is the only one.
+     */
     public Question getRandomUnsolved() {
-        if (!isReady()) return null;
-        Array<Question> pool = new Array<>();
-        for (Question q : loaded.questions) if (q.isSolve == 0) pool.add(q);
-        if (pool.size == 0) pool.addAll(loaded.questions);
-        return weightedPick(pool);
+        QuestionScheduler s = getScheduler();
+        return s == null ? null : s.next(TimeUtils.millis());
+    }
+
+    /** Record an answer in the question's mastery and reschedule it. Safe from the grading worker. */
+    public void recordResult(int id, boolean correct) {
+        QuestionScheduler s = getScheduler();
+        if (s != null) s.record(id, correct, TimeUtils.millis());
     }
 
-    /** Mark a question as solved (in-memory only). Persist externally if needed. */
-    public void markSolved(int id) {
-        Question q = getById(id);
-        if (q != null) q.isSolve = 1;
+    /** Scheduler over the loaded questions, built once per loaded questionnaire; null when nothing is loaded. */
+    public synchronized QuestionScheduler getScheduler() {
+        if (!isReady()) return null;
+        Questionnaire qn = loaded;
+        if (qn.scheduler == null) {
+            qn.scheduler = new QuestionScheduler(qn.level, qn.questions, QuestionMastery.getInstance());
+        }
+        return qn.scheduler;
     }
 
     // --- Helpers ---
-    private String sanitizeJson(String s) {
+    static String sanitizeJson(String s) {
         if (s == null) return null;
         // Replace common mojibake and smart punctuation with ASCII equivalents
         String out = s;
@@ -248,17 +313,4 @@ public final class QuestionnaireManager {
         // Ensure also within global bounds
         return MathUtils.clamp(val, globalMin, globalMax);
     }
-
-    private Question weightedPick(Array<Question> items) {
-        if (items == null || items.size == 0) return null;
-        float total = 0f;
-        for (Question q : items) total += Math.max(0.0001f, q.chance);
-        float r = MathUtils.random(total);
-        float acc = 0f;
-        for (Question q : items) {
-            acc += Math.max(0.0001f, q.chance);
-            if (r <= acc) return q;
-        }
-        return items.peek();
-    }
 }
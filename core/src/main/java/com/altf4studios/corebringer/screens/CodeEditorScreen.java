@@ -3,9 +3,14 @@ package com.altf4studios.corebringer.screens;
 import com.altf4studios.corebringer.Main;
 import com.altf4studios.corebringer.Utils;
 import com.altf4studios.corebringer.compiler.CodePolicyValidator;
+import com.altf4studios.corebringer.compiler.IncrementalDiagnostics;
 import com.altf4studios.corebringer.compiler.JavaExternalRunner;
+import com.altf4studios.corebringer.metrics.AttemptLog;
+import com.altf4studios.corebringer.metrics.CodingMetricsManager;
 import com.altf4studios.corebringer.quiz.CodeEvaluationService;
 import com.altf4studios.corebringer.quiz.QuestionnaireManager;
+import com.altf4studios.corebringer.utils.GameScheduler;
+import com.altf4studios.corebringer.utils.RenderOnDemand;
 import com.altf4studios.corebringer.utils.SimpleSaveManager;
 import com.altf4studios.corebringer.utils.SaveData;
 import com.badlogic.gdx.Gdx;
@@ -13,10 +18,12 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
@@ -27,6 +34,7 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.TimeUtils;
 
 public class CodeEditorScreen implements Screen {
     private final Main corebringer;
@@ -41,8 +49,9 @@ public class CodeEditorScreen implements Screen {
 
     private Window outputWindow;
     private TextArea outputArea;
-    private TextArea codeInputArea;
+    private DiagnosticTextArea codeInputArea;
     private Label outputLabel;
+    private Label diagnosticsLabel;
     private Label questionLabel;
     private Label keyPointsLabel;
     private boolean showHints = true;
@@ -51,7 +60,18 @@ public class CodeEditorScreen implements Screen {
     private Table rootTable;
 
     private QuestionnaireManager.Question currentQ;
+    // When currentQ was shown, for the time-per-question metrics
+    private long currentQShownAt = 0L;
     private final CodeEvaluationService evaluator = new CodeEvaluationService();
+
+    // --- Live diagnostics while typing ---
+    // Quiet time after the last keystroke before the syntax pass
+    private static final float DIAGNOSTICS_DEBOUNCE = 0.25f;
+    // Longer pause before the type pass, which is too slow to run on every debounce
+    private static final float TYPE_CHECK_IDLE = 1.0f;
+    private final IncrementalDiagnostics diagnostics = new IncrementalDiagnostics();
+    private GameScheduler.Task pendingDiagnostics;
+    private GameScheduler.Task pendingTypeCheck;
     // Fallback question list if QuestionnaireManager fails to initialize
     private Array<QuestionnaireManager.Question> localQuestions;
 
@@ -91,13 +111,23 @@ public class CodeEditorScreen implements Screen {
             Gdx.app.log("CodeEditorScreen", "Could not load stageLevel from save, defaulting to 1: " + ex.getMessage());
         }
 
-        // Attempt 1: Utils internal JSON with level
+        // Attempt 0: precompiled question bank (all levels read once, switching level is a lookup)
+        boolean fromBank = false;
         try {
-            com.badlogic.gdx.files.FileHandle fh = Utils.getInternalPath("assets/questionnaire.json");
-            Gdx.app.log("CodeEditorScreen", "Attempting Utils JSON with level " + stageLevel + ": " + fh.path() + ", exists=" + fh.exists());
-            QuestionnaireManager.get().initFromJsonWithLevel(fh, stageLevel);
+            fromBank = QuestionnaireManager.get().initFromBank(stageLevel);
         } catch (Exception ex) {
-            Gdx.app.error("CodeEditorScreen", "Utils JSON load failed: " + ex.getMessage());
+            Gdx.app.error("CodeEditorScreen", "Question bank load failed: " + ex.getMessage());
+        }
+
+        // Attempt 1: Utils internal JSON with level
+        if (!fromBank) {
+            try {
+                com.badlogic.gdx.files.FileHandle fh = Utils.getInternalPath("assets/questionnaire.json");
+                Gdx.app.log("CodeEditorScreen", "Attempting Utils JSON with level " + stageLevel + ": " + fh.path() + ", exists=" + fh.exists());
+                QuestionnaireManager.get().initFromJsonWithLevel(fh, stageLevel);
+            } catch (Exception ex) {
+                Gdx.app.error("CodeEditorScreen", "Utils JSON load failed: " + ex.getMessage());
+            }
         }
 
         // Attempt 2: Gdx.files.internal JSON with level
@@ -189,34 +219,21 @@ public class CodeEditorScreen implements Screen {
     }
 
     private void pickRandomQuestion() {
-        // Prefer localQuestions if available
-        if (localQuestions != null && localQuestions.size > 0) {
-            int idx = MathUtils.random(localQuestions.size - 1);
-            currentQ = localQuestions.get(idx);
-        } else if (!QuestionnaireManager.get().isReady()) {
-            currentQ = null;
-            // Try localQuestions fallback
-            if (localQuestions != null && localQuestions.size > 0) {
-                int idx = MathUtils.random(localQuestions.size - 1);
-                currentQ = localQuestions.get(idx);
-            } else {
-                // Try to (re)load, then retry selection once
-                Gdx.app.log("CodeEditorScreen", "No questions available; reloading and retrying selection");
-                loadQuestions();
-                if (localQuestions != null && localQuestions.size > 0) {
-                    int idx2 = MathUtils.random(localQuestions.size - 1);
-                    currentQ = localQuestions.get(idx2);
-                } else if (QuestionnaireManager.get().isReady()) {
-                    currentQ = QuestionnaireManager.get().getRandomUnsolved();
-                } else {
-                    if (questionLabel != null) questionLabel.setText("No questions available.");
-                    if (keyPointsLabel != null) keyPointsLabel.setText("");
-                    return;
-                }
-            }
+        // Nothing loaded yet (or a reload failed earlier): load once before selecting
+        if (!QuestionnaireManager.get().isReady() && (localQuestions == null || localQuestions.size == 0)) {
+            Gdx.app.log("CodeEditorScreen", "No questions available; reloading before selection");
+            loadQuestions();
         }
-        if (currentQ == null && QuestionnaireManager.get().isReady()) {
+        // Prefer the spaced-repetition scheduler, then localQuestions
+        if (QuestionnaireManager.get().isReady()) {
             currentQ = QuestionnaireManager.get().getRandomUnsolved();
+        } else if (localQuestions != null && localQuestions.size > 0) {
+            currentQ = localQuestions.get(MathUtils.random(localQuestions.size - 1));
+        } else {
+            currentQ = null;
+            if (questionLabel != null) questionLabel.setText("No questions available.");
+            if (keyPointsLabel != null) keyPointsLabel.setText("");
+            return;
         }
         if (currentQ == null) {
             // Fallback: pick first available
@@ -230,6 +247,7 @@ public class CodeEditorScreen implements Screen {
         if (keyPointsLabel != null && currentQ != null) {
             keyPointsLabel.setText(showHints ? formatKeyPoints(currentQ.keyPoints) : "");
         }
+        currentQShownAt = TimeUtils.millis();
     }
 
     private void buildUI() {
@@ -262,7 +280,7 @@ public class CodeEditorScreen implements Screen {
         questionTable.add().expandY().fillY();
 
         // Code editor panel
-        codeInputArea = new TextArea("// Type your solution here\npublic class Main {\n    public static void main(String[] args) {\n        System.out.println(\"\");\n    }\n}\n", skin);
+        codeInputArea = new DiagnosticTextArea("// Type your solution here\npublic class Main {\n    public static void main(String[] args) {\n        System.out.println(\"\");\n    }\n}\n", skin);
         codeInputArea.setPrefRows(20);
         // Prefer top-left alignment for text rendering
         codeInputArea.setAlignment(Align.topLeft);
@@ -301,11 +319,19 @@ public class CodeEditorScreen implements Screen {
             public boolean keyDown(InputEvent event, int keycode) {
                 if (keycode == Input.Keys.TAB) {
                     insertAtCursor(codeInputArea, "    ");
+                    scheduleDiagnostics();
                     return true;
                 }
                 return false;
             }
         });
+        // Typing, deleting and pasting all fire a change event; re-check once the student pauses
+        codeInputArea.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                scheduleDiagnostics();
+            }
+        });
 
         // Buttons
         TextButton btnRun = new TextButton("Run Code", skin);
@@ -313,6 +339,9 @@ public class CodeEditorScreen implements Screen {
         TextButton btnToggleHints = new TextButton("Hide Hints", skin);
         TextButton btnNextQ = new TextButton("Next Question", skin);
         outputLabel = new Label("Ready", skin);
+        diagnosticsLabel = new Label("", skin);
+        diagnosticsLabel.setWrap(true);
+        diagnosticsLabel.setAlignment(Align.left);
 
         btnRun.addListener(new ClickListener() {
             @Override
@@ -362,7 +391,8 @@ public class CodeEditorScreen implements Screen {
         codeScroll.setFadeScrollBars(false);
         // Avoid content overscrolling into the left scissor region
         codeScroll.setOverscroll(false, false);
-        right.add(codeScroll).padLeft(10).padBottom(40).grow().colspan(2).row();
+        right.add(codeScroll).padLeft(10).padBottom(10).grow().colspan(2).row();
+        right.add(diagnosticsLabel).padLeft(15).padBottom(20).growX().colspan(2).row();
         right.add(btnRun).padLeft(15).padTop(10).left();
         right.add(btnNextQ).padTop(10).left().row();
         right.add(btnBack).padLeft(15).padTop(10).left();
@@ -495,10 +525,12 @@ public class CodeEditorScreen implements Screen {
     private void runAndJudge() {
         final String code = codeInputArea.getText();
         outputLabel.setText("Compiling...");
-        new Thread(() -> {
+        // Validate/compile/judge on the shared worker pool; UI changes are posted back to the render thread
+        GameScheduler.getInstance().runAsync(this, "runAndJudge", () -> {
             try {
                 CodePolicyValidator.ValidationResult vr = CodePolicyValidator.validate(code);
                 if (!vr.valid) {
+                    logPolicyRejection(currentQ, vr.violationCount);
                     Gdx.app.postRunnable(() -> {
                         showResult("Validation Error", "❌ VALIDATION FAILED:\n" + vr.message + "\n\n" + CodePolicyValidator.policyTemplate());
                         outputLabel.setText("Validation failed");
@@ -519,11 +551,12 @@ public class CodeEditorScreen implements Screen {
 
                 // Save question result to save data
                 if (q != null) {
-                    saveQuestionResult(q, ev.passed);
+                    saveQuestionResult(q, ev.passed, verdictOf(result, ev.passed),
+                        JavaExternalRunner.lastCompileMillis(), JavaExternalRunner.lastRunMillis());
+                    QuestionnaireManager.get().recordResult(q.id, ev.passed);
                 }
 
                 if (ev.passed && q != null) {
-                    QuestionnaireManager.get().markSolved(q.id);
                     // Increment objective count for this stage level in SaveData
                     try {
                         SimpleSaveManager.updateData(sd -> {
@@ -617,7 +650,55 @@ public class CodeEditorScreen implements Screen {
                     outputLabel.setText("Error");
                 });
             }
-        }).start();
+        });
+    }
+
+    // Restart both quiet windows; whatever analysis is still running is now stale
+    private void scheduleDiagnostics() {
+        if (pendingDiagnostics != null) pendingDiagnostics.cancel();
+        if (pendingTypeCheck != null) pendingTypeCheck.cancel();
+        diagnostics.cancel();
+        pendingDiagnostics = GameScheduler.getInstance().schedule(this, DIAGNOSTICS_DEBOUNCE, this::runDiagnostics);
+        pendingTypeCheck = GameScheduler.getInstance().schedule(this, TYPE_CHECK_IDLE, this::runTypeCheck);
+    }
+
+    private void runDiagnostics() {
+        pendingDiagnostics = null;
+        final String code = codeInputArea.getText();
+        final int version = diagnostics.nextVersion();
+        GameScheduler.getInstance().runAsync(this, "diagnostics", () -> {
+            IncrementalDiagnostics.Result result = diagnostics.analyze(code, version);
+            if (result == null) return; // superseded by a newer keystroke
+            Gdx.app.postRunnable(() -> applyDiagnostics(result));
+        });
+    }
+
+    private void runTypeCheck() {
+        pendingTypeCheck = null;
+        final String code = codeInputArea.getText();
+        final int version = diagnostics.nextVersion();
+        GameScheduler.getInstance().runAsync(this, "typeCheck", () -> {
+            IncrementalDiagnostics.Result result = diagnostics.attribute(code, version);
+            if (result == null) return; // typing resumed
+            Gdx.app.postRunnable(() -> applyDiagnostics(result));
+        });
+    }
+
+    private void applyDiagnostics(IncrementalDiagnostics.Result result) {
+        if (!diagnostics.isLatest(result.version)) return;
+        codeInputArea.setMarkers(result.markers);
+        if (result.markers.isEmpty()) {
+            diagnosticsLabel.setText("");
+            return;
+        }
+        IncrementalDiagnostics.Marker first = result.markers.get(0);
+        int count = result.markers.size();
+        diagnosticsLabel.setColor(first.policy ? Color.ORANGE : Color.SALMON);
+        diagnosticsLabel.setText(count + (count == 1 ? " problem" : " problems") + " - line " + first.line + ": " + first.message);
+        // The budget is for the keystroke pass only
+        if (result.micros > IncrementalDiagnostics.LATENCY_BUDGET_MICROS && !result.cached && !result.attributed) {
+            Gdx.app.log("CodeEditorScreen", "Diagnostics took " + (result.micros / 1000L) + " ms (" + diagnostics.getStats() + ")");
+        }
     }
 
     // Old variable_quiz-based evaluation removed; now handled by CodeEvaluationService
@@ -685,6 +766,11 @@ public class CodeEditorScreen implements Screen {
         // Ensure questions are reloaded when screen is shown (in case singleton was cleared elsewhere)
         loadQuestions();
         pickRandomQuestion();
+        // Loads javac off the render thread so the first keystroke check is fast, then checks the current code
+        GameScheduler.getInstance().runAsync(this, "diagnosticsWarmUp", diagnostics::warmUp);
+        scheduleDiagnostics();
+        /// The editor only changes on typing, the cursor blink and compile results, so draw it on demand
+        RenderOnDemand.getInstance().enter(this, stage);
     }
 
     @Override
@@ -706,6 +792,12 @@ public class CodeEditorScreen implements Screen {
     @Override public void resume() {}
     @Override public void hide() {
         // No energy sync with GameScreen
+        // Drop a compile that was queued but not started; one already running still reports its verdict
+        GameScheduler.getInstance().cancelAll(this);
+        pendingDiagnostics = null;
+        pendingTypeCheck = null;
+        diagnostics.cancel();
+        RenderOnDemand.getInstance().exit(this);
     }
     @Override public void dispose() {
         stage.dispose();
@@ -714,7 +806,9 @@ public class CodeEditorScreen implements Screen {
         }
     }
 
-    private void saveQuestionResult(QuestionnaireManager.Question question, boolean isCorrect) {
+    private void saveQuestionResult(QuestionnaireManager.Question question, boolean isCorrect, byte verdict,
+                                    long compileMillis, long runMillis) {
+        final long timeSpent = currentQShownAt > 0 ? TimeUtils.timeSinceMillis(currentQShownAt) : 0L;
         SimpleSaveManager.updateData(data -> {
             // Get current stage level
             int stageLevel = data.stageLevel > 0 ? data.stageLevel : 1;
@@ -733,12 +827,37 @@ public class CodeEditorScreen implements Screen {
             // Add result to totals
             data.totals.addResult(isCorrect);
 
+            // Same result into the in-memory metrics, so the metrics window never re-reads the save
+            CodingMetricsManager.getInstance().recordResult(stageLevel, levelData.title, isCorrect, question.id, timeSpent);
+            AttemptLog.getInstance().append(new AttemptLog.Event(question.id, TimeUtils.millis(), (int) timeSpent,
+                (int) compileMillis, (int) runMillis, stageLevel, verdict, 0));
+
             Gdx.app.log("CodeEditorScreen", String.format("Saved question result: Level %d (%s), %s (Level: %d correct, %d wrong | Total: %d correct, %d wrong)",
                 stageLevel, levelData.title, isCorrect ? "CORRECT" : "INCORRECT",
                 levelData.correct, levelData.wrong, data.totals.correct, data.totals.wrong));
         });
     }
 
+    // Submissions the code policy refused are logged too, though they don't count as answers
+    private void logPolicyRejection(QuestionnaireManager.Question question, int violations) {
+        if (question == null) return;
+        SaveData data = SimpleSaveManager.loadData();
+        int stageLevel = data.stageLevel > 0 ? data.stageLevel : 1;
+        long timeSpent = currentQShownAt > 0 ? TimeUtils.timeSinceMillis(currentQShownAt) : 0L;
+        AttemptLog.getInstance().append(new AttemptLog.Event(question.id, TimeUtils.millis(), (int) timeSpent,
+            0, 0, stageLevel, AttemptLog.VERDICT_POLICY_REJECTED, violations));
+    }
+
+    private static byte verdictOf(String runResult, boolean passed) {
+        if (passed) return AttemptLog.VERDICT_CORRECT;
+        if (runResult.startsWith("❌ COMPILATION") || runResult.startsWith("❌ SYNTAX") || runResult.startsWith("❌ Compilation")) {
+            return AttemptLog.VERDICT_COMPILE_ERROR;
+        }
+        // Formatted exceptions start with 🔴, unrecognised crashes and timeouts with ❌ RUNTIME
+        if (runResult.startsWith("❌ RUNTIME") || runResult.startsWith("🔴")) return AttemptLog.VERDICT_RUNTIME_ERROR;
+        return AttemptLog.VERDICT_WRONG;
+    }
+
     private String getLevelName(int stageLevel) {
         switch (stageLevel) {
             case 1: return "Basic Java Fundamentals";
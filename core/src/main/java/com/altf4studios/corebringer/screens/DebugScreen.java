@@ -140,12 +140,17 @@ public class DebugScreen implements Screen {
         executebutton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
+                if (executebutton.isDisabled()) return;
                 String input = jshellinput.getText();
-                String output = corebringer.evaluateJShellInput(input);
-
-                outputarea.setText(output);
-                outputarea.invalidateHierarchy();
-                outputareascroll.layout();
+                ///Evaluation runs off the render thread so a slow snippet can't freeze the screen
+                executebutton.setDisabled(true);
+                outputarea.setText("Running...");
+                corebringer.evaluateJShellInputAsync(input, output -> {
+                    executebutton.setDisabled(false);
+                    outputarea.setText(output);
+                    outputarea.invalidateHierarchy();
+                    outputareascroll.layout();
+                });
             }
         });
 
@@ -0,0 +1,94 @@
+package com.altf4studios.corebringer.screens;
+
+import com.altf4studios.corebringer.compiler.IncrementalDiagnostics;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.TextArea;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TextArea that underlines diagnostic ranges (red for compile errors, orange for policy violations)
+ * on the visible lines, the same way TextArea draws its selection.
+ * The wrapped line table is package-private in TextArea, so it is read reflectively once;
+ * if that ever fails the area still works, just without underlines.
+ */
+public class DiagnosticTextArea extends TextArea {
+    private static final Color ERROR_COLOR = new Color(1f, 0.25f, 0.25f, 1f);
+    private static final Color POLICY_COLOR = new Color(1f, 0.6f, 0.1f, 1f);
+    private static final float UNDERLINE_HEIGHT = 2f;
+    // Zero-width ranges (e.g. "';' expected") still get a visible mark
+    private static final float MIN_MARK_WIDTH = 6f;
+    private static final Field LINES_BREAK = findLinesBreak();
+
+    private final Drawable marker;
+    private final Color batchColor = new Color();
+    private List<IncrementalDiagnostics.Marker> markers = Collections.emptyList();
+
+    public DiagnosticTextArea(String text, Skin skin) {
+        super(text, skin);
+        marker = skin.getDrawable("white");
+    }
+
+    public void setMarkers(List<IncrementalDiagnostics.Marker> markers) {
+        this.markers = markers != null ? markers : Collections.<IncrementalDiagnostics.Marker>emptyList();
+    }
+
+    public void clearMarkers() {
+        markers = Collections.emptyList();
+    }
+
+    @Override
+    protected void drawText(Batch batch, BitmapFont font, float x, float y) {
+        super.drawText(batch, font, x, y);
+        if (markers.isEmpty() || LINES_BREAK == null) return;
+        IntArray lines;
+        try {
+            lines = (IntArray) LINES_BREAK.get(this);
+        } catch (Exception e) {
+            return;
+        }
+        int textLength = text.length();
+        batchColor.set(batch.getColor());
+        float lineHeight = font.getLineHeight();
+        float offsetY = 0f;
+        int first = getFirstLineShowing() * 2;
+        int last = Math.min((getFirstLineShowing() + getLinesShowing()) * 2, lines.size);
+        for (int i = first; i < last; i += 2) {
+            int lineStart = lines.get(i);
+            int lineEnd = lines.get(i + 1);
+            float lineX = glyphPositions.get(lineStart);
+            for (int m = 0; m < markers.size(); m++) {
+                IncrementalDiagnostics.Marker mk = markers.get(m);
+                // Markers may be a keystroke behind the text; clamp instead of trusting the offsets
+                int start = Math.min(mk.start, textLength);
+                int end = Math.min(Math.max(mk.end, start), textLength);
+                if (end < lineStart || start > lineEnd || (start == lineEnd && lineEnd != end)) continue;
+                int from = Math.max(start, lineStart);
+                int to = Math.min(end, lineEnd);
+                float markX = glyphPositions.get(from) - lineX;
+                float width = Math.max(glyphPositions.get(to) - glyphPositions.get(from), MIN_MARK_WIDTH);
+                batch.setColor(mk.policy ? POLICY_COLOR : ERROR_COLOR);
+                marker.draw(batch, x + markX + fontOffset, y - textHeight - offsetY, width, UNDERLINE_HEIGHT);
+            }
+            offsetY += lineHeight;
+        }
+        batch.setColor(batchColor);
+    }
+
+    private static Field findLinesBreak() {
+        try {
+            Field field = TextArea.class.getDeclaredField("linesBreak");
+            field.setAccessible(true);
+            return field;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
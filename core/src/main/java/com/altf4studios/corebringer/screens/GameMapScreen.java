@@ -2,10 +2,18 @@ package com.altf4studios.corebringer.screens;
 
 import com.altf4studios.corebringer.Main;
 import com.altf4studios.corebringer.Utils;
+import com.altf4studios.corebringer.map.MapAnalysis;
+import com.altf4studios.corebringer.map.MapAnalyzer;
+import com.altf4studios.corebringer.map.MapGenerator;
+import com.altf4studios.corebringer.map.MapGraph;
+import com.altf4studios.corebringer.map.MapNode;
 import com.altf4studios.corebringer.utils.LoggingUtils;
+import com.altf4studios.corebringer.utils.RenderOnDemand;
+import com.altf4studios.corebringer.utils.SaveData;
 import com.altf4studios.corebringer.utils.SaveManager;
 import com.altf4studios.corebringer.utils.SettingsData;
 import com.altf4studios.corebringer.utils.SettingsManager;
+import com.altf4studios.corebringer.utils.SimpleSaveManager;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.files.FileHandle;
@@ -28,7 +36,7 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.Button;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
 
 public class GameMapScreen implements Screen{
     private Main corebringer;
@@ -37,44 +45,35 @@ public class GameMapScreen implements Screen{
     private Table gamemapnodetable;
     private Table gamemapmessagetable;
     private Table gamemapbuttonstable;
-    private Table rank1table;
-    private Table rank2table;
-    private Table rank3table;
-    private Table rank4table;
-    private Table rank5table;
-    private Table rank6table;
-    private Table rank7table;
-    private Table rank8table;
-    private Table rank9table;
-    private Table rank10table;
     private Image mapbackgroundimg;
     // Strong references for textures to dispose later
     private Texture mapBgTex;
     private Texture nodesAtlasPreviewTex;
-    private ImageButton staticbattlenodeA;
-    private ImageButton staticbattlenodeB;
-    private ImageButton staticbattlenodeC;
-    private ImageButton staticbattlenodeD;
-    private ImageButton randombattlenode;
-    private ImageButton restnode;
-    private ImageButton merchantnode;
-    private ImageButton cardsmithnode;
-    private ImageButton searchnode;
-    private ImageButton bossnodeA;
     private TextButton returnbutton;
     private Label gamemapmessages;
     private Label gamemapmessages2;
     private Label gamemapmessages3;
+    private Label routeHintLabel;
     private Image gamemapmessagesdisplay;
-    private Random counter;
-    private int totalnodescounter;
     private TextureAtlas gamemapatlas;
     private TextureAtlas gamemapbackgroundatlas;
     private ShapeRenderer shapeRenderer;
     private ArrayList<Table> rankTables;
     private int currentRankIndex;
     private boolean nodeChosenInCurrentRank;
-    private ArrayList<Button> selectedNodesPerRank;
+    // Generated map for the current stage; buttons are indexed by MapGraph node id
+    private MapGraph mapGraph;
+    private ImageButton[] nodeButtons;
+    // Node picked in each rank (-1 if none) and the last completed node, used for path gating
+    private int[] chosenNodePerRank = new int[0];
+    private int lastChosenNode = -1;
+    private static final Color TRAVERSED_PATH_COLOR = new Color(0.2f, 0.6f, 1f, 1f);
+    private static final Color ROUTE_HINT_COLOR = new Color(1f, 0.8f, 0.2f, 1f);
+    // Route statistics for mapGraph, recomputed whenever a graph is built or restored
+    private final MapAnalyzer mapAnalyzer = new MapAnalyzer();
+    private MapAnalysis mapAnalysis;
+    private final Vector2 tmpFrom = new Vector2();
+    private final Vector2 tmpTo = new Vector2();
     // Track which stage's nodes are currently applied to the map
     private int appliedStageLevel = 0;
 
@@ -83,32 +82,27 @@ public class GameMapScreen implements Screen{
         int pick = MathUtils.random(5); // 0..5
         switch (pick) {
             case 0: // Acid Floor Event
-                try { if (corebringer.treasurePuzzleScreen != null) corebringer.treasurePuzzleScreen.dispose(); } catch (Exception ignored) {}
-                try { if (corebringer.merchantScreen != null) {} } catch (Exception ignored) {}
-                try { if (corebringer.restScreen != null) {} } catch (Exception ignored) {}
+                // Finished puzzles aren't worth keeping warm
+                corebringer.discardScreen(corebringer.treasurePuzzleScreen);
                 corebringer.setScreen(new AcidFloorEventScreen(corebringer));
                 break;
             case 1: // Phoenix Event
-                try { if (corebringer.treasurePuzzleScreen != null) corebringer.treasurePuzzleScreen.dispose(); } catch (Exception ignored) {}
-                try { if (corebringer.merchantScreen != null) {} } catch (Exception ignored) {}
-                try { if (corebringer.restScreen != null) {} } catch (Exception ignored) {}
+                // Finished puzzles aren't worth keeping warm
+                corebringer.discardScreen(corebringer.treasurePuzzleScreen);
                 corebringer.setScreen(new PhoenixEventScreen(corebringer));
                 break;
             case 2: // Riddle Master Event
-                try { if (corebringer.treasurePuzzleScreen != null) corebringer.treasurePuzzleScreen.dispose(); } catch (Exception ignored) {}
-                try { if (corebringer.merchantScreen != null) {} } catch (Exception ignored) {}
-                try { if (corebringer.restScreen != null) {} } catch (Exception ignored) {}
+                // Finished puzzles aren't worth keeping warm
+                corebringer.discardScreen(corebringer.treasurePuzzleScreen);
                 corebringer.setScreen(new RiddleMasterEventScreen(corebringer));
                 break;
             case 3: // Treasure Puzzle
-                try { if (corebringer.treasurePuzzleScreen != null) corebringer.treasurePuzzleScreen.dispose(); } catch (Exception ignored) {}
-                corebringer.treasurePuzzleScreen = new TreasurePuzzleScreen(corebringer);
-                corebringer.setScreen(corebringer.treasurePuzzleScreen);
+                // Replaces (and disposes) any previous treasure puzzle
+                corebringer.showTreasurePuzzle();
                 break;
             case 4: // Code Puzzle (PuzzleScreen)
-                try { if (corebringer.puzzleScreen != null) corebringer.puzzleScreen.dispose(); } catch (Exception ignored) {}
-                corebringer.puzzleScreen = new PuzzleScreen(corebringer);
-                corebringer.setScreen(corebringer.puzzleScreen);
+                // Replaces (and disposes) any previous code puzzle
+                corebringer.showPuzzle();
                 break;
             case 5: // Random Battle
             default:
@@ -133,116 +127,143 @@ public class GameMapScreen implements Screen{
         });
     }
 
-    // Flush all node columns and rebuild them for the given stage level
-    // Note: stage currently does not affect generation weights; this is a structural refresh hook.
+    // Flush all node columns and rebuild them for the given stage level.
+    // Reuses the map persisted in the save when it belongs to this stage, otherwise generates a new one.
     private void flushAndRecreateNodesForStage(int stageLevel) {
-        // Clear all ranks
-        rank1table.clearChildren();
-        rank2table.clearChildren();
-        rank3table.clearChildren();
-        rank4table.clearChildren();
-        rank5table.clearChildren();
-        rank6table.clearChildren();
-        rank7table.clearChildren();
-        rank8table.clearChildren();
-        rank9table.clearChildren();
+        SaveData.MapData saved = null;
+        try {
+            SaveData data = SimpleSaveManager.loadData();
+            if (data != null && data.map != null && data.map.stageLevel == stageLevel) saved = data.map;
+        } catch (Exception ignored) {}
+
+        MapGraph graph = MapGraph.fromSaveData(saved);
+        if (graph != null) {
+            LoggingUtils.log("NodeGeneration", "Restored stage " + stageLevel + " map from save (seed " + graph.getSeed() + ")");
+            buildNodesFromGraph(graph);
+            restoreProgress(saved.currentRank, saved.lastNode);
+        } else {
+            long seed = MapGenerator.randomSeed();
+            graph = new MapGenerator(seed).generate(stageLevel);
+            LoggingUtils.log("NodeGeneration", "Generated stage " + stageLevel + " map: " + graph.getNodeCount()
+                + " nodes, " + graph.getEdgeCount() + " paths (seed " + seed + ")");
+            buildNodesFromGraph(graph);
+            saveMapProgress();
+        }
+        updateRankInteractivity();
+    }
+
+    // Create one column (rank table) per graph rank and one button per node
+    private void buildNodesFromGraph(MapGraph graph) {
+        mapGraph = graph;
+        mapAnalysis = mapAnalyzer.analyze(graph);
+        LoggingUtils.log("NodeGeneration", "Route analysis took " + (mapAnalysis.getAnalysisNanos() / 1000) + " us");
+        for (String issue : MapAnalyzer.checkBalance(mapAnalysis)) {
+            LoggingUtils.log("NodeGeneration", "Balance warning: " + issue);
+        }
+        gamemapnodetable.clearChildren();
+        rankTables.clear();
+        nodeButtons = new ImageButton[graph.getNodeCount()];
+        for (int r = 0; r < graph.getRankCount(); r++) {
+            Table rankTable = new Table();
+            for (int n = graph.getRankStart(r); n < graph.getRankEnd(r); n++) {
+                MapNode.Type type = graph.getType(n);
+                ImageButton btn = createAtlasButton(type.getRegionName());
+                btn.getImage().setScaling(type == MapNode.Type.BOSS ? Scaling.fit : Scaling.stretch);
+                final int nodeId = n;
+                btn.addListener(new ClickListener() {
+                    @Override
+                    public void clicked(InputEvent event, float x, float y) {
+                        onNodeClicked(nodeId, event);
+                    }
+                });
+                nodeButtons[n] = btn;
+                rankTable.add(btn).padBottom(20f).row();
+            }
+            rankTables.add(rankTable);
+            gamemapnodetable.add(rankTable).padLeft(40f);
+        }
+
+        // Reset traversal state
+        currentRankIndex = 0;
+        nodeChosenInCurrentRank = false;
+        lastChosenNode = -1;
+        chosenNodePerRank = new int[graph.getRankCount()];
+        Arrays.fill(chosenNodePerRank, -1);
+    }
+
+    // Put the player back where the save says they were
+    private void restoreProgress(int savedRank, int savedLastNode) {
+        if (mapGraph == null) return;
+        currentRankIndex = MathUtils.clamp(savedRank, 0, mapGraph.getRankCount() - 1);
+        if (currentRankIndex > 0 && savedLastNode >= 0 && savedLastNode < mapGraph.getNodeCount()
+            && mapGraph.getRankOf(savedLastNode) == currentRankIndex - 1) {
+            lastChosenNode = savedLastNode;
+            chosenNodePerRank[currentRankIndex - 1] = savedLastNode;
+        }
+    }
+
+    // Persist the map and the player's position on it so a resumed run skips generation
+    private void saveMapProgress() {
+        if (mapGraph == null) return;
+        final SaveData.MapData mapData = mapGraph.toSaveData();
+        mapData.currentRank = currentRankIndex;
+        mapData.lastNode = lastChosenNode;
+        try {
+            SimpleSaveManager.updateData(data -> data.map = mapData);
+        } catch (Exception e) {
+            Gdx.app.error("GameMapScreen", "Failed to save map progress: " + e.getMessage());
+        }
+    }
 
-        // Rebuild rank 1 static battles
-        staticbattlenodeA = createAtlasButton("combat_node");
-        staticbattlenodeB = createAtlasButton("combat_node");
-        staticbattlenodeC = createAtlasButton("combat_node");
-        staticbattlenodeD = createAtlasButton("combat_node");
-        staticbattlenodeA.getImage().setScaling(Scaling.stretch);
-        staticbattlenodeB.getImage().setScaling(Scaling.stretch);
-        staticbattlenodeC.getImage().setScaling(Scaling.stretch);
-        staticbattlenodeD.getImage().setScaling(Scaling.stretch);
-        // Show objective dialog for first-column nodes before proceeding to their action
-        staticbattlenodeA.addListener(new ClickListener(){ @Override public void clicked(InputEvent e, float x, float y){
-            try {
-                // mark node selected so map state advances correctly after returning
-                try { selectedNodesPerRank.set(0, staticbattlenodeA); } catch (Exception ignored) {}
-                nodeChosenInCurrentRank = true;
-                updateRankInteractivity();
-                com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                showObjectiveDialogForLevel(savedStage, new Runnable(){ public void run(){ triggerRandomBattle(); } });
-            } catch (Exception ignored) { triggerRandomBattle(); }
-        }});
-        staticbattlenodeB.addListener(new ClickListener(){ @Override public void clicked(InputEvent e, float x, float y){
-            try {
-                try { selectedNodesPerRank.set(0, staticbattlenodeB); } catch (Exception ignored) {}
-                nodeChosenInCurrentRank = true;
-                updateRankInteractivity();
-                com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                showObjectiveDialogForLevel(savedStage, new Runnable(){ public void run(){ triggerRandomBattle(); } });
-            } catch (Exception ignored) { triggerRandomBattle(); }
-        }});
-        staticbattlenodeC.addListener(new ClickListener(){ @Override public void clicked(InputEvent e, float x, float y){
-            try {
-                try { selectedNodesPerRank.set(0, staticbattlenodeC); } catch (Exception ignored) {}
-                nodeChosenInCurrentRank = true;
-                updateRankInteractivity();
-                com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                showObjectiveDialogForLevel(savedStage, new Runnable(){ public void run(){ triggerRandomBattle(); } });
-            } catch (Exception ignored) { triggerRandomBattle(); }
-        }});
-        staticbattlenodeD.addListener(new ClickListener(){ @Override public void clicked(InputEvent e, float x, float y){
-            try {
-                try { selectedNodesPerRank.set(0, staticbattlenodeD); } catch (Exception ignored) {}
-                nodeChosenInCurrentRank = true;
-                updateRankInteractivity();
-                com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                showObjectiveDialogForLevel(savedStage, new Runnable(){ public void run(){ triggerRandomBattle(); } });
-            } catch (Exception ignored) { triggerRandomBattle(); }
-        }});
-        rank1table.add(staticbattlenodeA).padBottom(20f).row();
-        rank1table.add(staticbattlenodeB).padBottom(20f).row();
-        rank1table.add(staticbattlenodeC).padBottom(20f).row();
-        rank1table.add(staticbattlenodeD).padBottom(20f).row();
+    // Player can pick a node only in the current rank, and only along a path from the previous pick
+    private boolean isNodeSelectable(int node) {
+        if (mapGraph == null || nodeChosenInCurrentRank) return false;
+        if (mapGraph.getRankOf(node) != currentRankIndex) return false;
+        return lastChosenNode < 0 || mapGraph.hasEdge(lastChosenNode, node);
+    }
 
-        // Rebuild ranks 2..9 via weighted generation (stage reserved for future balancing)
-        for (Table r : new Table[]{rank2table, rank3table, rank4table, rank5table, rank6table, rank7table, rank8table, rank9table}) {
-            int count = MathUtils.random(1, 4);
-            addNodesWithWeights(r, count);
+    private void onNodeClicked(int node, InputEvent event) {
+        if (!isNodeSelectable(node)) {
+            event.cancel();
+            return;
         }
+        chosenNodePerRank[currentRankIndex] = node;
+        nodeChosenInCurrentRank = true;
+        updateRankInteractivity();
 
-        // Rebuild boss rank
-        bossnodeA = createAtlasButton("boss_node");
-        bossnodeA.getImage().setScaling(Scaling.fit);
-        bossnodeA.addListener(new ClickListener(){
-            @Override public void clicked(InputEvent event, float x, float y) {
+        switch (mapGraph.getType(node)) {
+            case BOSS:
                 try {
-                    // mark node selected so map state advances correctly after returning
-                    try { selectedNodesPerRank.set(9, bossnodeA); } catch (Exception ignored) {}
-                    nodeChosenInCurrentRank = true;
-                    updateRankInteractivity();
                     com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
                     final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
                     showBossObjectiveDialogForLevel(savedStage, new Runnable(){ public void run(){ triggerBossBattle(); } });
                 } catch (Exception ignored) { triggerBossBattle(); }
-            }
-        });
-        rank10table.add(bossnodeA).padBottom(20f).row();
-
-        // Reset traversal state and reattach lock listeners
-        currentRankIndex = 0;
-        nodeChosenInCurrentRank = false;
-        selectedNodesPerRank.clear();
-        for (int i = 0; i < rankTables.size(); i++) selectedNodesPerRank.add(null);
-        for (int i = 0; i < rankTables.size(); i++) {
-            Table r = rankTables.get(i);
-            int rankIdx = i;
-            for (Actor child : r.getChildren()) {
-                if (child instanceof Button) {
-                    addLockOnClick((Button) child, rankIdx);
+                break;
+            case REST:
+                triggerRest();
+                break;
+            case MERCHANT:
+                triggerMerchant();
+                break;
+            case SEARCH:
+                triggerRandomSearchOutcome();
+                break;
+            case BATTLE:
+            default:
+                if (currentRankIndex == 0) {
+                    // Show objective dialog for first-column nodes before proceeding to their action
+                    try {
+                        com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
+                        final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
+                        showObjectiveDialogForLevel(savedStage, new Runnable() { public void run() { triggerRandomBattle(); } });
+                    } catch (Exception ignored) { triggerRandomBattle(); }
+                } else {
+                    triggerRandomBattle();
                 }
-            }
+                break;
         }
-        updateRankInteractivity();
     }
+
     private void triggerBossBattle(){
         // Fade out map music, fade in game music
         corebringer.fadeOutMusic(corebringer.corebringermapstartbgm, 1f, () -> {
@@ -254,20 +275,12 @@ public class GameMapScreen implements Screen{
         });
     }
     private void triggerMerchant(){
-        // Always use a fresh MerchantScreen instance
-        try {
-            if (corebringer.merchantScreen != null) corebringer.merchantScreen.dispose();
-        } catch (Exception ignored) {}
-        corebringer.merchantScreen = new MerchantScreen(corebringer);
-        corebringer.setScreen(corebringer.merchantScreen);
+        // Warm MerchantScreen from the screen cache, restocked for this visit
+        corebringer.showMerchant();
     }
     private void triggerRest(){
-        // Always use a fresh RestScreen instance
-        try {
-            if (corebringer.restScreen != null) corebringer.restScreen.dispose();
-        } catch (Exception ignored) {}
-        corebringer.restScreen = new RestScreen(corebringer);
-        corebringer.setScreen(corebringer.restScreen);
+        // Warm RestScreen from the screen cache, reset for this visit
+        corebringer.showRest();
     }
 
     // Helper: show the "story" field from assets/objectives.json for a given stage level.
@@ -319,66 +332,6 @@ public class GameMapScreen implements Screen{
         }
     }
 
-    // Add nodes to a rank table with weighted chances and allow duplicates per column
-    // Weights: random battle = 50%, rest = 15%, merchant = 15%, search = 15% (sum=95%, remaining 5% goes to battle)
-    private void addNodesWithWeights(Table rankTable, int nodesPerColumn) {
-        for (int i = 0; i < nodesPerColumn; i++) {
-            int roll = MathUtils.random(0, 99); // 0..99
-            String type;
-            if (roll < 50) type = "battle";           // 0-49 (50%)
-            else if (roll < 65) type = "rest";        // 50-64 (15%)
-            else if (roll < 80) type = "merchant";    // 65-79 (15%)
-            else if (roll < 95) type = "search";      // 80-94 (15%)
-            else type = "battle";                     // 95-99 (5%) fallback to battle
-
-            ImageButton btn;
-            switch (type) {
-                case "battle":
-                    btn = createAtlasButton("combat_node");
-                    btn.getImage().setScaling(Scaling.stretch);
-                    btn.addListener(new ClickListener() {
-                        @Override
-                        public void clicked(InputEvent event, float x, float y) {
-                            triggerRandomBattle();
-                        }
-                    });
-                    break;
-                case "rest":
-                    btn = createAtlasButton("rest_node");
-                    btn.getImage().setScaling(Scaling.stretch);
-                    btn.addListener(new ClickListener() {
-                        @Override
-                        public void clicked(InputEvent event, float x, float y) {
-                            triggerRest();
-                        }
-                    });
-                    break;
-                case "merchant":
-                    btn = createAtlasButton("shop_node");
-                    btn.getImage().setScaling(Scaling.stretch);
-                    btn.addListener(new ClickListener() {
-                        @Override
-                        public void clicked(InputEvent event, float x, float y) {
-                            triggerMerchant();
-                        }
-                    });
-                    break;
-                case "search":
-                default:
-                    btn = createAtlasButton("search_node");
-                    btn.getImage().setScaling(Scaling.stretch);
-                    btn.addListener(new ClickListener() {
-                        @Override
-                        public void clicked(InputEvent event, float x, float y) {
-                            triggerRandomSearchOutcome();
-                        }
-                    });
-                    break;
-            }
-            rankTable.add(btn).padBottom(20f).row();
-        }
-    }
-
     public GameMapScreen(Main corebringer) {
         ///Here's all the things that will initiate upon Option button being clicked
         this.corebringer = corebringer; /// The Master Key that holds all screens together
@@ -429,199 +382,6 @@ public class GameMapScreen implements Screen{
         ///Code for the initialization of the Game Map Node Table
         gamemapnodetable = new Table();
 
-        ///Code for the Nodes (Rank represents Columns, meaning Rank 1 is First Node Column of 4)
-        ///First row (RANK 1)
-        rank1table = new Table();
-        staticbattlenodeA = createAtlasButton("combat_node");
-        staticbattlenodeB = createAtlasButton("combat_node");
-        staticbattlenodeC = createAtlasButton("combat_node");
-        staticbattlenodeD = createAtlasButton("combat_node");
-        staticbattlenodeA.getImage().setScaling(Scaling.stretch);
-        staticbattlenodeB.getImage().setScaling(Scaling.stretch);
-        staticbattlenodeC.getImage().setScaling(Scaling.stretch);
-        staticbattlenodeD.getImage().setScaling(Scaling.stretch);
-
-        ///Rank 2 to 9 Tables Initialized here
-        rank2table = new Table();
-        rank3table = new Table();
-        rank4table = new Table();
-        rank5table = new Table();
-        rank6table = new Table();
-        rank7table = new Table();
-        rank8table = new Table();
-        rank9table = new Table();
-
-        ///Initialization of the Button List of RANK 2 and RANK 9 to help with Button Presence Validation
-        ArrayList<TextButton> nodesinrank2 = new ArrayList<>();
-
-        ///Initialization of the Random Counter to help with the Random Node Generator
-        counter = new Random();
-
-        ///Initialization of the counter for Total Nodes per column (random 1..5)
-        totalnodescounter = MathUtils.random(1, 5);
-
-        ///Tenth row (RANK 10)
-        rank10table = new Table();
-        bossnodeA = createAtlasButton("boss_node");
-        bossnodeA.getImage().setScaling(Scaling.fit);
-        bossnodeA.addListener(new ClickListener(){
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                try {
-                    // mark node selected so map state advances correctly after returning
-                    try { selectedNodesPerRank.set(9, bossnodeA); } catch (Exception ignored) {}
-                    nodeChosenInCurrentRank = true;
-                    updateRankInteractivity();
-                    com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                    final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                    showBossObjectiveDialogForLevel(savedStage, new Runnable(){ public void run(){ triggerBossBattle(); } });
-                } catch (Exception ignored) { triggerBossBattle(); }
-            }
-        });
-
-        /*bossnodeB = new TextButton("BF", corebringer.testskin);
-        bossnodeC = new TextButton("BF", corebringer.testskin);
-        bossnodeD = new TextButton("BF", corebringer.testskin);*/
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank2table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            // Weighted generation per column with duplicates allowed
-            addNodesWithWeights(rank2table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 2 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank3table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank3table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 3 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank4table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank4table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 4 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank5table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank5table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 5 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank6table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank6table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 6 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank7table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank7table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 7 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank8table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank8table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 8 has nodes already or has problems.");
-        }
-
-        ///This is for the Node Map Generator for Random Nodes at RANK 2 and RANK 9
-        if (rank9table.getChildren().size == 0) {
-            totalnodescounter = MathUtils.random(1, 4);
-            addNodesWithWeights(rank9table, totalnodescounter);
-        } else {
-            LoggingUtils.log("NodeGeneration","Rank 9 has nodes already or has problems.");
-        }
-
-        ///For the functionalities of the Rank 1 Battle Nodes - show objective story first, then proceed
-        staticbattlenodeA.addListener(new ClickListener() {
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                try {
-                    try { selectedNodesPerRank.set(0, staticbattlenodeA); } catch (Exception ignored) {}
-                    nodeChosenInCurrentRank = true;
-                    updateRankInteractivity();
-                    com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                    final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                    showObjectiveDialogForLevel(savedStage, new Runnable() { public void run() { triggerRandomBattle(); } });
-                } catch (Exception ignored) { triggerRandomBattle(); }
-            }
-        });
-
-        staticbattlenodeB.addListener(new ClickListener() {
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                try {
-                    try { selectedNodesPerRank.set(0, staticbattlenodeB); } catch (Exception ignored) {}
-                    nodeChosenInCurrentRank = true;
-                    updateRankInteractivity();
-                    com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                    final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                    showObjectiveDialogForLevel(savedStage, new Runnable() { public void run() { triggerRandomBattle(); } });
-                } catch (Exception ignored) { triggerRandomBattle(); }
-            }
-        });
-
-        staticbattlenodeC.addListener(new ClickListener() {
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                try {
-                    try { selectedNodesPerRank.set(0, staticbattlenodeC); } catch (Exception ignored) {}
-                    nodeChosenInCurrentRank = true;
-                    updateRankInteractivity();
-                    com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                    final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                    showObjectiveDialogForLevel(savedStage, new Runnable() { public void run() { triggerRandomBattle(); } });
-                } catch (Exception ignored) { triggerRandomBattle(); }
-            }
-        });
-
-        staticbattlenodeD.addListener(new ClickListener() {
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                try {
-                    try { selectedNodesPerRank.set(0, staticbattlenodeD); } catch (Exception ignored) {}
-                    nodeChosenInCurrentRank = true;
-                    updateRankInteractivity();
-                    com.altf4studios.corebringer.utils.SaveData stats = SaveManager.loadStats();
-                    final int savedStage = (stats != null && stats.stageLevel > 0) ? stats.stageLevel : 1;
-                    showObjectiveDialogForLevel(savedStage, new Runnable() { public void run() { triggerRandomBattle(); } });
-                } catch (Exception ignored) { triggerRandomBattle(); }
-            }
-        });
-
-        ///This is where the Nodes and their specific ranks is added
-        ///For Rank 1
-        rank1table.add(staticbattlenodeA).padBottom(20f).row();
-        rank1table.add(staticbattlenodeB).padBottom(20f).row();
-        rank1table.add(staticbattlenodeC).padBottom(20f).row();
-        rank1table.add(staticbattlenodeD).padBottom(20f).row();
-
-        ///For Rank 10
-        rank10table.add(bossnodeA).padBottom(20f).row();
-
-
-
-        /*rank10table.add(bossnodeB).padBottom(20f).row();
-        rank10table.add(bossnodeC).padBottom(20f).row();
-        rank10table.add(bossnodeD).padBottom(20f).row();*/
-
-
         ///This is where the messages and tips in the game will go
         gamemapmessagetable = new Table();
 
@@ -641,6 +401,8 @@ public class GameMapScreen implements Screen{
         gamemapmessagesdisplay = new Image(nodesAtlasPreviewTex);
         gamemapmessagesdisplay.setSize(20f, 20f);
         gamemapmessages3 = new Label("Boss, Battle, Search, Rest, Merchant", corebringer.testskin);
+        routeHintLabel = new Label("", corebringer.testskin);
+        gamemapmessagetable.add(routeHintLabel).row();
 
         ///This is where the navigation buttons will go (Going back to title to forfeit the game etc.)
         gamemapbuttonstable = new Table();
@@ -674,51 +436,11 @@ public class GameMapScreen implements Screen{
         ///Placement of the buttons in the Game Map Buttons Table
 //        gamemapbuttonstable.add(returnbutton);
 
-        ///Placement of Ranks to the Game Map Node Table (Not the Core Game Map Table, but the separate one)
-        gamemapnodetable.add(rank1table).padLeft(40f);
-        gamemapnodetable.add(rank2table).padLeft(40f);
-        gamemapnodetable.add(rank3table).padLeft(40f);
-        gamemapnodetable.add(rank4table).padLeft(40f);
-        gamemapnodetable.add(rank5table).padLeft(40f);
-        gamemapnodetable.add(rank6table).padLeft(40f);
-        gamemapnodetable.add(rank7table).padLeft(40f);
-        gamemapnodetable.add(rank8table).padLeft(40f);
-        gamemapnodetable.add(rank9table).padLeft(40f);
-        gamemapnodetable.add(rank10table).padLeft(40f);
-
         ///This is where the Game Map Node Table is then added to the Core Game Map Table
+        ///Rank columns are filled from the MapGraph in show() via flushAndRecreateNodesForStage
         coregamemaptable.add(gamemapmessagetable).padBottom(50f).row();
         coregamemaptable.add(gamemapnodetable).padBottom(50f).row();
         coregamemaptable.add(gamemapbuttonstable).padBottom(50f).row();
-
-        /// Track ranks for connection rendering and interaction gating
-        rankTables.add(rank1table);
-        rankTables.add(rank2table);
-        rankTables.add(rank3table);
-        rankTables.add(rank4table);
-        rankTables.add(rank5table);
-        rankTables.add(rank6table);
-        rankTables.add(rank7table);
-        rankTables.add(rank8table);
-        rankTables.add(rank9table);
-        rankTables.add(rank10table);
-
-        selectedNodesPerRank = new ArrayList<>();
-        for (int i = 0; i < rankTables.size(); i++) selectedNodesPerRank.add(null);
-
-        /// Lock interactivity to the current rank (rank 1 initially)
-        updateRankInteractivity();
-
-        /// Attach lock-on-click to all nodes in all ranks
-        for (int i = 0; i < rankTables.size(); i++) {
-            Table r = rankTables.get(i);
-            int rankIdx = i;
-            for (Actor child : r.getChildren()) {
-                if (child instanceof Button) {
-                    addLockOnClick((Button) child, rankIdx);
-                }
-            }
-        }
     }
 
     private ImageButton createAtlasButton(String regionName) {
@@ -735,6 +457,8 @@ public class GameMapScreen implements Screen{
     public void show() {
         Gdx.input.setInputProcessor(coregamemapstage);
         corebringer.playMusic("map");
+        /// The map only changes on input, so draw it on demand
+        RenderOnDemand.getInstance().enter(this, coregamemapstage);
         // When the map becomes active, check if the saved stage changed (e.g., after boss victory)
         try {
             // Ensure stage is initialized to 1 for new runs
@@ -808,6 +532,7 @@ public class GameMapScreen implements Screen{
 
     }
     @Override public void hide() {
+        RenderOnDemand.getInstance().exit(this);
     }
 
     @Override
@@ -829,41 +554,47 @@ public class GameMapScreen implements Screen{
         }
     }
     private void drawConnectionLines() {
-        if (shapeRenderer == null) return;
+        if (shapeRenderer == null || mapGraph == null || nodeButtons == null) return;
         shapeRenderer.setProjectionMatrix(coregamemapstage.getViewport().getCamera().combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         shapeRenderer.setColor(Color.BLACK);
 
-        Vector2 tmpFrom = new Vector2();
-        Vector2 tmpTo = new Vector2();
-
-        for (int i = 0; i < rankTables.size() - 1; i++) {
-            Table fromRank = rankTables.get(i);
-            Table toRank = rankTables.get(i + 1);
-
-            for (Actor fromChild : fromRank.getChildren()) {
-                if (!(fromChild instanceof Button)) continue;
-                Vector2 fromPos = actorCenterStageCoords(fromChild, tmpFrom);
-                for (Actor toChild : toRank.getChildren()) {
-                    if (!(toChild instanceof Button)) continue;
-                    Vector2 toPos = actorCenterStageCoords(toChild, tmpTo);
-                    shapeRenderer.line(fromPos.x, fromPos.y, toPos.x, toPos.y);
-                }
+        /// Only draw the paths that actually exist in the map graph
+        for (int from = 0; from < mapGraph.getNodeCount(); from++) {
+            Vector2 fromPos = actorCenterStageCoords(nodeButtons[from], tmpFrom);
+            for (int i = 0; i < mapGraph.getSuccessorCount(from); i++) {
+                Vector2 toPos = actorCenterStageCoords(nodeButtons[mapGraph.getSuccessor(from, i)], tmpTo);
+                shapeRenderer.line(fromPos.x, fromPos.y, toPos.x, toPos.y);
             }
         }
 
         /// Overlay traversed path in blue for better contrast
-        Color bluePath = new Color(0.2f, 0.6f, 1f, 1f);
-        shapeRenderer.setColor(bluePath);
-        for (int i = 0; i < selectedNodesPerRank.size() - 1; i++) {
-            Button fromSel = selectedNodesPerRank.get(i);
-            Button toSel = selectedNodesPerRank.get(i + 1);
-            if (fromSel == null || toSel == null) continue;
-            Vector2 fromPos = actorCenterStageCoords(fromSel, tmpFrom);
-            Vector2 toPos = actorCenterStageCoords(toSel, tmpTo);
+        shapeRenderer.setColor(TRAVERSED_PATH_COLOR);
+        for (int r = 0; r < chosenNodePerRank.length - 1; r++) {
+            int fromSel = chosenNodePerRank[r];
+            int toSel = chosenNodePerRank[r + 1];
+            if (fromSel < 0 || toSel < 0) continue;
+            Vector2 fromPos = actorCenterStageCoords(nodeButtons[fromSel], tmpFrom);
+            Vector2 toPos = actorCenterStageCoords(nodeButtons[toSel], tmpTo);
             shapeRenderer.line(fromPos.x, fromPos.y, toPos.x, toPos.y);
         }
 
+        /// Suggested route (best precomputed score) from the current position to the boss in gold
+        int hint = getRouteHintStart();
+        if (hint >= 0) {
+            shapeRenderer.setColor(ROUTE_HINT_COLOR);
+            if (lastChosenNode >= 0 && !nodeChosenInCurrentRank) {
+                Vector2 fromPos = actorCenterStageCoords(nodeButtons[lastChosenNode], tmpFrom);
+                Vector2 toPos = actorCenterStageCoords(nodeButtons[hint], tmpTo);
+                shapeRenderer.line(fromPos.x, fromPos.y, toPos.x, toPos.y);
+            }
+            for (int n = hint; mapAnalysis.getBestNext(n) >= 0; n = mapAnalysis.getBestNext(n)) {
+                Vector2 fromPos = actorCenterStageCoords(nodeButtons[n], tmpFrom);
+                Vector2 toPos = actorCenterStageCoords(nodeButtons[mapAnalysis.getBestNext(n)], tmpTo);
+                shapeRenderer.line(fromPos.x, fromPos.y, toPos.x, toPos.y);
+            }
+        }
+
         shapeRenderer.end();
     }
 
@@ -873,72 +604,59 @@ public class GameMapScreen implements Screen{
         return out.set(out.x + actor.getWidth() * 0.5f, out.y + actor.getHeight() * 0.5f);
     }
 
-    private void updateRankInteractivity() {
-        for (int i = 0; i < rankTables.size(); i++) {
-            Table rank = rankTables.get(i);
-            for (Actor child : rank.getChildren()) {
-                if (!(child instanceof Button)) continue;
-                Button btn = (Button) child;
-
-                boolean isPastRank = i < currentRankIndex;
-                boolean isCurrentRank = i == currentRankIndex;
-                boolean isFutureRank = i > currentRankIndex;
-                boolean isSelectedInThisRank = selectedNodesPerRank != null && i < selectedNodesPerRank.size() && selectedNodesPerRank.get(i) == btn;
+    // First node of the hinted route: the picked node of this rank, else the best selectable one
+    private int getRouteHintStart() {
+        if (mapAnalysis == null) return -1;
+        int chosen = chosenNodePerRank[currentRankIndex];
+        if (chosen >= 0) return chosen;
+        return mapAnalysis.getBestChoice(currentRankIndex, lastChosenNode);
+    }
 
-                if (isPastRank) {
-                    // Past ranks: keep selected node fully visible, others dim. All disabled.
-                    btn.setTouchable(Touchable.disabled);
-                    Color c = btn.getColor();
-                    float targetAlpha = isSelectedInThisRank ? 1f : 0.35f;
-                    btn.setColor(c.r, c.g, c.b, targetAlpha);
-                } else if (isCurrentRank) {
-                    if (nodeChosenInCurrentRank) {
-                        // Current rank after choosing: selected node stays visible but disabled; others dim & disabled
-                        btn.setTouchable(Touchable.disabled);
-                        Color c = btn.getColor();
-                        float targetAlpha = isSelectedInThisRank ? 1f : 0.35f;
-                        btn.setColor(c.r, c.g, c.b, targetAlpha);
-                    } else {
-                        // Current rank before choosing: all enabled and visible
-                        btn.setTouchable(Touchable.enabled);
-                        Color c = btn.getColor();
-                        btn.setColor(c.r, c.g, c.b, 1f);
-                    }
-                } else if (isFutureRank) {
-                    // Future ranks: dim and disabled
-                    btn.setTouchable(Touchable.disabled);
-                    Color c = btn.getColor();
-                    btn.setColor(c.r, c.g, c.b, 0.35f);
-                }
-            }
+    private void updateRouteHintLabel() {
+        if (routeHintLabel == null) return;
+        int hint = getRouteHintStart();
+        if (hint < 0) {
+            routeHintLabel.setText("");
+            return;
         }
+        routeHintLabel.setText("Suggested route: " + mapGraph.getType(hint).name().toLowerCase()
+            + " | risk " + Math.round(mapAnalysis.getRisk(hint) * 100) + "%"
+            + " | expected reward " + String.format("%.1f", mapAnalysis.getExpectedReward(hint)));
     }
 
-    private void addLockOnClick(Button button, int rankIndex) {
-        button.addListener(new ClickListener() {
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                if (rankIndex != currentRankIndex || nodeChosenInCurrentRank) {
-                    event.cancel();
-                    return;
-                }
-                selectedNodesPerRank.set(rankIndex, button);
-                nodeChosenInCurrentRank = true;
-                updateRankInteractivity();
+    private void updateRankInteractivity() {
+        if (mapGraph == null || nodeButtons == null) return;
+        updateRouteHintLabel();
+        for (int n = 0; n < nodeButtons.length; n++) {
+            Button btn = nodeButtons[n];
+            int rank = mapGraph.getRankOf(n);
+            boolean isSelectedInThisRank = chosenNodePerRank[rank] == n;
+            Color c = btn.getColor();
+
+            if (rank == currentRankIndex && isNodeSelectable(n)) {
+                // Current rank before choosing: reachable nodes enabled and visible
+                btn.setTouchable(Touchable.enabled);
+                btn.setColor(c.r, c.g, c.b, 1f);
+            } else {
+                // Past ranks, chosen current rank, unreachable and future nodes: disabled, only the picked node stays bright
+                btn.setTouchable(Touchable.disabled);
+                float targetAlpha = (rank <= currentRankIndex && isSelectedInThisRank) ? 1f : 0.35f;
+                btn.setColor(c.r, c.g, c.b, targetAlpha);
             }
-        });
+        }
     }
 
     /// Call this when returning from a completed node (e.g., after battle Proceed)
     public void advanceToNextRank() {
+        if (mapGraph == null) return;
         // Advance if the current rank was chosen OR we have a saved selected node for this rank.
-        boolean hasSelectedNode = selectedNodesPerRank != null && currentRankIndex < selectedNodesPerRank.size() && selectedNodesPerRank.get(currentRankIndex) != null;
-        if (nodeChosenInCurrentRank || hasSelectedNode) {
-            currentRankIndex = Math.min(currentRankIndex + 1, Math.max(0, rankTables.size() - 1));
+        int chosen = chosenNodePerRank[currentRankIndex];
+        if (nodeChosenInCurrentRank || chosen >= 0) {
+            if (chosen >= 0) lastChosenNode = chosen;
+            currentRankIndex = Math.min(currentRankIndex + 1, mapGraph.getRankCount() - 1);
             // Clear the flag for the next rank
             nodeChosenInCurrentRank = false;
-            // Clear the selected node for the rank we just left to avoid double-advancing
-            try { if (selectedNodesPerRank != null && currentRankIndex - 1 >= 0 && currentRankIndex - 1 < selectedNodesPerRank.size()) selectedNodesPerRank.set(currentRankIndex - 1, null); } catch (Exception ignored) {}
+            saveMapProgress();
         }
         updateRankInteractivity();
     }
@@ -6,10 +6,10 @@ import com.altf4studios.corebringer.metrics.CodingMetricsManager;
 import com.altf4studios.corebringer.utils.CardParser;
 import com.altf4studios.corebringer.turns.TurnManager;
 import com.altf4studios.corebringer.battle.BattleManager;
+import com.altf4studios.corebringer.battle.BattleState;
 import com.altf4studios.corebringer.entities.Player;
 import com.altf4studios.corebringer.entities.Enemy;
 import com.altf4studios.corebringer.screens.gamescreen.*;
-import com.altf4studios.corebringer.metrics.MetricsDisplayWindow;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputProcessor;
@@ -30,6 +30,8 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.altf4studios.corebringer.utils.SimpleSaveManager;
+import com.altf4studios.corebringer.utils.FrameProfiler;
+import com.altf4studios.corebringer.utils.RenderOnDemand;
 import com.altf4studios.corebringer.utils.SaveData;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -62,9 +64,17 @@ public class GameScreen implements Screen{
     // --- UI Components ---
     private BattleStageUI battleStageUI;
     private CardStageUI cardStageUI;
+    private CombatLogUI combatLogUI;
     // Top submenu HP label to sync with character image HP
     private Label topHpNumLabel;
     private Label goldLabel;
+    // Top HP/energy labels subscribe to BattleState so they are only rebuilt when a value changes
+    private final BattleState.Listener hudListener = this::onBattleStateChanged;
+    // Reusable text buffers for labels updated during battle (no per-frame String garbage)
+    private final StringBuilder hpText = new StringBuilder(16);
+    private final StringBuilder energyText = new StringBuilder(8);
+    private final StringBuilder objectiveText = new StringBuilder(96);
+    private final StringBuilder perfText = new StringBuilder(96);
     // --- End UI Components ---
 
     // --- Energy System ---
@@ -75,7 +85,8 @@ public class GameScreen implements Screen{
     private Texture energyBgTexture;
     private Window optionsWindow;
     private Window deckWindow;
-    private MetricsDisplayWindow metricsDisplayWindow;
+    // End-of-run metrics report; drawn on demand while open
+    private Window inlineMetricsWindow;
     // Persisted deck ids for this run
     private String[] savedDeckIds;
     // --- End Energy System ---
@@ -123,6 +134,10 @@ public class GameScreen implements Screen{
     private Label perfLabel;
     private float perfTimer = 0f;
     private boolean perfHudEnabled = false; // off by default; toggle with F3
+    // Frame-time percentiles (toggle with F12 in Main, Shift+F12 exports CSV)
+    private final FrameProfiler frameProfiler = FrameProfiler.getInstance();
+    private Label frameProfilerLabel;
+    private int frameProfilerHudVersion = -1;
 
     // --- Objective HUD ---
     private JsonValue objectiveNode = null;
@@ -130,6 +145,10 @@ public class GameScreen implements Screen{
     private Label objectiveCountLabel = null;
     private Table objectiveTable = null;
     private Container<Table> objectiveContainer = null;
+    // Persisted objective progress is read from the save only when refreshObjectiveHud() is called,
+    // never per frame; render just pushes the label when these change
+    private int objectiveCount = 0;
+    private boolean objectiveDirty = true;
     // --- End Objective HUD ---
 
     // --- Instakill Victory Flow ---
@@ -319,11 +338,22 @@ public class GameScreen implements Screen{
         // Initialize BattleManager now that UI exists and replace turnManager reference for other systems
         battleManager = new BattleManager(player, enemy, battleStageUI);
         turnManager = battleManager.getTurnManager();
+        battleManager.getBattleState().addListener(hudListener);
         // Make saved deck available to card UI
         this.savedDeckIds = cards;
         // Initialize gold from save
         this.gold = goldFromSave;
         cardStageUI = new CardStageUI(cardStage, corebringer.testskin, cardParser, player, enemy, turnManager, this);
+        // Combat log panel (bottom-right); refreshed by the battle state's per-frame LOG batch, toggled with L
+        if (combatLogUI != null) {
+            combatLogUI.detach();
+            combatLogUI.getLogContainer().remove();
+        }
+        combatLogUI = new CombatLogUI(corebringer.testskin);
+        combatLogUI.attach(battleManager.getBattleState());
+        combatLogUI.updateLog();
+        battleStage.addActor(combatLogUI.getLogContainer());
+        positionCombatLog();
         createUI();
 
         // If battleWon == 1, reroll enemy and reset battleWon
@@ -596,7 +626,9 @@ public class GameScreen implements Screen{
 
     @Override
     public void show() {
-        corebringer.playMusic("battle");
+        corebringer.playMusic(bossOnlyBattle ? "boss" : "battle");
+        // Labels may have been touched while hidden; push every HUD value on the next frame
+        if (battleManager != null) battleManager.invalidateUi();
 
         // --- Energy gain from CodeEditorScreen points ---
         if (corebringer.codeEditorScreen != null) {
@@ -627,6 +659,11 @@ public class GameScreen implements Screen{
                     }
                     return true;
                 }
+                if (keycode == Input.Keys.L && combatLogUI != null) {
+                    Table log = combatLogUI.getLogContainer();
+                    log.setVisible(!log.isVisible());
+                    return true;
+                }
                 if (keycode == Input.Keys.F3) {
                     perfHudEnabled = !perfHudEnabled;
                     if (perfLabel != null) perfLabel.setVisible(perfHudEnabled);
@@ -661,6 +698,14 @@ public class GameScreen implements Screen{
                 uiStage.addActor(perfLabel);
                 perfLabel.setVisible(perfHudEnabled);
             }
+            if (frameProfilerLabel == null) {
+                frameProfilerLabel = new Label("", corebringer.testskin);
+                frameProfilerLabel.setColor(Color.LIGHT_GRAY);
+                frameProfilerLabel.setAlignment(Align.topLeft);
+                frameProfilerLabel.setPosition(10, Gdx.graphics.getHeight() - 40);
+                uiStage.addActor(frameProfilerLabel);
+                frameProfilerLabel.setVisible(false);
+            }
         } catch (Exception ignored) {}
 
         // Enable profiler when screen shows
@@ -767,11 +812,13 @@ public class GameScreen implements Screen{
         }
     }
 
-    // Refresh the HUD labels from the loaded JSON node or persisted SaveData objectives
+    // Re-read the objective count from the loaded JSON node or persisted SaveData objectives.
+    // Called on setup and by CodeEditorScreen after it updates the save; the label itself
+    // is refreshed by updateObjectiveHud() on the next frame.
     public void refreshObjectiveHud() {
         try {
             if (objectiveNode == null) {
-                if (objectiveCountLabel != null) objectiveCountLabel.setText("");
+                objectiveDirty = true;
                 return;
             }
             // Prefer persisted objective count stored in SaveData (updated by CodeEditorScreen)
@@ -785,30 +832,64 @@ public class GameScreen implements Screen{
                     if (persisted != null) count = persisted;
                 }
             } catch (Exception ignored) {}
-
-            int target = objectiveNode.getInt("target", 0);
-            String objectiveShort = objectiveNode.getString("objective", "");
-            if (objectiveCountLabel != null) objectiveCountLabel.setText("Objective: " + objectiveShort + "  (" + count + " / " + target + ")");
+            objectiveCount = count;
+            objectiveDirty = true;
         } catch (Exception ignored) {}
     }
 
+    // Push the objective line to its label, only when refreshObjectiveHud() changed something
+    private void updateObjectiveHud() {
+        if (!objectiveDirty || objectiveCountLabel == null) return;
+        objectiveDirty = false;
+        objectiveText.setLength(0);
+        if (objectiveNode != null) {
+            objectiveText.append("Objective: ").append(objectiveNode.getString("objective", ""))
+                .append("  (").append(objectiveCount).append(" / ").append(objectiveNode.getInt("target", 0)).append(')');
+        }
+        objectiveCountLabel.setText(objectiveText);
+    }
+
+    // Top HP/energy labels; the battle stage widgets are refreshed by BattleStageUI itself
+    private void onBattleStateChanged(BattleState state, int changes) {
+        if ((changes & BattleState.PLAYER_HP) != 0 && topHpNumLabel != null && player != null) {
+            hpText.setLength(0);
+            hpText.append("HP: ").append(player.getHp()).append('/').append(player.getMaxHealth());
+            topHpNumLabel.setText(hpText);
+        }
+        if ((changes & BattleState.ENERGY) != 0) {
+            updateEnergyLabel();
+        }
+    }
+
     @Override
     public void render(float delta) {
         if (isDisposed || transitioning) return; // Prevent rendering during transition or after dispose
+        frameProfiler.beginFrame();
         ScreenUtils.clear(0.15f, 0.15f, 0.2f, 1f);
         // Act only when game is running; always draw so UI remains visible
-        if (gameState == GameState.RUNNING) {
-            battleStage.act(delta);
-            cardStage.act(delta);
-        }
+        // Each section is timed by the frame profiler (no-op unless enabled with F12)
+        boolean running = gameState == GameState.RUNNING;
+        frameProfiler.begin(FrameProfiler.Section.BATTLE_ACT);
+        if (running) battleStage.act(delta);
+        frameProfiler.end(FrameProfiler.Section.BATTLE_ACT);
+        frameProfiler.begin(FrameProfiler.Section.BATTLE_DRAW);
         battleStage.draw();
+        frameProfiler.end(FrameProfiler.Section.BATTLE_DRAW);
+        frameProfiler.begin(FrameProfiler.Section.CARD_STAGE);
+        if (running) cardStage.act(delta);
         cardStage.draw();
+        frameProfiler.end(FrameProfiler.Section.CARD_STAGE);
+        updateFrameProfilerHud();
+        frameProfiler.begin(FrameProfiler.Section.UI_STAGE);
         uiStage.act(delta);
         uiStage.draw();
-        // Refresh objective HUD each frame so it reflects JSON changes (count/target)
-        try { refreshObjectiveHud(); } catch (Exception ignored) {}
+        frameProfiler.end(FrameProfiler.Section.UI_STAGE);
+        // Objective HUD only changes when refreshObjectiveHud() was called
+        updateObjectiveHud();
+        frameProfiler.begin(FrameProfiler.Section.OVERLAY_STAGE);
         overlayStage.act(delta);
         overlayStage.draw();
+        frameProfiler.end(FrameProfiler.Section.OVERLAY_STAGE);
         // Removed: editorStage.act(delta); editorStage.draw();
 
         // Perf HUD update (once per second)
@@ -820,19 +901,29 @@ public class GameScreen implements Screen{
             int draws = glProfiler.getDrawCalls();
             int texBinds = glProfiler.getTextureBindings();
             int shaders = glProfiler.getShaderSwitches();
-            perfLabel.setText("FPS:" + fps +
-                    "  Heap(M):" + javaHeap + "/" + nativeHeap +
-                    "  Draws:" + draws +
-                    "  Tex:" + texBinds +
-                    "  Shaders:" + shaders);
+            perfText.setLength(0);
+            perfText.append("FPS:").append(fps)
+                .append("  Heap(M):").append(javaHeap).append('/').append(nativeHeap)
+                .append("  Draws:").append(draws)
+                .append("  Tex:").append(texBinds)
+                .append("  Shaders:").append(shaders);
+            perfLabel.setText(perfText);
             // Reset counters for next second
             glProfiler.reset();
             perfTimer = 0f;
         }
 
         // --- BattleManager: process turn phases, enemy AI, and UI indicator ---
+        /// Logic advances in fixed ticks; logicDelta is the battle time simulated this frame
+        float logicDelta = 0f;
         if (gameState == GameState.RUNNING) {
-            battleManager.update(delta);
+            frameProfiler.begin(FrameProfiler.Section.BATTLE_MANAGER);
+            logicDelta = battleManager.update(delta);
+            frameProfiler.end(FrameProfiler.Section.BATTLE_MANAGER);
+        }
+        /// HP readout rolls toward the real value, interpolated between logic ticks
+        if (battleManager != null && battleStageUI != null) {
+            battleStageUI.setDisplayedHp(battleManager.getDisplayedPlayerHp(), battleManager.getDisplayedEnemyHp());
         }
         // --- End BattleManager ---
 
@@ -850,19 +941,14 @@ public class GameScreen implements Screen{
 //            }
 //        }
 
-        /// For wiring the HP/Shield values properly
-        battleStageUI.updateHpBars(player.getHp(), enemy.getHp());
-        battleStageUI.updateShieldBars(player.getBlock(), enemy.getBlock());
+        /// Deliver this frame's HP/shield/status/energy/phase changes to the subscribed labels in one batch
+        if (battleManager != null) battleManager.getBattleState().flush();
 //        battleStageUI.updateHpColors(player.hasPoison(), enemy.hasPoison());
 //        battleStageUI.updateShieldColors(player.getBlock() > 0, enemy.getBlock() > 0);
 //        // New: enemy HP color for bleed/stun (priority handled in UI)
 //        battleStageUI.updateEnemyHpStatusColor(enemy.hasPoison(), enemy.hasStatus("Bleed"), enemy.hasStatus("Stun"));
 
         // Turn indicator is updated by BattleManager
-        // Sync top submenu HP label with current player HP each frame
-        if (topHpNumLabel != null) {
-            topHpNumLabel.setText("HP: " + player.getHp() + "/" + player.getMaxHealth());
-        }
 
         // --- Death Screen Trigger ---
         if (!deathScreenShown && player.getHp() <= 0) {
@@ -874,7 +960,7 @@ public class GameScreen implements Screen{
         if (!victoryScreenShown && !deathScreenShown && enemy.getHp() <= 0) {
             if (instakillFlowActive) {
                 // Defer showing victory until delay elapses
-                instakillDelay -= delta;
+                instakillDelay -= running ? logicDelta : delta;
                 if (instakillDelay <= 0f) {
                     showVictoryScreen();
                     // Reset instakill flow
@@ -886,6 +972,20 @@ public class GameScreen implements Screen{
             }
         }
         // --- End Victory Screen Trigger ---
+        frameProfiler.endFrame(delta);
+    }
+
+    // Show the frame profiler's last window; the label is only touched when the text changed
+    private void updateFrameProfilerHud() {
+        if (frameProfilerLabel == null) return;
+        boolean visible = frameProfiler.isEnabled();
+        if (frameProfilerLabel.isVisible() != visible) frameProfilerLabel.setVisible(visible);
+        if (visible && frameProfilerHudVersion != frameProfiler.getHudVersion()) {
+            frameProfilerHudVersion = frameProfiler.getHudVersion();
+            frameProfilerLabel.setText(frameProfiler.getHudText());
+            frameProfilerLabel.pack();
+            frameProfilerLabel.setPosition(10, Gdx.graphics.getHeight() - 40 - frameProfilerLabel.getHeight());
+        }
     }
 
 
@@ -990,6 +1090,10 @@ public class GameScreen implements Screen{
     // --- End test methods ---
 
     @Override public void hide() {
+        if (inlineMetricsWindow != null) {
+            RenderOnDemand.getInstance().exit(inlineMetricsWindow);
+            inlineMetricsWindow = null;
+        }
         // OPTIMIZATION: Clear stages and cancel actions when screen is hidden
         try {
             if (battleStage != null) {
@@ -1021,6 +1125,15 @@ public class GameScreen implements Screen{
         battleStage.getViewport().update(width, height, true);
         cardStage.getViewport().update(width, height, true);
         overlayStage.getViewport().update(width, height, true);
+        // Reloads the background atlas only when the window crossed into another resolution tier
+        if (battleStageUI != null) battleStageUI.updateArtTier(Gdx.graphics.getBackBufferHeight());
+        positionCombatLog();
+    }
+
+    private void positionCombatLog() {
+        if (combatLogUI == null) return;
+        Table log = combatLogUI.getLogContainer();
+        log.setPosition(Gdx.graphics.getWidth() - log.getWidth() - 10f, 10f);
     }
     @Override public void pause() {
 
@@ -1034,6 +1147,11 @@ public class GameScreen implements Screen{
         if (isDisposed) return;
         isDisposed = true;
 
+        try { if (inlineMetricsWindow != null) RenderOnDemand.getInstance().exit(inlineMetricsWindow); } catch (Exception ignored) {}
+        // Detach battle state observers from the entities and combat log
+        try { if (combatLogUI != null) combatLogUI.detach(); } catch (Exception ignored) {}
+        try { if (battleManager != null) battleManager.dispose(); } catch (Exception ignored) {}
+
         // Disable profiler
         try { if (glProfiler != null) glProfiler.disable(); } catch (Exception ignored) {}
 
@@ -1061,7 +1179,9 @@ public class GameScreen implements Screen{
             if (assets != null) {
                 String energyPath = "assets/icons/energy_icon.png";
                 String cardsAtlasPath = "assets/cards/cards_atlas.atlas";
-                String battleBgAtlas = "assets/backgrounds/backgrounds_atlas.atlas";
+                // The resolution variant the battle UI actually loaded
+                String battleBgAtlas = battleStageUI != null && battleStageUI.getBackgroundAtlasPath() != null
+                    ? battleStageUI.getBackgroundAtlasPath() : "assets/backgrounds/backgrounds_atlas.atlas";
                 String enemyAtlasPath = "basic-characters/normal_mob/normal_mobs.atlas";
                 if (assets.isLoaded(energyPath)) assets.unload(energyPath);
                 if (assets.isLoaded(cardsAtlasPath)) assets.unload(cardsAtlasPath);
@@ -1137,10 +1257,7 @@ public class GameScreen implements Screen{
                 SimpleSaveManager.deleteSave();
                 // Dispose and clear the existing GameMapScreen so a new run starts fresh
                 try {
-                    if (corebringer.gameMapScreen != null) {
-                        corebringer.gameMapScreen.dispose();
-                        corebringer.gameMapScreen = null;
-                    }
+                    corebringer.discardScreen(corebringer.gameMapScreen);
                     Gdx.app.postRunnable(GameScreen.this::dispose);
                 } catch (Exception ignored) {}
                 corebringer.showMainMenu();
@@ -1169,7 +1286,11 @@ public class GameScreen implements Screen{
     }
     public void setEnergy(int value) {
         this.energy = Math.min(value, MAX_ENERGY);
-        updateEnergyLabel();
+        if (battleManager != null) {
+            battleManager.getBattleState().setEnergy(energy, MAX_ENERGY);
+        } else {
+            updateEnergyLabel();
+        }
     }
     public int getEnergy() {
         return energy;
@@ -1182,7 +1303,9 @@ public class GameScreen implements Screen{
     }
     private void updateEnergyLabel() {
         if (energyLabel != null) {
-            energyLabel.setText(energy + "/" + MAX_ENERGY);
+            energyText.setLength(0);
+            energyText.append(energy).append('/').append(MAX_ENERGY);
+            energyLabel.setText(energyText);
         }
     }
 
@@ -1354,26 +1477,22 @@ public class GameScreen implements Screen{
                     int nextStage = Math.max(1, Math.min(5, currentStage + 1));
                     // Disable profiler before transition
                     try { if (glProfiler != null) glProfiler.disable(); } catch (Exception ignored) {}
-                    // Dispose existing map (if any)
-                    try { if (corebringer.gameMapScreen != null) corebringer.gameMapScreen.dispose(); } catch (Exception ignored) {}
                     // Persist the new stage level along with current stats
                     try {
                         String[] deck = savedDeckIds != null ? savedDeckIds : new String[]{};
                         SimpleSaveManager.saveStats(player.getHp(), player.getMaxHealth(), energy, getMaxEnergy(), deck, 0, gold, nextStage);
                     } catch (Exception ignored) {}
-                    // Ensure a fresh map screen exists and switch to it
-                    corebringer.gameMapScreen = new GameMapScreen(corebringer);
-                    corebringer.setScreen(corebringer.gameMapScreen);
+                    // Replace the old stage's map (disposed by the screen cache) with a fresh one
+                    corebringer.showFreshGameMap();
                 } else {
                     // Non-boss: maintain current map and advance rank
                     if (corebringer.gameMapScreen != null) {
                         try { corebringer.gameMapScreen.advanceToNextRank(); } catch (Exception ignored) {}
-                    } else {
-                        corebringer.gameMapScreen = new GameMapScreen(corebringer);
                     }
                     // Disable profiler before transition
                     try { if (glProfiler != null) glProfiler.disable(); } catch (Exception ignored) {}
-                    corebringer.setScreen(corebringer.gameMapScreen);
+                    // Warm map from the screen cache (rebuilt if it was evicted)
+                    corebringer.showGameMap();
                 }
                 // Clear stages to cancel actions and detach actors before disposing
                 try { if (battleStage != null) { battleStage.clear(); } } catch (Exception ignored) {}
@@ -1566,6 +1685,7 @@ public class GameScreen implements Screen{
         TextButton btnReturn = new TextButton("Return to Main Menu", corebringer.testskin);
         btnReturn.addListener(new ClickListener(){
             @Override public void clicked(InputEvent event, float x, float y){
+                RenderOnDemand.getInstance().exit(metricsWin);
                 if (onReturn != null) onReturn.run();
             }
         });
@@ -1576,6 +1696,10 @@ public class GameScreen implements Screen{
         metricsWin.add(root).expand().fill();
         uiStage.addActor(metricsWin);
         metricsWin.toFront();
+        // Static report: draw on demand while it is open (actions still running on the stages keep frames coming)
+        if (inlineMetricsWindow != null) RenderOnDemand.getInstance().exit(inlineMetricsWindow);
+        inlineMetricsWindow = metricsWin;
+        RenderOnDemand.getInstance().enter(metricsWin, uiStage, battleStage);
 
         // Ensure uiStage focuses the metrics window and its scrollable content
         try {
@@ -1625,6 +1749,7 @@ public class GameScreen implements Screen{
                         // Update UI HP bars using current player/enemy values
                         battleStageUI.updateHpBars(player.getHp(), enemy.getHp());
                     }
+                    if (battleManager != null) battleManager.snapHpReadout();
                 }
             }
         } catch (Exception e) {
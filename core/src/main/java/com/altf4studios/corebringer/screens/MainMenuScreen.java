@@ -2,7 +2,9 @@ package com.altf4studios.corebringer.screens;
 
 import com.altf4studios.corebringer.Main;
 import com.altf4studios.corebringer.Utils;
+import com.altf4studios.corebringer.metrics.CodingMetricsManager;
 import com.altf4studios.corebringer.utils.SimpleSaveManager;
+import com.altf4studios.corebringer.utils.RenderOnDemand;
 import com.altf4studios.corebringer.utils.SaveData;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
@@ -153,6 +155,8 @@ public class MainMenuScreen implements Screen {
                         data.objectives.put("level3", 0);
                         data.objectives.put("level4", 0);
                         data.objectives.put("level5", 0);
+                        // Drop any map left over from a previous run so stage 1 is generated fresh
+                        data.map = null;
                     });
 
                     // Initialize question data structure
@@ -169,6 +173,7 @@ public class MainMenuScreen implements Screen {
 
                         Gdx.app.log("MainMenuScreen", "Question data structure initialized");
                     });
+                    CodingMetricsManager.getInstance().rebuildFromSave();
 //                    // Always use a fresh MerchantScreen instance
 //                    try {
 //                        if (corebringer.merchantScreen != null) corebringer.merchantScreen.dispose();
@@ -250,6 +255,8 @@ public class MainMenuScreen implements Screen {
     public void show() {
         Gdx.input.setInputProcessor(mainmenustage);
         corebringer.playMusic("menu");
+        /// The menu only changes on input, so draw it on demand
+        RenderOnDemand.getInstance().enter(this, mainmenustage);
     }
 
     @Override
@@ -270,6 +277,7 @@ public class MainMenuScreen implements Screen {
 
     }
     @Override public void hide() {
+        RenderOnDemand.getInstance().exit(this);
     }
 
     @Override
@@ -32,7 +32,7 @@ import com.altf4studios.corebringer.utils.SaveData;
 import com.badlogic.gdx.utils.ObjectMap;
 
 
-public class MerchantScreen implements Screen{
+public class MerchantScreen implements Screen, ScreenManager.Reusable {
     private Main corebringer;
     private Stage coremerchantscreenstage;
     private Table coremerchantscreentable;
@@ -113,6 +113,19 @@ public class MerchantScreen implements Screen{
         dlg.show(coremerchantscreenstage);
     }
 
+    /// Called by the screen cache before a warm MerchantScreen is shown again:
+    /// the stage and card atlas are kept, the HUD and a freshly stocked shop are rebuilt
+    @Override
+    public void resetForReuse() {
+        coremerchantscreenstage.clear();
+        coremerchantscreentable = new Table();
+        coremerchantscreentable.setFillParent(true);
+        coremerchantscreenstage.addActor(coremerchantscreentable);
+        removeWindow = null;
+        buildTopUI();
+        createShopWindow();
+    }
+
     @Override
     public void show() {
         Gdx.input.setInputProcessor(coremerchantscreenstage);
@@ -275,8 +288,8 @@ public class MerchantScreen implements Screen{
                         corebringer.gameMapScreen.advanceToNextRank();
                     } catch (Exception ignored) {}
                 }
+                // Stays warm in Main's screen cache; it is restocked on the next visit
                 corebringer.setScreen(corebringer.gameMapScreen);
-                Gdx.app.postRunnable(MerchantScreen.this::dispose);
             }
         });
     }
@@ -1,17 +1,15 @@
 package com.altf4studios.corebringer.screens;
 
 import com.altf4studios.corebringer.Main;
-import com.altf4studios.corebringer.Utils;
+import com.altf4studios.corebringer.utils.PuzzleArt;
 import com.altf4studios.corebringer.utils.SaveData;
 import com.altf4studios.corebringer.utils.SaveManager;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
@@ -28,6 +26,7 @@ public class PhoenixEventScreen implements Screen {
     private final Stage stage;
     private final Table root;
     private final Image bgImage;
+    private final PuzzleArt art;
     private final Label descriptionLabel;
     private final TextButton btnHeal;
     private final TextButton btnPurify;
@@ -40,8 +39,8 @@ public class PhoenixEventScreen implements Screen {
         root.setFillParent(true);
         stage.addActor(root);
 
-        Texture bgTex = new Texture(Utils.getInternalPath("assets/Puzzle/phoenix.png"));
-        bgImage = new Image(bgTex);
+        art = PuzzleArt.open();
+        bgImage = new Image(art.background("phoenix"));
         bgImage.setScaling(com.badlogic.gdx.utils.Scaling.fit);
 
         Label title = new Label("Phoenix", corebringer.testskin);
@@ -216,12 +215,6 @@ public class PhoenixEventScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        // The background texture is owned by bgImage's drawable; dispose explicitly
-        try {
-            TextureRegionDrawable d = (TextureRegionDrawable) bgImage.getDrawable();
-            if (d != null && d.getRegion() != null && d.getRegion().getTexture() != null) {
-                d.getRegion().getTexture().dispose();
-            }
-        } catch (Exception ignored) {}
+        art.dispose();
     }
 }
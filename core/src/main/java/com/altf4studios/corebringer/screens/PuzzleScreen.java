@@ -1,12 +1,13 @@
 package com.altf4studios.corebringer.screens;
 
 import com.altf4studios.corebringer.Main;
-import com.altf4studios.corebringer.Utils;
+import com.altf4studios.corebringer.utils.GameScheduler;
+import com.altf4studios.corebringer.utils.PuzzleArt;
 import com.altf4studios.corebringer.utils.SaveData;
 import com.altf4studios.corebringer.utils.SaveManager;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -45,18 +46,19 @@ public class PuzzleScreen implements Screen {
     private boolean puzzleSolved = false;
 
     // Textures
-    private Texture input1Texture;
-    private Texture input0Texture;
-    private Texture questionMarkTexture;
-    private Texture andTexture;
-    private Texture orTexture;
-    private Texture xorTexture;
-    private Texture notTexture;
-    private Texture cubePlainTexture;
-    private Texture cubeGreenTexture;
-    private Texture cubeRedTexture;
-    private Texture backgroundTexture;
-    private Texture congratulationsTexture;
+    // Glyphs come from the logic-gate glyph atlas when it was built (see PuzzleArt)
+    private PuzzleArt art;
+    private TextureRegion input1Texture;
+    private TextureRegion input0Texture;
+    private TextureRegion questionMarkTexture;
+    private TextureRegion andTexture;
+    private TextureRegion orTexture;
+    private TextureRegion xorTexture;
+    private TextureRegion cubePlainTexture;
+    private TextureRegion cubeGreenTexture;
+    private TextureRegion cubeRedTexture;
+    private TextureRegion backgroundTexture;
+    private TextureRegion congratulationsTexture;
 
     public PuzzleScreen(Main corebringer) {
         this.corebringer = corebringer;
@@ -75,7 +77,7 @@ public class PuzzleScreen implements Screen {
         setupLayout();
     }
 
-    private Texture getOperatorTextureForIndex(int idx) {
+    private TextureRegion getOperatorTextureForIndex(int idx) {
         switch (idx) {
             case 0: return andTexture;
             case 1: return orTexture;
@@ -85,18 +87,19 @@ public class PuzzleScreen implements Screen {
     }
 
     private void loadTextures() {
-        input1Texture = new Texture(Utils.getInternalPath("assets/Puzzle/1.png"));
-        input0Texture = new Texture(Utils.getInternalPath("assets/Puzzle/0.png"));
-        questionMarkTexture = new Texture(Utils.getInternalPath("assets/Puzzle/QuestionMark.png"));
-        andTexture = new Texture(Utils.getInternalPath("assets/Puzzle/&&.png"));
-        orTexture = new Texture(Utils.getInternalPath("assets/Puzzle/OR.png"));
-        xorTexture = new Texture(Utils.getInternalPath("assets/Puzzle/^.png"));
-        notTexture = new Texture(Utils.getInternalPath("assets/Puzzle/!.png"));
-        cubePlainTexture = new Texture(Utils.getInternalPath("assets/Puzzle/cubePlain.png"));
-        cubeGreenTexture = new Texture(Utils.getInternalPath("assets/Puzzle/cubeGreen.png"));
-        cubeRedTexture = new Texture(Utils.getInternalPath("assets/Puzzle/cubeRed.png"));
-        backgroundTexture = new Texture(Utils.getInternalPath("assets/Puzzle/stonePuzzleBG.png"));
-        congratulationsTexture = new Texture(Utils.getInternalPath("assets/Puzzle/Congratulations.png"));
+        art = PuzzleArt.open(PuzzleArt.LOGIC);
+        input1Texture = art.region("1");
+        input0Texture = art.region("0");
+        questionMarkTexture = art.region("QuestionMark");
+        andTexture = art.region("&&");
+        orTexture = art.region("OR");
+        xorTexture = art.region("^");
+        cubePlainTexture = art.region("cubePlain");
+        cubeGreenTexture = art.region("cubeGreen");
+        cubeRedTexture = art.region("cubeRed");
+        backgroundTexture = art.background("stonePuzzleBG");
+        congratulationsTexture = art.background("Congratulations");
+        Gdx.app.log("PuzzleScreen", "Art " + art.getStats());
     }
 
     private void initializeUI() {
@@ -309,33 +312,20 @@ public class PuzzleScreen implements Screen {
             // Give rewards immediately
             giveRewards();
             
-            // Show reward after 2 seconds delay
-            new Thread(() -> {
-                try {
-                    Thread.sleep(2000);
-                    Gdx.app.postRunnable(() -> {
-                        congratulationsImage.setVisible(false); // Hide congratulations
-                        rewardLabel.setVisible(true); // Show reward instead
-                        // Auto-return to map after another 3 seconds
-                        new Thread(() -> {
-                            try {
-                                Thread.sleep(3000);
-                                Gdx.app.postRunnable(() -> {
-                                    if (corebringer.gameMapScreen != null) {
-                                        try { corebringer.gameMapScreen.advanceToNextRank(); } catch (Exception ignored) {}
-                                    }
-                                    corebringer.setScreen(corebringer.gameMapScreen);
-                                    Gdx.app.postRunnable(PuzzleScreen.this::dispose);
-                                });
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }).start();
-                    });
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }).start();
+            // Show reward after 2 seconds delay (frame timers, cancelled in hide() if the player leaves first)
+            GameScheduler scheduler = GameScheduler.getInstance();
+            scheduler.schedule(this, 2f, () -> {
+                congratulationsImage.setVisible(false); // Hide congratulations
+                rewardLabel.setVisible(true); // Show reward instead
+                // Auto-return to map after another 3 seconds
+                scheduler.schedule(this, 3f, () -> {
+                    if (corebringer.gameMapScreen != null) {
+                        try { corebringer.gameMapScreen.advanceToNextRank(); } catch (Exception ignored) {}
+                    }
+                    corebringer.setScreen(corebringer.gameMapScreen);
+                    corebringer.discardScreen(PuzzleScreen.this);
+                });
+            });
         }
     }
 
@@ -482,21 +472,11 @@ public class PuzzleScreen implements Screen {
 
     @Override
     public void hide() {
+        GameScheduler.getInstance().cancelAll(this);
     }
 
     @Override
     public void dispose() {
-        input1Texture.dispose();
-        input0Texture.dispose();
-        questionMarkTexture.dispose();
-        andTexture.dispose();
-        orTexture.dispose();
-        xorTexture.dispose();
-        notTexture.dispose(); // Still dispose it even though we don't use it
-        cubePlainTexture.dispose();
-        cubeGreenTexture.dispose();
-        cubeRedTexture.dispose();
-        backgroundTexture.dispose();
-        congratulationsTexture.dispose();
+        if (art != null) art.dispose();
     }
 }
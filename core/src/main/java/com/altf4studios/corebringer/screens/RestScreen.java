@@ -35,7 +35,7 @@ import com.badlogic.gdx.utils.Array;
 import java.util.ArrayList;
 import java.util.Random;
 
-public class RestScreen implements Screen{
+public class RestScreen implements Screen, ScreenManager.Reusable {
     private Main corebringer;
     private Stage corerestscreenstage;
     private Table corerestscreentable;
@@ -66,15 +66,27 @@ public class RestScreen implements Screen{
 
         // Initialize card data manager
         cardDataManager = CardDataManager.getInstance();
-        
-        // Get player from GameScreen if available
-        if (corebringer.gameScreen != null) {
-            player = corebringer.gameScreen.getPlayer();
-        }
 
         // Load card atlas and mapping
         loadCardResources();
 
+        buildRestUI();
+    }
+
+    /// Called by the screen cache before a warm RestScreen is shown again:
+    /// the stage and card atlas are kept, the heal and upgrade choices are redone for this visit
+    @Override
+    public void resetForReuse() {
+        corerestscreentable.clearChildren();
+        cardsSelected = 0;
+        selectedCardDeckIndex = -1;
+        buildRestUI();
+    }
+
+    private void buildRestUI() {
+        // Get player from GameScreen if available
+        player = corebringer.gameScreen != null ? corebringer.gameScreen.getPlayer() : null;
+
         ///This is where items in the table are declared and initialized
         resttable = new Table();
         restlabel = new Label("Rest Area - Heal and Upgrade Cards", corebringer.testskin);
@@ -0,0 +1,242 @@
+package com.altf4studios.corebringer.screens;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of warm screens, one instance per screen class.
+ * - obtain() returns the cached instance when there is one (calling {@link Reusable#resetForReuse()}
+ *   first if the screen supports it), so revisiting e.g. the merchant or rest screen skips
+ *   rebuilding its stage and reloading its textures
+ * - create() always builds a fresh instance and disposes the previous one of that class
+ * - When more than the capacity is cached, the least recently used screen is disposed
+ * - update() watches heap usage and evicts idle screens (oldest first) while memory is tight
+ * The current screen and pinned classes are never evicted. Everything runs on the render thread.
+ */
+public class ScreenManager {
+    private static final String TAG = "ScreenManager";
+    // Heap usage (used / max) above which idle screens are evicted
+    public static final float MEMORY_PRESSURE_RATIO = 0.75f;
+    private static final float MEMORY_CHECK_INTERVAL = 2f;
+
+    /**
+     * Implemented by screens that can be shown again after resetting their per-visit state,
+     * instead of being rebuilt from scratch.
+     */
+    public interface Reusable {
+        void resetForReuse();
+    }
+
+    /**
+     * Notified after a screen was dropped from the cache, so owners can clear their references.
+     */
+    public interface EvictionListener {
+        void onScreenEvicted(Screen screen);
+    }
+
+    private final Game game;
+    private final int capacity;
+    // Access-ordered: iteration starts at the least recently used screen
+    private final LinkedHashMap<Class<? extends Screen>, Screen> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Class<? extends Screen>, Boolean> pinned = new LinkedHashMap<>();
+    private EvictionListener evictionListener;
+    private float memoryCheckTimer = 0f;
+    private int hits = 0;
+    private int misses = 0;
+    private int evictions = 0;
+
+    public ScreenManager(Game game, int capacity) {
+        this.game = game;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public void setEvictionListener(EvictionListener listener) {
+        this.evictionListener = listener;
+    }
+
+    // Pinned screens (e.g. the main menu) stay cached regardless of LRU order or memory pressure
+    public void pin(Class<? extends Screen> type) {
+        pinned.put(type, Boolean.TRUE);
+    }
+
+    /**
+     * Return the warm instance of the given class, or build one with the factory and cache it.
+     */
+    public <T extends Screen> T obtain(Class<T> type, Supplier<T> factory) {
+        Screen cached = cache.get(type);
+        if (cached != null) {
+            hits++;
+            if (cached instanceof Reusable) {
+                try {
+                    ((Reusable) cached).resetForReuse();
+                } catch (Exception e) {
+                    // A screen that can't be reset is rebuilt instead of being shown half-reset
+                    Gdx.app.error(TAG, "Reset failed for " + type.getSimpleName() + ", rebuilding: " + e.getMessage());
+                    return create(type, factory);
+                }
+            }
+            return type.cast(cached);
+        }
+        misses++;
+        return put(type, factory.get());
+    }
+
+    /**
+     * Build a fresh instance, disposing any cached instance of the same class.
+     */
+    public <T extends Screen> T create(Class<T> type, Supplier<T> factory) {
+        Screen old = cache.remove(type);
+        if (old != null) disposeScreen(old);
+        misses++;
+        return put(type, factory.get());
+    }
+
+    // Cached instance of the class, or null. Unlike get() on the access-ordered map this doesn't count as a use
+    public <T extends Screen> T peek(Class<T> type) {
+        for (Map.Entry<Class<? extends Screen>, Screen> entry : cache.entrySet()) {
+            if (entry.getKey() == type) return type.cast(entry.getValue());
+        }
+        return null;
+    }
+
+    /**
+     * Register an instance created elsewhere (e.g. by a screen that needs constructor arguments).
+     */
+    public <T extends Screen> T put(Class<T> type, T screen) {
+        Screen old = cache.put(type, screen);
+        if (old != null && old != screen) disposeScreen(old);
+        trimToCapacity();
+        return screen;
+    }
+
+    /**
+     * Drop the screen from the cache and dispose it. When it is still the current screen,
+     * disposal waits for the next frame so it never happens mid-render.
+     */
+    public void discard(Screen screen) {
+        if (screen == null) return;
+        Iterator<Map.Entry<Class<? extends Screen>, Screen>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue() == screen) {
+                it.remove();
+                break;
+            }
+        }
+        disposeScreen(screen);
+    }
+
+    /**
+     * Dispose every cached screen except the current one and the ones given.
+     */
+    public void evictAllExcept(Screen... keep) {
+        Iterator<Map.Entry<Class<? extends Screen>, Screen>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Screen screen = it.next().getValue();
+            if (screen == game.getScreen() || contains(keep, screen)) continue;
+            it.remove();
+            disposeScreen(screen);
+        }
+    }
+
+    /**
+     * Periodic heap check; call once per frame.
+     */
+    public void update(float delta) {
+        memoryCheckTimer += delta;
+        if (memoryCheckTimer < MEMORY_CHECK_INTERVAL) return;
+        memoryCheckTimer = 0f;
+        if (getHeapUsageRatio() > MEMORY_PRESSURE_RATIO) {
+            // One screen per check: its textures/stages are freed right away, the heap follows after GC
+            if (evictOldestIdle("memory")) {
+                Gdx.app.log(TAG, "Memory pressure (" + (int) (getHeapUsageRatio() * 100) + "% heap), evicted an idle screen");
+            }
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public String getStats() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("warm ").append(cache.size()).append('/').append(capacity)
+            .append(", hits ").append(hits).append(", misses ").append(misses)
+            .append(", evictions ").append(evictions).append(" [");
+        boolean first = true;
+        for (Class<? extends Screen> type : cache.keySet()) {
+            if (!first) sb.append(", ");
+            sb.append(type.getSimpleName());
+            first = false;
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Dispose every cached screen (on application exit).
+     */
+    public void disposeAll() {
+        for (Screen screen : cache.values()) {
+            try { screen.dispose(); } catch (Exception ignored) {}
+        }
+        cache.clear();
+    }
+
+    private void trimToCapacity() {
+        while (cache.size() > capacity) {
+            if (!evictOldestIdle("LRU")) break;
+        }
+    }
+
+    // Evict the least recently used screen that is not current (nor pinned); false if none qualifies
+    private boolean evictOldestIdle(String reason) {
+        Iterator<Map.Entry<Class<? extends Screen>, Screen>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Class<? extends Screen>, Screen> entry = it.next();
+            Screen screen = entry.getValue();
+            if (screen == game.getScreen() || pinned.containsKey(entry.getKey())) continue;
+            it.remove();
+            evictions++;
+            Gdx.app.log(TAG, "Evicted " + entry.getKey().getSimpleName() + " (" + reason + ")");
+            disposeScreen(screen);
+            return true;
+        }
+        return false;
+    }
+
+    private void disposeScreen(Screen screen) {
+        if (evictionListener != null) evictionListener.onScreenEvicted(screen);
+        if (screen == game.getScreen()) {
+            Gdx.app.postRunnable(() -> disposeQuietly(screen));
+        } else {
+            disposeQuietly(screen);
+        }
+    }
+
+    private static void disposeQuietly(Screen screen) {
+        try {
+            screen.dispose();
+        } catch (Exception e) {
+            Gdx.app.error(TAG, "Error disposing " + screen.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean contains(Screen[] screens, Screen screen) {
+        if (screens == null) return false;
+        for (Screen s : screens) {
+            if (s == screen) return true;
+        }
+        return false;
+    }
+
+    private static float getHeapUsageRatio() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return (float) used / runtime.maxMemory();
+    }
+}
@@ -2,12 +2,14 @@ package com.altf4studios.corebringer.screens;
 
 import com.altf4studios.corebringer.Main;
 import com.altf4studios.corebringer.Utils;
+import com.altf4studios.corebringer.utils.GameScheduler;
+import com.altf4studios.corebringer.utils.PuzzleArt;
 import com.altf4studios.corebringer.utils.SaveData;
 import com.altf4studios.corebringer.utils.SaveManager;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -48,20 +50,22 @@ public class TreasurePuzzleScreen implements Screen {
     private Label instructionLabel;
 
 
-    private Texture subTexture;
-    private Texture bgTexture;
-    private Texture qTexture;
-    private Texture mulTexture;
-    private Texture divTexture;
-    private Texture plusTexture;
-    private Texture n1Texture;
-    private Texture n2Texture;
-    private Texture n3Texture;
-    private Texture targetTexture;
-    private Texture equalsTexture;
-    private Texture chestClosedTexture;
-    private Texture chestOpenTexture;
-    private Texture congratulationsTexture;
+    // Glyphs come from the treasure glyph atlas when it was built (see PuzzleArt)
+    private PuzzleArt art;
+    private TextureRegion subTexture;
+    private TextureRegion bgTexture;
+    private TextureRegion qTexture;
+    private TextureRegion mulTexture;
+    private TextureRegion divTexture;
+    private TextureRegion plusTexture;
+    private TextureRegion n1Texture;
+    private TextureRegion n2Texture;
+    private TextureRegion n3Texture;
+    private TextureRegion targetTexture;
+    private TextureRegion equalsTexture;
+    private TextureRegion chestClosedTexture;
+    private TextureRegion chestOpenTexture;
+    private TextureRegion congratulationsTexture;
 
     private int op1State = 0; // 0 = ?, 1 = x, 2 = ÷, 3 = +, 4 = -
     private int op2State = 0; // 0 = ?, 1 = x, 2 = ÷, 3 = +, 4 = -
@@ -107,22 +111,24 @@ public class TreasurePuzzleScreen implements Screen {
     }
 
     private void loadTextures() {
-        bgTexture = new Texture(Utils.getInternalPath("assets/Puzzle/woodThemeBG.png"));
-        qTexture = new Texture(Utils.getInternalPath("assets/Puzzle/QuestionMark.png"));
-        mulTexture = new Texture(Utils.getInternalPath("assets/Puzzle/x.png"));
-        divTexture = new Texture(Utils.getInternalPath("assets/Puzzle/divisionSign.png"));
-        plusTexture = new Texture(Utils.getInternalPath("assets/Puzzle/plusSign.png"));
-        subTexture = new Texture(Utils.getInternalPath("assets/Puzzle/subtractionSign.png"));
-        equalsTexture = new Texture(Utils.getInternalPath("assets/Puzzle/equalSign.png"));
-        chestClosedTexture = new Texture(Utils.getInternalPath("assets/Puzzle/closedTreasureChest.png"));
-        chestOpenTexture = new Texture(Utils.getInternalPath("assets/Puzzle/openTreasureChest.png"));
-        congratulationsTexture = new Texture(Utils.getInternalPath("assets/Puzzle/Congratulations.png"));
-        
-        // Load number textures based on current puzzle
-        n1Texture = new Texture(Utils.getInternalPath("assets/Puzzle/" + currentPuzzle.num1 + ".png"));
-        n2Texture = new Texture(Utils.getInternalPath("assets/Puzzle/" + currentPuzzle.num2 + ".png"));
-        n3Texture = new Texture(Utils.getInternalPath("assets/Puzzle/" + currentPuzzle.num3 + ".png"));
-        targetTexture = new Texture(Utils.getInternalPath("assets/Puzzle/" + currentPuzzle.target + ".png"));
+        art = PuzzleArt.open(PuzzleArt.TREASURE);
+        bgTexture = art.background("woodThemeBG");
+        qTexture = art.region("QuestionMark");
+        mulTexture = art.region("x");
+        divTexture = art.region("divisionSign");
+        plusTexture = art.region("plusSign");
+        subTexture = art.region("subtractionSign");
+        equalsTexture = art.region("equalSign");
+        chestClosedTexture = art.region("closedTreasureChest");
+        chestOpenTexture = art.region("openTreasureChest");
+        congratulationsTexture = art.background("Congratulations");
+
+        // Number glyphs for the current puzzle
+        n1Texture = art.region(String.valueOf(currentPuzzle.num1));
+        n2Texture = art.region(String.valueOf(currentPuzzle.num2));
+        n3Texture = art.region(String.valueOf(currentPuzzle.num3));
+        targetTexture = art.region(String.valueOf(currentPuzzle.target));
+        Gdx.app.log("TreasurePuzzleScreen", "Art " + art.getStats());
     }
 
     private void buildUI() {
@@ -299,53 +305,32 @@ public class TreasurePuzzleScreen implements Screen {
     @Override public void resize(int width, int height) { stage.getViewport().update(width, height, true); Gdx.input.setInputProcessor(stage); }
     @Override public void pause() {}
     @Override public void resume() {}
-    @Override public void hide() {}
+    @Override public void hide() { GameScheduler.getInstance().cancelAll(this); }
 
     @Override
     public void dispose() {
         stage.dispose();
-        bgTexture.dispose();
-        qTexture.dispose();
-        mulTexture.dispose();
-        divTexture.dispose();
-        plusTexture.dispose();
-        n1Texture.dispose();
-        n2Texture.dispose();
-        n3Texture.dispose();
-        targetTexture.dispose();
-        subTexture.dispose();
-        equalsTexture.dispose();
-        chestClosedTexture.dispose();
-        chestOpenTexture.dispose();
-        congratulationsTexture.dispose();
+        if (art != null) art.dispose();
     }
 
     private void triggerCongratulationsAndReturn() {
         // Give rewards immediately
         giveRewards();
         
-        new Thread(() -> {
-            try {
-                Thread.sleep(2000);
-                Gdx.app.postRunnable(() -> {
-                    if (content != null) content.setVisible(false);
-                    congratulationsImage.setVisible(false); // Hide congratulations
-                    rewardLabel.setVisible(true); // Show reward instead
-                    new Thread(() -> {
-                        try {
-                            Thread.sleep(3000);
-                            Gdx.app.postRunnable(() -> {
-                                if (corebringer.gameMapScreen != null) {
-                                    try { corebringer.gameMapScreen.advanceToNextRank(); } catch (Exception ignored) {}
-                                }
-                                corebringer.setScreen(corebringer.gameMapScreen);
-                                Gdx.app.postRunnable(TreasurePuzzleScreen.this::dispose);
-                            });
-                        } catch (InterruptedException ignored) { }
-                    }).start();
-                });
-            } catch (InterruptedException ignored) { }
-        }).start();
+        // Frame timers on the shared scheduler; cancelled in hide() if the player leaves first
+        GameScheduler scheduler = GameScheduler.getInstance();
+        scheduler.schedule(this, 2f, () -> {
+            if (content != null) content.setVisible(false);
+            congratulationsImage.setVisible(false); // Hide congratulations
+            rewardLabel.setVisible(true); // Show reward instead
+            scheduler.schedule(this, 3f, () -> {
+                if (corebringer.gameMapScreen != null) {
+                    try { corebringer.gameMapScreen.advanceToNextRank(); } catch (Exception ignored) {}
+                }
+                corebringer.setScreen(corebringer.gameMapScreen);
+                corebringer.discardScreen(TreasurePuzzleScreen.this);
+            });
+        });
     }
 
     private void giveRewards() {
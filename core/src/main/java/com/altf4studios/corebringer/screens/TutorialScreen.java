@@ -1,6 +1,9 @@
 package com.altf4studios.corebringer.screens;
 
 import com.altf4studios.corebringer.Main;
+import com.altf4studios.corebringer.utils.AssetVariants;
+import com.altf4studios.corebringer.utils.RenderOnDemand;
+import com.altf4studios.corebringer.utils.TutorialPageLoader;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
@@ -54,16 +57,21 @@ public class TutorialScreen implements Screen {
     private Chapter currentChapter;
     private int currentPageIndex = 0; // 0-based
 
-    // Asset tracking for cleanup (only used if AssetManager is present)
-    private final Set<String> loadedTexturePaths = new HashSet<>();
-    // Fallback direct textures if no AssetManager
-    private final Map<String, Texture> directTextures = new HashMap<>();
+    // Pages load in the background with the neighbours prefetched; only a few stay in VRAM
+    private final TutorialPageLoader pages;
+    // Page waiting to be shown once loaded (the previous page stays up meanwhile)
+    private String pendingPath;
+    // Page currently on screen; kept loaded until another one replaces it
+    private String shownPath;
+    // Resolution tier the pages are loaded for; pages are reloaded only when it changes
+    private int artTier = AssetVariants.getInstance().currentTier();
 
     public TutorialScreen(Main main) {
         this.corebringer = main;
         this.skin = (main != null ? main.testskin : new Skin(Gdx.files.internal("assets/ui/uiskin.json")));
         this.assets = (main != null ? main.getAssets() : null);
         this.stage = new Stage(new FitViewport(1280, 720));
+        this.pages = new TutorialPageLoader(assets, TutorialPageLoader.DEFAULT_CAPACITY);
 
         // Root and inner panel
         this.root = new Table();
@@ -122,7 +130,7 @@ public class TutorialScreen implements Screen {
         });
         closeBtn.addListener(new ClickListener(){
             public void clicked(InputEvent event, float x, float y) {
-                corebringer.setScreen(new MainMenuScreen(corebringer));
+                corebringer.showMainMenu();
             }
         });
 
@@ -257,39 +265,48 @@ public class TutorialScreen implements Screen {
 
     private void showCurrentPage() {
         if (currentChapter == null || currentChapter.pages.isEmpty()) {
+            pendingPath = null;
+            shownPath = null;
+            currentImage = null;
             imageContainer.setActor(new Label("No pages.", skin));
             return;
         }
-        String fileName = currentChapter.pages.get(currentPageIndex);
-        String fullPath = currentChapter.location + "/" + fileName;
+        String fullPath = pagePath(currentPageIndex);
+        pages.request(fullPath, pagePath(currentPageIndex + 1), pagePath(currentPageIndex - 1), shownPath);
+        pendingPath = fullPath;
+        if (!showPendingPage() && currentImage == null) {
+            imageContainer.setActor(new Label("Loading...", skin));
+        }
+    }
 
-        Texture tex = null;
-        try {
-            if (assets != null) {
-                if (!assets.isLoaded(fullPath, Texture.class)) {
-                    assets.load(fullPath, Texture.class);
-                    assets.finishLoadingAsset(fullPath);
-                }
-                tex = assets.get(fullPath, Texture.class);
-                loadedTexturePaths.add(fullPath);
-            } else {
-                tex = directTextures.get(fullPath);
-                if (tex == null) {
-                    tex = new Texture(Gdx.files.internal(fullPath));
-                    directTextures.put(fullPath, tex);
-                }
-            }
-        } catch (Exception e) {
-            Gdx.app.error("TutorialScreen", "Failed to load image: " + fullPath + ", " + e.getMessage());
+    // Returns true once the pending page is on screen (or reported missing)
+    private boolean showPendingPage() {
+        if (pendingPath == null) return true;
+        if (pages.isFailed(pendingPath)) {
+            String fileName = pendingPath.substring(pendingPath.lastIndexOf('/') + 1);
+            pendingPath = null;
+            shownPath = null;
+            currentImage = null;
             imageContainer.setActor(new Label("Missing: " + fileName, skin));
-            return;
+            return true;
         }
+        Texture tex = pages.get(pendingPath);
+        if (tex == null) return false;
+        shownPath = pendingPath;
+        pendingPath = null;
 
         // Build image with scaling
         currentImage = new Image(tex);
         currentImage.setScaling(Scaling.fit);
         currentImage.setAlign(Align.center);
         imageContainer.setActor(currentImage);
+        return true;
+    }
+
+    // Resolved path of a page of the current chapter, or null outside it
+    private String pagePath(int index) {
+        if (currentChapter == null || index < 0 || index >= currentChapter.pages.size()) return null;
+        return AssetVariants.getInstance().resolve(currentChapter.location + "/" + currentChapter.pages.get(index), artTier);
     }
 
     @Override
@@ -298,12 +315,17 @@ public class TutorialScreen implements Screen {
         if (corebringer != null) corebringer.playMusic("menu"); // neutral music
         // Apply responsive padding for 80% area on first show
         resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        RenderOnDemand.getInstance().enter(this, stage);
     }
 
     @Override
     public void render(float delta) {
+        pages.update();
+        showPendingPage();
         stage.act(delta);
         stage.draw();
+        /// Keep drawing while pages load so they appear as soon as they are ready
+        if (pages.isLoading() || pendingPath != null) RenderOnDemand.getInstance().request();
     }
 
     @Override
@@ -314,26 +336,28 @@ public class TutorialScreen implements Screen {
         float padW = width * 0.10f;  // left/right
         root.pad(padH, padW, padH, padW);
         root.invalidateHierarchy();
+        // Swap the pages for another resolution's copies only when crossing a tier
+        int tier = AssetVariants.getInstance().tierFor(Gdx.graphics.getBackBufferHeight());
+        if (tier != artTier) {
+            Gdx.app.log("TutorialScreen", "Resolution tier " + artTier + " -> " + tier + ", reloading pages");
+            artTier = tier;
+            currentImage = null;
+            shownPath = null;
+            pages.clear();
+            showCurrentPage();
+        }
     }
 
     @Override public void pause() { }
     @Override public void resume() { }
-    @Override public void hide() { }
+    @Override public void hide() {
+        RenderOnDemand.getInstance().exit(this);
+    }
 
     @Override
     public void dispose() {
         stage.dispose();
-        // Unload or dispose textures we loaded
-        if (assets != null) {
-            for (String path : loadedTexturePaths) {
-                try { if (assets.isLoaded(path, Texture.class)) assets.unload(path); } catch (Exception ignored) {}
-            }
-            loadedTexturePaths.clear();
-        } else {
-            for (Texture t : directTextures.values()) {
-                try { if (t != null) t.dispose(); } catch (Exception ignored) {}
-            }
-            directTextures.clear();
-        }
+        Gdx.app.log("TutorialScreen", pages.getStats());
+        pages.dispose();
     }
 }
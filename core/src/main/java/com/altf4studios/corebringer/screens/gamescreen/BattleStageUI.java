@@ -1,5 +1,9 @@
 package com.altf4studios.corebringer.screens.gamescreen;
 
+import com.altf4studios.corebringer.battle.BattleState;
+import com.altf4studios.corebringer.entities.Entity;
+import com.altf4studios.corebringer.status.StatusManager;
+import com.altf4studios.corebringer.utils.AssetVariants;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.assets.AssetManager;
@@ -18,7 +22,7 @@ import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 
-public class BattleStageUI {
+public class BattleStageUI implements BattleState.Listener {
     private Stage battleStage;
     private Skin skin;
     private TextureAtlas enemyAtlas;
@@ -29,6 +33,10 @@ public class BattleStageUI {
     private Stack userTemplateStack;
     private Label userHpLabel;
     private Label enemyHpLabel;
+    // Last values written by setDisplayedHp
+    private boolean hpDrivenByBattle = false;
+    private int shownPlayerHp = Integer.MIN_VALUE;
+    private int shownEnemyHp = Integer.MIN_VALUE;
     private Label userShieldLabel;
     private Label enemyShieldLabel;
     private Label turnIndicatorLabel;
@@ -65,6 +73,11 @@ public class BattleStageUI {
     private final AssetManager assets;
     private boolean enemyAtlasOwned = true;
     private boolean bgAtlasOwned = true;
+    // Background atlas actually loaded (the resolution variant, if any) and the tier it was picked for
+    private static final String BG_ATLAS_PATH = "assets/backgrounds/backgrounds_atlas.atlas";
+    private String bgAtlasPath;
+    private int artTier;
+    private int bgStageLevel = 1;
 
     public BattleStageUI(Stage battleStage, Skin skin) {
         this(battleStage, skin, null);
@@ -158,7 +171,7 @@ public class BattleStageUI {
         } else {
             // Fallback to cached merchant texture
             if (merchantTexture == null) {
-                merchantTexture = new Texture(Gdx.files.internal("basic-characters/merchant.png"));
+                merchantTexture = AssetVariants.getInstance().loadTexture("basic-characters/merchant.png", artTier);
             }
             enemyImage = new Image(merchantTexture);
             Gdx.app.log("BattleStageUI", "Using fallback enemy texture for: " + enemyName);
@@ -175,26 +188,40 @@ public class BattleStageUI {
         return enemyImage;
     }
 
-    private void setupBattleUI() {
-        // Load background atlas (stg1_bg..stg5_bg)
-        if (bgAtlas == null) {
-            try {
-                if (assets != null) {
-                    String bgPath = "assets/backgrounds/backgrounds_atlas.atlas";
-                    if (!assets.isLoaded(bgPath, TextureAtlas.class)) {
-                        assets.load(bgPath, TextureAtlas.class);
-                        assets.finishLoadingAsset(bgPath);
-                    }
-                    bgAtlas = assets.get(bgPath, TextureAtlas.class);
-                    bgAtlasOwned = false;
-                } else {
-                    bgAtlas = new TextureAtlas(Gdx.files.internal("assets/backgrounds/backgrounds_atlas.atlas"));
-                    bgAtlasOwned = true;
+    // Load background atlas (stg1_bg..stg5_bg), sized for the current resolution tier
+    private void loadBackgroundAtlas() {
+        if (bgAtlas != null) return;
+        bgAtlasPath = AssetVariants.getInstance().resolve(BG_ATLAS_PATH, artTier);
+        try {
+            if (assets != null) {
+                if (!assets.isLoaded(bgAtlasPath, TextureAtlas.class)) {
+                    assets.load(bgAtlasPath, TextureAtlas.class);
+                    assets.finishLoadingAsset(bgAtlasPath);
                 }
-            } catch (Exception e) {
-                Gdx.app.error("BattleStageUI", "Failed to load backgrounds atlas: " + e.getMessage());
+                bgAtlas = assets.get(bgAtlasPath, TextureAtlas.class);
+                bgAtlasOwned = false;
+            } else {
+                bgAtlas = new TextureAtlas(Gdx.files.internal(bgAtlasPath));
+                bgAtlasOwned = true;
             }
+        } catch (Exception e) {
+            Gdx.app.error("BattleStageUI", "Failed to load backgrounds atlas: " + e.getMessage());
+        }
+    }
+
+    private void releaseBackgroundAtlas() {
+        if (bgAtlas == null) return;
+        if (bgAtlasOwned) {
+            bgAtlas.dispose();
+        } else if (assets.isLoaded(bgAtlasPath)) {
+            assets.unload(bgAtlasPath);
         }
+        bgAtlas = null;
+    }
+
+    private void setupBattleUI() {
+        artTier = AssetVariants.getInstance().currentTier();
+        loadBackgroundAtlas();
         Drawable bgDraw;
         if (bgAtlas != null && bgAtlas.findRegion("stg1_bg") != null) {
             bgDraw = new TextureRegionDrawable(bgAtlas.findRegion("stg1_bg"));
@@ -247,7 +274,7 @@ public class BattleStageUI {
 
         // Character images
         if (playerTexture == null) {
-            playerTexture = new Texture(Gdx.files.internal("assets/basic-characters/hero.png"));
+            playerTexture = AssetVariants.getInstance().loadTexture("assets/basic-characters/hero.png", artTier);
         }
         Image userImageBG = new Image(playerTexture);
         userImageBG.setScaling(Scaling.contain);
@@ -330,10 +357,30 @@ public class BattleStageUI {
         battleStage.addActor(actionTable);
     }
 
+    /**
+     * Swap the background atlas for the copy of another resolution tier, only when the back buffer
+     * crossed into that tier (call from resize). Characters keep their textures until the next battle.
+     */
+    public boolean updateArtTier(int backBufferHeight) {
+        int tier = AssetVariants.getInstance().tierFor(backBufferHeight);
+        if (tier == artTier) return false;
+        Gdx.app.log("BattleStageUI", "Resolution tier " + artTier + " -> " + tier + ", reloading background atlas");
+        artTier = tier;
+        releaseBackgroundAtlas();
+        loadBackgroundAtlas();
+        if (bgAtlas != null) setBackgroundStage(bgStageLevel);
+        return true;
+    }
+
+    public String getBackgroundAtlasPath() {
+        return bgAtlasPath;
+    }
+
     // Change background by stage using backgrounds_atlas regions (stg{n}_bg)
     public void setBackgroundStage(int stageLevel) {
         if (stageLevel < 1) stageLevel = 1;
         if (stageLevel > 5) stageLevel = 5;
+        bgStageLevel = stageLevel;
         if (bgAtlas == null) return;
         String regionName = "stg" + stageLevel + "_bg";
         if (bgAtlas.findRegion(regionName) == null) return;
@@ -385,20 +432,67 @@ public class BattleStageUI {
 	}
     /// HP Bar Updating mechanism
     public void updateHpBars(int playerHp, int enemyHp) {
+        shownPlayerHp = playerHp;
+        shownEnemyHp = enemyHp;
         if (userHpLabel != null) {
-            userHpLabel.setText(String.valueOf(playerHp));
+            userHpLabel.setText(playerHp);
         }
         if (enemyHpLabel != null) {
-            enemyHpLabel.setText(String.valueOf(enemyHp));
+            enemyHpLabel.setText(enemyHp);
+        }
+    }
+
+    /// Rolling HP readout pushed every frame by GameScreen; once set, state events no longer touch the HP labels
+    public void setDisplayedHp(int playerHp, int enemyHp) {
+        hpDrivenByBattle = true;
+        if (playerHp != shownPlayerHp) {
+            shownPlayerHp = playerHp;
+            if (userHpLabel != null) userHpLabel.setText(playerHp);
+        }
+        if (enemyHp != shownEnemyHp) {
+            shownEnemyHp = enemyHp;
+            if (enemyHpLabel != null) enemyHpLabel.setText(enemyHp);
         }
     }
 
     public void updateShieldBars(int playerShield, int enemyShield) {
         if (userShieldLabel != null) {
-            userShieldLabel.setText(String.valueOf(playerShield));
+            userShieldLabel.setText(playerShield);
         }
         if (enemyShieldLabel != null) {
-            enemyShieldLabel.setText(String.valueOf(enemyShield));
+            enemyShieldLabel.setText(enemyShield);
+        }
+    }
+
+    /// Battle state subscription: only the widgets whose values changed this frame are refreshed
+    @Override
+    public void onBattleStateChanged(BattleState state, int changes) {
+        if ((changes & BattleState.PHASE) != 0) {
+            updateTurnIndicator(state.isPlayerTurn() ? "Player's Turn" : "Enemy Turn");
+        }
+        Entity player = state.getPlayer();
+        Entity enemy = state.getEnemy();
+        if (player == null || enemy == null) return;
+        if (!hpDrivenByBattle && (changes & (BattleState.PLAYER_HP | BattleState.ENEMY_HP)) != 0) {
+            updateHpBars(player.getHp(), enemy.getHp());
+        }
+        if ((changes & (BattleState.PLAYER_BLOCK | BattleState.ENEMY_BLOCK)) != 0) {
+            updateShieldBars(player.getBlock(), enemy.getBlock());
+        }
+        StatusManager sm = StatusManager.getInstance();
+        if ((changes & (BattleState.PLAYER_STATUS | BattleState.PLAYER_BLOCK)) != 0) {
+            updatePlayerStatusBadges(player.getBlock() > 0, player.hasPoison(), player.hasStatus("Bleed"), player.hasStatus("Stun"));
+            updatePlayerStatusValuesWithDuration(player.getBlock(),
+                sm.getPower(player, "Poison"), sm.getDuration(player, "Poison"),
+                sm.getPower(player, "Bleed"), sm.getDuration(player, "Bleed"),
+                player.getStatusValue("Stun"));
+        }
+        if ((changes & (BattleState.ENEMY_STATUS | BattleState.ENEMY_BLOCK)) != 0) {
+            updateEnemyStatusBadges(enemy.getBlock() > 0, enemy.hasPoison(), enemy.hasStatus("Bleed"), enemy.hasStatus("Stun"));
+            updateEnemyStatusValuesWithDuration(enemy.getBlock(),
+                sm.getPower(enemy, "Poison"), sm.getDuration(enemy, "Poison"),
+                sm.getPower(enemy, "Bleed"), sm.getDuration(enemy, "Bleed"),
+                enemy.getStatusValue("Stun"));
         }
     }
 
@@ -589,6 +683,7 @@ public class BattleStageUI {
         }
         if (bgTexture != null) { bgTexture.dispose(); bgTexture = null; }
         if (playerTexture != null) { playerTexture.dispose(); playerTexture = null; }
+        if (merchantTexture != null) { merchantTexture.dispose(); merchantTexture = null; }
         if (bgAtlasOwned && bgAtlas != null) { bgAtlas.dispose(); bgAtlas = null; }
         if (statusTextures != null) {
             for (Texture t : statusTextures.values()) {
@@ -1,5 +1,8 @@
 package com.altf4studios.corebringer.screens.gamescreen;
 
+import com.altf4studios.corebringer.battle.BattleManager;
+import com.altf4studios.corebringer.battle.BattleState;
+import com.altf4studios.corebringer.slots.SlotHandler;
 import com.altf4studios.corebringer.utils.CardParser;
 import com.altf4studios.corebringer.utils.CardDataManager;
 import com.altf4studios.corebringer.entities.Player;
@@ -15,10 +18,11 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.DragAndDrop;
 import com.badlogic.gdx.utils.Array;
 import com.altf4studios.corebringer.screens.GameScreen;
 
-public class CardStageUI {
+public class CardStageUI implements BattleState.Listener {
     private Stage cardStage;
     private Skin skin;
     private CardParser cardParser;
@@ -36,6 +40,14 @@ public class CardStageUI {
     // Optional resources created by the Deck UI
     private com.badlogic.gdx.graphics.g2d.TextureAtlas deckCardAtlas;
     private com.badlogic.gdx.utils.ObjectMap<String, String> idToAtlasName;
+    // Drag one hand card onto another to COMBINE or EXTEND them (validated through SlotValidator tables)
+    private SlotHandler slotHandler;
+    private DragAndDrop slotDragAndDrop;
+    private static final Color SLOT_VALID_TINT = new Color(0.6f, 1f, 0.6f, 1f);
+    private static final Color SLOT_INVALID_TINT = new Color(1f, 0.5f, 0.5f, 1f);
+    // Hand cards the player can't currently afford are dimmed (refreshed on energy/phase events)
+    private static final Color UNAFFORDABLE_TINT = new Color(0.5f, 0.5f, 0.5f, 1f);
+    private BattleState battleState;
 
     public CardStageUI(Stage cardStage, Skin skin, CardParser cardParser, Player player, Enemy enemy, TurnManager turnManager, GameScreen gameScreen) {
         this.cardStage = cardStage;
@@ -47,8 +59,44 @@ public class CardStageUI {
         this.turnManager = turnManager;
         this.gameScreen = gameScreen;
         this.discardPile = new Array<>();
+        this.slotHandler = new SlotHandler(cardParser);
+        this.slotDragAndDrop = new DragAndDrop();
         calculateDimensions();
         setupCardUI();
+        if (gameScreen != null && gameScreen.getBattleManager() != null) {
+            battleState = gameScreen.getBattleManager().getBattleState();
+            battleState.addListener(this);
+        }
+    }
+
+    @Override
+    public void onBattleStateChanged(BattleState state, int changes) {
+        if ((changes & (BattleState.ENERGY | BattleState.PHASE)) == 0) return;
+        if (drawButton != null) drawButton.setDisabled(!state.isPlayerTurn());
+        refreshAffordability();
+    }
+
+    // Tint each hand card by whether its cost fits the current energy
+    private void refreshAffordability() {
+        if (cardHandTable == null || cardHandTable.handCards == null) return;
+        for (ImageButton card : cardHandTable.handCards) {
+            card.setColor(affordabilityTint(card));
+        }
+    }
+
+    private Color affordabilityTint(ImageButton card) {
+        if (gameScreen == null || card.getName() == null) return Color.WHITE;
+        return getCardCost(card.getName()) > gameScreen.getEnergy() ? UNAFFORDABLE_TINT : Color.WHITE;
+    }
+
+    private int getCardCost(String cardName) {
+        if (cardDataManager != null && cardDataManager.isInitialized()) {
+            return cardDataManager.getCostByName(cardName);
+        } else if (cardParser != null) {
+            SampleCardHandler card = cardParser.findCardByName(cardName);
+            return (card != null) ? card.cost : 0;
+        }
+        return 0;
     }
 
     private void calculateDimensions() {
@@ -61,14 +109,7 @@ public class CardStageUI {
     private int[] getCardCosts(String[] cardNames) {
         int[] costs = new int[cardNames.length];
         for (int i = 0; i < cardNames.length; i++) {
-            int cost = 0;
-            if (cardDataManager != null && cardDataManager.isInitialized()) {
-                cost = cardDataManager.getCostByName(cardNames[i]);
-            } else if (cardParser != null) {
-                SampleCardHandler card = cardParser.findCardByName(cardNames[i]);
-                cost = (card != null) ? card.cost : 0;
-            }
-            costs[i] = cost;
+            costs[i] = getCardCost(cardNames[i]);
         }
         return costs;
     }
@@ -106,6 +147,7 @@ public class CardStageUI {
         // Also schedule a layout on the next frame to account for any late viewport sizing
         cardStage.addAction(Actions.run(() -> cardHandTable.updateHandLayout()));
         setupCardListeners();
+        refreshAffordability();
         logCounts("After createNewHand");
     }
 
@@ -214,6 +256,70 @@ public class CardStageUI {
                 }
             });
         }
+        setupSlotDragAndDrop();
+    }
+
+    // Every hand card is both a drag source and a drop target; hover checks are O(1) table reads
+    private void setupSlotDragAndDrop() {
+        slotDragAndDrop.clear();
+        for (ImageButton card : cardHandTable.handCards) {
+            slotDragAndDrop.addSource(new DragAndDrop.Source(card) {
+                @Override
+                public DragAndDrop.Payload dragStart(InputEvent event, float x, float y, int pointer) {
+                    if (!card.isTouchable()) return null;
+                    DragAndDrop.Payload payload = new DragAndDrop.Payload();
+                    payload.setObject(card);
+                    Image preview = new Image(card.getStyle().imageUp);
+                    preview.setSize(card.getWidth() * 0.8f, card.getHeight() * 0.8f);
+                    preview.getColor().a = 0.8f;
+                    payload.setDragActor(preview);
+                    slotDragAndDrop.setDragActorPosition(preview.getWidth() * 0.5f, -preview.getHeight() * 0.5f);
+                    return payload;
+                }
+            });
+            slotDragAndDrop.addTarget(new DragAndDrop.Target(card) {
+                @Override
+                public boolean drag(DragAndDrop.Source source, DragAndDrop.Payload payload, float x, float y, int pointer) {
+                    ImageButton dragged = (ImageButton) payload.getObject();
+                    boolean valid = dragged != card && card.isTouchable()
+                        && slotHandler.canDrop(dragged.getName(), card.getName());
+                    card.setColor(valid ? SLOT_VALID_TINT : SLOT_INVALID_TINT);
+                    return valid;
+                }
+
+                @Override
+                public void reset(DragAndDrop.Source source, DragAndDrop.Payload payload) {
+                    card.setColor(affordabilityTint(card));
+                }
+
+                @Override
+                public void drop(DragAndDrop.Source source, DragAndDrop.Payload payload, float x, float y, int pointer) {
+                    handleSlotDrop((ImageButton) payload.getObject(), card);
+                }
+            });
+        }
+    }
+
+    private void handleSlotDrop(ImageButton source, ImageButton target) {
+        SlotHandler.Placement placement = slotHandler.plan(source.getName(), target.getName());
+        if (placement == null) return;
+        if (gameScreen.getEnergy() < placement.cost) {
+            showNoEnergyDialog();
+            return;
+        }
+
+        gameScreen.addEnergy(-placement.cost);
+        for (String resolved : placement.resolvedCards) {
+            resolveCardEffect(resolved);
+        }
+        Gdx.app.log("CardSlot", placement.slot + " " + source.getName() + " + " + target.getName()
+            + " for " + placement.cost + " energy");
+        // Both originals go to the discard pile; an EXTEND result is not added to the deck
+        discardPile.add(source.getName());
+        discardPile.add(target.getName());
+        cardHandTable.removeCardFromHand(source);
+        cardHandTable.removeCardFromHand(target);
+        logCounts("After " + placement.slot);
     }
 
     private void handleCardClick(ImageButton card) {
@@ -278,6 +384,8 @@ public class CardStageUI {
         drawButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
+                // Disabled while the enemy acts (see onBattleStateChanged)
+                if (drawButton.isDisabled()) return;
                 // Reset energy at start of next turn cycle
                 if (gameScreen != null) {
                     gameScreen.setEnergy(gameScreen.getMaxEnergy());
@@ -315,33 +423,42 @@ public class CardStageUI {
 
     private void scheduleCardShow() {
         // New timing:
-        // 0.5s span (still Player's Turn text) -> endPlayerTurn -> 0.5s -> enemy acts -> 0.5s -> draw new hand
+        // 0.1s span (still Player's Turn text) -> endPlayerTurn -> 0.1s -> enemy acts -> 0.1s -> draw new hand
+        // The delays run on the battle's fixed logic ticks (enemy-turn spans are fast-forwarded);
+        // stage actions are only the fallback when there is no battle manager
+        BattleManager battle = gameScreen != null ? gameScreen.getBattleManager() : null;
+        if (battle != null) {
+            battle.runAfter(0.1f, () -> {
+                endPlayerTurnStep();
+                battle.runAfter(0.1f, () -> {
+                    battle.executeEnemyTurn();
+                    battle.runAfter(0.1f, this::drawNewHandStep);
+                });
+            });
+            return;
+        }
         cardStage.addAction(Actions.sequence(
-            // First 0.5s span (keep Player's Turn text)
-            Actions.delay(0.1f),
-            // Now end player's turn to switch to Enemy Turn
-            Actions.run(() -> {
-                if (turnManager != null && turnManager.isPlayerTurn()) {
-                    turnManager.endPlayerTurn();
-                }
-            }),
-            // Another 0.5s before enemy acts
             Actions.delay(0.1f),
-            Actions.run(() -> {
-                if (gameScreen != null && gameScreen.getBattleManager() != null) {
-                    gameScreen.getBattleManager().executeEnemyTurn();
-                }
-            }),
-            // 0.5s after enemy action before drawing new hand
-            Actions.delay(0.1f),
-            Actions.run(() -> {
-                createNewHand();
-                showCards();
-                logCounts("After new hand drawn");
-            })
+            Actions.run(this::endPlayerTurnStep),
+            // No enemy to act without a battle
+            Actions.delay(0.2f),
+            Actions.run(this::drawNewHandStep)
         ));
     }
 
+    private void endPlayerTurnStep() {
+        // End player's turn to switch to Enemy Turn
+        if (turnManager != null && turnManager.isPlayerTurn()) {
+            turnManager.endPlayerTurn();
+        }
+    }
+
+    private void drawNewHandStep() {
+        createNewHand();
+        showCards();
+        logCounts("After new hand drawn");
+    }
+
     public void hideCards() {
         if (cardHandTable != null) {
             cardHandTable.cardGroup.setVisible(false);
@@ -612,10 +729,17 @@ public class CardStageUI {
     }
 
     public void dispose() {
+        if (battleState != null) {
+            battleState.removeListener(this);
+            battleState = null;
+        }
 
         try { if (deckCardAtlas != null) deckCardAtlas.dispose(); } catch (Exception ignored) {}
         deckCardAtlas = null;
         if (idToAtlasName != null) idToAtlasName.clear();
+        try { if (slotDragAndDrop != null) slotDragAndDrop.clear(); } catch (Exception ignored) {}
+        slotDragAndDrop = null;
+        slotHandler = null;
 
         try {
             if (cardStage != null) {
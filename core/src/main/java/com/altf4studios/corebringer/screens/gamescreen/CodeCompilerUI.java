@@ -2,6 +2,7 @@ package com.altf4studios.corebringer.screens.gamescreen;
 
 import com.altf4studios.corebringer.compiler.JavaExternalRunner;
 import com.altf4studios.corebringer.compiler.CodePolicyValidator;
+import com.altf4studios.corebringer.utils.GameScheduler;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
@@ -171,8 +172,8 @@ public class CodeCompilerUI implements Disposable {
         statusLabel.setText("Compiling...");
         statusLabel.setColor(Color.YELLOW);
 
-        // Run compilation in a separate thread to avoid blocking UI
-        new Thread(() -> {
+        // Run compilation on the shared worker pool to avoid blocking UI
+        GameScheduler.getInstance().runAsync(this, "compileAndRun", () -> {
             try {
                 // Validate first
                 CodePolicyValidator.ValidationResult vr = CodePolicyValidator.validate(code);
@@ -206,7 +207,7 @@ public class CodeCompilerUI implements Disposable {
                     statusLabel.setColor(Color.RED);
                 });
             }
-        }).start();
+        });
     }
 
     private void clearAll() {
@@ -255,6 +256,7 @@ public class CodeCompilerUI implements Disposable {
     }
 
     public void dispose() {
+        GameScheduler.getInstance().cancelAll(this);
         if (stage != null) {
             stage.dispose();
         }
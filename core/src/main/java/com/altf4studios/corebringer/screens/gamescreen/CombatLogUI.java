@@ -1,17 +1,19 @@
 package com.altf4studios.corebringer.screens.gamescreen;
 
+import com.altf4studios.corebringer.battle.BattleState;
 import com.altf4studios.corebringer.utils.CombatLog;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 
-public class CombatLogUI {
+public class CombatLogUI implements BattleState.Listener {
     private Table logContainer;
     private ScrollPane scrollPane;
     private List<String> logList;
     private Array<String> logItems;
     private Skin skin;
+    private BattleState battleState;
     
     public CombatLogUI(Skin skin) {
         this.skin = skin;
@@ -47,6 +49,25 @@ public class CombatLogUI {
         logContainer.setSize(300, 200);
     }
     
+    /**
+     * Refresh the list whenever the battle reports new combat log entries (at most once per frame).
+     */
+    public void attach(BattleState state) {
+        detach();
+        battleState = state;
+        if (battleState != null) battleState.addListener(this);
+    }
+
+    public void detach() {
+        if (battleState != null) battleState.removeListener(this);
+        battleState = null;
+    }
+
+    @Override
+    public void onBattleStateChanged(BattleState state, int changes) {
+        if ((changes & BattleState.LOG) != 0) updateLog();
+    }
+
     public void updateLog() {
         // Get recent log entries and convert to display strings
         Array<CombatLog.LogEntry> entries = CombatLog.getRecentEntries(20); // Show last 20 entries
@@ -64,28 +85,9 @@ public class CombatLogUI {
         scrollPane.setScrollY(scrollPane.getMaxY());
     }
     
+    // The shared skin font has markup off, so entries are shown as plain text (no [COLOR] tags)
     private String formatLogEntry(CombatLog.LogEntry entry) {
-        // Add color coding based on log type
-        String colorPrefix = getColorPrefix(entry.type);
-        return colorPrefix + entry.toString();
-    }
-    
-    private String getColorPrefix(CombatLog.LogType type) {
-        switch (type) {
-            case ATTACK:
-                return "[RED]"; // Red for attacks
-            case DEFENSE:
-                return "[BLUE]"; // Blue for defense
-            case STATUS:
-                return "[PURPLE]"; // Purple for status effects
-            case CARD:
-                return "[GREEN]"; // Green for card plays
-            case SYSTEM:
-                return "[YELLOW]"; // Yellow for system messages
-            case INFO:
-            default:
-                return "[WHITE]"; // White for general info
-        }
+        return entry.toString();
     }
     
     public Table getLogContainer() {
@@ -107,7 +109,7 @@ public class CombatLogUI {
     
     // Method to add a custom entry directly to the UI
     public void addCustomEntry(String message) {
-        logItems.add("[WHITE]" + message);
+        logItems.add(message);
         if (logItems.size > 50) { // Keep UI list manageable
             logItems.removeIndex(0);
         }
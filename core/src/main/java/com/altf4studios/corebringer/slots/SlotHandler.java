@@ -1,4 +1,75 @@
 package com.altf4studios.corebringer.slots;
 
+import com.altf4studios.corebringer.utils.CardParser;
+
+/**
+ * Turns slot placements into concrete plays using the tables in {@link SlotValidator}.
+ * - BASIC: play one card at its own cost
+ * - COMBINE: play both cards' effects for their summed cost minus {@link SlotValidator#COMBINE_DISCOUNT}
+ * - EXTEND: two copies of a card become one play of its next-level card, costing both copies
+ */
 public class SlotHandler {
+    private final CardParser parser;
+    private final SlotValidator validator;
+
+    public SlotHandler(CardParser parser) {
+        this.parser = parser;
+        validator = SlotValidator.getInstance();
+        refreshIfReloaded();
+    }
+
+    public SlotValidator getValidator() {
+        refreshIfReloaded();
+        return validator;
+    }
+
+    // Rebuild the tables if the card catalog was reloaded since they were built; an int compare otherwise
+    private void refreshIfReloaded() {
+        if (!validator.isBuiltFrom(parser)) {
+            validator.initFrom(parser);
+        }
+    }
+
+    /**
+     * Cheap check used on every drag hover: can the dragged card be dropped onto the target card?
+     */
+    public boolean canDrop(String sourceName, String targetName) {
+        refreshIfReloaded();
+        return validator.getPairSlot(validator.indexOfName(sourceName), validator.indexOfName(targetName)) != null;
+    }
+
+    /**
+     * Plan a two-card placement. Returns null if the cards can't share a slot.
+     */
+    public Placement plan(String sourceName, String targetName) {
+        refreshIfReloaded();
+        int source = validator.indexOfName(sourceName);
+        int target = validator.indexOfName(targetName);
+        SlotType slot = validator.getPairSlot(source, target);
+        if (slot == null) return null;
+
+        if (slot == SlotType.EXTEND) {
+            int extended = validator.getExtendedCard(source);
+            return new Placement(slot, validator.getCost(source) + validator.getCost(target),
+                new String[]{validator.getCard(extended).name});
+        }
+        int cost = Math.max(0, validator.getCost(source) + validator.getCost(target) - SlotValidator.COMBINE_DISCOUNT);
+        return new Placement(slot, cost, new String[]{
+            validator.getCard(source).name, validator.getCard(target).name});
+    }
+
+    /**
+     * Result of a placement: slot used, energy to pay, and card names whose effects to resolve in order
+     */
+    public static final class Placement {
+        public final SlotType slot;
+        public final int cost;
+        public final String[] resolvedCards;
+
+        Placement(SlotType slot, int cost, String[] resolvedCards) {
+            this.slot = slot;
+            this.cost = cost;
+            this.resolvedCards = resolvedCards;
+        }
+    }
 }
@@ -1,5 +1,26 @@
 package com.altf4studios.corebringer.slots;
 
+/**
+ * Ways a card can be placed when played.
+ * - BASIC: the card is played on its own
+ * - COMBINE: two cards of different kinds are played together for a small energy discount
+ * - EXTEND: two copies of the same card are merged into the card's next level
+ */
 public enum SlotType {
-    BASIC, COMBINE, EXTEND;
+    BASIC(1), COMBINE(2), EXTEND(2);
+
+    private final int cardsRequired;
+
+    SlotType(int cardsRequired) {
+        this.cardsRequired = cardsRequired;
+    }
+
+    public int getCardsRequired() {
+        return cardsRequired;
+    }
+
+    // Bit used for this slot type in SlotValidator's per-card masks
+    public int bit() {
+        return 1 << ordinal();
+    }
 }
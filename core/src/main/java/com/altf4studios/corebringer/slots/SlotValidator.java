@@ -1,4 +1,170 @@
 package com.altf4studios.corebringer.slots;
 
+import com.altf4studios.corebringer.screens.gamescreen.SampleCardHandler;
+import com.altf4studios.corebringer.utils.CardParser;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Singleton that precomputes every slot rule for the loaded card catalog into flat tables,
+ * so checks made while dragging (every hover event) are plain array reads instead of tag/id parsing.
+ * - slotMask[card]: which {@link SlotType}s the card can take part in at all
+ * - pairSlot[source * n + target]: slot formed by dropping source onto target (-1 if not allowed)
+ * - extendsTo[card]: index of the next-level card an EXTEND produces (-1 if none)
+ * {@link #isBuiltFrom(CardParser)} turns false once the catalog is reloaded; rebuild with {@link #initFrom(CardParser)}.
+ */
 public class SlotValidator {
+    // Highest energy a combined play may cost; matches the default max energy per turn
+    public static final int MAX_COMBINED_COST = 3;
+    // Energy saved by playing two different cards together
+    public static final int COMBINE_DISCOUNT = 1;
+    private static final int NONE = -1;
+    // SlotType.values() clones the array on every call; getPairSlot runs on every hover
+    private static final SlotType[] SLOT_TYPES = SlotType.values();
+
+    private static SlotValidator instance;
+
+    private final ObjectIntMap<String> indexByName = new ObjectIntMap<>();
+    private final ObjectIntMap<String> indexById = new ObjectIntMap<>();
+    private final Array<SampleCardHandler> cards = new Array<>();
+    private byte[] slotMask = new byte[0];
+    private byte[] pairSlot = new byte[0];
+    private int[] extendsTo = new int[0];
+    private int[] costs = new int[0];
+    private CardParser builtFrom;
+    private int builtFromVersion = -1;
+
+    private SlotValidator() {}
+
+    public static SlotValidator getInstance() {
+        if (instance == null) instance = new SlotValidator();
+        return instance;
+    }
+
+    /**
+     * Build the lookup tables from CardParser data. Safe to call multiple times; it rebuilds everything.
+     */
+    public void initFrom(CardParser parser) {
+        indexByName.clear();
+        indexById.clear();
+        cards.clear();
+        builtFrom = parser;
+        builtFromVersion = parser != null ? parser.getCatalogVersion() : -1;
+        if (parser != null && parser.isCardsLoaded()) {
+            for (SampleCardHandler c : parser.getAllCards()) {
+                if (c == null) continue;
+                int idx = cards.size;
+                cards.add(c);
+                if (c.name != null && c.name.length() > 0) indexByName.put(c.name, idx);
+                if (c.id != null && c.id.length() > 0) indexById.put(c.id, idx);
+            }
+        }
+
+        int n = cards.size;
+        String[] family = new String[n];
+        costs = new int[n];
+        extendsTo = new int[n];
+        for (int i = 0; i < n; i++) {
+            SampleCardHandler c = cards.get(i);
+            family[i] = familyOf(c.id);
+            costs[i] = Math.max(0, c.cost);
+            extendsTo[i] = NONE;
+        }
+        // Next level of the same family, e.g. basic_variable_slash_1 -> basic_variable_slash_2
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (family[i] != null && family[i].equals(family[j]) && cards.get(j).level == cards.get(i).level + 1) {
+                    extendsTo[i] = j;
+                    break;
+                }
+            }
+        }
+
+        slotMask = new byte[n];
+        pairSlot = new byte[n * n];
+        for (int s = 0; s < n; s++) {
+            slotMask[s] |= SlotType.BASIC.bit();
+            for (int t = 0; t < n; t++) {
+                int slot = NONE;
+                if (s == t && extendsTo[s] != NONE) {
+                    slot = SlotType.EXTEND.ordinal();
+                } else if (family[s] != null && !family[s].equals(family[t])
+                    && !sameKind(cards.get(s), cards.get(t))
+                    && costs[s] + costs[t] - COMBINE_DISCOUNT <= MAX_COMBINED_COST) {
+                    slot = SlotType.COMBINE.ordinal();
+                }
+                pairSlot[s * n + t] = (byte) slot;
+                if (slot != NONE) {
+                    slotMask[s] |= 1 << slot;
+                    slotMask[t] |= 1 << slot;
+                }
+            }
+        }
+        Gdx.app.log("SlotValidator", "Built slot tables for " + n + " cards");
+    }
+
+    public boolean isInitialized() {
+        return cards.size > 0;
+    }
+
+    /**
+     * True when the tables were built from this parser's current catalog (not from before a reload).
+     */
+    public boolean isBuiltFrom(CardParser parser) {
+        return parser != null && parser == builtFrom && parser.getCatalogVersion() == builtFromVersion;
+    }
+
+    public int getCardCount() {
+        return cards.size;
+    }
+
+    // Dense index of a card (by display name, as used for hand buttons), or -1
+    public int indexOfName(String name) {
+        return name == null ? NONE : indexByName.get(name, NONE);
+    }
+
+    public int indexOfId(String id) {
+        return id == null ? NONE : indexById.get(id, NONE);
+    }
+
+    public SampleCardHandler getCard(int index) {
+        return cards.get(index);
+    }
+
+    public int getCost(int index) {
+        return costs[index];
+    }
+
+    public boolean canPlace(int card, SlotType type) {
+        return card >= 0 && card < slotMask.length && (slotMask[card] & type.bit()) != 0;
+    }
+
+    /**
+     * Slot formed by dropping source onto target, or null if the two cards can't share a slot
+     */
+    public SlotType getPairSlot(int source, int target) {
+        int n = cards.size;
+        if (source < 0 || target < 0 || source >= n || target >= n) return null;
+        int slot = pairSlot[source * n + target];
+        return slot == NONE ? null : SLOT_TYPES[slot];
+    }
+
+    // Card produced by extending this one, or -1 if it is already at its highest level
+    public int getExtendedCard(int card) {
+        return card >= 0 && card < extendsTo.length ? extendsTo[card] : NONE;
+    }
+
+    // Card id without its trailing level number ("shield_final_shield_2" -> "shield_final_shield")
+    private static String familyOf(String id) {
+        if (id == null || id.isEmpty()) return null;
+        int end = id.length();
+        while (end > 0 && Character.isDigit(id.charAt(end - 1))) end--;
+        if (end > 0 && end < id.length() && id.charAt(end - 1) == '_') end--;
+        return id.substring(0, end);
+    }
+
+    private static boolean sameKind(SampleCardHandler a, SampleCardHandler b) {
+        return a.type != null && a.type.equalsIgnoreCase(b.type);
+    }
 }
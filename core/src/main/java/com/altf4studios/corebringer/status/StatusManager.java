@@ -40,6 +40,7 @@ public class StatusManager {
             effect.onApply();
             Gdx.app.log("StatusManager", "Applied " + statusName + " to " + entity.getName());
         }
+        entity.notifyChanged(Entity.CHANGED_STATUS);
     }
 
     /**
@@ -53,6 +54,7 @@ public class StatusManager {
             StatusEffect effect = statusMap.remove(statusName);
             effect.onRemove(entity);
             Gdx.app.log("StatusManager", "Removed " + statusName + " from " + entity.getName());
+            entity.notifyChanged(Entity.CHANGED_STATUS);
         }
     }
 
@@ -68,6 +70,7 @@ public class StatusManager {
             }
             statusMap.clear();
             Gdx.app.log("StatusManager", "Cleared all statuses from " + entity.getName());
+            entity.notifyChanged(Entity.CHANGED_STATUS);
         }
     }
 
@@ -128,6 +131,8 @@ public class StatusManager {
             StatusEffect effect = statusMap.remove(statusName);
             effect.onExpire(entity);
         }
+        // Powers and durations ticked even if nothing expired
+        entity.notifyChanged(Entity.CHANGED_STATUS);
     }
 
     /**
@@ -140,6 +145,7 @@ public class StatusManager {
             for (StatusEffect effect : statusMap.values()) {
                 effect.onTurnEnd(entity);
             }
+            entity.notifyChanged(Entity.CHANGED_STATUS);
         }
     }
 
@@ -156,6 +162,8 @@ public class StatusManager {
             for (StatusEffect effect : statusMap.values()) {
                 modifiedDamage = effect.modifyIncomingDamage(modifiedDamage, entity);
             }
+            // Shield-like effects spend their power while absorbing damage
+            entity.notifyChanged(Entity.CHANGED_STATUS);
             return modifiedDamage;
         }
         return baseDamage;
@@ -302,6 +310,7 @@ public class StatusManager {
                 StatusEffect effect = statusMap.remove(statusName);
                 effect.onExpire(entity);
             }
+            if (!expiredStatuses.isEmpty()) entity.notifyChanged(Entity.CHANGED_STATUS);
         }
     }
 
@@ -23,6 +23,15 @@ public class TurnManager {
     // Game over logging control
     private boolean gameOverLogged = false;
 
+    /**
+     * Notified when the phase switches between player and enemy turns.
+     */
+    public interface PhaseListener {
+        void onPhaseChanged(TurnPhase phase);
+    }
+
+    private PhaseListener phaseListener;
+
     // Poison resolution staging to make damage visible between turns - COMMENTED OUT
     // private enum PendingPoisonTarget { NONE, PLAYER, ENEMY }
     // private PendingPoisonTarget pendingPoisonTarget = PendingPoisonTarget.NONE;
@@ -35,6 +44,16 @@ public class TurnManager {
         this.currentPhase = TurnPhase.PLAYER_TURN;
     }
 
+    public void setPhaseListener(PhaseListener listener) {
+        this.phaseListener = listener;
+    }
+
+    private void setPhase(TurnPhase phase) {
+        if (currentPhase == phase) return;
+        currentPhase = phase;
+        if (phaseListener != null) phaseListener.onPhaseChanged(phase);
+    }
+
     public TurnPhase getCurrentPhase() {
         return currentPhase;
     }
@@ -51,7 +70,7 @@ public class TurnManager {
         if (currentPhase == TurnPhase.PLAYER_TURN) {
             // Clear enemy shield at end of player's turn
             if (enemy != null) enemy.clearBlock();
-            currentPhase = TurnPhase.ENEMY_TURN;
+            setPhase(TurnPhase.ENEMY_TURN);
             turnEnded = true;
 //            isDelaying = true;
 //            delayTimer = turnDelay;
@@ -66,7 +85,7 @@ public class TurnManager {
         if (currentPhase == TurnPhase.ENEMY_TURN) {
             // Clear player shield at end of enemy's turn
             if (player != null) player.clearBlock();
-            currentPhase = TurnPhase.PLAYER_TURN;
+            setPhase(TurnPhase.PLAYER_TURN);
             turnEnded = true;
             // Remove these lines to eliminate delay:
             // isDelaying = true;
@@ -109,7 +128,7 @@ public class TurnManager {
     }
 
     public void reset() {
-        currentPhase = TurnPhase.PLAYER_TURN;
+        setPhase(TurnPhase.PLAYER_TURN);
         turnEnded = false;
     }
 
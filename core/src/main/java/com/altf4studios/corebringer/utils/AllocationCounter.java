@@ -0,0 +1,37 @@
+package com.altf4studios.corebringer.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads how many bytes the current thread has allocated so far (HotSpot's
+ * com.sun.management.ThreadMXBean). Subtracting two readings around a frame gives
+ * that frame's allocation. Reports -1 on JVMs without the extension.
+ */
+public final class AllocationCounter {
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = lookup();
+
+    private AllocationCounter() {}
+
+    private static com.sun.management.ThreadMXBean lookup() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled()) sunBean.setThreadAllocatedMemoryEnabled(true);
+                    return sunBean;
+                }
+            }
+        } catch (Throwable ignored) {}
+        return null;
+    }
+
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    // Total bytes allocated by the calling thread, or -1 if unsupported
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : -1L;
+    }
+}
@@ -0,0 +1,125 @@
+package com.altf4studios.corebringer.utils;
+
+import com.altf4studios.corebringer.Utils;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Picks the pre-scaled copy of an asset for the current resolution tier (720/1080/1440).
+ * - The copies and assets/variants/manifest.json are written by the root build.gradle's
+ *   scaleAssetVariants task; without the manifest, or for a file with no copy at a tier,
+ *   resolve() returns the original path
+ * - Copies are mipmapped: atlases through their filter line, textures through the loader parameters
+ * - Callers remember the tier they loaded with and reload in resize() only when tierFor() differs,
+ *   not on every resize
+ * Paths may be given with or without the "assets/" prefix; the result keeps the same form.
+ */
+public final class AssetVariants {
+    private static final String TAG = "AssetVariants";
+    private static final String PREFIX = "assets/";
+    private static final String MANIFEST = "assets/variants/manifest.json";
+
+    private static AssetVariants instance;
+
+    private final int[] tiers;
+    // Path relative to assets/ -> tiers that have a copy
+    private final ObjectMap<String, IntArray> files = new ObjectMap<>();
+    private final TextureLoader.TextureParameter mipMapped = new TextureLoader.TextureParameter();
+
+    private AssetVariants() {
+        mipMapped.genMipMaps = true;
+        mipMapped.minFilter = Texture.TextureFilter.MipMapLinearLinear;
+        mipMapped.magFilter = Texture.TextureFilter.Linear;
+        int[] parsedTiers = new int[0];
+        FileHandle file = Utils.getInternalPath(MANIFEST);
+        try {
+            if (file.exists()) {
+                JsonValue manifest = new JsonReader().parse(file);
+                JsonValue t = manifest.get("tiers");
+                if (t != null) parsedTiers = t.asIntArray();
+                JsonValue list = manifest.get("files");
+                for (JsonValue f = list != null ? list.child : null; f != null; f = f.next) {
+                    files.put(f.name, new IntArray(f.asIntArray()));
+                }
+                Gdx.app.log(TAG, "Using variants of " + files.size + " assets (manifest v" + manifest.getInt("version", 0) + ")");
+            }
+        } catch (Exception e) {
+            Gdx.app.error(TAG, "Ignoring unreadable " + MANIFEST + ": " + e.getMessage());
+            files.clear();
+            parsedTiers = new int[0];
+        }
+        tiers = parsedTiers;
+    }
+
+    public static AssetVariants getInstance() {
+        if (instance == null) {
+            instance = new AssetVariants();
+        }
+        return instance;
+    }
+
+    /**
+     * Tier for the current back buffer (0 when there are no variants).
+     */
+    public int currentTier() {
+        return tierFor(Gdx.graphics.getBackBufferHeight());
+    }
+
+    public int tierFor(int backBufferHeight) {
+        return selectTier(tiers, backBufferHeight);
+    }
+
+    public String resolve(String path) {
+        return resolve(path, currentTier());
+    }
+
+    /**
+     * Path of the copy for the tier, or the path itself when there is none.
+     */
+    public String resolve(String path, int tier) {
+        boolean prefixed = path.startsWith(PREFIX);
+        String rel = prefixed ? path.substring(PREFIX.length()) : path;
+        IntArray available = files.get(rel);
+        if (available == null || !available.contains(tier)) return path;
+        return (prefixed ? PREFIX : "") + "variants/" + tier + "/" + rel;
+    }
+
+    public boolean isVariant(String resolvedPath) {
+        return resolvedPath.contains("variants/");
+    }
+
+    /**
+     * AssetManager parameters for a resolved texture path: mipmapped for copies, default (null) otherwise.
+     */
+    public TextureLoader.TextureParameter textureParameter(String resolvedPath) {
+        return isVariant(resolvedPath) ? mipMapped : null;
+    }
+
+    /**
+     * Load the copy of a texture for the tier directly (for code that doesn't use the AssetManager).
+     */
+    public Texture loadTexture(String path, int tier) {
+        String resolved = resolve(path, tier);
+        boolean variant = isVariant(resolved);
+        Texture texture = new Texture(Utils.getInternalPath(resolved), variant);
+        if (variant) texture.setFilter(mipMapped.minFilter, mipMapped.magFilter);
+        return texture;
+    }
+
+    // Smallest tier at least as tall as the back buffer, else the largest (0 without tiers)
+    public static int selectTier(int[] tiers, int screenHeight) {
+        int best = -1;
+        int largest = 0;
+        for (int tier : tiers) {
+            largest = Math.max(largest, tier);
+            if (tier >= screenHeight && (best < 0 || tier < best)) best = tier;
+        }
+        return best > 0 ? best : largest;
+    }
+}
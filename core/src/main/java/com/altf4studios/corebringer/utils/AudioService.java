@@ -0,0 +1,401 @@
+package com.altf4studios.corebringer.utils;
+
+import com.altf4studios.corebringer.Utils;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * Music and sound effects.
+ * - Tracks are named by type ("menu", "map", "battle", "boss"); after a track starts, the tracks
+ *   the screen route leads to next (menu -> map -> battle/boss -> map) are read ahead on the job
+ *   executor, then opened and primed on the render thread, so switching to them doesn't stall on
+ *   file open and decoder setup
+ * - crossfadeTo() fades the old track out while the new one fades in (equal power); all fades
+ *   advance in update(), which Main calls once per frame
+ * - Small sound effects are loaded once as decoded Sounds and shared with reference counting
+ * - getStats() reports how long starting a track took, primed and cold
+ * Render thread only (except the read-ahead jobs, which only touch files).
+ */
+public final class AudioService {
+    private static final String TAG = "AudioService";
+    public static final float DEFAULT_CROSSFADE = 1.2f;
+    // Primed tracks kept besides the one playing
+    public static final int MAX_PRIMED = 2;
+    // Compressed file size; a Sound is held fully decoded (roughly 10x the .ogg), so longer clips belong in a Music
+    public static final long MAX_SOUND_BYTES = 256 * 1024;
+    // A fade never advances more than this per frame, so a long frame doesn't cut it short
+    private static final float MAX_FADE_STEP = 1f / 20f;
+
+    private static final ObjectMap<String, String> TRACKS = new ObjectMap<>();
+    private static final ObjectMap<String, String[]> ROUTE = new ObjectMap<>();
+
+    static {
+        TRACKS.put("menu", "audio/Mortal-Gaming-144000-(GameIntro1).ogg");
+        TRACKS.put("intro", "audio/Mortal-Gaming-144000-(GameIntro1).ogg");
+        TRACKS.put("map", "audio/To-The-Teath-159171-(NormalBattleMusic1).ogg");
+        TRACKS.put("battle", "audio/0-Top-Battle-Game-BGM-264625-(NormalBattleMusic2).ogg");
+        TRACKS.put("boss", "audio/Boss-Fight-Music-287355-(BossFightMusic1).ogg");
+        ROUTE.put("menu", new String[]{"map"});
+        ROUTE.put("intro", new String[]{"map"});
+        ROUTE.put("map", new String[]{"battle", "boss"});
+        ROUTE.put("battle", new String[]{"map"});
+        ROUTE.put("boss", new String[]{"map", "menu"});
+    }
+
+    private static AudioService instance;
+
+    private static final class Fade {
+        Music music;
+        // Track type, so a track still fading out can be taken back
+        String type;
+        float from;
+        float to;
+        float duration;
+        float elapsed;
+        boolean stopAtEnd;
+        boolean disposeAtEnd;
+        Runnable onDone;
+    }
+
+    private final Array<Fade> fades = new Array<>();
+    private final Array<Fade> finished = new Array<>();
+    private final ObjectMap<String, Music> primed = new ObjectMap<>();
+    private final ObjectSet<String> reading = new ObjectSet<>();
+    private final ObjectMap<String, Sound> sounds = new ObjectMap<>();
+    private final ObjectIntMap<String> soundRefs = new ObjectIntMap<>();
+    private Music current;
+    private String currentType;
+    private float volume = 1f;
+
+    // Metrics (microseconds)
+    private int primedStarts = 0;
+    private int coldStarts = 0;
+    private long primedStartMicros = 0;
+    private long coldStartMicros = 0;
+    private long maxColdStartMicros = 0;
+    private int primes = 0;
+    private long primeMicros = 0;
+    private int soundLoads = 0;
+    private long soundLoadMicros = 0;
+
+    private AudioService() {
+    }
+
+    public static AudioService getInstance() {
+        if (instance == null) {
+            instance = new AudioService();
+        }
+        return instance;
+    }
+
+    public static String trackPath(String type) {
+        String path = TRACKS.get(type);
+        return path != null ? path : TRACKS.get("menu");
+    }
+
+    public Music getCurrent() {
+        return current;
+    }
+
+    public String getCurrentType() {
+        return currentType;
+    }
+
+    /**
+     * Music volume (0..1) that tracks fade in to.
+     */
+    public void setVolume(float volume) {
+        this.volume = Math.max(0f, Math.min(1f, volume));
+    }
+
+    /**
+     * Switch to the track, fading the current one out over the same duration.
+     * The same track already playing just gets the current volume.
+     */
+    public Music crossfadeTo(String type, float duration) {
+        // Unknown types (e.g. "options") and aliases share the menu track
+        if (!TRACKS.containsKey(type) || trackPath(type).equals(trackPath("menu"))) type = "menu";
+        if (type.equals(currentType) && current != null) {
+            if (current.isPlaying()) {
+                if (findFade(current) == null) current.setVolume(volume);
+            } else {
+                // Stopped by a fade-out (pause, mute): start it again rather than reopening
+                current.setVolume(0f);
+                current.play();
+                fade(current, type, volume, duration, false, false, null);
+            }
+            return current;
+        }
+        long start = System.nanoTime();
+        Music incoming = reclaim(type);
+        boolean wasPrimed = incoming != null;
+        if (incoming == null) {
+            incoming = primed.remove(type);
+            wasPrimed = incoming != null;
+        }
+        if (incoming == null) {
+            try {
+                incoming = open(type);
+            } catch (Exception e) {
+                Gdx.app.error(TAG, "Error loading music " + trackPath(type) + ": " + e.getMessage());
+                return current;
+            }
+        }
+        if (current != null) {
+            fade(current, currentType, 0f, duration, true, true, null);
+        }
+        current = incoming;
+        currentType = type;
+        if (!current.isPlaying()) {
+            current.setVolume(0f);
+            current.play();
+        }
+        long micros = (System.nanoTime() - start) / 1000L;
+        if (wasPrimed) {
+            primedStarts++;
+            primedStartMicros += micros;
+        } else {
+            coldStarts++;
+            coldStartMicros += micros;
+            if (micros > maxColdStartMicros) maxColdStartMicros = micros;
+        }
+        fade(current, type, volume, duration, false, false, null);
+        Gdx.app.log(TAG, "Crossfading to " + type + " over " + duration + "s (" + (wasPrimed ? "primed" : "cold") + ", "
+            + (micros / 1000f) + " ms)");
+        prefetchRoute(type);
+        return current;
+    }
+
+    /**
+     * Fade a track to a volume; replaces any fade already running on it.
+     */
+    public void fadeTo(Music music, float to, float duration, boolean stopAtEnd, Runnable onDone) {
+        fade(music, null, to, duration, stopAtEnd, false, onDone);
+    }
+
+    public void cancelFade(Music music) {
+        Fade f = findFade(music);
+        if (f != null) fades.removeValue(f, true);
+    }
+
+    /**
+     * Advance the fades. Call once per frame.
+     */
+    public void update(float delta) {
+        float step = Math.min(delta, MAX_FADE_STEP);
+        for (int i = fades.size - 1; i >= 0; i--) {
+            Fade f = fades.get(i);
+            f.elapsed += step;
+            float t = f.duration <= 0f ? 1f : Math.min(1f, f.elapsed / f.duration);
+            // Equal-power curve: an incoming and an outgoing track sum to constant loudness
+            float shape = f.to > f.from ? (float) Math.sin(t * Math.PI / 2) : 1f - (float) Math.cos(t * Math.PI / 2);
+            try { f.music.setVolume(f.from + (f.to - f.from) * shape); } catch (Exception ignored) {}
+            if (t < 1f) continue;
+            fades.removeIndex(i);
+            finished.add(f);
+        }
+        // Callbacks may start new fades, so they run after the walk
+        for (int i = 0; i < finished.size; i++) {
+            Fade f = finished.get(i);
+            if (f.stopAtEnd) {
+                try { f.music.stop(); } catch (Exception ignored) {}
+            }
+            if (f.disposeAtEnd) {
+                try { f.music.dispose(); } catch (Exception ignored) {}
+            }
+            if (f.onDone != null) f.onDone.run();
+        }
+        finished.clear();
+    }
+
+    public boolean isFading() {
+        return fades.size > 0;
+    }
+
+    /**
+     * Stop the current track immediately (e.g. on mute). Primed tracks stay ready.
+     */
+    public void stopCurrent() {
+        if (current == null) return;
+        cancelFade(current);
+        try { current.stop(); } catch (Exception ignored) {}
+    }
+
+    /**
+     * A shared decoded sound effect; pair every call with {@link #releaseSound(String)}.
+     * Returns null for a missing or oversized file.
+     */
+    public Sound acquireSound(String path) {
+        Sound sound = sounds.get(path);
+        if (sound == null) {
+            FileHandle file = Utils.getInternalPath(path);
+            if (!file.exists() || file.length() > MAX_SOUND_BYTES) {
+                Gdx.app.error(TAG, "Not caching sound " + path + (file.exists() ? " (" + file.length() / 1024 + " KB, use a Music)" : " (missing)"));
+                return null;
+            }
+            long start = System.nanoTime();
+            sound = Gdx.audio.newSound(file);
+            soundLoads++;
+            soundLoadMicros += (System.nanoTime() - start) / 1000L;
+            sounds.put(path, sound);
+        }
+        soundRefs.getAndIncrement(path, 0, 1);
+        return sound;
+    }
+
+    public void releaseSound(String path) {
+        if (!soundRefs.containsKey(path)) return;
+        int refs = soundRefs.getAndIncrement(path, 0, -1) - 1;
+        if (refs > 0) return;
+        soundRefs.remove(path, 0);
+        Sound sound = sounds.remove(path);
+        if (sound != null) sound.dispose();
+    }
+
+    /**
+     * Play an acquired sound at the music volume; returns the sound id or -1 if it isn't loaded.
+     */
+    public long playSound(String path) {
+        Sound sound = sounds.get(path);
+        return sound != null ? sound.play(volume) : -1L;
+    }
+
+    public String getStats() {
+        return "track " + (currentType != null ? currentType : "none") + ", primed " + primed.size + " " + primedKeys()
+            + ", starts primed " + primedStarts + " (avg " + avgMillis(primedStartMicros, primedStarts) + " ms)"
+            + ", cold " + coldStarts + " (avg " + avgMillis(coldStartMicros, coldStarts) + " ms, max " + (maxColdStartMicros / 1000f) + " ms)"
+            + ", prime avg " + avgMillis(primeMicros, primes) + " ms"
+            + ", sounds " + sounds.size + " (load avg " + avgMillis(soundLoadMicros, soundLoads) + " ms)";
+    }
+
+    public void dispose() {
+        for (Fade f : fades) {
+            if (f.disposeAtEnd) {
+                try { f.music.dispose(); } catch (Exception ignored) {}
+            }
+        }
+        fades.clear();
+        for (Music m : primed.values()) {
+            try { m.dispose(); } catch (Exception ignored) {}
+        }
+        primed.clear();
+        if (current != null) {
+            try { current.dispose(); } catch (Exception ignored) {}
+            current = null;
+            currentType = null;
+        }
+        for (Sound s : sounds.values()) {
+            try { s.dispose(); } catch (Exception ignored) {}
+        }
+        sounds.clear();
+        soundRefs.clear();
+    }
+
+    private void fade(Music music, String type, float to, float duration, boolean stopAtEnd, boolean disposeAtEnd, Runnable onDone) {
+        cancelFade(music);
+        Fade f = new Fade();
+        f.music = music;
+        f.type = type;
+        f.from = music.getVolume();
+        f.to = to;
+        f.duration = duration;
+        f.stopAtEnd = stopAtEnd;
+        f.disposeAtEnd = disposeAtEnd;
+        f.onDone = onDone;
+        fades.add(f);
+    }
+
+    private Fade findFade(Music music) {
+        for (Fade f : fades) {
+            if (f.music == music) return f;
+        }
+        return null;
+    }
+
+    // A track still fading out on its way to disposal (e.g. map -> battle -> map within a second)
+    private Music reclaim(String type) {
+        for (Fade f : fades) {
+            if (f.disposeAtEnd && type.equals(f.type)) {
+                fades.removeValue(f, true);
+                return f.music;
+            }
+        }
+        return null;
+    }
+
+    private Music open(String type) {
+        Music music = Gdx.audio.newMusic(Utils.getInternalPath(trackPath(type)));
+        music.setLooping(true);
+        return music;
+    }
+
+    // Read the next tracks' files ahead (warms the OS cache), then prime them on the render thread
+    private void prefetchRoute(String type) {
+        String[] next = ROUTE.get(type);
+        // Drop primed tracks the route no longer leads to
+        for (ObjectMap.Entries<String, Music> it = primed.entries(); it.hasNext(); ) {
+            ObjectMap.Entry<String, Music> e = it.next();
+            if (!contains(next, e.key)) {
+                try { e.value.dispose(); } catch (Exception ignored) {}
+                it.remove();
+            }
+        }
+        if (next == null) return;
+        for (final String t : next) {
+            if (primed.size + reading.size >= MAX_PRIMED) break;
+            if (t.equals(currentType) || primed.containsKey(t) || reading.contains(t)) continue;
+            reading.add(t);
+            final FileHandle file = Utils.getInternalPath(trackPath(t));
+            JobExecutor.getInstance().execute(() -> {
+                try { file.readBytes(); } catch (Exception ignored) {}
+                Gdx.app.postRunnable(() -> prime(t));
+            });
+        }
+    }
+
+    private void prime(String type) {
+        reading.remove(type);
+        // The route may have moved on while the file was read
+        if (currentType == null || type.equals(currentType) || primed.containsKey(type) || !contains(ROUTE.get(currentType), type)) return;
+        long start = System.nanoTime();
+        try {
+            Music music = open(type);
+            // Starting once creates the decoder and fills the stream buffers; pause keeps them
+            music.setVolume(0f);
+            music.play();
+            music.pause();
+            primed.put(type, music);
+            primes++;
+            primeMicros += (System.nanoTime() - start) / 1000L;
+        } catch (Exception e) {
+            Gdx.app.error(TAG, "Could not prime " + type + ": " + e.getMessage());
+        }
+    }
+
+    private String primedKeys() {
+        StringBuilder sb = new StringBuilder("[");
+        for (String k : primed.keys()) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static boolean contains(String[] values, String value) {
+        if (values == null) return false;
+        for (String v : values) {
+            if (v.equals(value)) return true;
+        }
+        return false;
+    }
+
+    private static String avgMillis(long totalMicros, int count) {
+        return count == 0 ? "-" : String.valueOf(Math.round(totalMicros / (float) count) / 1000f);
+    }
+}
@@ -17,6 +17,8 @@ public class CardParser {
     private static final String CARDS_FILE_PATH = "assets/cards.json";
     private static CardParser instance;
     private Array<SampleCardHandler> allCards;
+    // Bumped on every (re)load, so caches built from the catalog can tell they are stale
+    private int catalogVersion = 0;
     
     /**
      * Private constructor for singleton pattern
@@ -46,6 +48,7 @@ public class CardParser {
             JsonValue root = new JsonReader().parse(Gdx.files.internal(CARDS_FILE_PATH));
 
             allCards.clear();
+            catalogVersion++;
             for (JsonValue cardJson : root.get("cards")) {
                 // Manually map to support both old and new schemas
                 SampleCardHandler card = new SampleCardHandler();
@@ -269,6 +272,14 @@ public class CardParser {
         }
     }
     
+    /**
+     * Number of times the catalog was (re)loaded
+     * @return catalog version, 0 before the first load
+     */
+    public int getCatalogVersion() {
+        return catalogVersion;
+    }
+    
     /**
      * Check if cards are loaded
      * @return true if cards are loaded, false otherwise
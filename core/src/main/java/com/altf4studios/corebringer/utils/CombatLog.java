@@ -8,6 +8,8 @@ public class CombatLog {
     private static Array<LogEntry> logEntries = new Array<>();
     private static final int MAX_ENTRIES = 100; // Prevent memory issues
     private static final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+    // Optional hook so the battle UI can refresh on new entries instead of polling
+    private static Runnable changeListener;
     
     public static class LogEntry {
         public final String message;
@@ -57,6 +59,16 @@ public class CombatLog {
         
         // Also print to console for debugging
         System.out.println("[CombatLog] " + entry.toString());
+        if (changeListener != null) changeListener.run();
+    }
+
+    // Set (or clear with null) the single listener notified after entries are added or cleared
+    public static void setChangeListener(Runnable listener) {
+        changeListener = listener;
+    }
+
+    public static Runnable getChangeListener() {
+        return changeListener;
     }
     
     // Convenience methods for different log types
@@ -102,6 +114,7 @@ public class CombatLog {
     // Clear the log
     public static void clear() {
         logEntries.clear();
+        if (changeListener != null) changeListener.run();
     }
     
     // Legacy method for backward compatibility
@@ -0,0 +1,39 @@
+package com.altf4studios.corebringer.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 of one or more strings, as a hex key for caches (compile results, grading verdicts).
+ * Parts are length-prefixed, so ("ab", "c") and ("a", "bc") hash differently.
+ */
+public final class ContentHash {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ContentHash() {
+    }
+
+    public static String of(String... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+        for (String part : parts) {
+            String s = part == null ? "" : part;
+            int len = part == null ? -1 : s.length();
+            digest.update(new byte[]{(byte) (len >>> 24), (byte) (len >>> 16), (byte) (len >>> 8), (byte) len});
+            digest.update(s.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] bytes = digest.digest();
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            out[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            out[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,251 @@
+package com.altf4studios.corebringer.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Frame-time recorder for the battle screen.
+ * - Every frame's total time and a per-section CPU breakdown go into fixed-size histograms
+ * - Once per window the p50/p95/p99/max of each section is stored in a rolling history
+ *   and formatted into a reusable HUD string
+ * - Bytes allocated on the render thread per frame are tracked too (see {@link AllocationCounter}),
+ *   so a steady frame can be confirmed to allocate nothing
+ * - The history can be exported to CSV to compare runs before and after a change
+ * Nothing is allocated while recording; it only costs two nanoTime() calls per section while enabled.
+ */
+public final class FrameProfiler {
+    private static final String TAG = "FrameProfiler";
+    private static final String EXPORT_DIR = "Core Bringer/profiling/";
+
+    public static final float WINDOW_SECONDS = 1f;
+    // Rolling history kept for CSV export (2 minutes at the default window)
+    public static final int HISTORY_WINDOWS = 120;
+
+    public enum Section {
+        FRAME("frame"),
+        BATTLE_ACT("battleStage.act"),
+        BATTLE_DRAW("battleStage.draw"),
+        CARD_STAGE("cardStage"),
+        UI_STAGE("uiStage"),
+        OVERLAY_STAGE("overlayStage"),
+        BATTLE_MANAGER("battleManager.update");
+
+        private final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Section[] SECTIONS = Section.values();
+    // p50, p95, p99, max per section per window
+    private static final int STATS = 4;
+
+    private static FrameProfiler instance;
+
+    private final FrameTimeHistogram[] histograms = new FrameTimeHistogram[SECTIONS.length];
+    private final long[] sectionStart = new long[SECTIONS.length];
+    private final long[] history = new long[HISTORY_WINDOWS * SECTIONS.length * STATS];
+    private final int[] historySamples = new int[HISTORY_WINDOWS * SECTIONS.length];
+    // Average bytes allocated per frame for each window (-1 when unsupported)
+    private final long[] historyAllocPerFrame = new long[HISTORY_WINDOWS];
+    private int historyHead = 0;
+    private int historySize = 0;
+    private int windowIndex = 0;
+
+    private final StringBuilder hudText = new StringBuilder(512);
+    private int hudVersion = 0;
+    private float windowTimer = 0f;
+    private long frameAllocStart = -1L;
+    private long windowAllocBytes = 0L;
+    private long windowAllocMax = 0L;
+    private int windowAllocFrames = 0;
+    private int windowZeroAllocFrames = 0;
+    private boolean enabled = false;
+
+    private FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new FrameTimeHistogram();
+    }
+
+    public static FrameProfiler getInstance() {
+        if (instance == null) {
+            instance = new FrameProfiler();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn recording (and the HUD) on or off. Turning it on starts a fresh history.
+     */
+    public boolean toggle() {
+        enabled = !enabled;
+        if (enabled) reset();
+        Gdx.app.log(TAG, "Frame profiler " + (enabled ? "enabled" : "disabled"));
+        return enabled;
+    }
+
+    public void reset() {
+        for (FrameTimeHistogram h : histograms) h.reset();
+        historyHead = 0;
+        historySize = 0;
+        windowIndex = 0;
+        windowTimer = 0f;
+        resetAllocationWindow();
+        frameAllocStart = -1L;
+        hudText.setLength(0);
+        hudText.append("Frame profiler: collecting...");
+        hudVersion++;
+    }
+
+    /**
+     * Mark the start of a frame for allocation tracking. Call first thing in render().
+     */
+    public void beginFrame() {
+        if (!enabled) return;
+        frameAllocStart = AllocationCounter.currentThreadAllocatedBytes();
+    }
+
+    public void begin(Section section) {
+        if (!enabled) return;
+        sectionStart[section.ordinal()] = System.nanoTime();
+    }
+
+    public void end(Section section) {
+        if (!enabled) return;
+        int i = section.ordinal();
+        histograms[i].record((System.nanoTime() - sectionStart[i]) / 1000L);
+    }
+
+    /**
+     * Record the whole frame (delta between frames, which includes vsync/GPU waits) and
+     * close the window when it is full. Call once at the end of render().
+     */
+    public void endFrame(float delta) {
+        if (!enabled) return;
+        histograms[Section.FRAME.ordinal()].record((long) (delta * 1_000_000f));
+        if (frameAllocStart >= 0L) {
+            long bytes = AllocationCounter.currentThreadAllocatedBytes() - frameAllocStart;
+            windowAllocBytes += bytes;
+            if (bytes > windowAllocMax) windowAllocMax = bytes;
+            if (bytes == 0L) windowZeroAllocFrames++;
+            windowAllocFrames++;
+            frameAllocStart = -1L;
+        }
+        windowTimer += delta;
+        if (windowTimer >= WINDOW_SECONDS) {
+            closeWindow();
+            windowTimer = 0f;
+        }
+    }
+
+    // Text of the last closed window; compare getHudVersion() to avoid re-setting unchanged labels
+    public CharSequence getHudText() {
+        return hudText;
+    }
+
+    public int getHudVersion() {
+        return hudVersion;
+    }
+
+    private void closeWindow() {
+        int slot = historyHead;
+        hudText.setLength(0);
+        hudText.append("ms       p50    p95    p99    max");
+        for (int s = 0; s < SECTIONS.length; s++) {
+            FrameTimeHistogram h = histograms[s];
+            int base = (slot * SECTIONS.length + s) * STATS;
+            history[base] = h.percentile(50f);
+            history[base + 1] = h.percentile(95f);
+            history[base + 2] = h.percentile(99f);
+            history[base + 3] = h.getMaxMicros();
+            historySamples[slot * SECTIONS.length + s] = h.getCount();
+
+            hudText.append('\n').append(SECTIONS[s].getLabel());
+            for (int k = 0; k < STATS; k++) {
+                hudText.append("  ");
+                appendMillis(hudText, history[base + k]);
+            }
+            h.reset();
+        }
+        if (windowAllocFrames > 0) {
+            historyAllocPerFrame[slot] = windowAllocBytes / windowAllocFrames;
+            hudText.append("\nalloc B/frame  avg ").append(historyAllocPerFrame[slot])
+                .append("  max ").append(windowAllocMax)
+                .append("  zero ").append(windowZeroAllocFrames * 100 / windowAllocFrames).append('%');
+        } else {
+            historyAllocPerFrame[slot] = -1L;
+        }
+        resetAllocationWindow();
+        historyHead = (historyHead + 1) % HISTORY_WINDOWS;
+        if (historySize < HISTORY_WINDOWS) historySize++;
+        windowIndex++;
+        hudVersion++;
+    }
+
+    private void resetAllocationWindow() {
+        windowAllocBytes = 0L;
+        windowAllocMax = 0L;
+        windowAllocFrames = 0;
+        windowZeroAllocFrames = 0;
+    }
+
+    // Append micros as milliseconds with two decimals without going through String.format
+    private static void appendMillis(StringBuilder sb, long micros) {
+        long hundredths = (micros + 5) / 10;
+        sb.append(hundredths / 100).append('.');
+        long frac = hundredths % 100;
+        if (frac < 10) sb.append('0');
+        sb.append(frac);
+    }
+
+    /**
+     * Write the rolling history to external "Core Bringer/profiling/frame_times_<time>.csv".
+     * One row per window and section, times in milliseconds. Returns the file path or null.
+     */
+    public String exportCsv() {
+        if (historySize == 0) {
+            Gdx.app.log(TAG, "Nothing to export yet (enable with F12 and play for a few seconds)");
+            return null;
+        }
+        try {
+            StringBuilder csv = new StringBuilder(historySize * SECTIONS.length * 48);
+            csv.append("window,section,samples,p50_ms,p95_ms,p99_ms,max_ms,alloc_bytes_per_frame\n");
+            int oldest = (historyHead - historySize + HISTORY_WINDOWS) % HISTORY_WINDOWS;
+            int firstWindow = windowIndex - historySize;
+            for (int w = 0; w < historySize; w++) {
+                int slot = (oldest + w) % HISTORY_WINDOWS;
+                for (int s = 0; s < SECTIONS.length; s++) {
+                    int base = (slot * SECTIONS.length + s) * STATS;
+                    csv.append(firstWindow + w).append(',')
+                        .append(SECTIONS[s].getLabel()).append(',')
+                        .append(historySamples[slot * SECTIONS.length + s]);
+                    for (int k = 0; k < STATS; k++) {
+                        csv.append(',');
+                        appendMillis(csv, history[base + k]);
+                    }
+                    // Allocation is per frame, so it is only reported on the frame row
+                    csv.append(',');
+                    if (SECTIONS[s] == Section.FRAME && historyAllocPerFrame[slot] >= 0L) {
+                        csv.append(historyAllocPerFrame[slot]);
+                    }
+                    csv.append('\n');
+                }
+            }
+            FileHandle file = Gdx.files.external(EXPORT_DIR + "frame_times_" + System.currentTimeMillis() + ".csv");
+            file.writeString(csv.toString(), false);
+            Gdx.app.log(TAG, "Exported " + historySize + " windows to " + file.path());
+            return file.path();
+        } catch (Exception e) {
+            Gdx.app.error(TAG, "Failed to export frame times: " + e.getMessage());
+            return null;
+        }
+    }
+}
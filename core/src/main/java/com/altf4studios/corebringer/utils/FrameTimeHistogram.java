@@ -0,0 +1,68 @@
+package com.altf4studios.corebringer.utils;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of durations in microseconds.
+ * - Buckets are BUCKET_MICROS wide up to MAX_TRACKED_MICROS; anything slower lands in the last bucket
+ * - The exact maximum is tracked separately so long stalls are never hidden by the overflow bucket
+ * - record() and percentile() never allocate, so it is safe to use every frame
+ */
+public final class FrameTimeHistogram {
+    public static final int BUCKET_MICROS = 50;
+    public static final int MAX_TRACKED_MICROS = 100_000;
+    private static final int BUCKET_COUNT = MAX_TRACKED_MICROS / BUCKET_MICROS + 1;
+
+    private final int[] buckets = new int[BUCKET_COUNT];
+    private int count = 0;
+    private long maxMicros = 0;
+    private long totalMicros = 0;
+
+    public void record(long micros) {
+        if (micros < 0) micros = 0;
+        int bucket = (int) Math.min(micros / BUCKET_MICROS, BUCKET_COUNT - 1);
+        buckets[bucket]++;
+        count++;
+        totalMicros += micros;
+        if (micros > maxMicros) maxMicros = micros;
+    }
+
+    /**
+     * Upper bound (in microseconds) of the bucket holding the given percentile (0..100).
+     * Returns 0 when nothing was recorded; the overflow bucket reports the exact max.
+     */
+    public long percentile(float percent) {
+        if (count == 0) return 0;
+        // Nearest-rank: the smallest value with at least percent% of samples at or below it
+        int rank = (int) Math.ceil(percent / 100f * count);
+        if (rank < 1) rank = 1;
+        int seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                if (i == BUCKET_COUNT - 1) return maxMicros;
+                return Math.min((long) (i + 1) * BUCKET_MICROS, maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public long getMeanMicros() {
+        return count == 0 ? 0 : totalMicros / count;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        maxMicros = 0;
+        totalMicros = 0;
+    }
+}
@@ -0,0 +1,261 @@
+package com.altf4studios.corebringer.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared scheduler for work that must not block the render thread, and for UI delays.
+ * - runAsync(): blocking work (compile/run, file I/O) on the {@link JobExecutor}
+ *   (virtual threads on JDK 21+, a bounded pool on 17)
+ * - schedule(): frame-synchronized timers that fire on the render thread from update(delta),
+ *   so UI sequences need no sleeping threads and no postRunnable hops
+ * - Everything is tagged with an owner (usually the screen); cancelAll(owner) from hide()
+ *   drops its pending timers and any worker task that hasn't started yet
+ * - Queue depth and task wait/run latency are tracked and reported by getStats()
+ */
+public final class GameScheduler {
+    private static final String TAG = "GameScheduler";
+    private static GameScheduler instance;
+
+    /**
+     * Handle to a scheduled timer or worker task.
+     */
+    public static final class Task {
+        private final Object owner;
+        private final String name;
+        private final Runnable action;
+        private float remaining;
+        private volatile boolean cancelled;
+        // Worker tasks: won by either the worker starting it or a cancel before that, and only the
+        // winner updates the queue counters
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private GameScheduler scheduler;
+        private volatile Future<?> future;
+
+        private Task(Object owner, String name, Runnable action, float delay) {
+            this.owner = owner;
+            this.name = name;
+            this.action = action;
+            this.remaining = delay;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            // Queued worker tasks are removed; a running one finishes (no interrupt mid-compile)
+            if (scheduler != null) scheduler.unqueue(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final JobExecutor jobs;
+    private final Array<Task> timers = new Array<>(false, 16);
+    private final Array<Task> due = new Array<>(false, 16);
+    // Worker tasks not yet finished, so they can be cancelled by owner
+    private final Array<Task> pendingWork = new Array<>(false, 8);
+
+    // Metrics
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong totalWaitMicros = new AtomicLong();
+    private final AtomicLong maxWaitMicros = new AtomicLong();
+    private final AtomicLong totalRunMicros = new AtomicLong();
+    private final AtomicLong maxRunMicros = new AtomicLong();
+    private long timersFired = 0;
+
+    private GameScheduler() {
+        jobs = JobExecutor.getInstance();
+    }
+
+    public static synchronized GameScheduler getInstance() {
+        if (instance == null) {
+            instance = new GameScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Run blocking work on the worker pool. Post UI updates back with Gdx.app.postRunnable.
+     */
+    public Task runAsync(Object owner, String name, Runnable work) {
+        final Task task = new Task(owner, name, work, 0f);
+        task.scheduler = this;
+        final long queuedAt = System.nanoTime();
+        synchronized (pendingWork) {
+            pendingWork.add(task);
+        }
+        submitted.incrementAndGet();
+        int depth = queued.incrementAndGet();
+        if (depth > maxQueueDepth.get()) maxQueueDepth.set(depth);
+        task.future = jobs.executor().submit(() -> {
+            if (!task.claimed.compareAndSet(false, true)) return; // cancelled while queued
+            queued.decrementAndGet();
+            running.incrementAndGet();
+            long startedAt = System.nanoTime();
+            recordMax(maxWaitMicros, totalWaitMicros, (startedAt - queuedAt) / 1000L);
+            try {
+                if (!task.cancelled) {
+                    work.run();
+                    completed.incrementAndGet();
+                }
+            } catch (Throwable t) {
+                failed.incrementAndGet();
+                Gdx.app.error(TAG, "Task '" + name + "' failed: " + t.getMessage());
+            } finally {
+                running.decrementAndGet();
+                recordMax(maxRunMicros, totalRunMicros, (System.nanoTime() - startedAt) / 1000L);
+                synchronized (pendingWork) {
+                    pendingWork.removeValue(task, true);
+                }
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Run the action on the render thread after the given delay (in game seconds).
+     * Must be called from the render thread.
+     */
+    public Task schedule(Object owner, float delaySeconds, Runnable action) {
+        Task task = new Task(owner, null, action, delaySeconds);
+        timers.add(task);
+        return task;
+    }
+
+    /**
+     * Advance timers; call once per frame from the render thread.
+     */
+    public void update(float delta) {
+        if (timers.size == 0) return;
+        // Collect due timers first so actions may freely schedule or cancel others
+        for (int i = timers.size - 1; i >= 0; i--) {
+            Task task = timers.get(i);
+            if (task.cancelled) {
+                timers.removeIndex(i);
+                continue;
+            }
+            task.remaining -= delta;
+            if (task.remaining <= 0f) {
+                timers.removeIndex(i);
+                due.add(task);
+            }
+        }
+        for (int i = due.size - 1; i >= 0; i--) {
+            Task task = due.get(i);
+            if (task.cancelled) continue; // cancelled by an earlier action this frame
+            timersFired++;
+            try {
+                task.action.run();
+            } catch (Exception e) {
+                Gdx.app.error(TAG, "Timer action failed: " + e.getMessage());
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * Cancel every pending timer and not-yet-started worker task of this owner. Call from Screen.hide().
+     */
+    public void cancelAll(Object owner) {
+        if (owner == null) return;
+        for (int i = timers.size - 1; i >= 0; i--) {
+            Task task = timers.get(i);
+            if (task.owner == owner) {
+                task.cancel();
+                timers.removeIndex(i);
+                cancelledCount.incrementAndGet();
+            }
+        }
+        // Timers already due this frame but not yet run (cancelAll called from another timer's action)
+        for (int i = 0; i < due.size; i++) {
+            if (due.get(i).owner == owner) due.get(i).cancelled = true;
+        }
+        synchronized (pendingWork) {
+            for (int i = pendingWork.size - 1; i >= 0; i--) {
+                Task task = pendingWork.get(i);
+                if (task.owner == owner) unqueue(task);
+            }
+        }
+    }
+
+    // Drop a worker task that hasn't started. FutureTask.cancel() also succeeds while the task runs,
+    // so the claim, not the future, decides whether it was still queued.
+    private void unqueue(Task task) {
+        if (!task.claimed.compareAndSet(false, true)) return;
+        task.cancelled = true;
+        queued.decrementAndGet();
+        cancelledCount.incrementAndGet();
+        if (task.future != null) task.future.cancel(false);
+        synchronized (pendingWork) {
+            pendingWork.removeValue(task, true);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getActiveWorkers() {
+        return running.get();
+    }
+
+    public int getPendingTimers() {
+        return timers.size;
+    }
+
+    /**
+     * Seconds until the next timer is due, or -1 when none is pending.
+     */
+    public float getNextTimerDelay() {
+        float next = -1f;
+        for (int i = 0; i < timers.size; i++) {
+            Task task = timers.get(i);
+            if (task.cancelled) continue;
+            if (next < 0f || task.remaining < next) next = Math.max(0f, task.remaining);
+        }
+        return next;
+    }
+
+    public String getStats() {
+        long done = Math.max(1L, completed.get() + failed.get());
+        return (jobs.isVirtual() ? "virtual" : "pool") + " workers " + running.get()
+            + ", queue " + queued.get() + " (max " + maxQueueDepth.get() + ")"
+            + ", submitted " + submitted.get() + ", completed " + completed.get()
+            + ", failed " + failed.get() + ", cancelled " + cancelledCount.get()
+            + ", wait avg/max " + (totalWaitMicros.get() / done / 1000L) + "/" + (maxWaitMicros.get() / 1000L) + " ms"
+            + ", run avg/max " + (totalRunMicros.get() / done / 1000L) + "/" + (maxRunMicros.get() / 1000L) + " ms"
+            + ", timers " + timers.size + " pending, " + timersFired + " fired";
+    }
+
+    /**
+     * Stop accepting work and drop pending timers (on application exit).
+     */
+    public void shutdown() {
+        timers.clear();
+        jobs.shutdown();
+    }
+
+    private static void recordMax(AtomicLong max, AtomicLong total, long micros) {
+        total.addAndGet(micros);
+        long prev;
+        while (micros > (prev = max.get())) {
+            if (max.compareAndSet(prev, micros)) break;
+        }
+    }
+}
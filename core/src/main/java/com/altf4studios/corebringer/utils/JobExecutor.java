@@ -0,0 +1,125 @@
+package com.altf4studios.corebringer.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for blocking jobs: compile/run process waits, save flushes and file reads.
+ * - On JDK 21+ every job gets its own virtual thread, so hundreds of jobs parked on process
+ *   or disk I/O cost next to nothing
+ * - On JDK 17 (the default build target) it falls back to a bounded daemon pool
+ * The virtual-thread factory is looked up reflectively so the same classes run on both.
+ * Set -Dcorebringer.virtualThreads=false to force the pool (e.g. to compare the two).
+ */
+public final class JobExecutor {
+    private static final String TAG = "JobExecutor";
+    public static final String VIRTUAL_THREADS_PROPERTY = "corebringer.virtualThreads";
+    // Enough to overlap several process waits and disk writes without oversubscribing a laptop
+    public static final int FALLBACK_POOL_SIZE = 8;
+
+    private static JobExecutor instance;
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+
+    private JobExecutor(boolean preferVirtual, int poolSize) {
+        ExecutorService vt = preferVirtual ? newVirtualThreadExecutor() : null;
+        if (vt != null) {
+            executor = vt;
+            virtual = true;
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "corebringer-job-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            virtual = false;
+        }
+    }
+
+    public static synchronized JobExecutor getInstance() {
+        if (instance == null) {
+            boolean prefer = !"false".equalsIgnoreCase(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"));
+            instance = new JobExecutor(prefer, FALLBACK_POOL_SIZE);
+            log("Job executor: " + (instance.virtual ? "virtual threads" : "pool of " + FALLBACK_POOL_SIZE + " threads")
+                + " (Java " + Runtime.version().feature() + ")");
+        }
+        return instance;
+    }
+
+    /**
+     * Standalone executor (not the shared one), e.g. for benchmarks comparing both modes.
+     */
+    public static JobExecutor create(boolean preferVirtual, int poolSize) {
+        return new JobExecutor(preferVirtual, poolSize);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    public void execute(Runnable job) {
+        executor.execute(job);
+    }
+
+    public <T> Future<T> submit(Callable<T> job) {
+        return executor.submit(job);
+    }
+
+    /**
+     * Submit a job that other jobs wait on (e.g. draining a child process's output while the
+     * job that started it waits for the exit). With virtual threads this is a plain submit;
+     * with the fallback pool it gets its own daemon thread so waiters can't starve the pool.
+     */
+    public <T> Future<T> submitDedicated(String name, Callable<T> job) {
+        if (virtual) return executor.submit(job);
+        FutureTask<T> task = new FutureTask<>(job);
+        Thread t = new Thread(task, "corebringer-" + name);
+        t.setDaemon(true);
+        t.start();
+        return task;
+    }
+
+    /**
+     * Read a file's text off the calling thread.
+     */
+    public Future<String> readStringAsync(FileHandle file) {
+        return executor.submit(() -> file.readString("UTF-8"));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() when the running JDK has it (21+), otherwise null
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void log(String message) {
+        if (Gdx.app != null) Gdx.app.log(TAG, message);
+    }
+}
@@ -0,0 +1,224 @@
+package com.altf4studios.corebringer.utils;
+
+import com.altf4studios.corebringer.Utils;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * Loads the puzzle/event art (assets/Puzzle) for one screen.
+ * - With the packed build output (assets/Puzzle/packed/manifest.json, written by the root
+ *   build.gradle's packPuzzleArt task) glyphs come from the screen's glyph group: one mipmapped atlas
+ *   per group and resolution tier, holding only what that screen draws, ref-counted while open.
+ *   Backgrounds come from a right-sized copy for the tier
+ * - Without it every image is loaded from its loose PNG, as before
+ * Region names are the PNG names without extension (e.g. "QuestionMark", "&&").
+ * Dispose the instance with its screen; it releases only what it loaded. Render thread only.
+ */
+public final class PuzzleArt implements Disposable {
+    private static final String TAG = "PuzzleArt";
+    private static final String SOURCE_DIR = "assets/Puzzle/";
+    private static final String PACKED_DIR = "assets/Puzzle/packed/";
+    private static final String MANIFEST = PACKED_DIR + "manifest.json";
+    private static final int MANIFEST_VERSION = 2;
+
+    // Glyph groups, as listed in the packPuzzleArt configuration
+    public static final String LOGIC = "logic";
+    public static final String TREASURE = "treasure";
+
+    // Parsed once; NO_MANIFEST when the packed output is missing or unreadable
+    private static final JsonValue NO_MANIFEST = new JsonValue(JsonValue.ValueType.nullValue);
+    private static JsonValue manifest;
+    // Shared atlases, released when the last screen using them is disposed
+    private static final ObjectMap<String, TextureAtlas> atlases = new ObjectMap<>();
+    private static final ObjectIntMap<String> atlasRefs = new ObjectIntMap<>();
+
+    private final int tier;
+    // Null: no glyph atlas, glyphs load from their loose PNGs
+    private final String group;
+    private String atlasPath;
+    private TextureAtlas atlas;
+    private final ObjectMap<String, TextureRegion> regions = new ObjectMap<>();
+    private final Array<Texture> ownedTextures = new Array<>();
+    private long textureBytes = 0;
+
+    private PuzzleArt(String group) {
+        this.tier = selectTier(loadManifest(), Gdx.graphics.getBackBufferHeight());
+        this.group = group;
+    }
+
+    /**
+     * Art set for the current back-buffer resolution, with the glyphs of the given group (LOGIC, TREASURE).
+     */
+    public static PuzzleArt open(String group) {
+        return new PuzzleArt(group);
+    }
+
+    /**
+     * Art set for a screen that only draws backgrounds.
+     */
+    public static PuzzleArt open() {
+        return new PuzzleArt(null);
+    }
+
+    public static boolean isPacked() {
+        return loadManifest() != NO_MANIFEST;
+    }
+
+    /**
+     * A glyph (operator, digit, cube, chest, question mark). Same name returns the same region.
+     */
+    public TextureRegion region(String name) {
+        TextureRegion region = regions.get(name);
+        if (region != null) return region;
+        JsonValue m = loadManifest();
+        JsonValue glyphs = m != NO_MANIFEST && group != null ? m.get("glyphs") : null;
+        if (glyphs != null && contains(glyphs.get(group), name)) {
+            region = acquireAtlas(m).findRegion(name);
+        }
+        if (region == null) region = loose(name);
+        regions.put(name, region);
+        return region;
+    }
+
+    /**
+     * A full-screen image (backgrounds, event art, the congratulations banner).
+     */
+    public TextureRegion background(String name) {
+        TextureRegion region = regions.get(name);
+        if (region != null) return region;
+        JsonValue m = loadManifest();
+        JsonValue backgrounds = m != NO_MANIFEST ? m.get("backgrounds") : null;
+        String path = backgrounds != null ? backgrounds.getString(name, null) : null;
+        if (path != null) {
+            FileHandle file = Utils.getInternalPath(PACKED_DIR + forTier(path));
+            if (file.exists()) {
+                Texture texture = own(new Texture(file, true));
+                texture.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);
+                region = new TextureRegion(texture);
+            }
+        }
+        if (region == null) region = loose(name);
+        regions.put(name, region);
+        return region;
+    }
+
+    public int getTier() {
+        return tier;
+    }
+
+    /**
+     * Textures this screen loaded and an estimate of their GPU memory, for the profiler log.
+     */
+    public String getStats() {
+        long bytes = textureBytes;
+        ObjectSet<Texture> pages = atlas != null ? atlas.getTextures() : null;
+        if (pages != null) {
+            for (Texture t : pages) bytes += estimateBytes(t);
+        }
+        return (isPacked() ? "packed " + tier + "p" : "loose") + ": " + regions.size + " images in "
+            + (ownedTextures.size + (pages != null ? pages.size : 0)) + " textures, ~" + (bytes / (1024 * 1024)) + " MB";
+    }
+
+    @Override
+    public void dispose() {
+        for (Texture t : ownedTextures) {
+            try { t.dispose(); } catch (Exception ignored) {}
+        }
+        ownedTextures.clear();
+        regions.clear();
+        textureBytes = 0;
+        if (atlas != null) {
+            releaseAtlas(atlasPath);
+            atlas = null;
+        }
+    }
+
+    private TextureAtlas acquireAtlas(JsonValue m) {
+        if (atlas != null) return atlas;
+        atlasPath = PACKED_DIR + forTier(m.get("atlases").getString(group));
+        TextureAtlas shared = atlases.get(atlasPath);
+        if (shared == null) {
+            shared = new TextureAtlas(Utils.getInternalPath(atlasPath));
+            atlases.put(atlasPath, shared);
+        }
+        atlasRefs.getAndIncrement(atlasPath, 0, 1);
+        atlas = shared;
+        return atlas;
+    }
+
+    private static void releaseAtlas(String path) {
+        int refs = atlasRefs.getAndIncrement(path, 0, -1) - 1;
+        if (refs > 0) return;
+        atlasRefs.remove(path, 0);
+        TextureAtlas shared = atlases.remove(path);
+        if (shared != null) shared.dispose();
+    }
+
+    private TextureRegion loose(String name) {
+        Texture texture = own(new Texture(Utils.getInternalPath(SOURCE_DIR + name + ".png")));
+        return new TextureRegion(texture);
+    }
+
+    private Texture own(Texture texture) {
+        ownedTextures.add(texture);
+        textureBytes += estimateBytes(texture);
+        return texture;
+    }
+
+    private String forTier(String pattern) {
+        return pattern.replace("{tier}", String.valueOf(tier));
+    }
+
+    private static long estimateBytes(Texture t) {
+        long bytes = (long) t.getWidth() * t.getHeight() * 4L;
+        // A full mip chain adds a third
+        return t.getTextureData().useMipMaps() ? bytes * 4L / 3L : bytes;
+    }
+
+    // Same tier rule as the other resolution variants
+    static int selectTier(JsonValue m, int screenHeight) {
+        if (m == NO_MANIFEST) return 0;
+        JsonValue tiers = m.get("tiers");
+        return AssetVariants.selectTier(tiers != null ? tiers.asIntArray() : new int[0], screenHeight);
+    }
+
+    private static boolean contains(JsonValue array, String name) {
+        for (JsonValue v = array != null ? array.child : null; v != null; v = v.next) {
+            if (name.equals(v.asString())) return true;
+        }
+        return false;
+    }
+
+    private static JsonValue loadManifest() {
+        if (manifest == null) {
+            manifest = NO_MANIFEST;
+            FileHandle file = Utils.getInternalPath(MANIFEST);
+            try {
+                if (file.exists()) {
+                    JsonValue parsed = new JsonReader().parse(file);
+                    int version = parsed.getInt("version", 0);
+                    if (version == MANIFEST_VERSION) {
+                        manifest = parsed;
+                        Gdx.app.log(TAG, "Using packed puzzle art (manifest v" + version + ")");
+                    } else {
+                        Gdx.app.error(TAG, "Ignoring " + MANIFEST + " v" + version + " (rebuild with packPuzzleArt)");
+                    }
+                }
+            } catch (Exception e) {
+                Gdx.app.error(TAG, "Ignoring unreadable " + MANIFEST + ": " + e.getMessage());
+                manifest = NO_MANIFEST;
+            }
+        }
+        return manifest;
+    }
+}
@@ -0,0 +1,172 @@
+package com.altf4studios.corebringer.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * On-demand rendering for screens and windows that sit still most of the time
+ * (menu, map, tutorial, code editor, metrics window).
+ * - enter(owner, stages) from show() and exit(owner) from hide(): while any owner is entered, frames are
+ *   drawn only when something asks for one, otherwise rendering is continuous as before
+ * - Input events and Gdx.app.postRunnable (worker results, libGDX Timer tasks such as the text cursor
+ *   blink and key repeat) already request a frame from the backend
+ * - Actions on the owners' stages keep frames coming until they finish; no per-screen code is needed
+ * - Main.render() calls update() to keep frames coming while music fades, and wakeIn() to get a frame
+ *   when the next GameScheduler timer is due instead of drawing every frame until then
+ * - request() asks for a frame from code that changed something outside of the above
+ * Render thread only, except request().
+ */
+public final class RenderOnDemand {
+    private static RenderOnDemand instance;
+
+    private static final class Entry {
+        final Object owner;
+        final Stage[] stages;
+
+        Entry(Object owner, Stage[] stages) {
+            this.owner = owner;
+            this.stages = stages;
+        }
+    }
+
+    // Entered owners, most recent last (a window entered over an on-demand screen)
+    private final Array<Entry> entries = new Array<>();
+    private final Timer.Task wakeTask = new Timer.Task() {
+        @Override
+        public void run() {
+            wakes++;
+            request();
+        }
+    };
+    private long wakeAtMillis = Long.MAX_VALUE;
+
+    // Metrics
+    private long onDemandFrames = 0;
+    private long keptAliveFrames = 0;
+    private long wakes = 0;
+    private long onDemandSinceMillis = 0;
+    private long onDemandMillis = 0;
+
+    private RenderOnDemand() {
+    }
+
+    public static RenderOnDemand getInstance() {
+        if (instance == null) {
+            instance = new RenderOnDemand();
+        }
+        return instance;
+    }
+
+    /**
+     * The owner is shown: stop rendering continuously. Actions on the given stages keep frames coming.
+     */
+    public void enter(Object owner, Stage... stages) {
+        boolean wasActive = entries.size > 0;
+        exitQuietly(owner);
+        entries.add(new Entry(owner, stages));
+        if (!wasActive) {
+            onDemandSinceMillis = TimeUtils.millis();
+            if (Gdx.graphics != null) Gdx.graphics.setContinuousRendering(false);
+        }
+        // Draw the owner's first frame
+        request();
+    }
+
+    /**
+     * The owner is hidden: back to continuous rendering once no other owner is entered.
+     */
+    public void exit(Object owner) {
+        if (!exitQuietly(owner) || entries.size > 0) return;
+        onDemandMillis += TimeUtils.timeSinceMillis(onDemandSinceMillis);
+        cancelWake();
+        if (Gdx.graphics != null) Gdx.graphics.setContinuousRendering(true);
+    }
+
+    public boolean isActive() {
+        return entries.size > 0;
+    }
+
+    /**
+     * Ask for one more frame. Safe from any thread; does nothing useful while rendering continuously.
+     */
+    public void request() {
+        if (Gdx.graphics != null) Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Keep frames coming while the owners' stages have actions or other work is visible. Call once per frame.
+     */
+    public void update(boolean workPending) {
+        if (entries.size == 0) return;
+        onDemandFrames++;
+        if (workPending || stagesHaveActions()) {
+            keptAliveFrames++;
+            request();
+        }
+    }
+
+    /**
+     * Get a frame after this many seconds (a pending timer); negative for nothing due.
+     */
+    public void wakeIn(float seconds) {
+        if (entries.size == 0 || seconds < 0f) {
+            cancelWake();
+            return;
+        }
+        long at = TimeUtils.millis() + (long) (seconds * 1000f);
+        // Reschedule only for an earlier timer; a later one is woken for after the current wake fires
+        if (wakeTask.isScheduled() && at >= wakeAtMillis) return;
+        wakeTask.cancel();
+        wakeAtMillis = at;
+        Timer.schedule(wakeTask, seconds);
+    }
+
+    public String getStats() {
+        long millis = onDemandMillis + (entries.size > 0 ? TimeUtils.timeSinceMillis(onDemandSinceMillis) : 0);
+        float fps = millis > 0 ? onDemandFrames * 1000f / millis : 0f;
+        return (entries.size > 0 ? "on demand (" + entries.peek().owner.getClass().getSimpleName() + ")" : "continuous")
+            + ", on-demand frames " + onDemandFrames + " over " + (millis / 1000) + " s (" + String.format("%.1f", fps) + " fps)"
+            + ", kept alive " + keptAliveFrames + ", timer wakes " + wakes;
+    }
+
+    private boolean exitQuietly(Object owner) {
+        for (int i = entries.size - 1; i >= 0; i--) {
+            if (entries.get(i).owner == owner) {
+                entries.removeIndex(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cancelWake() {
+        wakeTask.cancel();
+        wakeAtMillis = Long.MAX_VALUE;
+    }
+
+    private boolean stagesHaveActions() {
+        for (int i = 0; i < entries.size; i++) {
+            for (Stage stage : entries.get(i).stages) {
+                if (stage != null && hasActions(stage.getRoot())) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasActions(Actor actor) {
+        if (actor.hasActions()) return true;
+        if (actor instanceof Group) {
+            SnapshotArray<Actor> children = ((Group) actor).getChildren();
+            for (int i = 0, n = children.size; i < n; i++) {
+                if (hasActions(children.get(i))) return true;
+            }
+        }
+        return false;
+    }
+}
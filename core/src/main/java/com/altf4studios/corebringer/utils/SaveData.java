@@ -18,6 +18,8 @@ public class SaveData {
     public java.util.Map<String, QuestionLevelData> questionData = new java.util.HashMap<>();
     // Objective progress per level (e.g., "level1" -> count)
     public java.util.Map<String, Integer> objectives = new java.util.HashMap<>();
+    // Generated map for the current stage (null until GameMapScreen first builds one)
+    public MapData map;
 
     public static class QuestionLevelData {
         public String title;
@@ -64,6 +66,22 @@ public class SaveData {
 
     public TotalsData totals = new TotalsData();
 
+    // Flattened MapGraph plus the player's position on it, so a resumed run reuses the same map
+    public static class MapData {
+        public long seed;
+        public int stageLevel;
+        public int[] rankStart;
+        public int[] types;
+        public int[] edgeStart;
+        public int[] edges;
+        // Rank the player is currently choosing in (0-based)
+        public int currentRank;
+        // Node id chosen in the previous rank, -1 when nothing has been chosen yet
+        public int lastNode = -1;
+
+        public MapData() {}
+    }
+
     public SaveData() {}
 
 
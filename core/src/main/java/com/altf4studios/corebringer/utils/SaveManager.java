@@ -1,52 +1,35 @@
 package com.altf4studios.corebringer.utils;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.utils.Json;
-import com.badlogic.gdx.utils.JsonWriter;
-
+/**
+ * Older save API kept for the map, rest, puzzle and event screens.
+ * Every call goes through {@link SimpleSaveManager}, so reads see saves that are still being written
+ * behind and writes never race its background flush on the same file.
+ */
 public class SaveManager {
-    // Save file will be stored in the user's external storage in a subfolder
-    private static final String FILENAME = "Core Bringer/corebringer_save.json";
 
     public static boolean saveExists() {
-        FileHandle file = Gdx.files.external(FILENAME);
-        return file.exists();
+        return SimpleSaveManager.saveExists();
     }
 
     public static void deleteSave() {
-        FileHandle file = Gdx.files.external(FILENAME);
-        if (file.exists()) {
-            file.delete();
-            System.out.println("[SaveManager] Save file deleted: " + file.file().getAbsolutePath());
-        } else {
-            System.out.println("[SaveManager] No save file to delete at: " + file.file().getAbsolutePath());
-        }
+        SimpleSaveManager.deleteSave();
     }
 
     // New API: includes maxEnergy, gold, and stageLevel
     public static void saveStats(int currentHp, int maxHp, int energy, int maxEnergy, String[] cards, int battleWon, int gold, int stageLevel) {
-        // Load existing data to preserve questionData and other fields
-        SaveData data = loadStats();
-        if (data == null) {
-            data = new SaveData(currentHp, maxHp, energy, maxEnergy, cards, battleWon);
-        } else {
-            // Update the existing data with new values
+        // Update in place to preserve questionData and other fields
+        SimpleSaveManager.updateData(data -> {
             data.currentHp = currentHp;
             data.maxHp = maxHp;
             data.energy = energy;
             data.maxEnergy = maxEnergy;
             data.cards = cards;
             data.battleWon = battleWon;
-        }
-        // Also populate deprecated field for compatibility with old readers/tools
-        data.hp = currentHp;
-        data.gold = gold;
-        data.stageLevel = Math.max(1, Math.min(5, stageLevel));
-        Json json = new Json();
-        json.setOutputType(JsonWriter.OutputType.json);
-        FileHandle file = Gdx.files.external(FILENAME);
-        file.writeString(json.prettyPrint(data), false);
+            // Also populate deprecated field for compatibility with old readers/tools
+            data.hp = currentHp;
+            data.gold = gold;
+            data.stageLevel = Math.max(1, Math.min(5, stageLevel));
+        });
     }
 
     // Backward-compatible: includes maxEnergy and gold, preserves existing stageLevel if any
@@ -87,15 +70,12 @@ public class SaveManager {
         saveStats(currentHp, maxHp, energy, maxEnergy, cards, battleWon, 0);
     }
 
+    // Null when there is no save yet
     public static SaveData loadStats() {
-        FileHandle file = Gdx.files.external(FILENAME);
-        if (!file.exists()) {
-            System.out.println("[SaveManager] No save file found at: " + file.file().getAbsolutePath());
+        if (!SimpleSaveManager.saveExists()) {
             return null;
         }
-        Json json = new Json();
-        String content = file.readString();
-        return json.fromJson(SaveData.class, content);
+        return SimpleSaveManager.loadData();
     }
 
     // Initialize stageLevel to a default if missing, without changing other fields
@@ -113,16 +93,10 @@ public class SaveManager {
                 data.battleWon = 0;
                 data.gold = 0;
                 data.stageLevel = clamped;
-                Json json = new Json();
-                json.setOutputType(JsonWriter.OutputType.json);
-                FileHandle file = Gdx.files.external(FILENAME);
-                file.writeString(json.prettyPrint(data), false);
+                SimpleSaveManager.saveData(data);
             } else if (data.stageLevel <= 0) {
                 data.stageLevel = clamped;
-                Json json = new Json();
-                json.setOutputType(JsonWriter.OutputType.json);
-                FileHandle file = Gdx.files.external(FILENAME);
-                file.writeString(json.prettyPrint(data), false);
+                SimpleSaveManager.saveData(data);
             }
         } catch (Exception ignored) {}
     }
@@ -131,17 +105,7 @@ public class SaveManager {
     public static void updateStageLevelOnly(int stageLevel) {
         int clamped = Math.max(1, Math.min(5, stageLevel));
         try {
-            SaveData data = loadStats();
-            if (data == null) {
-                data = new SaveData();
-                data.stageLevel = clamped;
-            } else {
-                data.stageLevel = clamped;
-            }
-            Json json = new Json();
-            json.setOutputType(JsonWriter.OutputType.json);
-            FileHandle file = Gdx.files.external(FILENAME);
-            file.writeString(json.prettyPrint(data), false);
+            SimpleSaveManager.updateData(data -> data.stageLevel = clamped);
         } catch (Exception ignored) {}
     }
 }
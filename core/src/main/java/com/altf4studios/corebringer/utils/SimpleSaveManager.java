@@ -11,6 +11,9 @@ import com.badlogic.gdx.utils.JsonWriter;
 public class SimpleSaveManager {
     private static final String FILENAME = "Core Bringer/corebringer_save.json";
     private static final Json json = new Json();
+    // The newest serialized save is written behind; reads are served from what is not yet on disk,
+    // so callers never see an older file than what they saved
+    private static final WriteBehind<String> writer = WriteBehind.latest(SimpleSaveManager::writeFile);
     
     static {
         json.setOutputType(JsonWriter.OutputType.json);
@@ -20,12 +23,13 @@ public class SimpleSaveManager {
      * Load the complete save data
      */
     public static SaveData loadData() {
+        String unwritten = writer.getUnwritten();
         FileHandle file = Gdx.files.external(FILENAME);
-        if (!file.exists()) {
+        if (unwritten == null && !file.exists()) {
             return new SaveData();
         }
         try {
-            String content = file.readString();
+            String content = unwritten != null ? unwritten : file.readString();
             return json.fromJson(SaveData.class, content);
         } catch (Exception e) {
             Gdx.app.error("SimpleSaveManager", "Failed to load save data: " + e.getMessage());
@@ -34,12 +38,31 @@ public class SimpleSaveManager {
     }
     
     /**
-     * Save the complete save data
+     * Save the complete save data.
+     * The data is serialized right away; the file write happens on the {@link JobExecutor}, and
+     * several saves in quick succession (e.g. updateData calls in one click) collapse into one write.
      */
     public static void saveData(SaveData data) {
+        String content;
         try {
-            FileHandle file = Gdx.files.external(FILENAME);
-            file.writeString(json.prettyPrint(data), false);
+            content = json.prettyPrint(data);
+        } catch (Exception e) {
+            Gdx.app.error("SimpleSaveManager", "Failed to save data: " + e.getMessage());
+            return;
+        }
+        writer.submit(content);
+    }
+
+    /**
+     * Block until the newest save is on disk. Called on exit and before deleting the save.
+     */
+    public static void flush() {
+        writer.flush();
+    }
+
+    private static void writeFile(String content) {
+        try {
+            Gdx.files.external(FILENAME).writeString(content, false, "UTF-8");
             Gdx.app.log("SimpleSaveManager", "Save data updated successfully");
         } catch (Exception e) {
             Gdx.app.error("SimpleSaveManager", "Failed to save data: " + e.getMessage());
@@ -67,18 +90,22 @@ public class SimpleSaveManager {
      * Check if save file exists
      */
     public static boolean saveExists() {
+        if (writer.getUnwritten() != null) return true;
         return Gdx.files.external(FILENAME).exists();
     }
     
     /**
-     * Delete save file
+     * Delete save file. Waits for a write in progress and drops any save not yet written,
+     * so a background flush can't bring the file back.
      */
     public static void deleteSave() {
-        FileHandle file = Gdx.files.external(FILENAME);
-        if (file.exists()) {
-            file.delete();
-            Gdx.app.log("SimpleSaveManager", "Save file deleted");
-        }
+        writer.discard(() -> {
+            FileHandle file = Gdx.files.external(FILENAME);
+            if (file.exists()) {
+                file.delete();
+                Gdx.app.log("SimpleSaveManager", "Save file deleted");
+            }
+        });
     }
     
     /**
@@ -0,0 +1,157 @@
+package com.altf4studios.corebringer.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Background loading of full-screen tutorial pages through the AssetManager.
+ * - request() queues the shown page first, then its neighbours, so flipping to either is instant
+ * - PNG decoding runs on the AssetManager's loader thread; update() (once per frame) only spends
+ *   up to UPDATE_BUDGET_MS on the render thread, uploading finished pages
+ * - At most capacity pages stay loaded; the least recently requested one is unloaded first,
+ *   never the shown page or its prefetched neighbours
+ * Paths should already be resolved (see {@link AssetVariants}). Render thread only.
+ */
+public final class TutorialPageLoader implements Disposable {
+    private static final String TAG = "TutorialPageLoader";
+    // Shown page, both neighbours, and the two pages seen before that
+    public static final int DEFAULT_CAPACITY = 5;
+    public static final int UPDATE_BUDGET_MS = 4;
+
+    private final AssetManager assets;
+    private final boolean ownsAssets;
+    private final int capacity;
+    // Requested pages, least recently requested first
+    private final LinkedHashSet<String> resident = new LinkedHashSet<>();
+    private final Set<String> pinned = new LinkedHashSet<>();
+    private final Set<String> failed = new LinkedHashSet<>();
+
+    // Metrics
+    private long requests = 0;
+    private long readyOnRequest = 0;
+    private long evictions = 0;
+    private long maxUpdateMillis = 0;
+
+    /**
+     * @param assets shared manager, or null to use a private one (disposed with this loader)
+     */
+    public TutorialPageLoader(AssetManager assets, int capacity) {
+        this.ownsAssets = assets == null;
+        this.assets = assets != null ? assets : new AssetManager();
+        this.capacity = Math.max(3, capacity);
+    }
+
+    /**
+     * Make the page the one being waited for and prefetch the neighbours (null entries are skipped).
+     */
+    public void request(String page, String... neighbours) {
+        requests++;
+        if (isReady(page)) readyOnRequest++;
+        pinned.clear();
+        pinned.add(page);
+        touch(page);
+        for (String n : neighbours) {
+            if (n == null) continue;
+            pinned.add(n);
+            touch(n);
+        }
+        evict();
+    }
+
+    /**
+     * Upload finished pages within the frame budget. Returns false when a load failed this frame.
+     */
+    public boolean update() {
+        long start = System.currentTimeMillis();
+        boolean ok = true;
+        try {
+            assets.update(UPDATE_BUDGET_MS);
+        } catch (Exception e) {
+            // The AssetManager drops the failed task; find which page it was
+            Gdx.app.error(TAG, "Failed to load page: " + e.getMessage());
+            for (Iterator<String> it = resident.iterator(); it.hasNext(); ) {
+                String path = it.next();
+                if (!assets.contains(path)) {
+                    failed.add(path);
+                    it.remove();
+                }
+            }
+            ok = false;
+        }
+        long took = System.currentTimeMillis() - start;
+        if (took > maxUpdateMillis) maxUpdateMillis = took;
+        return ok;
+    }
+
+    // Pages still being decoded or waiting to be uploaded
+    public boolean isLoading() {
+        return !assets.isFinished();
+    }
+
+    public boolean isReady(String page) {
+        return assets.isLoaded(page, Texture.class);
+    }
+
+    public boolean isFailed(String page) {
+        return failed.contains(page);
+    }
+
+    /**
+     * The page's texture, or null while it is still loading.
+     */
+    public Texture get(String page) {
+        return isReady(page) ? assets.get(page, Texture.class) : null;
+    }
+
+    /**
+     * Unload every page (e.g. before switching to another resolution's copies).
+     */
+    public void clear() {
+        for (String path : resident) unload(path);
+        resident.clear();
+        pinned.clear();
+        failed.clear();
+    }
+
+    public String getStats() {
+        return "pages loaded " + resident.size() + "/" + capacity + ", ready on flip " + readyOnRequest + "/" + requests
+            + ", evictions " + evictions + ", max update " + maxUpdateMillis + " ms";
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+        if (ownsAssets) assets.dispose();
+    }
+
+    private void touch(String path) {
+        if (failed.contains(path)) return;
+        // Re-insert to move it to the most recently requested end
+        resident.remove(path);
+        resident.add(path);
+        if (!assets.contains(path)) {
+            assets.load(path, Texture.class, AssetVariants.getInstance().textureParameter(path));
+        }
+    }
+
+    private void evict() {
+        for (Iterator<String> it = resident.iterator(); it.hasNext() && resident.size() > capacity; ) {
+            String path = it.next();
+            if (pinned.contains(path)) continue;
+            it.remove();
+            unload(path);
+            evictions++;
+        }
+    }
+
+    private void unload(String path) {
+        // Also cancels a load that hasn't finished yet
+        try { if (assets.contains(path)) assets.unload(path); } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,134 @@
+package com.altf4studios.corebringer.utils;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Write-behind for one file (or log): callers hand over data with submit() and return at once; one flush
+ * runs on the {@link JobExecutor} and hands the {@link Sink} whatever is pending when it gets there.
+ * - latest(): only the newest data is written, so saves in quick succession collapse into one write
+ * - merging(): data submitted while a write is pending is combined with it (e.g. appended records)
+ * - One write at a time, so a flush() racing the background write can't put an older state last
+ * - getUnwritten() is the newest data not yet on disk, for reads that must not see an older file
+ * - discard() and runExclusive() run file operations (delete, scan) with no write in progress
+ * If the executor is already shut down (application exit) the write happens on the submitting thread.
+ */
+public final class WriteBehind<T> {
+    private static final String TAG = "WriteBehind";
+
+    /**
+     * Writes one batch of data, on a job thread or the caller of flush(). Handles its own IO errors.
+     */
+    public interface Sink<T> {
+        void write(T data);
+    }
+
+    private final Sink<T> sink;
+    // Null: newer data replaces pending data
+    private final BinaryOperator<T> merge;
+
+    // Guards pending, writing and flushScheduled
+    private final Object stateLock = new Object();
+    // Held while the sink writes, and by discard() and runExclusive()
+    private final Object fileLock = new Object();
+    private T pending;
+    // Taken by the running write, not on disk yet
+    private T writing;
+    private boolean flushScheduled = false;
+
+    private WriteBehind(Sink<T> sink, BinaryOperator<T> merge) {
+        this.sink = sink;
+        this.merge = merge;
+    }
+
+    public static <T> WriteBehind<T> latest(Sink<T> sink) {
+        return new WriteBehind<>(sink, null);
+    }
+
+    public static <T> WriteBehind<T> merging(Sink<T> sink, BinaryOperator<T> merge) {
+        return new WriteBehind<>(sink, merge);
+    }
+
+    /**
+     * Queue data for writing. Any thread.
+     */
+    public void submit(T data) {
+        synchronized (stateLock) {
+            pending = pending == null || merge == null ? data : merge.apply(pending, data);
+            if (flushScheduled) return; // the running flush picks it up
+            flushScheduled = true;
+        }
+        try {
+            JobExecutor.getInstance().execute(this::flushPending);
+        } catch (Exception e) {
+            // Executor already shut down (application exit): write on this thread
+            flushPending();
+        }
+    }
+
+    /**
+     * Block until everything submitted so far is on disk.
+     */
+    public void flush() {
+        flushPending();
+    }
+
+    /**
+     * Newest data that is pending or being written, or null when the file is current.
+     */
+    public T getUnwritten() {
+        synchronized (stateLock) {
+            return pending != null ? pending : writing;
+        }
+    }
+
+    /**
+     * Drop whatever was not written yet, then run the action once no write is in progress, so a
+     * flush can't write the dropped data after it (e.g. bring a deleted file back).
+     */
+    public void discard(Runnable action) {
+        synchronized (fileLock) {
+            synchronized (stateLock) {
+                pending = null;
+            }
+            action.run();
+        }
+    }
+
+    /**
+     * Run the action with no write in progress (e.g. reading the file).
+     */
+    public void runExclusive(Runnable action) {
+        synchronized (fileLock) {
+            action.run();
+        }
+    }
+
+    private void flushPending() {
+        synchronized (fileLock) {
+            while (true) {
+                T data;
+                synchronized (stateLock) {
+                    data = pending;
+                    if (data == null) {
+                        flushScheduled = false;
+                        return;
+                    }
+                    pending = null;
+                    writing = data;
+                }
+                try {
+                    sink.write(data);
+                } catch (RuntimeException e) {
+                    // Keep flushing later submissions even if this write failed
+                    if (Gdx.app != null) Gdx.app.error(TAG, "Write failed: " + e);
+                } finally {
+                    synchronized (stateLock) {
+                        writing = null;
+                    }
+                }
+            }
+        }
+    }
+}
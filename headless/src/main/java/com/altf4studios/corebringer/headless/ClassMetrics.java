@@ -0,0 +1,494 @@
+package com.altf4studios.corebringer.headless;
+
+import com.altf4studios.corebringer.metrics.AttemptLog;
+import com.altf4studios.corebringer.metrics.AttemptStats;
+import com.altf4studios.corebringer.metrics.LatencyHistogram;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Class-wide coding metrics, folded in one student directory at a time.
+ * - A student directory holds any of corebringer_save.json (also under "Core Bringer/"),
+ *   coding_metrics.json and an attempt_log/ directory, as copied from a player's machine
+ * - Counts come from the save, like CodingMetricsManager treats it, then the metrics file, then the log;
+ *   time per question from the metrics file (or the log); latency histograms and error kinds from the log
+ * - Only the per-level aggregate is kept: fixed-size histograms, a per-student accuracy histogram and
+ *   counters keyed by question id / mistake, so memory does not grow with the number of students
+ * - Not thread-safe: give each worker its own instance and merge() them at the end
+ */
+final class ClassMetrics {
+    static final String METRICS_FILE = "coding_metrics.json";
+    static final String SAVE_FILE = "corebringer_save.json";
+    static final String SAVE_DIR = "Core Bringer";
+
+    static final class Level {
+        final int level;
+        String name;
+        int students;
+        long attempted;
+        long correct;
+        long wrong;
+        long timeSpentMillis;
+        long timedQuestions;
+        // Students by accuracy percentage (0-100)
+        final int[] studentAccuracy = new int[101];
+        final LatencyHistogram timeToSubmit = new LatencyHistogram();
+        final LatencyHistogram compileTime = new LatencyHistogram();
+        final LatencyHistogram runTime = new LatencyHistogram();
+        long compileErrors;
+        long runtimeErrors;
+        long policyRejections;
+        // Question id / mistake -> number of students who got it wrong
+        final IntIntMap missedQuestions = new IntIntMap();
+        final ObjectIntMap<String> mistakes = new ObjectIntMap<>();
+
+        Level(int level) {
+            this.level = level;
+        }
+
+        float getAccuracy() {
+            return attempted > 0 ? correct * 100f / attempted : 0f;
+        }
+
+        long getAverageTimePerQuestion() {
+            return timedQuestions > 0 ? timeSpentMillis / timedQuestions : 0;
+        }
+
+        /**
+         * Accuracy (0-100) at or below which p percent of the students are.
+         */
+        int studentAccuracyPercentile(double p) {
+            if (students == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(students * p / 100.0));
+            long seen = 0;
+            for (int i = 0; i < studentAccuracy.length; i++) {
+                seen += studentAccuracy[i];
+                if (seen >= rank) return i;
+            }
+            return 100;
+        }
+    }
+
+    // One student's level while their files are read; folded into Level afterwards
+    private static final class StudentLevel {
+        String name;
+        int attempted = -1;
+        int correct;
+        int wrong;
+        long timeSpentMillis;
+        long timedQuestions;
+        final IntSet missedQuestions = new IntSet();
+        final ObjectSet<String> mistakes = new ObjectSet<>();
+        AttemptStats.LevelStats log;
+    }
+
+    private final IntMap<Level> levels = new IntMap<>();
+    private final JsonReader reader = new JsonReader();
+    private int students = 0;
+    private int filesRead = 0;
+    private int filesFailed = 0;
+    private long events = 0;
+
+    /**
+     * Read one student's files and add them to the aggregate. Unreadable files are skipped and counted.
+     */
+    void addStudent(File dir) {
+        IntMap<StudentLevel> student = new IntMap<>();
+        File save = new File(dir, SAVE_FILE);
+        if (!save.isFile()) save = new File(new File(dir, SAVE_DIR), SAVE_FILE);
+        if (save.isFile()) readSave(save, student);
+        File metrics = new File(dir, METRICS_FILE);
+        if (metrics.isFile()) readMetrics(metrics, student);
+        File log = new File(dir, AttemptLog.DIR);
+        if (log.isDirectory()) readAttemptLog(log, student);
+
+        boolean any = false;
+        for (IntMap.Entry<StudentLevel> entry : student.entries()) {
+            any |= fold(entry.key, entry.value);
+        }
+        if (any) students++;
+    }
+
+    private void readSave(File file, IntMap<StudentLevel> student) {
+        JsonValue root = parse(file);
+        if (root == null) return;
+        JsonValue questionData = root.get("questionData");
+        if (questionData == null) return;
+        for (JsonValue levelData = questionData.child; levelData != null; levelData = levelData.next) {
+            // Keys are "level1".."level5"
+            if (levelData.name == null || !levelData.name.startsWith("level")) continue;
+            int level;
+            try {
+                level = Integer.parseInt(levelData.name.substring(5));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            StudentLevel l = studentLevel(student, level);
+            l.correct = levelData.getInt("correct", 0);
+            l.wrong = levelData.getInt("wrong", 0);
+            l.attempted = l.correct + l.wrong;
+            if (l.name == null) l.name = levelData.getString("title", null);
+        }
+    }
+
+    private void readMetrics(File file, IntMap<StudentLevel> student) {
+        JsonValue root = parse(file);
+        if (root == null) return;
+        JsonValue levelsArray = root.get("levels");
+        if (levelsArray == null) return;
+        for (JsonValue levelObj = levelsArray.child; levelObj != null; levelObj = levelObj.next) {
+            StudentLevel l = studentLevel(student, levelObj.getInt("level", 0));
+            String levelName = levelObj.getString("levelName", null);
+            if (levelName != null) l.name = levelName;
+            int attempted = levelObj.getInt("questionsAttempted", 0);
+            if (l.attempted < 0) {
+                l.attempted = attempted;
+                l.correct = levelObj.getInt("questionsCorrect", 0);
+                l.wrong = levelObj.getInt("questionsIncorrect", 0);
+            }
+            long timeSpent = levelObj.getLong("totalTimeSpent", 0);
+            if (timeSpent > 0 && attempted > 0) {
+                l.timeSpentMillis = timeSpent;
+                l.timedQuestions = attempted;
+            }
+            JsonValue incorrectIds = levelObj.get("incorrectQuestionIds");
+            if (incorrectIds != null) {
+                for (JsonValue id = incorrectIds.child; id != null; id = id.next) {
+                    l.missedQuestions.add(id.asInt());
+                }
+            }
+            JsonValue mistakes = levelObj.get("commonMistakes");
+            if (mistakes != null) {
+                for (JsonValue mistake = mistakes.child; mistake != null; mistake = mistake.next) {
+                    l.mistakes.add(mistake.asString());
+                }
+            }
+        }
+    }
+
+    private void readAttemptLog(File dir, IntMap<StudentLevel> student) {
+        AttemptStats stats;
+        try {
+            stats = AttemptStats.of(dir);
+        } catch (Exception e) {
+            failed(dir, e);
+            return;
+        }
+        filesRead++;
+        events += stats.getEventCount();
+        for (IntMap.Entry<AttemptStats.LevelStats> entry : stats.getLevels().entries()) {
+            StudentLevel l = studentLevel(student, entry.key);
+            AttemptStats.LevelStats log = entry.value;
+            l.log = log;
+            if (l.attempted < 0) {
+                l.attempted = log.attempts;
+                l.correct = log.correct;
+                l.wrong = log.wrong;
+            }
+            if (l.timedQuestions == 0 && log.timeToSubmit.getCount() > 0) {
+                l.timeSpentMillis = log.timeToSubmit.getSum();
+                l.timedQuestions = log.timeToSubmit.getCount();
+            }
+            IntSet.IntSetIterator ids = log.incorrectQuestionIds.iterator();
+            while (ids.hasNext) l.missedQuestions.add(ids.next());
+        }
+    }
+
+    private boolean fold(int levelNumber, StudentLevel s) {
+        boolean hasLog = s.log != null && (s.log.attempts > 0 || s.log.policyRejections > 0);
+        if (s.attempted <= 0 && !hasLog) return false;
+        Level level = levels.get(levelNumber);
+        if (level == null) {
+            level = new Level(levelNumber);
+            levels.put(levelNumber, level);
+        }
+        if (level.name == null) level.name = s.name;
+        if (s.attempted > 0) {
+            level.students++;
+            level.attempted += s.attempted;
+            level.correct += s.correct;
+            level.wrong += s.wrong;
+            // Hand-edited or inconsistent files can claim more correct answers than attempts
+            int pct = Math.round(s.correct * 100f / s.attempted);
+            level.studentAccuracy[Math.max(0, Math.min(100, pct))]++;
+        }
+        level.timeSpentMillis += s.timeSpentMillis;
+        level.timedQuestions += s.timedQuestions;
+        IntSet.IntSetIterator ids = s.missedQuestions.iterator();
+        while (ids.hasNext) level.missedQuestions.getAndIncrement(ids.next(), 0, 1);
+        for (String mistake : s.mistakes) level.mistakes.getAndIncrement(mistake, 0, 1);
+        if (s.log != null) {
+            level.timeToSubmit.add(s.log.timeToSubmit);
+            level.compileTime.add(s.log.compileTime);
+            level.runTime.add(s.log.runTime);
+            level.compileErrors += s.log.compileErrors;
+            level.runtimeErrors += s.log.runtimeErrors;
+            level.policyRejections += s.log.policyRejections;
+        }
+        return true;
+    }
+
+    /**
+     * Add another worker's aggregate to this one.
+     */
+    void merge(ClassMetrics other) {
+        students += other.students;
+        filesRead += other.filesRead;
+        filesFailed += other.filesFailed;
+        events += other.events;
+        for (IntMap.Entry<Level> entry : other.levels.entries()) {
+            Level from = entry.value;
+            Level to = levels.get(entry.key);
+            if (to == null) {
+                levels.put(entry.key, from);
+                continue;
+            }
+            if (to.name == null) to.name = from.name;
+            to.students += from.students;
+            to.attempted += from.attempted;
+            to.correct += from.correct;
+            to.wrong += from.wrong;
+            to.timeSpentMillis += from.timeSpentMillis;
+            to.timedQuestions += from.timedQuestions;
+            for (int i = 0; i < to.studentAccuracy.length; i++) to.studentAccuracy[i] += from.studentAccuracy[i];
+            to.timeToSubmit.add(from.timeToSubmit);
+            to.compileTime.add(from.compileTime);
+            to.runTime.add(from.runTime);
+            to.compileErrors += from.compileErrors;
+            to.runtimeErrors += from.runtimeErrors;
+            to.policyRejections += from.policyRejections;
+            for (IntIntMap.Entry e : from.missedQuestions) to.missedQuestions.getAndIncrement(e.key, 0, e.value);
+            for (ObjectIntMap.Entry<String> e : from.mistakes) to.mistakes.getAndIncrement(e.key, 0, e.value);
+        }
+    }
+
+    int getStudents() {
+        return students;
+    }
+
+    int getFilesRead() {
+        return filesRead;
+    }
+
+    int getFilesFailed() {
+        return filesFailed;
+    }
+
+    long getEvents() {
+        return events;
+    }
+
+    /**
+     * Levels in ascending order.
+     */
+    Array<Level> getLevels() {
+        Array<Level> sorted = new Array<>(levels.size);
+        for (Level level : levels.values()) sorted.add(level);
+        sorted.sort((a, b) -> Integer.compare(a.level, b.level));
+        return sorted;
+    }
+
+    /**
+     * One row per level; the top lists are "id:students" / "mistake:students" joined with '|'.
+     */
+    void writeCsv(Writer out, int top) throws IOException {
+        out.write("level,levelName,students,attempted,correct,wrong,accuracyPct,"
+            + "studentAccuracyP25,studentAccuracyMedian,studentAccuracyP75,avgTimePerQuestionMs,"
+            + "submitP50Ms,submitP90Ms,compileP50Ms,runP50Ms,compileErrors,runtimeErrors,policyRejections,"
+            + "mostMissedQuestions,commonMistakes\n");
+        for (Level l : getLevels()) {
+            StringBuilder row = new StringBuilder();
+            row.append(l.level).append(',')
+                .append(csv(l.name)).append(',')
+                .append(l.students).append(',')
+                .append(l.attempted).append(',')
+                .append(l.correct).append(',')
+                .append(l.wrong).append(',')
+                .append(String.format(java.util.Locale.ROOT, "%.1f", l.getAccuracy())).append(',')
+                .append(l.studentAccuracyPercentile(25)).append(',')
+                .append(l.studentAccuracyPercentile(50)).append(',')
+                .append(l.studentAccuracyPercentile(75)).append(',')
+                .append(l.getAverageTimePerQuestion()).append(',')
+                .append(l.timeToSubmit.percentile(50)).append(',')
+                .append(l.timeToSubmit.percentile(90)).append(',')
+                .append(l.compileTime.percentile(50)).append(',')
+                .append(l.runTime.percentile(50)).append(',')
+                .append(l.compileErrors).append(',')
+                .append(l.runtimeErrors).append(',')
+                .append(l.policyRejections).append(',');
+            StringBuilder missed = new StringBuilder();
+            for (IntIntMap.Entry e : topQuestions(l, top)) {
+                if (missed.length() > 0) missed.append('|');
+                missed.append(e.key).append(':').append(e.value);
+            }
+            StringBuilder mistakes = new StringBuilder();
+            for (ObjectIntMap.Entry<String> e : topMistakes(l, top)) {
+                if (mistakes.length() > 0) mistakes.append('|');
+                mistakes.append(e.key).append(':').append(e.value);
+            }
+            row.append(csv(missed.toString())).append(',').append(csv(mistakes.toString())).append('\n');
+            out.write(row.toString());
+        }
+    }
+
+    /**
+     * Totals plus one object per level, including the non-empty histogram buckets.
+     */
+    void writeJson(Writer out, int top) throws IOException {
+        JsonValue root = new JsonValue(JsonValue.ValueType.object);
+        root.addChild("students", new JsonValue(students));
+        root.addChild("filesRead", new JsonValue(filesRead));
+        root.addChild("filesFailed", new JsonValue(filesFailed));
+        root.addChild("attemptEvents", new JsonValue(events));
+
+        JsonValue levelsArray = new JsonValue(JsonValue.ValueType.array);
+        for (Level l : getLevels()) {
+            JsonValue levelObj = new JsonValue(JsonValue.ValueType.object);
+            levelObj.addChild("level", new JsonValue(l.level));
+            levelObj.addChild("levelName", new JsonValue(l.name));
+            levelObj.addChild("students", new JsonValue(l.students));
+            levelObj.addChild("attempted", new JsonValue(l.attempted));
+            levelObj.addChild("correct", new JsonValue(l.correct));
+            levelObj.addChild("wrong", new JsonValue(l.wrong));
+            levelObj.addChild("accuracyPercentage", new JsonValue(l.getAccuracy()));
+            levelObj.addChild("averageTimePerQuestion", new JsonValue(l.getAverageTimePerQuestion()));
+
+            JsonValue accuracy = new JsonValue(JsonValue.ValueType.object);
+            accuracy.addChild("p25", new JsonValue(l.studentAccuracyPercentile(25)));
+            accuracy.addChild("median", new JsonValue(l.studentAccuracyPercentile(50)));
+            accuracy.addChild("p75", new JsonValue(l.studentAccuracyPercentile(75)));
+            // Students per 10% band, 0-9% .. 90-100%
+            JsonValue bands = new JsonValue(JsonValue.ValueType.array);
+            for (int band = 0; band < 10; band++) {
+                int n = 0;
+                for (int pct = band * 10; pct < (band == 9 ? 101 : band * 10 + 10); pct++) n += l.studentAccuracy[pct];
+                bands.addChild(new JsonValue(n));
+            }
+            accuracy.addChild("bands", bands);
+            levelObj.addChild("studentAccuracy", accuracy);
+
+            levelObj.addChild("timeToSubmit", histogramJson(l.timeToSubmit));
+            levelObj.addChild("compileTime", histogramJson(l.compileTime));
+            levelObj.addChild("runTime", histogramJson(l.runTime));
+            levelObj.addChild("compileErrors", new JsonValue(l.compileErrors));
+            levelObj.addChild("runtimeErrors", new JsonValue(l.runtimeErrors));
+            levelObj.addChild("policyRejections", new JsonValue(l.policyRejections));
+
+            JsonValue missed = new JsonValue(JsonValue.ValueType.array);
+            for (IntIntMap.Entry e : topQuestions(l, top)) {
+                JsonValue q = new JsonValue(JsonValue.ValueType.object);
+                q.addChild("questionId", new JsonValue(e.key));
+                q.addChild("students", new JsonValue(e.value));
+                missed.addChild(q);
+            }
+            levelObj.addChild("mostMissedQuestions", missed);
+
+            JsonValue mistakes = new JsonValue(JsonValue.ValueType.array);
+            for (ObjectIntMap.Entry<String> e : topMistakes(l, top)) {
+                JsonValue m = new JsonValue(JsonValue.ValueType.object);
+                m.addChild("mistake", new JsonValue(e.key));
+                m.addChild("students", new JsonValue(e.value));
+                mistakes.addChild(m);
+            }
+            levelObj.addChild("commonMistakes", mistakes);
+            levelsArray.addChild(levelObj);
+        }
+        root.addChild("levels", levelsArray);
+        out.write(root.prettyPrint(JsonWriter.OutputType.json, 0));
+        out.write('\n');
+    }
+
+    private static JsonValue histogramJson(LatencyHistogram h) {
+        JsonValue obj = new JsonValue(JsonValue.ValueType.object);
+        obj.addChild("count", new JsonValue(h.getCount()));
+        obj.addChild("mean", new JsonValue(h.getMean()));
+        obj.addChild("min", new JsonValue(h.getMin()));
+        obj.addChild("p50", new JsonValue(h.percentile(50)));
+        obj.addChild("p90", new JsonValue(h.percentile(90)));
+        obj.addChild("p99", new JsonValue(h.percentile(99)));
+        obj.addChild("max", new JsonValue(h.getMax()));
+        JsonValue buckets = new JsonValue(JsonValue.ValueType.array);
+        for (int i = 0; i < h.getBucketCount(); i++) {
+            long n = h.getBucketValue(i);
+            if (n == 0) continue;
+            JsonValue bucket = new JsonValue(JsonValue.ValueType.array);
+            bucket.addChild(new JsonValue(LatencyHistogram.lowerBound(i)));
+            bucket.addChild(new JsonValue(LatencyHistogram.upperBound(i)));
+            bucket.addChild(new JsonValue(n));
+            buckets.addChild(bucket);
+        }
+        // [fromMillis, toMillis, count]
+        obj.addChild("buckets", buckets);
+        return obj;
+    }
+
+    private static Array<IntIntMap.Entry> topQuestions(Level l, int top) {
+        Array<IntIntMap.Entry> entries = new Array<>(l.missedQuestions.size);
+        for (IntIntMap.Entry e : l.missedQuestions) {
+            IntIntMap.Entry copy = new IntIntMap.Entry();
+            copy.key = e.key;
+            copy.value = e.value;
+            entries.add(copy);
+        }
+        entries.sort((a, b) -> a.value != b.value ? Integer.compare(b.value, a.value) : Integer.compare(a.key, b.key));
+        entries.truncate(Math.min(entries.size, top));
+        return entries;
+    }
+
+    private static Array<ObjectIntMap.Entry<String>> topMistakes(Level l, int top) {
+        Array<ObjectIntMap.Entry<String>> entries = new Array<>(l.mistakes.size);
+        for (ObjectIntMap.Entry<String> e : l.mistakes) {
+            ObjectIntMap.Entry<String> copy = new ObjectIntMap.Entry<>();
+            copy.key = e.key;
+            copy.value = e.value;
+            entries.add(copy);
+        }
+        entries.sort((a, b) -> a.value != b.value ? Integer.compare(b.value, a.value) : a.key.compareTo(b.key));
+        entries.truncate(Math.min(entries.size, top));
+        return entries;
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private StudentLevel studentLevel(IntMap<StudentLevel> student, int level) {
+        StudentLevel l = student.get(level);
+        if (l == null) {
+            l = new StudentLevel();
+            student.put(level, l);
+        }
+        return l;
+    }
+
+    private JsonValue parse(File file) {
+        try {
+            JsonValue root = reader.parse(new FileHandle(file));
+            filesRead++;
+            return root;
+        } catch (Exception e) {
+            failed(file, e);
+            return null;
+        }
+    }
+
+    private void failed(File file, Exception e) {
+        filesFailed++;
+        Gdx.app.error("MetricsExport", "Skipping " + file.getPath() + ": " + e.getMessage());
+    }
+}
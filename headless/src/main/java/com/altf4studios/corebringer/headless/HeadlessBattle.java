@@ -0,0 +1,119 @@
+package com.altf4studios.corebringer.headless;
+
+import com.altf4studios.corebringer.battle.BattleManager;
+import com.altf4studios.corebringer.entities.Enemy;
+import com.altf4studios.corebringer.entities.Player;
+import com.altf4studios.corebringer.turns.TurnManager;
+import com.altf4studios.corebringer.utils.SaveData;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+/**
+ * A {@link BattleManager} driven without any UI (the battle stage UI is null, which
+ * BattleManager already tolerates). The player side is scripted: a fixed amount of damage
+ * per turn stands in for the cards CardStageUI would resolve.
+ */
+public final class HeadlessBattle {
+    private final Player player;
+    private final Enemy enemy;
+    private final BattleManager battleManager;
+    private int turns = 0;
+
+    public HeadlessBattle(Player player, Enemy enemy) {
+        this.player = player;
+        this.enemy = enemy;
+        this.battleManager = new BattleManager(player, enemy, null);
+    }
+
+    /**
+     * Mirror of GameScreen's setup: player stats from the save, enemy picked from
+     * the stage's common (or boss) pool in assets/enemies.json.
+     */
+    static HeadlessBattle fromSave(SaveData save, int stageLevel, boolean bossOnly) {
+        int hp = 20;
+        int maxHp = 20;
+        if (save != null) {
+            hp = (save.currentHp > 0 ? save.currentHp : (save.hp > 0 ? save.hp : hp));
+            maxHp = (save.maxHp > 0 ? save.maxHp : Math.max(hp, maxHp));
+        }
+        String enemyName = "Enemy";
+        int enemyHp = 20;
+        try {
+            JsonValue root = new JsonReader().parse(Gdx.files.internal("assets/enemies.json"));
+            JsonValue levels = root.get("levels");
+            if (levels != null && levels.size > 0) {
+                JsonValue level = levels.get(MathUtils.clamp(stageLevel - 1, 0, levels.size - 1));
+                JsonValue pool = bossOnly ? level.get("boss") : level.get("common");
+                if (pool != null && pool.size > 0) {
+                    JsonValue enemyData = pool.get(MathUtils.random(pool.size - 1));
+                    enemyName = enemyData.getString("name");
+                    enemyHp = enemyData.getInt("hp");
+                }
+            }
+        } catch (Exception e) {
+            Gdx.app.error("HeadlessBattle", "Failed to load enemy from JSON: " + e.getMessage());
+        }
+        int playerMaxHp = Math.max(maxHp, 20);
+        Player player = new Player("Player", playerMaxHp, 10, 5, 3);
+        player.setHp(Math.min(hp, playerMaxHp));
+        Enemy enemy = new Enemy("enemy1", enemyName, enemyHp, 8, 3, Enemy.enemyType.NORMAL, 0, new String[]{});
+        return new HeadlessBattle(player, enemy);
+    }
+
+    /**
+     * Advance the battle clock, like GameScreen.render does every frame.
+     */
+    public void tick(float delta) {
+        battleManager.update(delta);
+    }
+
+    /**
+     * One full round: the player deals damage and ends the turn, then the enemy acts.
+     */
+    public void playRound(int playerDamage, float delta) {
+        TurnManager turnManager = battleManager.getTurnManager();
+        if (isOver()) return;
+        if (turnManager.isPlayerTurn()) {
+            player.dealDamage(enemy, playerDamage);
+            battleManager.endPlayerTurnNow();
+        }
+        tick(delta);
+        if (!isOver() && turnManager.isEnemyTurn()) {
+            battleManager.executeEnemyTurn();
+        }
+        tick(delta);
+        turns++;
+    }
+
+    /**
+     * Play rounds until someone dies or maxRounds is reached. Returns the winner or null.
+     */
+    public String playOut(int playerDamage, int maxRounds, float delta) {
+        while (!isOver() && turns < maxRounds) {
+            playRound(playerDamage, delta);
+        }
+        return battleManager.getWinner();
+    }
+
+    public boolean isOver() {
+        return battleManager.isGameOver();
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Enemy getEnemy() {
+        return enemy;
+    }
+
+    public BattleManager getBattleManager() {
+        return battleManager;
+    }
+}
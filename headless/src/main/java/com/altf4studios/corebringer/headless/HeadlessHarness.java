@@ -0,0 +1,88 @@
+package com.altf4studios.corebringer.headless;
+
+import com.altf4studios.corebringer.quiz.QuestionnaireManager;
+import com.altf4studios.corebringer.screens.gamescreen.SampleCardHandler;
+import com.altf4studios.corebringer.utils.CardDataManager;
+import com.altf4studios.corebringer.utils.CardParser;
+import com.altf4studios.corebringer.utils.SaveData;
+import com.altf4studios.corebringer.utils.SimpleSaveManager;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Boots the parts of {@link com.altf4studios.corebringer.Main} that don't render
+ * (card catalog, questionnaire, save data, battle flow) on the libGDX headless backend.
+ * - No window and no GL context, so it runs on CI machines without a GPU
+ * - There is no render loop; callers drive time themselves (see {@link HeadlessBattle#tick(float)})
+ * - Gdx.files.external() still resolves against user.home; pass -Duser.home=... to sandbox saves
+ */
+public final class HeadlessHarness {
+    private static HeadlessHarness instance;
+
+    private Array<SampleCardHandler> cards;
+
+    private HeadlessHarness() {}
+
+    /**
+     * Start the headless application once per JVM with game logging silenced.
+     */
+    public static HeadlessHarness boot() {
+        return boot(Application.LOG_NONE);
+    }
+
+    public static synchronized HeadlessHarness boot(int logLevel) {
+        if (instance == null) {
+            if (Gdx.app == null) {
+                HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+                // Negative rate disables the update loop entirely
+                config.updatesPerSecond = -1;
+                new HeadlessApplication(new ApplicationAdapter() {}, config);
+            }
+            instance = new HeadlessHarness();
+        }
+        Gdx.app.setLogLevel(logLevel);
+        return instance;
+    }
+
+    /**
+     * Load assets/cards.json and build the O(1) lookup maps, like GameScreen does on creation.
+     */
+    public Array<SampleCardHandler> loadCardCatalog() {
+        CardParser parser = CardParser.getInstance();
+        cards = parser.loadAllCards();
+        CardDataManager.getInstance().initFrom(parser);
+        return cards;
+    }
+
+    public Array<SampleCardHandler> getCards() {
+        return cards != null ? cards : loadCardCatalog();
+    }
+
+    /**
+     * Load one level of assets/questionnaire.json into the shared QuestionnaireManager.
+     */
+    public QuestionnaireManager loadQuestionnaire(int level) {
+        QuestionnaireManager manager = QuestionnaireManager.get();
+        manager.initFromJsonWithLevel(Gdx.files.internal("assets/questionnaire.json"), level);
+        return manager;
+    }
+
+    /**
+     * Read the current save (a fresh SaveData when none exists). Never writes.
+     */
+    public SaveData loadSave() {
+        return SimpleSaveManager.loadData();
+    }
+
+    /**
+     * Create a battle against an enemy from assets/enemies.json for the given stage,
+     * with the player built from the save data the same way GameScreen builds it.
+     */
+    public HeadlessBattle startBattle(int stageLevel, boolean bossOnly) {
+        return HeadlessBattle.fromSave(loadSave(), stageLevel, bossOnly);
+    }
+}
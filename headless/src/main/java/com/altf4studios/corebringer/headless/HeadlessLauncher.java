@@ -0,0 +1,75 @@
+package com.altf4studios.corebringer.headless;
+
+import com.altf4studios.corebringer.quiz.QuestionnaireManager;
+import com.altf4studios.corebringer.utils.SaveData;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Command-line smoke/soak run on the headless harness:
+ * boots every non-rendering subsystem, then plays scripted battles and prints a summary.
+ *
+ * Usage: HeadlessLauncher [--battles N] [--stage S] [--damage D] [--boss] [--verbose]
+ * Exits with 1 if any subsystem fails to load.
+ */
+public class HeadlessLauncher {
+    private static final int MAX_ROUNDS = 200;
+    private static final float TICK = 1f / 60f;
+
+    public static void main(String[] args) {
+        int battles = 100;
+        int stage = 1;
+        int damage = 6;
+        boolean bossOnly = false;
+        boolean verbose = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--battles": battles = Integer.parseInt(args[++i]); break;
+                case "--stage": stage = Integer.parseInt(args[++i]); break;
+                case "--damage": damage = Integer.parseInt(args[++i]); break;
+                case "--boss": bossOnly = true; break;
+                case "--verbose": verbose = true; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        HeadlessHarness harness = HeadlessHarness.boot(verbose ? Application.LOG_INFO : Application.LOG_NONE);
+        boolean ok = true;
+        try {
+            int cardCount = harness.loadCardCatalog().size;
+            QuestionnaireManager questionnaire = harness.loadQuestionnaire(stage);
+            SaveData save = harness.loadSave();
+            System.out.println("Cards loaded: " + cardCount);
+            System.out.println("Questions loaded: " + questionnaire.getAll().size + " (level " + questionnaire.getLevel() + ")");
+            System.out.println("Save: stage " + save.stageLevel + ", hp " + save.currentHp + "/" + save.maxHp + ", gold " + save.gold);
+            ok = cardCount > 0 && questionnaire.getAll().size > 0;
+        } catch (Exception e) {
+            System.err.println("Subsystem boot failed: " + e);
+            ok = false;
+        }
+
+        int wins = 0;
+        long totalTurns = 0;
+        long start = System.nanoTime();
+        for (int b = 0; b < battles; b++) {
+            HeadlessBattle battle = harness.startBattle(stage, bossOnly);
+            if ("Player".equals(battle.playOut(damage, MAX_ROUNDS, TICK))) wins++;
+            totalTurns += battle.getTurns();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.out.println("Battles: " + battles + " (stage " + stage + (bossOnly ? ", boss" : "") + ", " + damage + " dmg/turn)");
+        if (battles > 0) {
+            System.out.println("Player win rate: " + (100 * wins / battles) + "%, avg rounds: "
+                + String.format("%.1f", totalTurns / (double) battles));
+        }
+        System.out.println("Elapsed: " + elapsedMs + " ms, heap used: "
+            + (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024 + " MB");
+
+        Gdx.app.exit();
+        if (!ok) System.exit(1);
+    }
+}
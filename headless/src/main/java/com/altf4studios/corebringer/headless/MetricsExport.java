@@ -0,0 +1,189 @@
+package com.altf4studios.corebringer.headless;
+
+import com.altf4studios.corebringer.metrics.AttemptLog;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class-wide report from many students' saves, metrics files and attempt logs, for instructors.
+ * - Every directory under the root holding a save, coding_metrics.json or attempt_log/ is one student
+ *   (a save inside "Core Bringer/" belongs to the directory above it)
+ * - Students are read in parallel, one at a time per worker, each worker folding into its own
+ *   {@link ClassMetrics}; only the per-level aggregates are merged, never the files themselves
+ * - Writes one CSV row per level, or JSON with the full time and accuracy distributions
+ *
+ * Usage: MetricsExport <dir> [--format csv|json] [--out file] [--threads N] [--top N]
+ * Exits with 2 on bad arguments, 1 when no student data is found.
+ */
+public class MetricsExport {
+
+    public static void main(String[] args) {
+        File root = null;
+        String format = "csv";
+        File outFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int top = 5;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--") && i + 1 >= args.length) usage("Missing value for " + arg);
+            switch (arg) {
+                case "--format": format = args[++i]; break;
+                case "--out": outFile = new File(args[++i]); break;
+                case "--threads": threads = Math.max(1, intArg(arg, args[++i])); break;
+                case "--top": top = Math.max(0, intArg(arg, args[++i])); break;
+                default:
+                    if (root == null && !arg.startsWith("--")) {
+                        root = new File(arg);
+                        break;
+                    }
+                    usage("Unknown argument: " + arg);
+            }
+        }
+        if (root == null || !root.isDirectory()) {
+            usage(root == null ? "No directory given" : "Not a directory: " + root);
+        }
+        if (!("csv".equals(format) || "json".equals(format))) {
+            usage("Unknown format: " + format);
+        }
+
+        // Parse errors are reported on stderr; stdout may be the report itself
+        HeadlessHarness.boot(Application.LOG_ERROR);
+        long start = System.nanoTime();
+        List<File> students;
+        try {
+            students = findStudents(root.toPath());
+        } catch (IOException e) {
+            System.err.println("Failed to list " + root + ": " + e.getMessage());
+            Gdx.app.exit();
+            System.exit(1);
+            return;
+        }
+        ClassMetrics report = aggregate(students, threads);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        boolean ok = report.getStudents() > 0;
+        try (Writer out = new BufferedWriter(outFile != null
+            ? new OutputStreamWriter(Files.newOutputStream(outFile.toPath()), StandardCharsets.UTF_8)
+            : new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            if ("json".equals(format)) {
+                report.writeJson(out, top);
+            } else {
+                report.writeCsv(out, top);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write report: " + e.getMessage());
+            ok = false;
+        }
+
+        System.err.println("Students: " + report.getStudents() + " of " + students.size() + " directories, files read: "
+            + report.getFilesRead() + ", skipped: " + report.getFilesFailed() + ", attempt events: " + report.getEvents());
+        System.err.println("Elapsed: " + elapsedMs + " ms on " + threads + " threads");
+
+        Gdx.app.exit();
+        if (!ok) System.exit(1);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: MetricsExport <dir> [--format csv|json] [--out file] [--threads N] [--top N]");
+        System.exit(2);
+    }
+
+    private static int intArg(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            usage("Not a number for " + name + ": " + value);
+            return 0;
+        }
+    }
+
+    /**
+     * Student directories under root. Only paths are collected; nothing is read yet.
+     */
+    static List<File> findStudents(Path root) throws IOException {
+        Set<File> dirs = new LinkedHashSet<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (AttemptLog.DIR.equals(String.valueOf(dir.getFileName())) && dir.getParent() != null) {
+                    dirs.add(dir.getParent().toFile());
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String name = String.valueOf(file.getFileName());
+                Path parent = file.getParent();
+                if (ClassMetrics.METRICS_FILE.equals(name)) {
+                    dirs.add(parent.toFile());
+                } else if (ClassMetrics.SAVE_FILE.equals(name)) {
+                    boolean inSaveDir = ClassMetrics.SAVE_DIR.equals(String.valueOf(parent.getFileName()))
+                        && parent.getParent() != null;
+                    dirs.add((inSaveDir ? parent.getParent() : parent).toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                System.err.println("Cannot read " + file + ": " + e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new ArrayList<>(dirs);
+    }
+
+    /**
+     * Fold every student into per-worker aggregates, then merge them.
+     */
+    static ClassMetrics aggregate(List<File> students, int threads) {
+        int workers = Math.max(1, Math.min(threads, students.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<ClassMetrics>> parts = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            parts.add(pool.submit(() -> {
+                ClassMetrics part = new ClassMetrics();
+                int i;
+                while ((i = next.getAndIncrement()) < students.size()) {
+                    part.addStudent(students.get(i));
+                }
+                return part;
+            }));
+        }
+        ClassMetrics total = new ClassMetrics();
+        try {
+            for (Future<ClassMetrics> part : parts) {
+                total.merge(part.get());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Metrics export worker failed", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+}